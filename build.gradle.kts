@@ -3,6 +3,7 @@ plugins {
     alias(libs.plugins.spring.boot)
     alias(libs.plugins.spring.dependency.management)
     id("jacoco")
+    alias(libs.plugins.jmh)
 }
 
 configurations {
@@ -23,6 +24,9 @@ dependencyManagement {
 
 dependencies {
     implementation(libs.spring.boot.starter.web)
+    implementation(libs.spring.boot.starter.webflux)
+    implementation(libs.spring.boot.starter.actuator)
+    runtimeOnly(libs.micrometer.registry.prometheus)
     compileOnly(libs.lombok)
     annotationProcessor(libs.lombok)
     annotationProcessor(libs.spring.boot.configuration.processor)
@@ -50,3 +54,14 @@ tasks.test {
     ignoreFailures = true
     useJUnitPlatform()
 }
+
+// benchmark tasks (./gradlew jmh -Pjmh.threads=64 -Pjmh.includes=PointServiceBenchmark)
+jmh {
+    jmhVersion.set(libs.versions.jmh.asProvider().get())
+    threads.set(providers.gradleProperty("jmh.threads").map(String::toInt).orElse(1))
+    includes.set(providers.gradleProperty("jmh.includes").map { listOf(it) }.orElse(listOf()))
+    fork.set(1)
+    warmupIterations.set(3)
+    iterations.set(5)
+    resultFormat.set("JSON")
+}
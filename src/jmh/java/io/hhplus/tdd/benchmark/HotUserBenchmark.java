@@ -0,0 +1,107 @@
+package io.hhplus.tdd.benchmark;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.Optional;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Stream;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Threads;
+
+import io.hhplus.tdd.database.PointHistoryRepository;
+import io.hhplus.tdd.database.PointLogDurability;
+import io.hhplus.tdd.database.PointTransactionLog;
+import io.hhplus.tdd.database.PointWriteBehindProperties;
+import io.hhplus.tdd.database.PointWriteBehindQueue;
+import io.hhplus.tdd.infrastructure.PointMetrics;
+import io.hhplus.tdd.infrastructure.UserLockManager;
+import io.hhplus.tdd.point.PointCacheProperties;
+import io.hhplus.tdd.point.PointConcurrencyMode;
+import io.hhplus.tdd.point.PointConcurrencyProperties;
+import io.hhplus.tdd.point.PointIdempotencyProperties;
+import io.hhplus.tdd.point.PointIdempotencyStore;
+import io.hhplus.tdd.point.PointService;
+import io.hhplus.tdd.point.UserPoint;
+import io.hhplus.tdd.point.UserPointSnapshotStore;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+
+/**
+ * 유저 한 명에게 64 스레드가 충전/사용을 몰아서 보낼 때의 처리량 - 요청마다 락(LOCK)과 요청 결합(COMBINING) 비교
+ * - 충전과 사용을 번갈아 보내 잔액이 한도에 걸리지 않도록 합니다.
+ * - log=GROUP 이면 트랜잭션 로그를 켜서 락 안에서 디스크 기록(fsync)을 기다리는 경우를 측정합니다.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Threads(64)
+public class HotUserBenchmark {
+
+    private static final long HOT_USER = 1L;
+
+    @Param({"LOCK", "COMBINING"})
+    public PointConcurrencyMode mode;
+
+    @Param({"none", "GROUP"})
+    public String log;
+
+    private PointWriteBehindQueue writeBehindQueue;
+    private PointService pointService;
+    private Path logFile;
+    private Optional<PointTransactionLog> transactionLog;
+
+    @Setup(Level.Iteration)
+    public void setUp() throws IOException {
+        this.logFile = Files.createTempFile("points", ".log");
+        this.transactionLog = "none".equals(this.log)
+                ? Optional.empty()
+                : Optional.of(new PointTransactionLog(this.logFile, PointLogDurability.valueOf(this.log), 65536, Duration.ofMillis(10)));
+        UnthrottledPointHistoryTable pointHistoryTable = new UnthrottledPointHistoryTable();
+        this.writeBehindQueue = new PointWriteBehindQueue(new UnthrottledUserPointTable(), pointHistoryTable,
+                new PointWriteBehindProperties(1000, Duration.ofMillis(50), 100_000, 4, Duration.ofSeconds(1)));
+        this.pointService = new PointService(new UnthrottledUserPointTable(), new PointHistoryRepository(pointHistoryTable),
+                new UserLockManager(), new UserPointSnapshotStore(new PointCacheProperties(1000), this.writeBehindQueue),
+                this.writeBehindQueue, Optional.empty(), this.transactionLog,
+                new PointIdempotencyStore(new PointIdempotencyProperties(1000, Duration.ofMinutes(1))),
+                new PointConcurrencyProperties(this.mode, 1024, 16), new PointMetrics(new SimpleMeterRegistry()), Optional.empty());
+        this.pointService.rechargePoint(HOT_USER, 500_000L);
+    }
+
+    @TearDown(Level.Iteration)
+    public void tearDown() throws IOException {
+        this.writeBehindQueue.shutdown();
+        this.transactionLog.ifPresent(PointTransactionLog::close);
+        try (Stream<Path> files = Files.list(this.logFile.getParent())) {
+            files.filter(file -> file.getFileName().toString().startsWith(this.logFile.getFileName().toString()))
+                    .forEach(file -> file.toFile().delete());
+        }
+    }
+
+    @State(Scope.Thread)
+    public static class Turn {
+        private boolean charge;
+    }
+
+    @Benchmark
+    public UserPoint chargeOrUse(Turn turn) {
+        turn.charge = !turn.charge;
+        try {
+            return turn.charge
+                    ? this.pointService.rechargePoint(HOT_USER, 1L)
+                    : this.pointService.usePoint(HOT_USER, 1L);
+        } catch (IllegalArgumentException | IllegalStateException e) {
+            return null;
+        }
+    }
+}
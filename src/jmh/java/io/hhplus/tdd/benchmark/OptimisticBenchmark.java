@@ -0,0 +1,92 @@
+package io.hhplus.tdd.benchmark;
+
+import java.time.Duration;
+import java.util.Optional;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Threads;
+
+import io.hhplus.tdd.database.PointHistoryRepository;
+import io.hhplus.tdd.database.PointWriteBehindProperties;
+import io.hhplus.tdd.database.PointWriteBehindQueue;
+import io.hhplus.tdd.infrastructure.PointMetrics;
+import io.hhplus.tdd.infrastructure.UserLockManager;
+import io.hhplus.tdd.point.PointCacheProperties;
+import io.hhplus.tdd.point.PointConcurrencyMode;
+import io.hhplus.tdd.point.PointConcurrencyProperties;
+import io.hhplus.tdd.point.PointIdempotencyProperties;
+import io.hhplus.tdd.point.PointIdempotencyStore;
+import io.hhplus.tdd.point.PointService;
+import io.hhplus.tdd.point.UserPoint;
+import io.hhplus.tdd.point.UserPointSnapshotStore;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+
+/**
+ * 16 스레드가 충전/사용을 보낼 때의 처리량 - 요청마다 락(LOCK)과 낙관적 커밋(OPTIMISTIC) 비교
+ * - users=1 은 모든 요청이 한 유저에게 몰리는 높은 경합, users=1024 는 요청이 흩어지는 낮은 경합입니다.
+ * - 충전과 사용을 번갈아 보내 잔액이 한도에 걸리지 않도록 합니다.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Threads(16)
+public class OptimisticBenchmark {
+
+    @Param({"LOCK", "OPTIMISTIC"})
+    public PointConcurrencyMode mode;
+
+    @Param({"1", "1024"})
+    public int users;
+
+    private PointWriteBehindQueue writeBehindQueue;
+    private PointService pointService;
+
+    @Setup(Level.Iteration)
+    public void setUp() {
+        UnthrottledPointHistoryTable pointHistoryTable = new UnthrottledPointHistoryTable();
+        this.writeBehindQueue = new PointWriteBehindQueue(new UnthrottledUserPointTable(), pointHistoryTable,
+                new PointWriteBehindProperties(1000, Duration.ofMillis(50), 100_000, 4, Duration.ofSeconds(1)));
+        this.pointService = new PointService(new UnthrottledUserPointTable(), new PointHistoryRepository(pointHistoryTable),
+                new UserLockManager(), new UserPointSnapshotStore(new PointCacheProperties(this.users * 2), this.writeBehindQueue),
+                this.writeBehindQueue, Optional.empty(), Optional.empty(),
+                new PointIdempotencyStore(new PointIdempotencyProperties(1000, Duration.ofMinutes(1))),
+                new PointConcurrencyProperties(this.mode, 1024, 16), new PointMetrics(new SimpleMeterRegistry()), Optional.empty());
+        for (long id = 1; id <= this.users; id++) {
+            this.pointService.rechargePoint(id, 500_000L);
+        }
+    }
+
+    @TearDown(Level.Iteration)
+    public void tearDown() {
+        this.writeBehindQueue.shutdown();
+    }
+
+    @State(Scope.Thread)
+    public static class Turn {
+        private boolean charge;
+    }
+
+    @Benchmark
+    public UserPoint chargeOrUse(Turn turn) {
+        long id = 1 + ThreadLocalRandom.current().nextInt(this.users);
+        turn.charge = !turn.charge;
+        try {
+            return turn.charge
+                    ? this.pointService.rechargePoint(id, 1L)
+                    : this.pointService.usePoint(id, 1L);
+        } catch (IllegalArgumentException | IllegalStateException e) {
+            return null;
+        }
+    }
+}
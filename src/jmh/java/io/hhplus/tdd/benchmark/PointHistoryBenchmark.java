@@ -0,0 +1,64 @@
+package io.hhplus.tdd.benchmark;
+
+import java.util.List;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+
+import io.hhplus.tdd.database.PointHistoryRepository;
+import io.hhplus.tdd.point.PointHistory;
+import io.hhplus.tdd.point.PointHistoryQuery;
+import io.hhplus.tdd.point.TransactionType;
+
+/**
+ * 내역 조회 비용 - 전체 스캔(테이블) vs 유저별 인덱스(PointHistoryRepository)
+ * - 전체 내역 rows 건을 1,000명의 유저에게 나눠 채운 뒤 한 유저의 내역을 조회합니다.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+public class PointHistoryBenchmark {
+
+    private static final int USERS = 1000;
+
+    @Param({"10000", "1000000"})
+    public int rows;
+
+    private UnthrottledPointHistoryTable table;
+    private PointHistoryRepository repository;
+    private PointHistoryQuery firstPage;
+
+    @Setup
+    public void setUp() {
+        this.table = new UnthrottledPointHistoryTable();
+        this.repository = new PointHistoryRepository(new UnthrottledPointHistoryTable());
+        for (int i = 0; i < this.rows; i++) {
+            this.table.insert(i % USERS, 1L, TransactionType.CHARGE, i);
+            this.repository.append(i % USERS, 1L, TransactionType.CHARGE, i);
+        }
+        this.firstPage = new PointHistoryQuery(null, 20, null, null, null);
+    }
+
+    @Benchmark
+    public List<PointHistory> tableScan() {
+        return this.table.selectAllByUserId(ThreadLocalRandom.current().nextInt(USERS));
+    }
+
+    @Benchmark
+    public List<PointHistory> indexedLookup() {
+        return this.repository.findAllByUserId(ThreadLocalRandom.current().nextInt(USERS));
+    }
+
+    @Benchmark
+    public List<PointHistory> indexedPage() {
+        return this.repository.findByUserId(ThreadLocalRandom.current().nextInt(USERS), this.firstPage);
+    }
+}
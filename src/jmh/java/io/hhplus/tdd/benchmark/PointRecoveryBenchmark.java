@@ -0,0 +1,126 @@
+package io.hhplus.tdd.benchmark;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.Comparator;
+import java.util.Optional;
+import java.util.SplittableRandom;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Stream;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+
+import io.hhplus.tdd.database.PointHistoryRepository;
+import io.hhplus.tdd.database.PointLogDurability;
+import io.hhplus.tdd.database.PointSnapshotter;
+import io.hhplus.tdd.database.PointTransactionLog;
+import io.hhplus.tdd.database.PointWriteBehindProperties;
+import io.hhplus.tdd.database.PointWriteBehindQueue;
+import io.hhplus.tdd.point.PointCacheProperties;
+import io.hhplus.tdd.point.PointHistory;
+import io.hhplus.tdd.point.PointRecovery;
+import io.hhplus.tdd.point.TransactionType;
+import io.hhplus.tdd.point.UserPointSnapshotStore;
+
+/**
+ * 시작 시 잔액 복구 시간 - 전체 로그 재적용과 스냅샷 + 이후 로그 재적용 비교
+ * - 같은 기록을 두 디렉터리에 쓰고, 한쪽은 tailPercent 만큼 남기고 스냅샷을 만들어 둡니다.
+ * - 시작 시와 같은 PointRecovery.replay 를 잽니다. (잔액 이미지 구성, 내역 인덱스 복구, 캐시에 복구 잔액 보관)
+ * - 로그를 여는 비용(마지막 세그먼트 검사)은 제외하고, 매 실행마다 빈 내역 저장소와 캐시로 시작합니다.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.SingleShotTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+public class PointRecoveryBenchmark {
+
+    @Param({"1000000"})
+    private int users;
+
+    @Param({"10000000"})
+    private long records;
+
+    @Param({"5"})
+    private int tailPercent;
+
+    private Path dir;
+    private PointTransactionLog fullLog;
+    private PointTransactionLog tailLog;
+    private PointSnapshotter snapshotter;
+    private PointWriteBehindQueue writeBehindQueue;
+    private PointRecovery fullRecovery;
+    private PointRecovery snapshotRecovery;
+
+    @Setup(Level.Trial)
+    public void setUp() throws IOException {
+        this.dir = Files.createTempDirectory("points-recovery");
+        Path snapshotFile = this.dir.resolve("tail").resolve("points.snapshot");
+        this.fullLog = this.open(this.dir.resolve("full").resolve("points.log"));
+        this.tailLog = this.open(this.dir.resolve("tail").resolve("points.log"));
+
+        long snapshotAt = this.records - this.records * this.tailPercent / 100;
+        long[] balances = new long[this.users];
+        SplittableRandom random = new SplittableRandom(42);
+        this.snapshotter = new PointSnapshotter(this.tailLog, snapshotFile, Duration.ZERO);
+        for (long id = 1; id <= this.records; id++) {
+            int userId = random.nextInt(this.users);
+            balances[userId] += 10;
+            PointHistory history = new PointHistory(id, userId, 10L, TransactionType.CHARGE, id);
+            this.fullLog.append(history, balances[userId]);
+            this.tailLog.append(history, balances[userId]);
+            if (id == snapshotAt) {
+                this.snapshotter.snapshot();
+            }
+        }
+        this.writeBehindQueue = new PointWriteBehindQueue(new UnthrottledUserPointTable(), new UnthrottledPointHistoryTable(),
+                new PointWriteBehindProperties(1000, Duration.ofMillis(50), 100_000, 1, Duration.ofSeconds(1)));
+    }
+
+    // 복구는 내역 저장소와 캐시를 채우므로 실행마다 새로 만듦
+    @Setup(Level.Invocation)
+    public void newNode() {
+        this.fullRecovery = this.recovery(Optional.empty());
+        this.snapshotRecovery = this.recovery(Optional.of(this.snapshotter));
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() throws IOException {
+        this.writeBehindQueue.shutdown();
+        this.snapshotter.close();
+        this.fullLog.close();
+        this.tailLog.close();
+        try (Stream<Path> paths = Files.walk(this.dir)) {
+            paths.sorted(Comparator.reverseOrder()).forEach(path -> path.toFile().delete());
+        }
+    }
+
+    @Benchmark
+    public long fullReplay() {
+        return this.fullRecovery.replay(this.fullLog);
+    }
+
+    @Benchmark
+    public long snapshotAndTail() {
+        return this.snapshotRecovery.replay(this.tailLog);
+    }
+
+    private PointRecovery recovery(Optional<PointSnapshotter> snapshotter) {
+        UserPointSnapshotStore snapshotStore = new UserPointSnapshotStore(new PointCacheProperties(1000), this.writeBehindQueue);
+        return new PointRecovery(Optional.empty(), new PointHistoryRepository(new UnthrottledPointHistoryTable()),
+                snapshotStore, Optional.empty(), snapshotter);
+    }
+
+    private PointTransactionLog open(Path file) {
+        return new PointTransactionLog(file, PointLogDurability.ASYNC, 65536, Duration.ofMillis(10));
+    }
+}
@@ -0,0 +1,108 @@
+package io.hhplus.tdd.benchmark;
+
+import java.time.Duration;
+import java.util.Optional;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+
+import io.hhplus.tdd.database.PointHistoryRepository;
+import io.hhplus.tdd.database.PointHistoryTable;
+import io.hhplus.tdd.database.PointWriteBehindProperties;
+import io.hhplus.tdd.database.PointWriteBehindQueue;
+import io.hhplus.tdd.database.UserPointTable;
+import io.hhplus.tdd.infrastructure.PointMetrics;
+import io.hhplus.tdd.infrastructure.UserLockManager;
+import io.hhplus.tdd.point.PointCacheProperties;
+import io.hhplus.tdd.point.PointConcurrencyMode;
+import io.hhplus.tdd.point.PointConcurrencyProperties;
+import io.hhplus.tdd.point.PointIdempotencyProperties;
+import io.hhplus.tdd.point.PointIdempotencyStore;
+import io.hhplus.tdd.point.PointService;
+import io.hhplus.tdd.point.UserPoint;
+import io.hhplus.tdd.point.UserPointSnapshotStore;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+
+/**
+ * PointService 의 충전/사용/조회 처리량
+ * - 스레드 수는 -Pjmh.threads=1|4|16|64 로 지정합니다.
+ * - throttle=false 이면 테이블 지연 없이 우리 코드의 비용만 측정합니다.
+ * - 반복(iteration)마다 새 서비스를 만들고 모든 유저에게 500,000 포인트를 채워,
+ *   충전/사용이 한도에 걸리지 않도록 합니다. (한도에 걸린 요청은 검증 실패 경로로 측정됨)
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+public class PointServiceBenchmark {
+
+    private static final long INITIAL_POINT = 500_000L;
+
+    @Param({"10000"})
+    public int users;
+
+    @Param({"uniform", "zipf"})
+    public String distribution;
+
+    @Param({"false"})
+    public boolean throttle;
+
+    private UserIdDistribution userIds;
+    private PointWriteBehindQueue writeBehindQueue;
+    private PointService pointService;
+
+    @Setup(Level.Iteration)
+    public void setUp() {
+        UserPointTable userPointTable = this.throttle ? new UserPointTable() : new UnthrottledUserPointTable();
+        PointHistoryTable pointHistoryTable = this.throttle ? new PointHistoryTable() : new UnthrottledPointHistoryTable();
+
+        this.userIds = UserIdDistribution.of(this.distribution, this.users);
+        this.writeBehindQueue = new PointWriteBehindQueue(userPointTable, pointHistoryTable,
+                new PointWriteBehindProperties(1000, Duration.ofMillis(50), 100_000, 4, Duration.ofSeconds(1)));
+        this.pointService = new PointService(userPointTable, new PointHistoryRepository(pointHistoryTable),
+                new UserLockManager(), new UserPointSnapshotStore(new PointCacheProperties(this.users * 2), this.writeBehindQueue),
+                this.writeBehindQueue, Optional.empty(), Optional.empty(),
+                new PointIdempotencyStore(new PointIdempotencyProperties(1000, Duration.ofMinutes(1))),
+                new PointConcurrencyProperties(PointConcurrencyMode.LOCK, 1024, 16), new PointMetrics(new SimpleMeterRegistry()), Optional.empty());
+
+        for (long userId = 0; userId < this.users; userId++) {
+            this.pointService.rechargePoint(userId, INITIAL_POINT);
+        }
+    }
+
+    @TearDown(Level.Iteration)
+    public void tearDown() {
+        this.writeBehindQueue.shutdown();
+    }
+
+    @Benchmark
+    public UserPoint charge() {
+        try {
+            return this.pointService.rechargePoint(this.userIds.next(this.users), 1L);
+        } catch (IllegalArgumentException | IllegalStateException e) {
+            return null;
+        }
+    }
+
+    @Benchmark
+    public UserPoint use() {
+        try {
+            return this.pointService.usePoint(this.userIds.next(this.users), 1L);
+        } catch (IllegalArgumentException | IllegalStateException e) {
+            return null;
+        }
+    }
+
+    @Benchmark
+    public UserPoint get() {
+        return this.pointService.getPoint(this.userIds.next(this.users));
+    }
+}
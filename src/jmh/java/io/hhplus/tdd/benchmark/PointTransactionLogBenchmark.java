@@ -0,0 +1,59 @@
+package io.hhplus.tdd.benchmark;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+
+import io.hhplus.tdd.database.PointLogDurability;
+import io.hhplus.tdd.database.PointTransactionLog;
+import io.hhplus.tdd.point.PointHistory;
+import io.hhplus.tdd.point.TransactionType;
+
+/**
+ * 트랜잭션 로그 내구성 수준별 기록 처리량 (스레드 수는 -Pjmh.threads 로 조절)
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+public class PointTransactionLogBenchmark {
+
+    @Param({"SYNC", "GROUP", "ASYNC"})
+    private PointLogDurability durability;
+
+    private final AtomicLong ids = new AtomicLong();
+
+    private Path file;
+    private PointTransactionLog pointLog;
+
+    @Setup(Level.Iteration)
+    public void setUp() throws IOException {
+        this.file = Files.createTempFile("points", ".log");
+        this.pointLog = new PointTransactionLog(this.file, this.durability, 65536, Duration.ofMillis(10));
+    }
+
+    @TearDown(Level.Iteration)
+    public void tearDown() throws IOException {
+        this.pointLog.close();
+        Files.deleteIfExists(this.file);
+    }
+
+    @Benchmark
+    public void append() {
+        long id = this.ids.incrementAndGet();
+        this.pointLog.append(new PointHistory(id, id % 1000, 1L, TransactionType.CHARGE, id), id);
+    }
+}
@@ -0,0 +1,58 @@
+package io.hhplus.tdd.benchmark;
+
+import java.time.Duration;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Threads;
+
+import io.hhplus.tdd.point.PointRateLimitProperties;
+import io.hhplus.tdd.point.PointRateLimiter;
+import io.hhplus.tdd.point.TransactionType;
+
+/**
+ * 유저별 요청 한도 검사 처리량 (16 스레드) - 전체 처리량의 역수가 검사 1회의 비용입니다. (12.5 ops/us = 80 ns)
+ * - users=1 이면 모든 스레드가 같은 버킷을 CAS 로 다투는 경우, 100000 이면 유저가 흩어진 경우입니다.
+ * - limited=false 는 한도가 넉넉해 매번 토큰을 쓰는(CAS 가 일어나는) 경우, true 는 한도를 다 써서 대부분 거절되는 경우입니다.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Threads(16)
+public class RateLimiterBenchmark {
+
+    @Param({"1", "100000"})
+    public int users;
+
+    @Param({"false", "true"})
+    public boolean limited;
+
+    private PointRateLimiter limiter;
+
+    @Setup(Level.Iteration)
+    public void setUp() {
+        PointRateLimitProperties.Limit limit = this.limited
+                ? new PointRateLimitProperties.Limit(20, 10)
+                : new PointRateLimitProperties.Limit(Integer.MAX_VALUE, 1_000_000_000);
+        this.limiter = new PointRateLimiter(
+                new PointRateLimitProperties(true, limit, limit, this.users * 2, Duration.ofSeconds(10)));
+        for (long userId = 0; userId < this.users; userId++) {
+            this.limiter.tryAcquire(userId, TransactionType.USE);
+        }
+    }
+
+    @Benchmark
+    public boolean tryAcquire() {
+        long userId = (this.users == 1) ? 0 : ThreadLocalRandom.current().nextInt(this.users);
+        return this.limiter.tryAcquire(userId, TransactionType.USE);
+    }
+}
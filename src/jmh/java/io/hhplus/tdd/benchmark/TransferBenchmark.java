@@ -0,0 +1,85 @@
+package io.hhplus.tdd.benchmark;
+
+import java.time.Duration;
+import java.util.Optional;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Threads;
+
+import io.hhplus.tdd.database.PointHistoryRepository;
+import io.hhplus.tdd.database.PointWriteBehindProperties;
+import io.hhplus.tdd.database.PointWriteBehindQueue;
+import io.hhplus.tdd.infrastructure.PointMetrics;
+import io.hhplus.tdd.infrastructure.UserLockManager;
+import io.hhplus.tdd.point.PointCacheProperties;
+import io.hhplus.tdd.point.PointConcurrencyMode;
+import io.hhplus.tdd.point.PointConcurrencyProperties;
+import io.hhplus.tdd.point.PointIdempotencyProperties;
+import io.hhplus.tdd.point.PointIdempotencyStore;
+import io.hhplus.tdd.point.PointService;
+import io.hhplus.tdd.point.PointTransfer;
+import io.hhplus.tdd.point.UserPointSnapshotStore;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+
+/**
+ * 16 스레드가 이체를 보낼 때의 처리량 - 겹치지 않는 유저 쌍의 수에 따른 비교
+ * - pairs=1 은 모든 이체가 두 유저 사이를 오가는 높은 경합, pairs=1024 는 서로 다른 쌍끼리 락을 나누지 않는 낮은 경합입니다.
+ * - 쌍 안에서 방향을 무작위로 골라 반대 방향 이체가 섞여도 교착 없이 진행되는지 함께 봅니다.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Threads(16)
+public class TransferBenchmark {
+
+    @Param({"1", "1024"})
+    public int pairs;
+
+    private PointWriteBehindQueue writeBehindQueue;
+    private PointService pointService;
+
+    @Setup(Level.Iteration)
+    public void setUp() {
+        UnthrottledPointHistoryTable pointHistoryTable = new UnthrottledPointHistoryTable();
+        this.writeBehindQueue = new PointWriteBehindQueue(new UnthrottledUserPointTable(), pointHistoryTable,
+                new PointWriteBehindProperties(1000, Duration.ofMillis(50), 100_000, 4, Duration.ofSeconds(1)));
+        this.pointService = new PointService(new UnthrottledUserPointTable(), new PointHistoryRepository(pointHistoryTable),
+                new UserLockManager(), new UserPointSnapshotStore(new PointCacheProperties(this.pairs * 4), this.writeBehindQueue),
+                this.writeBehindQueue, Optional.empty(), Optional.empty(),
+                new PointIdempotencyStore(new PointIdempotencyProperties(1000, Duration.ofMinutes(1))),
+                new PointConcurrencyProperties(PointConcurrencyMode.LOCK, 1024, 16), new PointMetrics(new SimpleMeterRegistry()), Optional.empty());
+        for (long id = 1; id <= this.pairs * 2L; id++) {
+            this.pointService.rechargePoint(id, 500_000L);
+        }
+    }
+
+    @TearDown(Level.Iteration)
+    public void tearDown() {
+        this.writeBehindQueue.shutdown();
+    }
+
+    @Benchmark
+    public PointTransfer transfer() {
+        ThreadLocalRandom random = ThreadLocalRandom.current();
+        long first = 1 + 2L * random.nextInt(this.pairs);
+        boolean forward = random.nextBoolean();
+        try {
+            return forward
+                    ? this.pointService.transfer(first, first + 1, 1L)
+                    : this.pointService.transfer(first + 1, first, 1L);
+        } catch (IllegalArgumentException | IllegalStateException e) {
+            return null;
+        }
+    }
+}
@@ -0,0 +1,30 @@
+package io.hhplus.tdd.benchmark;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import io.hhplus.tdd.database.PointHistoryTable;
+import io.hhplus.tdd.point.PointHistory;
+import io.hhplus.tdd.point.TransactionType;
+
+/**
+ * 지연(throttle) 없이 동작하는 PointHistoryTable
+ * - 조회는 원본과 같이 전체 목록을 스캔합니다.
+ */
+public class UnthrottledPointHistoryTable extends PointHistoryTable {
+
+    private final List<PointHistory> table = new ArrayList<>();
+    private long cursor = 1;
+
+    @Override
+    public synchronized PointHistory insert(long userId, long amount, TransactionType type, long updateMillis) {
+        PointHistory pointHistory = new PointHistory(this.cursor++, userId, amount, type, updateMillis);
+        this.table.add(pointHistory);
+        return pointHistory;
+    }
+
+    @Override
+    public synchronized List<PointHistory> selectAllByUserId(long userId) {
+        return this.table.stream().filter(pointHistory -> pointHistory.userId() == userId).toList();
+    }
+}
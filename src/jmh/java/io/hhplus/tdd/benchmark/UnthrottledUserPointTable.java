@@ -0,0 +1,27 @@
+package io.hhplus.tdd.benchmark;
+
+import java.util.concurrent.ConcurrentHashMap;
+
+import io.hhplus.tdd.database.UserPointTable;
+import io.hhplus.tdd.point.UserPoint;
+
+/**
+ * 지연(throttle) 없이 동작하는 UserPointTable
+ * - 테이블의 sleep 이 아니라 우리 코드의 비용을 측정하기 위해 사용합니다.
+ */
+public class UnthrottledUserPointTable extends UserPointTable {
+
+    private final ConcurrentHashMap<Long, UserPoint> table = new ConcurrentHashMap<>();
+
+    @Override
+    public UserPoint selectById(Long id) {
+        return this.table.getOrDefault(id, UserPoint.empty(id));
+    }
+
+    @Override
+    public UserPoint insertOrUpdate(long id, long amount) {
+        UserPoint userPoint = new UserPoint(id, amount, System.currentTimeMillis());
+        this.table.put(id, userPoint);
+        return userPoint;
+    }
+}
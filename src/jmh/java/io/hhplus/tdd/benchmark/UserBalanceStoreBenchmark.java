@@ -0,0 +1,65 @@
+package io.hhplus.tdd.benchmark;
+
+import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+
+import io.hhplus.tdd.database.UserBalanceStore;
+import io.hhplus.tdd.point.UserPoint;
+
+/**
+ * 원시 타입 잔액 저장소(CAS)와 HashMap&lt;Long, UserPoint&gt;(동기화) 의 충전 비용
+ * - 할당량은 -prof gc 로 확인합니다. (gc.alloc.rate.norm)
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+public class UserBalanceStoreBenchmark {
+
+    @Param({"1000000"})
+    private int users;
+
+    private UserBalanceStore store;
+    private Map<Long, UserPoint> table;
+
+    @Setup(Level.Iteration)
+    public void setUp() {
+        this.store = new UserBalanceStore(this.users);
+        this.table = new HashMap<>();
+        for (int i = 0; i < this.users; i++) {
+            this.store.charge(i, 0L);
+            this.table.put((long) i, UserPoint.empty(i));
+        }
+    }
+
+    // 잔액 한도에 닿으면 실패하므로 충전과 사용을 번갈아 호출
+    @Benchmark
+    public long primitiveStore() {
+        long id = ThreadLocalRandom.current().nextInt(this.users);
+        this.store.charge(id, 1L);
+        return this.store.use(id, 1L);
+    }
+
+    @Benchmark
+    public UserPoint boxedTable() {
+        Long id = (long) ThreadLocalRandom.current().nextInt(this.users);
+        synchronized (this.table) {
+            UserPoint charged = this.table.get(id).rechargePoint(1L);
+            this.table.put(id, charged);
+            UserPoint used = charged.usePoint(1L);
+            this.table.put(id, used);
+            return used;
+        }
+    }
+}
@@ -0,0 +1,58 @@
+package io.hhplus.tdd.benchmark;
+
+import java.util.concurrent.ThreadLocalRandom;
+
+/**
+ * 벤치마크용 유저 id 분포
+ * - uniform : 모든 유저가 같은 확률
+ * - zipf : 소수의 유저에 요청이 몰리는 분포 (지수 1.0)
+ */
+public final class UserIdDistribution {
+
+    private final double[] cumulative;
+
+    private UserIdDistribution(double[] cumulative) {
+        this.cumulative = cumulative;
+    }
+
+    public static UserIdDistribution of(String name, int users) {
+        return switch (name) {
+            case "uniform" -> new UserIdDistribution(null);
+            case "zipf" -> zipf(users, 1.0);
+            default -> throw new IllegalArgumentException("지원하지 않는 분포입니다. name=" + name);
+        };
+    }
+
+    private static UserIdDistribution zipf(int users, double exponent) {
+        double[] cumulative = new double[users];
+        double sum = 0;
+        for (int rank = 1; rank <= users; rank++) {
+            sum += 1.0 / Math.pow(rank, exponent);
+            cumulative[rank - 1] = sum;
+        }
+        for (int i = 0; i < users; i++) {
+            cumulative[i] /= sum;
+        }
+        return new UserIdDistribution(cumulative);
+    }
+
+    public long next(int users) {
+        ThreadLocalRandom random = ThreadLocalRandom.current();
+        if (this.cumulative == null) {
+            return random.nextInt(users);
+        }
+
+        double value = random.nextDouble();
+        int low = 0;
+        int high = this.cumulative.length - 1;
+        while (low < high) {
+            int mid = (low + high) >>> 1;
+            if (this.cumulative[mid] < value) {
+                low = mid + 1;
+            } else {
+                high = mid;
+            }
+        }
+        return low;
+    }
+}
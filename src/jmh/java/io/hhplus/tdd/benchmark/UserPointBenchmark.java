@@ -0,0 +1,35 @@
+package io.hhplus.tdd.benchmark;
+
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.State;
+
+import io.hhplus.tdd.point.UserPoint;
+
+/**
+ * UserPoint 의 충전/사용 검증 비용
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+public class UserPointBenchmark {
+
+    private final UserPoint userPoint = new UserPoint(1L, 500_000L, 0L);
+
+    private long amount = 1L;
+
+    @Benchmark
+    public UserPoint rechargePoint() {
+        return this.userPoint.rechargePoint(this.amount);
+    }
+
+    @Benchmark
+    public UserPoint usePoint() {
+        return this.userPoint.usePoint(this.amount);
+    }
+}
@@ -1,13 +1,32 @@
 package io.hhplus.tdd;
 
+import java.util.concurrent.RejectedExecutionException;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.ExceptionHandler;
 import org.springframework.web.bind.annotation.RestControllerAdvice;
 import org.springframework.web.servlet.mvc.method.annotation.ResponseEntityExceptionHandler;
 
+import io.hhplus.tdd.infrastructure.PointMetrics;
+import io.hhplus.tdd.infrastructure.PointOverloadException;
+
 @RestControllerAdvice
 public class ApiControllerAdvice extends ResponseEntityExceptionHandler {
+	
+	private final PointMetrics metrics;
+	
+	public ApiControllerAdvice() {
+		this(null);
+	}
+	
+	@Autowired
+	public ApiControllerAdvice(PointMetrics metrics) {
+		this.metrics = metrics;
+	}
+	
     @ExceptionHandler(value = Exception.class)
     public ResponseEntity<ErrorResponse> handleException(Exception e) {
         return ResponseEntity.status(500).body(new ErrorResponse("500", "에러가 발생했습니다."));
@@ -15,6 +34,27 @@ public class ApiControllerAdvice extends ResponseEntityExceptionHandler {
     
     @ExceptionHandler(IllegalArgumentException.class)
     public ResponseEntity<String> handleIllegalArgumentException(IllegalArgumentException ex) {
+    	if (this.metrics != null) {
+    		this.metrics.reject(ex.getMessage()); // 잘못된 요청, 한도 초과, 잔액 부족 등 거절 사유별 집계
+    	}
         return ResponseEntity.status(HttpStatus.BAD_REQUEST).body(ex.getMessage());
     }
+    
+    // 과부하로 거절한 요청 - 같은 유저에 몰린 요청은 429, 그 밖에는 503 (잠시 뒤 다시 보내도록 Retry-After)
+    @ExceptionHandler(PointOverloadException.class)
+    public ResponseEntity<ErrorResponse> handlePointOverloadException(PointOverloadException ex) {
+    	if (this.metrics != null) {
+    		this.metrics.reject(ex);
+    	}
+    	HttpStatus status = HttpStatus.valueOf(ex.reason().status());
+        return ResponseEntity.status(status)
+        		.header(HttpHeaders.RETRY_AFTER, "1")
+        		.body(new ErrorResponse(String.valueOf(status.value()), ex.getMessage()));
+    }
+    
+    // 리액티브 스케줄러가 가득 참
+    @ExceptionHandler(RejectedExecutionException.class)
+    public ResponseEntity<ErrorResponse> handleRejectedExecutionException(RejectedExecutionException ex) {
+    	return this.handlePointOverloadException(PointOverloadException.overloaded());
+    }
 }
@@ -0,0 +1,10 @@
+package io.hhplus.tdd.database;
+
+/**
+ * 유저 잔액 1건을 객체 없이 전달받는 콜백 (스냅샷 읽기/쓰기용)
+ */
+@FunctionalInterface
+public interface BalanceConsumer {
+
+    void accept(long id, long balance, long updateMillis);
+}
@@ -0,0 +1,227 @@
+package io.hhplus.tdd.database;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.Optional;
+import java.util.concurrent.locks.ReentrantLock;
+
+import io.hhplus.tdd.infrastructure.PointOverloadException;
+import io.hhplus.tdd.point.UserPoint;
+
+/**
+ * 메모리 맵 파일에 유저별 잔액을 보관하는 저장소
+ * - 고정 폭(64바이트) 슬롯 배열이고, 유저의 기본 슬롯은 id 를 maxUsers 로 나눈 나머지입니다.
+ *   maxUsers 보다 작은 id 는 기본 슬롯을 그대로 쓰므로 조회/저장이 파일 위치 계산 한 번으로 끝나고,
+ *   큰 id 는 기본 슬롯이 차 있으면 다음 슬롯을 차례로 찾습니다. (체크섬에 id 가 포함되어 있어 누구의 슬롯인지 구분)
+ * - 기본 슬롯부터 MAX_PROBES 안에 빈 슬롯이 없으면 저장을 용량 초과(503)로 거절합니다.
+ * - 잔액은 힙 밖(페이지 캐시)에 있으므로 유저 수가 많아도 GC 대상이 늘지 않고, 재시작 시 파일을 다시 매핑하기만 하면 됩니다.
+ * - 슬롯은 두 벌(copy)로 나뉘어 있고 저장은 항상 오래된 쪽에 덮어씁니다. 각 벌은 체크섬을 가지므로
+ *   쓰는 도중 프로세스가 죽어도 다른 한 벌(직전 값)이 남습니다.
+ * - 같은 유저의 저장은 유저 락 안에서 한 스레드만 수행한다고 가정합니다.
+ * - 프로세스 종료에는 안전하지만 OS 장애까지 견디려면 force() 로 디스크에 내려야 합니다.
+ */
+public class MappedBalanceStore implements AutoCloseable {
+
+    static final int SLOT_BYTES = 64;
+    static final int COPY_BYTES = 32;
+
+    private static final long MAGIC = 0x48485054_42414C32L; // "HHPTBAL2"
+    private static final int CHUNK_SHIFT = 24; // 매핑 하나에 2^24 슬롯 (1GB)
+    private static final long CHUNK_SLOTS = 1L << CHUNK_SHIFT;
+    private static final long SALT = 0x5DEECE66DL;
+    private static final long FULL = Long.MIN_VALUE;
+    private static final long MAX_PROBES = 1024; // 빈 슬롯을 찾는 최대 거리 - 거의 찬 저장소에서 조회가 전체를 훑지 않도록
+
+    private final FileChannel channel;
+    private final MappedByteBuffer[] chunks;
+    private final long maxUsers;
+    private final ReentrantLock claimLock = new ReentrantLock(); // 서로 다른 유저가 같은 빈 슬롯을 차지하지 않도록
+
+    public MappedBalanceStore(Path path, long maxUsers) {
+        if (maxUsers < 1) {
+            throw new IllegalArgumentException("Check Capacity.");
+        }
+        this.maxUsers = maxUsers;
+
+        try {
+            if (path.getParent() != null) {
+                Files.createDirectories(path.getParent());
+            }
+            this.channel = FileChannel.open(path, StandardOpenOption.CREATE, StandardOpenOption.READ, StandardOpenOption.WRITE);
+
+            // 0번 슬롯 자리는 헤더, 유저 id 는 1번 슬롯부터
+            long slots = maxUsers + 1;
+            long bytes = slots * SLOT_BYTES;
+            if (this.channel.size() < bytes) {
+                this.channel.write(ByteBuffer.allocate(1), bytes - 1); // 희소 파일로 늘림
+            }
+
+            this.chunks = new MappedByteBuffer[(int) ((slots + CHUNK_SLOTS - 1) >>> CHUNK_SHIFT)];
+            for (int i = 0; i < this.chunks.length; i++) {
+                long position = (long) i << CHUNK_SHIFT;
+                long length = Math.min(CHUNK_SLOTS, slots - position) * SLOT_BYTES;
+                this.chunks[i] = this.channel.map(FileChannel.MapMode.READ_WRITE, position * SLOT_BYTES, length);
+            }
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+
+        this.checkHeader();
+    }
+
+    // 저장된 적 없는 유저는 빈 값
+    public Optional<UserPoint> find(long id) {
+        long slot = this.probe(id);
+        if (slot < 0) {
+            return Optional.empty();
+        }
+
+        MappedByteBuffer chunk = this.chunkOf(slot);
+        int offset = offsetOf(slot);
+        int latest = this.latestCopy(chunk, offset, id);
+        return Optional.of(new UserPoint(id, chunk.getLong(latest), chunk.getLong(latest + 8)));
+    }
+
+    public void save(UserPoint point) {
+        long slot = this.probe(point.id());
+        if (slot < 0) {
+            this.claim(point);
+            return;
+        }
+        this.write(slot, point);
+    }
+
+    // 페이지 캐시에 있는 변경분을 디스크에 기록
+    public void force() {
+        for (MappedByteBuffer chunk : this.chunks) {
+            chunk.force();
+        }
+    }
+
+    public long maxUsers() {
+        return this.maxUsers;
+    }
+
+    @Override
+    public void close() {
+        this.force();
+        try {
+            this.channel.close();
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    // 새 파일(헤더가 비어 있음)이면 헤더를 쓰고, 기존 파일이면 같은 형식과 크기로 만든 파일인지 확인
+    private void checkHeader() {
+        MappedByteBuffer header = this.chunks[0];
+        if (header.getLong(0) == 0) {
+            header.putLong(0, MAGIC);
+            header.putLong(8, this.maxUsers);
+            return;
+        }
+        if (header.getLong(0) != MAGIC || header.getLong(8) != this.maxUsers) {
+            throw new IllegalStateException("Check Mapped Store.");
+        }
+    }
+
+    // 처음 저장하는 유저 - 빈 슬롯을 다시 찾아 차지 (그 사이 다른 유저가 차지했을 수 있으므로 락 안에서)
+    private void claim(UserPoint point) {
+        this.claimLock.lock();
+        try {
+            long slot = this.probe(point.id());
+            if (slot == FULL) {
+                throw new PointOverloadException(PointOverloadException.Reason.OVERLOADED, "잔액 저장소의 용량이 가득 찼습니다.");
+            }
+            this.write(slot < 0 ? -slot - 1 : slot, point);
+        } finally {
+            this.claimLock.unlock();
+        }
+    }
+
+    private void write(long slot, UserPoint point) {
+        MappedByteBuffer chunk = this.chunkOf(slot);
+        int offset = offsetOf(slot);
+
+        int latest = this.latestCopy(chunk, offset, point.id());
+        long seq = latest < 0 ? 1 : chunk.getLong(latest + 16) + 1;
+        int target = (latest == offset) ? offset + COPY_BYTES : offset;
+
+        // 체크섬을 마지막에 기록해 중간에 멈춘 벌은 무효가 되도록 함
+        chunk.putLong(target, point.point());
+        chunk.putLong(target + 8, point.updateMillis());
+        chunk.putLong(target + 16, seq);
+        chunk.putLong(target + 24, checksum(point.id(), point.point(), point.updateMillis(), seq));
+    }
+
+    // 유저의 슬롯 번호, 없으면 기본 슬롯부터 찾다 처음 만난 빈 슬롯을 -slot - 1 로, MAX_PROBES 안에 빈 슬롯도 없으면 FULL
+    private long probe(long id) {
+        if (id < 0) {
+            throw new IllegalArgumentException("Check Id.");
+        }
+
+        long home = id % this.maxUsers;
+        long probes = Math.min(this.maxUsers, MAX_PROBES);
+        for (long i = 0; i < probes; i++) {
+            long slot = (home + i) % this.maxUsers + 1; // 0번 슬롯 자리는 헤더
+            MappedByteBuffer chunk = this.chunkOf(slot);
+            int offset = offsetOf(slot);
+            if (this.latestCopy(chunk, offset, id) >= 0) {
+                return slot;
+            }
+            if (isEmpty(chunk, offset)) {
+                return -slot - 1;
+            }
+        }
+        return FULL;
+    }
+
+    private MappedByteBuffer chunkOf(long slot) {
+        return this.chunks[(int) (slot >>> CHUNK_SHIFT)];
+    }
+
+    private static int offsetOf(long slot) {
+        return (int) (slot & (CHUNK_SLOTS - 1)) * SLOT_BYTES;
+    }
+
+    // 한 번도 기록되지 않은 슬롯 (쓰다 만 첫 저장은 빈 슬롯으로 보지 않고 건너뜀)
+    private static boolean isEmpty(MappedByteBuffer chunk, int offset) {
+        return chunk.getLong(offset + 16) == 0 && chunk.getLong(offset + COPY_BYTES + 16) == 0;
+    }
+
+    // 해당 유저의 체크섬이 맞는 벌 중 seq 가 큰 쪽의 위치, 없으면 -1
+    private int latestCopy(MappedByteBuffer chunk, int offset, long id) {
+        long first = validSeq(chunk, offset, id);
+        long second = validSeq(chunk, offset + COPY_BYTES, id);
+        if (first < 0 && second < 0) {
+            return -1;
+        }
+        return first >= second ? offset : offset + COPY_BYTES;
+    }
+
+    private static long validSeq(MappedByteBuffer chunk, int copy, long id) {
+        long balance = chunk.getLong(copy);
+        long updateMillis = chunk.getLong(copy + 8);
+        long seq = chunk.getLong(copy + 16);
+        return seq > 0 && chunk.getLong(copy + 24) == checksum(id, balance, updateMillis, seq) ? seq : -1;
+    }
+
+    static long checksum(long id, long balance, long updateMillis, long seq) {
+        return mix(balance ^ mix(updateMillis ^ mix(seq ^ mix(id ^ SALT))));
+    }
+
+    private static long mix(long value) {
+        value ^= value >>> 33;
+        value *= 0xFF51AFD7ED558CCDL;
+        value ^= value >>> 33;
+        value *= 0xC4CEB9FE1A85EC53L;
+        value ^= value >>> 33;
+        return value;
+    }
+}
@@ -0,0 +1,20 @@
+package io.hhplus.tdd.database;
+
+import java.nio.file.Path;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.boot.context.properties.bind.DefaultValue;
+
+/**
+ * 메모리 맵 잔액 저장소 설정
+ * - enabled : 사용 여부, 사용하면 PointService 는 테이블보다 이 저장소를 먼저 읽고 모든 잔액 변경을 기록
+ * - path : 파일 위치
+ * - maxUsers : 저장할 수 있는 유저 수 (슬롯 수), 파일 크기는 (maxUsers + 1) * 64 바이트
+ */
+@ConfigurationProperties(prefix = "point.mapped-store")
+public record MappedBalanceStoreProperties(
+        @DefaultValue("false") boolean enabled,
+        @DefaultValue("data/balances.dat") Path path,
+        @DefaultValue("10000000") long maxUsers
+) {
+}
@@ -0,0 +1,121 @@
+package io.hhplus.tdd.database;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.function.Consumer;
+
+import io.hhplus.tdd.point.PointHistory;
+import io.hhplus.tdd.point.TransactionType;
+
+/**
+ * 스냅샷이 세그먼트를 지우기 전에 그 세그먼트의 내역을 옮겨 두는 추가 전용 내역 파일
+ * - 스냅샷은 잔액만 담으므로 크기가 유저 수에 비례하고, 내역은 이 파일에 한 번씩만 이어 씁니다. (스냅샷마다 다시 쓰지 않음)
+ * - 확정된 건수는 스냅샷 헤더(histories)에 기록합니다. 이어 쓴 뒤 스냅샷 교체 전에 죽으면 확정 건수 뒤에 남은 내역은
+ *   세그먼트에도 그대로 있으므로, 읽을 때는 확정 건수까지만 읽고 다음에 이어 쓸 때 잘라냅니다.
+ * - 파일 형식 : 내역별 (id, 유저 id, 금액, 종류, 수정 시각)
+ */
+public final class PointHistoryArchive {
+
+    static final int RECORD_BYTES = 40;
+    private static final int BUFFER_BYTES = RECORD_BYTES * 8192;
+
+    private final Path path;
+
+    public PointHistoryArchive(Path path) {
+        this.path = path;
+    }
+
+    // 확정된 committed 건 뒤에 이어 쓰고 fsync 한 뒤 쓴 건수를 반환
+    // histories 는 전달받은 콜백에 내역을 순서대로 넘겨야 함
+    public long append(long committed, Consumer<Consumer<PointHistory>> histories) {
+        try {
+            if (this.path.getParent() != null) {
+                Files.createDirectories(this.path.getParent());
+            }
+            try (FileChannel channel = FileChannel.open(this.path, StandardOpenOption.CREATE, StandardOpenOption.WRITE)) {
+                long committedBytes = committed * RECORD_BYTES;
+                if (channel.size() < committedBytes) {
+                    throw new IllegalStateException("Check Snapshot.");
+                }
+                channel.truncate(committedBytes);
+                channel.position(committedBytes);
+
+                ByteBuffer buffer = ByteBuffer.allocateDirect(BUFFER_BYTES);
+                long[] written = {0};
+                histories.accept(history -> {
+                    buffer.putLong(history.id()).putLong(history.userId()).putLong(history.amount())
+                            .putLong(history.type().ordinal()).putLong(history.updateMillis());
+                    written[0]++;
+                    if (!buffer.hasRemaining()) {
+                        flush(channel, buffer);
+                    }
+                });
+                flush(channel, buffer);
+                channel.force(true);
+                return written[0];
+            }
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    // 확정된 rows 건을 순서대로 전달
+    public void read(long rows, Consumer<PointHistory> consumer) {
+        if (rows == 0) {
+            return;
+        }
+        if (!Files.exists(this.path)) {
+            throw new IllegalStateException("Check Snapshot.");
+        }
+
+        try (FileChannel channel = FileChannel.open(this.path, StandardOpenOption.READ)) {
+            long end = rows * RECORD_BYTES;
+            if (channel.size() < end) {
+                throw new IllegalStateException("Check Snapshot.");
+            }
+
+            ByteBuffer buffer = ByteBuffer.allocateDirect(BUFFER_BYTES);
+            TransactionType[] types = TransactionType.values();
+            long position = 0;
+            while (position < end) {
+                buffer.clear().limit((int) Math.min(buffer.capacity(), end - position));
+                while (buffer.hasRemaining()) {
+                    if (channel.read(buffer, position + buffer.position()) < 0) {
+                        throw new IllegalStateException("Check Snapshot.");
+                    }
+                }
+                buffer.flip();
+                position += buffer.limit();
+                while (buffer.hasRemaining()) {
+                    long id = buffer.getLong();
+                    long userId = buffer.getLong();
+                    long amount = buffer.getLong();
+                    long type = buffer.getLong();
+                    if (type < 0 || type >= types.length) {
+                        throw new IllegalStateException("Check Snapshot.");
+                    }
+                    consumer.accept(new PointHistory(id, userId, amount, types[(int) type], buffer.getLong()));
+                }
+            }
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    private static void flush(FileChannel channel, ByteBuffer buffer) {
+        buffer.flip();
+        try {
+            while (buffer.hasRemaining()) {
+                channel.write(buffer);
+            }
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+        buffer.clear();
+    }
+}
@@ -0,0 +1,277 @@
+package io.hhplus.tdd.database;
+
+import java.util.AbstractList;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.RandomAccess;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Predicate;
+
+import org.springframework.stereotype.Component;
+
+import io.hhplus.tdd.point.PointHistory;
+import io.hhplus.tdd.point.PointHistoryQuery;
+import io.hhplus.tdd.point.TransactionType;
+import lombok.RequiredArgsConstructor;
+
+/**
+ * PointHistoryTable 앞단에서 유저별 포인트 내역을 인덱싱합니다.
+ * - 유저 id 별로 append-only 세그먼트를 두어, 조회 비용이 전체 내역 수와 무관합니다.
+ * - 세그먼트가 없는 유저는 최초 1회만 테이블을 조회해 채웁니다.
+ * - 조회는 락 없이 수행되며, 반환되는 목록은 조회 시점의 불변 뷰입니다.
+ * - 세그먼트는 id(추가 순서)로 정렬되어 있어 페이지 조회는 커서와 기간의 위치를 이진 탐색한 뒤 필요한 만큼만 읽습니다.
+ */
+@Component
+@RequiredArgsConstructor
+public class PointHistoryRepository {
+
+    private final PointHistoryTable pointHistoryTable;
+
+    private final ConcurrentHashMap<Long, Segment> segments = new ConcurrentHashMap<>();
+    private final AtomicLong cursor = new AtomicLong(1);
+
+    public List<PointHistory> findAllByUserId(long userId) {
+        return this.segmentOf(userId).snapshot();
+    }
+
+    // 복사하지 않고 세그먼트 배열을 그대로 순회 (조회 시점까지의 내역, 대량 내보내기용)
+    public Iterable<PointHistory> streamAllByUserId(long userId) {
+        return this.segmentOf(userId).snapshot();
+    }
+
+    // 조건에 맞는 내역을 id 순으로 최대 limit 건 조회 (limit 을 생략하면 MAX_LIMIT 건)
+    public List<PointHistory> findByUserId(long userId, PointHistoryQuery query) {
+        return this.segmentOf(userId).page(query);
+    }
+
+    // 해당 유저의 락을 잡은 상태에서만 호출 (세그먼트당 작성자는 항상 하나)
+    public PointHistory append(long userId, long amount, TransactionType type, long updateMillis) {
+        PointHistory history = this.issue(userId, amount, type, updateMillis);
+        this.append(history);
+        return history;
+    }
+
+    // 새 id 로 내역을 만들기만 하고 추가하지는 않음 (로그에 먼저 기록한 뒤 추가할 때 사용)
+    public PointHistory issue(long userId, long amount, TransactionType type, long updateMillis) {
+        return new PointHistory(this.cursor.getAndIncrement(), userId, amount, type, updateMillis);
+    }
+
+    // issue 로 만든 내역 추가 (해당 유저의 락을 잡은 상태에서만 호출)
+    public void append(PointHistory history) {
+        this.segmentOf(history.userId()).append(history);
+    }
+
+    // 트랜잭션 로그에서 읽은 내역을 원래 id 그대로 추가 (시작 시 복구용)
+    public void restore(PointHistory history) {
+        this.append(history);
+        this.advanceCursor(history.id());
+    }
+
+    // 스냅샷에 반영된 마지막 id 이후부터 발급되도록 함 (시작 시 복구용)
+    public void advanceCursor(long lastId) {
+        this.cursor.accumulateAndGet(lastId + 1, Math::max);
+    }
+
+    // 다른 노드에서 옮겨 온 유저의 내역으로 통째로 바꿈 (해당 유저의 락을 잡은 상태에서만 호출)
+    // 이후 발급하는 id 가 옮겨 온 내역보다 크도록 커서도 당김
+    public void replace(long userId, List<PointHistory> histories) {
+        Segment segment = new Segment();
+        for (PointHistory history : histories) {
+            segment.append(history);
+            this.advanceCursor(history.id());
+        }
+        this.segments.put(userId, segment);
+    }
+
+    // 인덱싱된 유저 수
+    public int size() {
+        return this.segments.size();
+    }
+
+    // 인덱싱된 유저 id - 이 노드가 상태를 가진 유저 (샤드 재배치 시 옮길 유저를 찾을 때 사용)
+    public Set<Long> userIds() {
+        return Collections.unmodifiableSet(this.segments.keySet());
+    }
+
+    // 테이블 조회를 computeIfAbsent 안에서 하면 맵의 모니터를 잡은 채 기다리게 되므로 (가상 스레드 고정)
+    // 밖에서 읽은 뒤 먼저 등록된 세그먼트를 사용합니다. 세그먼트는 맵에 등록된 뒤에만 추가되므로 버려지는 쪽은 안전합니다.
+    private Segment segmentOf(long userId) {
+        Segment segment = this.segments.get(userId);
+        if (segment != null) {
+            return segment;
+        }
+
+        Segment loaded = this.load(userId);
+        Segment existing = this.segments.putIfAbsent(userId, loaded);
+        return existing != null ? existing : loaded;
+    }
+
+    private Segment load(long userId) {
+        Segment segment = new Segment();
+        for (PointHistory history : this.selectAllByUserId(userId)) {
+            segment.append(history);
+            this.cursor.accumulateAndGet(history.id() + 1, Math::max);
+        }
+        return segment;
+    }
+
+    // 테이블은 스레드 안전하지 않으므로 플러셔의 쓰기와 겹치지 않게 테이블의 읽기 락 안에서 읽음 (다른 유저의 조회와는 동시에)
+    private List<PointHistory> selectAllByUserId(long userId) {
+        List<PointHistory> histories = PointTableLock.read(this.pointHistoryTable, () -> this.pointHistoryTable.selectAllByUserId(userId));
+        return histories == null ? List.of() : histories;
+    }
+
+    /**
+     * 유저 한 명의 내역
+     * - 전체 내역과 함께 종류(충전/사용)별 내역을 따로 두어, 종류 조건이 있으면 그 종류의 내역만 탐색합니다.
+     * - 내역 하나를 두 곳에서 참조하므로 내역당 참조 하나만큼 메모리를 더 씁니다.
+     */
+    private static final class Segment {
+        private final Run all = new Run();
+        private final Run[] byType = new Run[TransactionType.values().length];
+
+        private Segment() {
+            for (int i = 0; i < this.byType.length; i++) {
+                this.byType[i] = new Run();
+            }
+        }
+
+        private void append(PointHistory history) {
+            this.byType[history.type().ordinal()].append(history);
+            this.all.append(history);
+        }
+
+        private View snapshot() {
+            return this.all.snapshot();
+        }
+
+        private List<PointHistory> page(PointHistoryQuery query) {
+            Run run = (query.type() == null) ? this.all : this.byType[query.type().ordinal()];
+            return run.snapshot().page(query);
+        }
+    }
+
+    /**
+     * id 순으로 쌓이는 내역 배열
+     * - 원소를 먼저 기록한 뒤 size 를 volatile 로 발행하므로, 읽는 쪽은 size 까지의 원소를 항상 온전히 봅니다.
+     * - 배열이 커질 때는 새 배열을 먼저 발행하고 size 를 올립니다.
+     * - updateMillis 가 직전 내역보다 작은 내역(시계가 뒤로 감)은 ordered 를 내린 뒤 size 를 올리므로, 읽는 쪽이 본 size 까지는 ordered 가 맞습니다.
+     */
+    private static final class Run {
+        private volatile PointHistory[] elements = new PointHistory[8];
+        private volatile int size;
+        private volatile boolean ordered = true;
+
+        private void append(PointHistory history) {
+            PointHistory[] current = this.elements;
+            int index = this.size;
+            if (index > 0 && history.updateMillis() < current[index - 1].updateMillis()) {
+                this.ordered = false;
+            }
+            if (index == current.length) {
+                current = Arrays.copyOf(current, current.length * 2);
+                this.elements = current;
+            }
+            current[index] = history;
+            this.size = index + 1;
+        }
+
+        private View snapshot() {
+            int size = this.size;
+            return new View(this.elements, size, this.ordered);
+        }
+    }
+
+    private static final class View extends AbstractList<PointHistory> implements RandomAccess {
+        private final PointHistory[] elements;
+        private final int size;
+        private final boolean ordered;
+
+        private View(PointHistory[] elements, int size, boolean ordered) {
+            this.elements = elements;
+            this.size = size;
+            this.ordered = ordered;
+        }
+
+        @Override
+        public PointHistory get(int index) {
+            if (index < 0 || index >= this.size) {
+                throw new IndexOutOfBoundsException("Index: " + index + ", Size: " + this.size);
+            }
+            return this.elements[index];
+        }
+
+        @Override
+        public int size() {
+            return this.size;
+        }
+
+        // id 는 추가 순서대로 늘어나므로 커서(after)는 이진 탐색으로 찾습니다.
+        // updateMillis 도 id 순서와 같으면(ordered) 기간의 양 끝도 이진 탐색해 O(log n + 페이지) 로 읽고,
+        // 시계가 뒤로 간 적이 있는 내역에서만 기간 조건을 한 건씩 확인합니다.
+        private List<PointHistory> page(PointHistoryQuery query) {
+            int start = 0;
+            if (query.after() != null) {
+                long after = query.after();
+                start = this.lowerBound(history -> history.id() > after);
+            }
+
+            int limit = query.pageLimit();
+            if (!this.ordered) {
+                return this.scan(query, start, limit);
+            }
+
+            if (query.from() != null) {
+                long from = query.from();
+                start = Math.max(start, this.lowerBound(history -> history.updateMillis() >= from));
+            }
+            int end = this.size;
+            if (query.to() != null) {
+                long to = query.to();
+                end = this.lowerBound(history -> history.updateMillis() > to);
+            }
+            end = Math.min(end, start + limit);
+
+            List<PointHistory> page = new ArrayList<>(Math.max(end - start, 0));
+            for (int i = start; i < end; i++) {
+                page.add(this.elements[i]);
+            }
+            return page;
+        }
+
+        // 기간 조건을 한 건씩 확인하며 최대 limit 건 (종류는 이미 나뉘어 있음)
+        private List<PointHistory> scan(PointHistoryQuery query, int start, int limit) {
+            List<PointHistory> page = new ArrayList<>(Math.min(limit, this.size - start));
+            for (int i = start; i < this.size && page.size() < limit; i++) {
+                PointHistory history = this.elements[i];
+                if (query.from() != null && history.updateMillis() < query.from()) {
+                    continue;
+                }
+                if (query.to() != null && history.updateMillis() > query.to()) {
+                    continue;
+                }
+                page.add(history);
+            }
+            return page;
+        }
+
+        // 조건을 처음으로 만족하는 위치 (조건은 앞쪽에서 false, 뒤쪽에서 true 여야 함)
+        private int lowerBound(Predicate<PointHistory> condition) {
+            int low = 0;
+            int high = this.size;
+            while (low < high) {
+                int mid = (low + high) >>> 1;
+                if (condition.test(this.elements[mid])) {
+                    high = mid;
+                } else {
+                    low = mid + 1;
+                }
+            }
+            return low;
+        }
+    }
+}
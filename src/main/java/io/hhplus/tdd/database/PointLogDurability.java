@@ -0,0 +1,11 @@
+package io.hhplus.tdd.database;
+
+/**
+ * 트랜잭션 로그 내구성 수준
+ * - SYNC : 기록할 때마다 fsync 한 뒤 반환
+ * - GROUP : 동시에 들어온 기록을 모아 한 번에 fsync 하고, 자신의 기록이 디스크에 내려간 뒤 반환
+ * - ASYNC : 버퍼에 담고 바로 반환, 기록 스레드가 flushInterval 마다 모아서 fsync (프로세스가 죽으면 마지막 구간 유실 가능)
+ */
+public enum PointLogDurability {
+    SYNC, GROUP, ASYNC
+}
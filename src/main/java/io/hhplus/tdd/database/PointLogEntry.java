@@ -0,0 +1,12 @@
+package io.hhplus.tdd.database;
+
+import io.hhplus.tdd.point.PointHistory;
+
+/**
+ * 트랜잭션 로그 기록 1건 - 내역과 반영 후 잔액
+ */
+public record PointLogEntry(
+        PointHistory history,
+        long balance
+) {
+}
@@ -0,0 +1,16 @@
+package io.hhplus.tdd.database;
+
+/**
+ * 잔액 스냅샷 정보
+ * - coveredSegment : 스냅샷에 반영된 마지막 트랜잭션 로그 세그먼트 (복구 시 이후 세그먼트만 다시 읽음)
+ * - coveredHistoryId : 스냅샷에 반영된 내역 중 가장 큰 id
+ * - users : 스냅샷에 담긴 유저 수
+ * - histories : 내역 파일(PointHistoryArchive)에 확정된 내역 수 (이 뒤에 남은 내역은 읽지 않음)
+ */
+public record PointSnapshotHeader(
+        long coveredSegment,
+        long coveredHistoryId,
+        long users,
+        long histories
+) {
+}
@@ -0,0 +1,21 @@
+package io.hhplus.tdd.database;
+
+import java.nio.file.Path;
+import java.time.Duration;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.boot.context.properties.bind.DefaultValue;
+
+/**
+ * 잔액 스냅샷 설정 (트랜잭션 로그를 사용할 때만 동작)
+ * - enabled : 사용 여부
+ * - path : 스냅샷 파일 위치
+ * - interval : 스냅샷 주기, 스냅샷에 반영된 로그 세그먼트는 삭제
+ */
+@ConfigurationProperties(prefix = "point.snapshot")
+public record PointSnapshotProperties(
+        @DefaultValue("false") boolean enabled,
+        @DefaultValue("data/points.snapshot") Path path,
+        @DefaultValue("5m") Duration interval
+) {
+}
@@ -0,0 +1,270 @@
+package io.hhplus.tdd.database;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.time.Duration;
+import java.util.Optional;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.function.Consumer;
+import java.util.zip.CRC32C;
+
+import io.hhplus.tdd.infrastructure.PointThreads;
+import io.hhplus.tdd.point.PointHistory;
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * 트랜잭션 로그를 주기적으로 잔액 스냅샷으로 압축합니다.
+ * - 로그를 새 세그먼트로 넘긴 뒤, 닫힌 세그먼트들을 이전 스냅샷 위에 다시 적용해 새 스냅샷을 만듭니다.
+ *   닫힌 세그먼트는 바뀌지 않으므로 기록 중인 요청을 멈추지 않고 만들 수 있습니다. (세그먼트를 넘기는 순간만 잠깐 대기)
+ * - 스냅샷에는 잔액만 담아 크기가 유저 수에 비례합니다. 내역은 메모리에만 있으므로 세그먼트를 지우기 전에
+ *   닫힌 세그먼트의 내역만 내역 파일(PointHistoryArchive)에 이어 써서, 재시작 후에도 스냅샷 이전 내역까지 조회할 수 있습니다.
+ * - 스냅샷은 임시 파일에 쓰고 fsync 한 뒤 이름을 바꿔 교체하고, 디렉터리까지 fsync 해 교체를 확정합니다.
+ *   도중에 죽어도 이전 스냅샷이 남습니다.
+ * - 내역 파일 fsync → 스냅샷 교체 확정 → 반영된 세그먼트 삭제 순이라, 로그가 끝없이 커지지 않으면서 어느 단계에서 죽어도 내역을 잃지 않습니다.
+ * - 파일 형식 : 헤더(magic, coveredSegment, coveredHistoryId, users, histories) + 유저별 (id, 잔액, 수정 시각) + CRC32C
+ */
+@Slf4j
+public class PointSnapshotter implements AutoCloseable {
+
+    private static final long MAGIC = 0x48485054_534E5033L; // "HHPTSNP3"
+    private static final int HEADER_BYTES = 40;
+    private static final int ENTRY_BYTES = 24;
+    private static final int BUFFER_ENTRIES = 8192;
+    private static final int INITIAL_USERS = 1 << 16;
+
+    private final PointTransactionLog transactionLog;
+    private final Path path;
+    private final PointHistoryArchive archive;
+    private final ReentrantLock lock = new ReentrantLock();
+    private final ScheduledExecutorService scheduler;
+
+    public PointSnapshotter(PointTransactionLog transactionLog, Path path, Duration interval) {
+        this.transactionLog = transactionLog;
+        this.path = path;
+        this.archive = new PointHistoryArchive(historyPath(path));
+
+        if (interval.isZero() || interval.isNegative()) {
+            this.scheduler = null;
+            return;
+        }
+        this.scheduler = Executors.newSingleThreadScheduledExecutor(PointThreads.factory("point-snapshot-", false));
+        this.scheduler.scheduleWithFixedDelay(this::snapshotQuietly, interval.toMillis(), interval.toMillis(), TimeUnit.MILLISECONDS);
+    }
+
+    // 스냅샷을 만들고 반영된 세그먼트를 정리
+    public PointSnapshotHeader snapshot() {
+        this.lock.lock();
+        try {
+            long start = System.nanoTime();
+            long closed = this.transactionLog.roll();
+
+            Optional<PointSnapshotHeader> previous = readHeader(this.path);
+            long after = previous.map(PointSnapshotHeader::coveredSegment).orElse(0L);
+            // 닫힌 세그먼트의 유저 수는 미리 알 수 없으므로 이전 스냅샷 크기에서 시작해 가득 차면 두 배로 늘림
+            int initialUsers = (int) Math.max(INITIAL_USERS, previous.map(PointSnapshotHeader::users).orElse(0L) * 2);
+            UserBalanceStore[] image = {new UserBalanceStore(initialUsers)};
+            BalanceConsumer put = (id, balance, updateMillis) -> {
+                if (image[0].size() == image[0].maxUsers()) {
+                    image[0] = image[0].grow();
+                }
+                image[0].put(id, balance, updateMillis);
+            };
+
+            read(this.path, put);
+            long[] lastId = {previous.map(PointSnapshotHeader::coveredHistoryId).orElse(0L)};
+            long archived = previous.map(PointSnapshotHeader::histories).orElse(0L);
+            // 닫힌 세그먼트를 한 번 읽으면서 잔액은 이미지에 모으고, 내역은 모아 두지 않고 바로 내역 파일에 이어 씀
+            long appended = this.archive.append(archived, sink -> this.transactionLog.replay(after, closed, entry -> {
+                put.accept(entry.history().userId(), entry.balance(), entry.history().updateMillis());
+                lastId[0] = Math.max(lastId[0], entry.history().id());
+                sink.accept(entry.history());
+            }));
+
+            PointSnapshotHeader header = new PointSnapshotHeader(closed, lastId[0], image[0].size(), archived + appended);
+            write(this.path, header, image[0]);
+            this.transactionLog.deleteThrough(closed);
+
+            log.info("잔액 스냅샷 완료. header={}, elapsedMillis={}", header, (System.nanoTime() - start) / 1_000_000);
+            return header;
+        } finally {
+            this.lock.unlock();
+        }
+    }
+
+    // 최신 스냅샷의 잔액을 전달, 스냅샷이 없으면 빈 값
+    public Optional<PointSnapshotHeader> load(BalanceConsumer consumer) {
+        return read(this.path, consumer);
+    }
+
+    // 최신 스냅샷의 잔액과 내역 파일에 확정된 내역을 전달, 스냅샷이 없으면 빈 값
+    public Optional<PointSnapshotHeader> load(BalanceConsumer balances, Consumer<PointHistory> histories) {
+        Optional<PointSnapshotHeader> header = read(this.path, balances);
+        header.ifPresent(loaded -> this.archive.read(loaded.histories(), histories));
+        return header;
+    }
+
+    // 스냅샷 파일 옆에 두는 내역 파일 경로
+    public static Path historyPath(Path path) {
+        return path.resolveSibling(path.getFileName() + ".history");
+    }
+
+    @Override
+    public void close() {
+        if (this.scheduler == null) {
+            return;
+        }
+        this.scheduler.shutdown();
+        try {
+            this.scheduler.awaitTermination(1, TimeUnit.MINUTES);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    private void snapshotQuietly() {
+        try {
+            this.snapshot();
+        } catch (RuntimeException e) {
+            log.error("잔액 스냅샷에 실패했습니다. path={}", this.path, e);
+        }
+    }
+
+    public static void write(Path path, PointSnapshotHeader header, UserBalanceStore image) {
+        Path temp = path.resolveSibling(path.getFileName() + ".tmp");
+        try {
+            if (path.getParent() != null) {
+                Files.createDirectories(path.getParent());
+            }
+            try (FileChannel channel = FileChannel.open(temp, StandardOpenOption.CREATE, StandardOpenOption.WRITE,
+                    StandardOpenOption.TRUNCATE_EXISTING)) {
+                ByteBuffer buffer = ByteBuffer.allocateDirect(ENTRY_BYTES * BUFFER_ENTRIES);
+                buffer.putLong(MAGIC).putLong(header.coveredSegment()).putLong(header.coveredHistoryId())
+                        .putLong(header.users()).putLong(header.histories());
+                writeFully(channel, buffer.flip());
+                buffer.clear();
+
+                CRC32C crc = new CRC32C();
+                image.forEach((id, balance, updateMillis) -> {
+                    buffer.putLong(id).putLong(balance).putLong(updateMillis);
+                    if (!buffer.hasRemaining()) {
+                        flushEntries(channel, buffer, crc);
+                    }
+                });
+                flushEntries(channel, buffer, crc);
+
+                writeFully(channel, buffer.putLong(crc.getValue()).flip());
+                channel.force(true);
+            }
+            Files.move(temp, path, StandardCopyOption.ATOMIC_MOVE, StandardCopyOption.REPLACE_EXISTING);
+            forceDirectory(path.toAbsolutePath().getParent());
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    // 스냅샷의 잔액을 전달하고 헤더를 반환, 파일이 없으면 빈 값
+    public static Optional<PointSnapshotHeader> read(Path path, BalanceConsumer consumer) {
+        if (!Files.exists(path)) {
+            return Optional.empty();
+        }
+
+        try (FileChannel channel = FileChannel.open(path, StandardOpenOption.READ)) {
+            ByteBuffer buffer = ByteBuffer.allocateDirect(ENTRY_BYTES * BUFFER_ENTRIES);
+            PointSnapshotHeader header = readHeader(channel, buffer);
+
+            CRC32C crc = new CRC32C();
+            long position = HEADER_BYTES;
+            long end = HEADER_BYTES + header.users() * ENTRY_BYTES;
+            while (position < end) {
+                buffer.clear().limit((int) Math.min(buffer.capacity(), end - position));
+                readFully(channel, buffer, position);
+                buffer.flip();
+                crc.update(buffer.duplicate());
+                while (buffer.remaining() >= ENTRY_BYTES) {
+                    consumer.accept(buffer.getLong(), buffer.getLong(), buffer.getLong());
+                }
+                if (buffer.limit() == 0) {
+                    break; // 파일이 헤더보다 짧음, 아래 CRC 검사에서 걸러짐
+                }
+                position += buffer.limit();
+            }
+
+            buffer.clear().limit(8);
+            readFully(channel, buffer, end);
+            if (buffer.flip().remaining() < 8 || buffer.getLong() != crc.getValue()) {
+                throw new IllegalStateException("Check Snapshot.");
+            }
+            return Optional.of(header);
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    private static Optional<PointSnapshotHeader> readHeader(Path path) {
+        if (!Files.exists(path)) {
+            return Optional.empty();
+        }
+        try (FileChannel channel = FileChannel.open(path, StandardOpenOption.READ)) {
+            return Optional.of(readHeader(channel, ByteBuffer.allocate(HEADER_BYTES)));
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    private static PointSnapshotHeader readHeader(FileChannel channel, ByteBuffer buffer) throws IOException {
+        buffer.clear().limit(HEADER_BYTES);
+        readFully(channel, buffer, 0);
+        buffer.flip();
+        if (buffer.remaining() < HEADER_BYTES || buffer.getLong() != MAGIC) {
+            throw new IllegalStateException("Check Snapshot.");
+        }
+        return new PointSnapshotHeader(buffer.getLong(), buffer.getLong(), buffer.getLong(), buffer.getLong());
+    }
+
+    // 이름 바꾸기는 디렉터리 항목 변경이므로 디렉터리를 fsync 해야 전원이 꺼져도 새 스냅샷이 남음
+    // 디렉터리를 열 수 없는 플랫폼(Windows)에서는 건너뜀
+    private static void forceDirectory(Path dir) {
+        if (dir == null) {
+            return;
+        }
+        try (FileChannel channel = FileChannel.open(dir, StandardOpenOption.READ)) {
+            channel.force(true);
+        } catch (IOException e) {
+            log.debug("디렉터리 fsync 를 건너뜁니다. dir={}", dir, e);
+        }
+    }
+
+    private static void flushEntries(FileChannel channel, ByteBuffer buffer, CRC32C crc) {
+        buffer.flip();
+        crc.update(buffer.duplicate());
+        try {
+            writeFully(channel, buffer);
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+        buffer.clear();
+    }
+
+    private static void writeFully(FileChannel channel, ByteBuffer buffer) throws IOException {
+        while (buffer.hasRemaining()) {
+            channel.write(buffer);
+        }
+    }
+
+    private static void readFully(FileChannel channel, ByteBuffer buffer, long position) throws IOException {
+        while (buffer.hasRemaining()) {
+            if (channel.read(buffer, position + buffer.position()) < 0) {
+                break;
+            }
+        }
+    }
+}
@@ -0,0 +1,47 @@
+package io.hhplus.tdd.database;
+
+import java.util.Collections;
+import java.util.Map;
+import java.util.WeakHashMap;
+import java.util.concurrent.locks.Lock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+import java.util.function.Supplier;
+
+/**
+ * UserPointTable, PointHistoryTable 의 쓰기와 읽기가 겹치지 않게 하는 테이블 인스턴스별 읽기/쓰기 락
+ * - 테이블은 HashMap, ArrayList 를 그대로 쓰므로 쓰는 도중에 읽거나 두 스레드가 함께 쓰면 안 되고, 테이블 클래스는 변경할 수 없습니다.
+ * - 읽기끼리는 겹쳐도 안전하므로 서로 다른 유저의 조회(캐시 미스)는 동시에 실행하고, 쓰기(플러셔)만 혼자 실행합니다.
+ * - 락은 테이블 인스턴스마다 따로 두므로 한 JVM 에 여러 애플리케이션 컨텍스트(샤드 테스트 등)가 있어도 서로 기다리지 않습니다.
+ * - 테이블 지연 동안 가상 스레드가 캐리어 스레드를 고정하지 않도록 synchronized 대신 ReentrantReadWriteLock 을 사용합니다.
+ */
+public final class PointTableLock {
+
+    private static final Map<Object, ReentrantReadWriteLock> LOCKS = Collections.synchronizedMap(new WeakHashMap<>());
+
+    private PointTableLock() {
+    }
+
+    // 테이블 조회 - 같은 테이블의 다른 조회와는 동시에, 쓰기와는 겹치지 않게 실행
+    public static <T> T read(Object table, Supplier<T> tableCall) {
+        return call(lockOf(table).readLock(), tableCall);
+    }
+
+    // 테이블 쓰기 - 같은 테이블의 다른 호출과 겹치지 않게 실행
+    public static <T> T write(Object table, Supplier<T> tableCall) {
+        return call(lockOf(table).writeLock(), tableCall);
+    }
+
+    private static <T> T call(Lock lock, Supplier<T> tableCall) {
+        lock.lock();
+        try {
+            return tableCall.get();
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    // 테이블 클래스는 equals 를 재정의하지 않으므로 인스턴스마다 락 하나 (컨텍스트가 닫혀 테이블이 사라지면 함께 정리됨)
+    private static ReentrantReadWriteLock lockOf(Object table) {
+        return LOCKS.computeIfAbsent(table, key -> new ReentrantReadWriteLock());
+    }
+}
@@ -0,0 +1,541 @@
+package io.hhplus.tdd.database;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.concurrent.locks.Condition;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.function.Consumer;
+import java.util.stream.Stream;
+import java.util.zip.CRC32C;
+
+import io.hhplus.tdd.point.PointHistory;
+import io.hhplus.tdd.point.TransactionType;
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * 충전/사용 내역을 파일 끝에 이어 쓰는 트랜잭션 로그
+ * - 기록은 고정 폭 48바이트 : id, userId, amount, updateMillis, 반영 후 잔액, type, CRC32C
+ * - GROUP 은 기록 스레드 하나가 쌓인 기록을 한 번에 쓰고 fsync 하므로, 동시 요청이 많을수록 fsync 한 번에 많은 기록이 내려갑니다.
+ * - 열 때 끝에서 CRC 가 맞지 않는 기록(쓰다 만 기록)을 잘라내고 그 뒤부터 이어 씁니다.
+ * - appendUnit 으로 기록한 여러 건(이체의 출금과 입금 등)은 마지막 건을 뺀 기록의 type 에 LINKED 표시가 붙습니다.
+ *   단위의 마지막 건까지 온전한 경우에만 재적용하고, 중간까지만 남은 단위는 열 때 함께 잘라냅니다.
+ * - 같은 유저의 기록은 유저 락 안에서 들어오므로 파일에서도 유저별 순서가 유지됩니다.
+ * - 파일은 세그먼트(path.00000001, path.00000002, ...)로 나뉩니다. roll() 로 새 세그먼트로 넘어가면
+ *   이전 세그먼트는 더 이상 바뀌지 않으므로, 스냅샷을 만든 뒤 deleteThrough() 로 지울 수 있습니다.
+ */
+@Slf4j
+public class PointTransactionLog implements AutoCloseable {
+
+    static final int RECORD_BYTES = 48;
+    private static final int CRC_OFFSET = 44;
+    private static final int LINKED = 1 << 8; // 다음 기록과 한 단위
+    private static final int READ_RECORDS = 8192;
+
+    private final Path path;
+    private final PointLogDurability durability;
+    private final long flushIntervalNanos;
+    private final Thread writer;
+
+    private final ReentrantLock lock = new ReentrantLock();
+    private final Condition notEmpty = this.lock.newCondition();
+    private final Condition notFull = this.lock.newCondition();
+    private final Condition durable = this.lock.newCondition();
+
+    private FileChannel channel;
+    private long segment;
+    private ByteBuffer pending;
+    private ByteBuffer writing;
+    private long appendedSeq;
+    private long durableSeq;
+    private boolean running = true;
+    private boolean rolling;
+    private boolean failed;
+
+    private final LongAdder syncs = new LongAdder();
+
+    public PointTransactionLog(Path path, PointLogDurability durability, int bufferRecords, Duration flushInterval) {
+        this.durability = durability;
+        this.flushIntervalNanos = flushInterval.toNanos();
+        this.pending = ByteBuffer.allocateDirect(RECORD_BYTES * Math.max(1, bufferRecords));
+        this.writing = ByteBuffer.allocateDirect(this.pending.capacity());
+
+        this.path = path;
+        try {
+            if (path.getParent() != null) {
+                Files.createDirectories(path.getParent());
+            }
+            List<Long> segments = segments(path);
+            this.segment = segments.isEmpty() ? 1 : segments.get(segments.size() - 1);
+            this.channel = open(segmentPath(path, this.segment));
+            long valid = validBytes(this.channel);
+            if (valid < this.channel.size()) {
+                log.warn("트랜잭션 로그 끝의 온전하지 않은 기록을 잘라냅니다. segment={}, bytes={}",
+                        segmentPath(path, this.segment), this.channel.size() - valid);
+                this.channel.truncate(valid);
+                this.channel.force(true);
+            }
+            this.channel.position(valid);
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+
+        if (durability == PointLogDurability.SYNC) {
+            this.writer = null;
+        } else {
+            this.writer = new Thread(this::runWriter, "point-log-writer");
+            this.writer.start();
+        }
+    }
+
+    // 내구성 수준에 따라 디스크에 내려갈 때까지(SYNC, GROUP) 또는 버퍼에 담길 때까지(ASYNC) 기다림
+    public void append(PointHistory history, long balance) {
+        this.lock.lock();
+        try {
+            if (this.durability == PointLogDurability.SYNC) {
+                this.appendSync(List.of(new PointLogEntry(history, balance)), false);
+                return;
+            }
+
+            this.awaitDurable(this.enqueue(history, balance));
+        } finally {
+            this.lock.unlock();
+        }
+    }
+
+    // 여러 기록을 이어 담고 마지막 기록이 디스크에 내려갈 때까지 한 번만 기다림 (SYNC 도 fsync 한 번)
+    public void appendAll(List<PointLogEntry> entries) {
+        if (entries.isEmpty()) {
+            return;
+        }
+
+        this.lock.lock();
+        try {
+            if (this.durability == PointLogDurability.SYNC) {
+                this.appendSync(entries, false);
+                return;
+            }
+
+            long seq = 0;
+            for (PointLogEntry entry : entries) {
+                seq = this.enqueue(entry.history(), entry.balance());
+            }
+            this.awaitDurable(seq);
+        } finally {
+            this.lock.unlock();
+        }
+    }
+
+    // 여러 기록을 한 단위로 기록 - 재적용 시 모두 반영되거나 모두 버려짐
+    // 단위가 세그먼트에 걸치지 않도록 버퍼에 한 번에 담으므로, 버퍼보다 큰 단위는 기록할 수 없음
+    public void appendUnit(List<PointLogEntry> entries) {
+        if (entries.isEmpty()) {
+            return;
+        }
+        if ((long) entries.size() * RECORD_BYTES > this.pending.capacity()) {
+            throw new IllegalArgumentException("Check Unit.");
+        }
+
+        this.lock.lock();
+        try {
+            if (this.durability == PointLogDurability.SYNC) {
+                this.appendSync(entries, true);
+                return;
+            }
+
+            this.awaitDurable(this.enqueueUnit(entries));
+        } finally {
+            this.lock.unlock();
+        }
+    }
+
+    // 모든 세그먼트의 기록을 처음부터 순서대로 전달
+    public void replay(Consumer<PointLogEntry> consumer) {
+        this.replay(0, Long.MAX_VALUE, consumer);
+    }
+
+    // (afterSegment, throughSegment] 구간 세그먼트의 기록을 순서대로 전달, 세그먼트마다 CRC 가 맞는 기록까지만 읽음
+    // 단위로 기록한 내역은 마지막 건을 읽은 뒤 한꺼번에 전달하고, 마지막 건이 없으면 버림
+    public void replay(long afterSegment, long throughSegment, Consumer<PointLogEntry> consumer) {
+        ByteBuffer buffer = ByteBuffer.allocateDirect(RECORD_BYTES * READ_RECORDS);
+        List<PointLogEntry> unit = new ArrayList<>();
+        for (long number : this.segmentsBetween(afterSegment, throughSegment)) {
+            unit.clear();
+            try (FileChannel reader = FileChannel.open(segmentPath(this.path, number), StandardOpenOption.READ)) {
+                long end = reader.size() / RECORD_BYTES * RECORD_BYTES;
+                long position = 0;
+                while (position < end) {
+                    buffer.clear().limit((int) Math.min(buffer.capacity(), end - position));
+                    readFully(reader, buffer, position);
+                    buffer.flip();
+                    while (buffer.remaining() >= RECORD_BYTES) {
+                        if (!isValid(buffer, buffer.position())) {
+                            position = end;
+                            break;
+                        }
+                        boolean linked = isLinked(buffer, buffer.position());
+                        PointLogEntry entry = decode(buffer);
+                        if (linked) {
+                            unit.add(entry);
+                            continue;
+                        }
+                        if (!unit.isEmpty()) {
+                            unit.forEach(consumer);
+                            unit.clear();
+                        }
+                        consumer.accept(entry);
+                    }
+                    position += buffer.limit();
+                }
+            } catch (IOException e) {
+                throw new UncheckedIOException(e);
+            }
+        }
+    }
+
+    // (afterSegment, throughSegment] 구간 세그먼트의 기록 수
+    public long records(long afterSegment, long throughSegment) {
+        long records = 0;
+        for (long number : this.segmentsBetween(afterSegment, throughSegment)) {
+            try {
+                records += Files.size(segmentPath(this.path, number)) / RECORD_BYTES;
+            } catch (IOException e) {
+                throw new UncheckedIOException(e);
+            }
+        }
+        return records;
+    }
+
+    // 지금까지의 기록을 모두 디스크에 내린 뒤 새 세그먼트로 넘어가고, 닫은 세그먼트 번호를 반환
+    // 넘어가는 동안(버퍼를 비우고 파일을 바꾸는 동안)만 새 기록이 기다립니다.
+    public long roll() {
+        this.lock.lock();
+        try {
+            this.checkWritable();
+            this.rolling = true;
+            while (this.durableSeq < this.appendedSeq && !this.failed) {
+                this.durable.awaitUninterruptibly();
+            }
+            this.checkWritable();
+
+            this.channel.force(true);
+            this.channel.close();
+            long closed = this.segment;
+            this.segment = closed + 1;
+            this.channel = open(segmentPath(this.path, this.segment));
+            return closed;
+        } catch (IOException e) {
+            this.failed = true;
+            throw new UncheckedIOException(e);
+        } finally {
+            this.rolling = false;
+            this.notFull.signalAll();
+            this.lock.unlock();
+        }
+    }
+
+    // 스냅샷에 포함된 세그먼트 삭제 (현재 기록 중인 세그먼트는 지우지 않음)
+    public void deleteThrough(long throughSegment) {
+        for (long number : this.segmentsBetween(0, Math.min(throughSegment, this.currentSegment() - 1))) {
+            try {
+                Files.deleteIfExists(segmentPath(this.path, number));
+            } catch (IOException e) {
+                throw new UncheckedIOException(e);
+            }
+        }
+    }
+
+    public long currentSegment() {
+        this.lock.lock();
+        try {
+            return this.segment;
+        } finally {
+            this.lock.unlock();
+        }
+    }
+
+    // fsync 횟수
+    public long syncs() {
+        return this.syncs.sum();
+    }
+
+    @Override
+    public void close() {
+        this.lock.lock();
+        try {
+            this.running = false;
+            this.notEmpty.signalAll();
+            this.notFull.signalAll();
+        } finally {
+            this.lock.unlock();
+        }
+
+        if (this.writer != null) {
+            try {
+                this.writer.join();
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+        }
+
+        try {
+            this.channel.force(true);
+            this.channel.close();
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    // 버퍼에 자리가 날 때까지 기다렸다가 담고 순번을 반환 (lock 을 잡은 상태에서만 호출)
+    private long enqueue(PointHistory history, long balance) {
+        while (this.running && !this.failed && (this.rolling || this.pending.remaining() < RECORD_BYTES)) {
+            this.notFull.awaitUninterruptibly();
+        }
+        this.checkWritable();
+
+        encode(this.pending, history, balance, false);
+        long seq = ++this.appendedSeq;
+        if (this.pending.position() == RECORD_BYTES || this.pending.remaining() < RECORD_BYTES) {
+            this.notEmpty.signal(); // 비어 있다가 처음 담겼거나 가득 찬 경우에만 기록 스레드를 깨움
+        }
+        return seq;
+    }
+
+    // 단위 전체가 들어갈 자리가 날 때까지 기다렸다가 이어 담고 마지막 기록의 순번을 반환 (lock 을 잡은 상태에서만 호출)
+    private long enqueueUnit(List<PointLogEntry> entries) {
+        int bytes = RECORD_BYTES * entries.size();
+        while (this.running && !this.failed && (this.rolling || this.pending.remaining() < bytes)) {
+            this.notFull.awaitUninterruptibly();
+        }
+        this.checkWritable();
+
+        boolean wasEmpty = this.pending.position() == 0;
+        for (int i = 0; i < entries.size(); i++) {
+            PointLogEntry entry = entries.get(i);
+            encode(this.pending, entry.history(), entry.balance(), i < entries.size() - 1);
+        }
+        this.appendedSeq += entries.size();
+        if (wasEmpty || this.pending.remaining() < RECORD_BYTES) {
+            this.notEmpty.signal();
+        }
+        return this.appendedSeq;
+    }
+
+    // GROUP 은 seq 까지 디스크에 내려갈 때까지 기다림 (lock 을 잡은 상태에서만 호출)
+    private void awaitDurable(long seq) {
+        if (this.durability != PointLogDurability.GROUP) {
+            return;
+        }
+        while (this.durableSeq < seq && !this.failed) {
+            this.durable.awaitUninterruptibly();
+        }
+        this.checkWritable();
+    }
+
+    private void appendSync(List<PointLogEntry> entries, boolean unit) {
+        this.checkWritable();
+        this.pending.clear();
+        try {
+            for (int i = 0; i < entries.size(); i++) {
+                if (this.pending.remaining() < RECORD_BYTES) {
+                    this.writeFully(this.pending.flip());
+                    this.pending.clear();
+                }
+                PointLogEntry entry = entries.get(i);
+                encode(this.pending, entry.history(), entry.balance(), unit && i < entries.size() - 1);
+            }
+            this.writeFully(this.pending.flip());
+            this.channel.force(false);
+            this.syncs.increment();
+        } catch (IOException e) {
+            this.failed = true;
+            throw new UncheckedIOException(e);
+        } finally {
+            this.pending.clear();
+        }
+    }
+
+    private void runWriter() {
+        while (true) {
+            long upto;
+            this.lock.lock();
+            try {
+                while (this.running && this.pending.position() == 0) {
+                    this.notEmpty.awaitNanos(this.flushIntervalNanos);
+                }
+                // ASYNC 는 flushInterval 동안 더 모은 뒤 씀 (버퍼가 차면 바로 씀)
+                if (this.durability == PointLogDurability.ASYNC) {
+                    long remaining = this.flushIntervalNanos;
+                    while (this.running && remaining > 0 && this.pending.remaining() >= RECORD_BYTES) {
+                        remaining = this.notEmpty.awaitNanos(remaining);
+                    }
+                }
+                if (this.pending.position() == 0) {
+                    return; // 종료 중이고 남은 기록 없음
+                }
+
+                ByteBuffer full = this.pending;
+                this.pending = this.writing;
+                this.writing = full;
+                upto = this.appendedSeq;
+                this.notFull.signalAll();
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                this.running = false;
+                continue;
+            } finally {
+                this.lock.unlock();
+            }
+
+            boolean written = true;
+            this.writing.flip();
+            try {
+                this.writeFully(this.writing);
+                this.channel.force(false);
+                this.syncs.increment();
+            } catch (IOException e) {
+                log.error("트랜잭션 로그 기록에 실패했습니다.", e);
+                written = false;
+            }
+            this.writing.clear();
+
+            this.lock.lock();
+            try {
+                if (written) {
+                    this.durableSeq = upto;
+                } else {
+                    this.failed = true;
+                }
+                this.durable.signalAll();
+                this.notFull.signalAll();
+            } finally {
+                this.lock.unlock();
+            }
+        }
+    }
+
+    private void checkWritable() {
+        if (this.failed) {
+            throw new IllegalStateException("트랜잭션 로그 기록에 실패해 더 이상 기록할 수 없습니다.");
+        }
+        if (!this.running) {
+            throw new IllegalStateException("종료 중에는 포인트를 변경할 수 없습니다.");
+        }
+    }
+
+    private void writeFully(ByteBuffer buffer) throws IOException {
+        while (buffer.hasRemaining()) {
+            this.channel.write(buffer);
+        }
+    }
+
+    private List<Long> segmentsBetween(long afterSegment, long throughSegment) {
+        return segments(this.path).stream()
+                .filter(number -> number > afterSegment && number <= throughSegment)
+                .toList();
+    }
+
+    static Path segmentPath(Path path, long segment) {
+        return path.resolveSibling(path.getFileName() + "." + String.format("%08d", segment));
+    }
+
+    // 존재하는 세그먼트 번호 (오름차순)
+    private static List<Long> segments(Path path) {
+        Path directory = path.toAbsolutePath().getParent();
+        String prefix = path.getFileName() + ".";
+        try (Stream<Path> files = Files.list(directory)) {
+            return files.map(file -> file.getFileName().toString())
+                    .filter(name -> name.startsWith(prefix) && name.length() == prefix.length() + 8)
+                    .map(name -> name.substring(prefix.length()))
+                    .filter(number -> number.chars().allMatch(Character::isDigit))
+                    .map(Long::parseLong)
+                    .sorted()
+                    .toList();
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    private static FileChannel open(Path segment) throws IOException {
+        return FileChannel.open(segment, StandardOpenOption.CREATE, StandardOpenOption.READ, StandardOpenOption.WRITE);
+    }
+
+    private static void readFully(FileChannel channel, ByteBuffer buffer, long position) throws IOException {
+        while (buffer.hasRemaining()) {
+            if (channel.read(buffer, position + buffer.position()) < 0) {
+                break;
+            }
+        }
+    }
+
+    // 처음부터 읽으며 CRC 가 맞고 단위가 끝난 마지막 기록의 끝 위치를 찾음
+    private static long validBytes(FileChannel channel) throws IOException {
+        long size = channel.size();
+        ByteBuffer buffer = ByteBuffer.allocateDirect(RECORD_BYTES * READ_RECORDS);
+        long position = 0;
+        long complete = 0;
+        while (position + RECORD_BYTES <= size) {
+            buffer.clear().limit((int) Math.min(buffer.capacity(), (size - position) / RECORD_BYTES * RECORD_BYTES));
+            readFully(channel, buffer, position);
+            buffer.flip();
+            while (buffer.remaining() >= RECORD_BYTES) {
+                if (!isValid(buffer, buffer.position())) {
+                    return complete;
+                }
+                boolean linked = isLinked(buffer, buffer.position());
+                buffer.position(buffer.position() + RECORD_BYTES);
+                position += RECORD_BYTES;
+                if (!linked) {
+                    complete = position;
+                }
+            }
+        }
+        return complete;
+    }
+
+    private static void encode(ByteBuffer buffer, PointHistory history, long balance, boolean linked) {
+        int start = buffer.position();
+        buffer.putLong(history.id())
+                .putLong(history.userId())
+                .putLong(history.amount())
+                .putLong(history.updateMillis())
+                .putLong(balance)
+                .putInt(history.type().ordinal() | (linked ? LINKED : 0));
+        buffer.putInt(crc(buffer, start));
+    }
+
+    private static PointLogEntry decode(ByteBuffer buffer) {
+        long id = buffer.getLong();
+        long userId = buffer.getLong();
+        long amount = buffer.getLong();
+        long updateMillis = buffer.getLong();
+        long balance = buffer.getLong();
+        TransactionType type = TransactionType.values()[buffer.getInt() & ~LINKED];
+        buffer.getInt(); // CRC 는 읽기 전에 확인함
+        return new PointLogEntry(new PointHistory(id, userId, amount, type, updateMillis), balance);
+    }
+
+    private static boolean isValid(ByteBuffer buffer, int start) {
+        int type = buffer.getInt(start + CRC_OFFSET - 4) & ~LINKED;
+        return type >= 0 && type < TransactionType.values().length
+                && buffer.getInt(start + CRC_OFFSET) == crc(buffer, start);
+    }
+
+    private static boolean isLinked(ByteBuffer buffer, int start) {
+        return (buffer.getInt(start + CRC_OFFSET - 4) & LINKED) != 0;
+    }
+
+    private static int crc(ByteBuffer buffer, int start) {
+        CRC32C crc = new CRC32C();
+        crc.update(buffer.duplicate().limit(start + CRC_OFFSET).position(start));
+        return (int) crc.getValue();
+    }
+}
@@ -0,0 +1,25 @@
+package io.hhplus.tdd.database;
+
+import java.nio.file.Path;
+import java.time.Duration;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.boot.context.properties.bind.DefaultValue;
+
+/**
+ * 포인트 트랜잭션 로그 설정
+ * - enabled : 사용 여부, 사용하면 모든 충전/사용이 로그에 기록되고 시작 시 로그로 잔액과 내역을 복구
+ * - path : 파일 위치
+ * - durability : 내구성 수준 (SYNC, GROUP, ASYNC)
+ * - bufferRecords : GROUP, ASYNC 에서 한 번에 모을 수 있는 최대 기록 수, 가득 차면 기록 스레드를 기다림
+ * - flushInterval : ASYNC 에서 fsync 간격
+ */
+@ConfigurationProperties(prefix = "point.transaction-log")
+public record PointTransactionLogProperties(
+        @DefaultValue("false") boolean enabled,
+        @DefaultValue("data/points.log") Path path,
+        @DefaultValue("GROUP") PointLogDurability durability,
+        @DefaultValue("65536") int bufferRecords,
+        @DefaultValue("10ms") Duration flushInterval
+) {
+}
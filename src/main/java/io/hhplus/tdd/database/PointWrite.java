@@ -0,0 +1,27 @@
+package io.hhplus.tdd.database;
+
+import io.hhplus.tdd.point.PointHistory;
+import io.hhplus.tdd.point.TransactionType;
+
+/**
+ * 테이블에 아직 반영되지 않은 충전/사용 1건
+ * - point : 해당 거래가 반영된 뒤의 잔액
+ * - type 이 없으면 내역 없이 잔액만 반영 (스냅샷 복구용)
+ */
+public record PointWrite(
+        long userId,
+        long point,
+        long amount,
+        TransactionType type,
+        long updateMillis
+) {
+
+    // 내역과 반영 후 잔액으로 만든 쓰기
+    public static PointWrite of(PointHistory history, long point) {
+        return new PointWrite(history.userId(), point, history.amount(), history.type(), history.updateMillis());
+    }
+
+    public static PointWrite balanceOnly(long userId, long point, long updateMillis) {
+        return new PointWrite(userId, point, 0, null, updateMillis);
+    }
+}
@@ -0,0 +1,24 @@
+package io.hhplus.tdd.database;
+
+import java.time.Duration;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.boot.context.properties.bind.DefaultValue;
+
+/**
+ * 쓰기 지연(write-behind) 설정
+ * - batchSize : 한 번에 모아서 반영할 최대 건수
+ * - flushInterval : 배치를 채우기 위해 기다리는 최대 시간
+ * - queueCapacity : 플러셔 하나가 가질 수 있는 대기열 크기
+ * - flushers : 플러셔 스레드 수 (같은 유저는 항상 같은 플러셔가 처리)
+ * - offerTimeout : 대기열이 가득 찼을 때 기다리는 최대 시간, 초과 시 요청을 거절
+ */
+@ConfigurationProperties(prefix = "point.write-behind")
+public record PointWriteBehindProperties(
+        @DefaultValue("100") int batchSize,
+        @DefaultValue("50ms") Duration flushInterval,
+        @DefaultValue("10000") int queueCapacity,
+        @DefaultValue("4") int flushers,
+        @DefaultValue("1s") Duration offerTimeout
+) {
+}
@@ -0,0 +1,314 @@
+package io.hhplus.tdd.database;
+
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.Supplier;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import io.hhplus.tdd.infrastructure.PointOverloadException;
+import io.hhplus.tdd.infrastructure.PointThreads;
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.MeterBinder;
+
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * 충전/사용 결과를 모아서 UserPointTable, PointHistoryTable 에 비동기로 반영합니다.
+ * - 유저 id 로 플러셔를 고정하므로 같은 유저의 쓰기 순서가 유지됩니다.
+ * - 테이블은 스레드 안전하지 않으므로 테이블 쓰기는 PointTableLock 의 쓰기 락 안에서 테이블마다 한 번에 하나씩만 실행합니다.
+ * - 배치 안에서 같은 유저의 잔액은 마지막 값 한 번만 insertOrUpdate 합니다.
+ * - 대기열이 가득 차면 offerTimeout 만큼 기다린 뒤 요청을 거절합니다.
+ * - 로그 기록처럼 실패할 수 있는 단계 앞에서는 reserve 로 자리만 먼저 잡고, 성공하면 enqueueReserved, 실패하면 cancel 합니다.
+ *   그래서 실패로 응답한 연산이 테이블에 반영되는 일도, 기록을 마친 연산이 대기열에서 거절되는 일도 없습니다.
+ * - 애플리케이션 종료 시 남아있는 쓰기를 모두 반영한 뒤 종료합니다.
+ * - 테이블에 아직 반영되지 않은 쓰기가 있는 유저를 추적합니다. (캐시가 해당 유저를 내보내지 않도록)
+ * - spring.threads.virtual.enabled=true 이면 플러셔를 가상 스레드로 실행합니다.
+ * - 테이블 반영이 실패하면 TABLE_ATTEMPTS 번까지 다시 시도하고, 그래도 실패한 쓰기는 버리지 않고 실패 보관함(dead letter)에 남깁니다.
+ *   실패 건수는 point.write.failures, 보관함 크기는 point.write.dead_letters 로 노출합니다.
+ *   보관함에 있는 쓰기의 유저는 redrive 로 반영될 때까지 대기 중으로 남아, 캐시가 내보내고 테이블의 이전 잔액을 다시 읽는 일이 없습니다.
+ */
+@Slf4j
+@Component
+public class PointWriteBehindQueue implements MeterBinder {
+
+    private static final int TABLE_ATTEMPTS = 3;
+    private static final long RETRY_BACKOFF_MILLIS = 10;
+
+    private final UserPointTable userPointTable;
+    private final PointHistoryTable pointHistoryTable;
+    private final PointWriteBehindProperties properties;
+
+    private final List<Lane> lanes = new ArrayList<>();
+    private final List<Thread> flushers = new ArrayList<>();
+    private final ConcurrentHashMap<Long, Integer> pendingByUser = new ConcurrentHashMap<>();
+    private final BlockingQueue<PointWrite> deadLetters;
+    private final LongAdder failures = new LongAdder();
+    private volatile boolean running = true;
+
+    public PointWriteBehindQueue(UserPointTable userPointTable, PointHistoryTable pointHistoryTable,
+                                 PointWriteBehindProperties properties) {
+        this(userPointTable, pointHistoryTable, properties, false);
+    }
+
+    @Autowired
+    public PointWriteBehindQueue(UserPointTable userPointTable, PointHistoryTable pointHistoryTable,
+                                 PointWriteBehindProperties properties,
+                                 @Value(PointThreads.VIRTUAL_PROPERTY) boolean virtualThreads) {
+        this.userPointTable = userPointTable;
+        this.pointHistoryTable = pointHistoryTable;
+        this.properties = properties;
+        this.deadLetters = new ArrayBlockingQueue<>(properties.queueCapacity());
+
+        ThreadFactory threadFactory = PointThreads.factory("point-flusher-", virtualThreads);
+        for (int i = 0; i < properties.flushers(); i++) {
+            Lane lane = new Lane(properties.queueCapacity());
+            Thread flusher = threadFactory.newThread(() -> this.runFlusher(lane));
+            this.lanes.add(lane);
+            this.flushers.add(flusher);
+            flusher.start();
+        }
+    }
+
+    public void enqueue(PointWrite write) {
+        this.reserve(write.userId());
+        this.enqueueReserved(write);
+    }
+
+    // 유저의 대기열에 한 자리를 잡아 둠 - 자리가 나지 않으면 offerTimeout 만큼 기다린 뒤 거절
+    public void reserve(long userId) {
+        if (!this.running) {
+            throw new IllegalStateException("종료 중에는 포인트를 변경할 수 없습니다.");
+        }
+
+        boolean acquired;
+        try {
+            acquired = this.laneOf(userId).capacity
+                    .tryAcquire(this.properties.offerTimeout().toNanos(), TimeUnit.NANOSECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            acquired = false;
+        }
+
+        if (!acquired) {
+            throw new PointOverloadException(PointOverloadException.Reason.OVERLOADED, "쓰기 대기열이 가득 찼습니다. 잠시 후 다시 시도해주세요.");
+        }
+    }
+
+    // reserve 로 잡아 둔 자리에 넣음 (기다리거나 거절되지 않음)
+    public void enqueueReserved(PointWrite write) {
+        this.pendingByUser.merge(write.userId(), 1, Integer::sum);
+        this.laneOf(write.userId()).queue.add(write);
+    }
+
+    // reserve 로 잡아 둔 자리를 돌려줌
+    public void cancel(long userId) {
+        this.laneOf(userId).capacity.release();
+    }
+
+    // 복구처럼 거절하면 안 되는 쓰기용 - 대기열에 자리가 날 때까지 기다림
+    public void put(PointWrite write) {
+        if (!this.running) {
+            throw new IllegalStateException("종료 중에는 포인트를 변경할 수 없습니다.");
+        }
+
+        try {
+            this.laneOf(write.userId()).capacity.acquire();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException("쓰기 대기 중 인터럽트되었습니다.", e);
+        }
+        this.enqueueReserved(write);
+    }
+
+    // 대기 중인 쓰기 건수
+    public int pending() {
+        return this.lanes.stream().mapToInt(lane -> lane.queue.size()).sum();
+    }
+
+    // 테이블에 아직 반영되지 않은 쓰기가 있는 유저인지
+    public boolean isPending(long userId) {
+        return this.pendingByUser.containsKey(userId);
+    }
+
+    // 다시 시도해도 테이블에 반영하지 못한 쓰기 건수 (내역, 잔액 각각)
+    public long failures() {
+        return this.failures.sum();
+    }
+
+    // 테이블에 반영하지 못하고 보관 중인 쓰기 - 원인을 해결한 뒤 redrive 로 다시 반영
+    public List<PointWrite> deadLetters() {
+        return List.copyOf(this.deadLetters);
+    }
+
+    // 보관 중인 쓰기를 대기열에 다시 넣음 - 대기열에 넣은 뒤 보관함 몫을 풀어 유저가 대기 중이 아닌 순간이 없게 함
+    public int redrive() {
+        List<PointWrite> writes = new ArrayList<>();
+        this.deadLetters.drainTo(writes);
+        for (PointWrite write : writes) {
+            this.put(write);
+            this.release(write.userId(), 1);
+        }
+        return writes.size();
+    }
+
+    @Override
+    public void bindTo(MeterRegistry registry) {
+        FunctionCounter.builder("point.write.failures", this.failures, LongAdder::sum).register(registry);
+        Gauge.builder("point.write.dead_letters", this.deadLetters, BlockingQueue::size).register(registry);
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        this.running = false;
+        for (Thread flusher : this.flushers) {
+            try {
+                flusher.join();
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+        }
+
+        // 종료 직전에 들어온 쓰기까지 반영
+        for (Lane lane : this.lanes) {
+            List<PointWrite> remains = new ArrayList<>();
+            lane.queue.drainTo(remains);
+            lane.capacity.release(remains.size());
+            if (!remains.isEmpty()) {
+                this.flush(remains);
+            }
+        }
+    }
+
+    private Lane laneOf(long userId) {
+        return this.lanes.get(Math.floorMod(Long.hashCode(userId), this.lanes.size()));
+    }
+
+    private void runFlusher(Lane lane) {
+        BlockingQueue<PointWrite> queue = lane.queue;
+        List<PointWrite> batch = new ArrayList<>(this.properties.batchSize());
+        long interval = this.properties.flushInterval().toNanos();
+
+        while (this.running || !queue.isEmpty()) {
+            try {
+                PointWrite first = queue.poll(interval, TimeUnit.NANOSECONDS);
+                if (first == null) {
+                    continue;
+                }
+
+                // batchSize 를 채우거나 flushInterval 이 지날 때까지 모음
+                batch.add(first);
+                long deadline = System.nanoTime() + interval;
+                while (batch.size() < this.properties.batchSize()) {
+                    queue.drainTo(batch, this.properties.batchSize() - batch.size());
+                    long remaining = deadline - System.nanoTime();
+                    if (batch.size() >= this.properties.batchSize() || remaining <= 0) {
+                        break;
+                    }
+
+                    PointWrite next = queue.poll(remaining, TimeUnit.NANOSECONDS);
+                    if (next == null) {
+                        break;
+                    }
+                    batch.add(next);
+                }
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                this.running = false;
+            }
+
+            if (!batch.isEmpty()) {
+                lane.capacity.release(batch.size()); // 대기열에서 꺼낸 만큼 자리를 돌려줌
+                this.flush(batch);
+                batch.clear();
+            }
+        }
+    }
+
+    private void release(long userId, int count) {
+        this.pendingByUser.computeIfPresent(userId, (key, pending) -> pending - count <= 0 ? null : pending - count);
+    }
+
+    private void flush(List<PointWrite> batch) {
+        Map<Long, PointWrite> latest = new LinkedHashMap<>();
+        Map<Long, Integer> counts = new LinkedHashMap<>();
+        for (PointWrite write : batch) {
+            if (write.type() != null) {
+                boolean inserted = this.tryTable(this.pointHistoryTable, () -> this.pointHistoryTable.insert(write.userId(), write.amount(),
+                        write.type(), write.updateMillis()));
+                if (!inserted) {
+                    this.deadLetter(write);
+                }
+            }
+            latest.put(write.userId(), write);
+            counts.merge(write.userId(), 1, Integer::sum);
+        }
+
+        for (PointWrite write : latest.values()) {
+            boolean updated = this.tryTable(this.userPointTable, () -> this.userPointTable.insertOrUpdate(write.userId(), write.point()));
+            if (!updated) {
+                this.deadLetter(PointWrite.balanceOnly(write.userId(), write.point(), write.updateMillis()));
+            }
+            this.release(write.userId(), counts.get(write.userId()));
+        }
+    }
+
+    // 테이블 쓰기를 해당 테이블의 쓰기 락 안에서 최대 TABLE_ATTEMPTS 번 시도
+    private boolean tryTable(Object table, Supplier<?> tableCall) {
+        for (int attempt = 1; ; attempt++) {
+            try {
+                PointTableLock.write(table, tableCall);
+                return true;
+            } catch (RuntimeException e) {
+                if (attempt >= TABLE_ATTEMPTS) {
+                    log.error("테이블 반영에 {}번 실패했습니다.", attempt, e);
+                    return false;
+                }
+            }
+
+            try {
+                TimeUnit.MILLISECONDS.sleep(RETRY_BACKOFF_MILLIS * attempt);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                return false;
+            }
+        }
+    }
+
+    // 보관한 쓰기도 대기 중으로 셈 (보관함이 가득 차 버린 쓰기도 캐시의 값이 유일한 최신 값이므로 계속 대기 중으로 둠)
+    private void deadLetter(PointWrite write) {
+        this.failures.increment();
+        this.pendingByUser.merge(write.userId(), 1, Integer::sum);
+        if (!this.deadLetters.offer(write)) {
+            log.error("실패 보관함이 가득 차 쓰기를 보관하지 못했습니다. write={}", write);
+        }
+    }
+
+    /**
+     * 플러셔 하나의 대기열
+     * - 대기열 자체는 제한이 없고, 자리는 capacity 로 관리합니다. (reserve 와 enqueueReserved 사이에 다른 단계를 끼울 수 있도록)
+     */
+    private static final class Lane {
+        private final BlockingQueue<PointWrite> queue = new LinkedBlockingQueue<>();
+        private final Semaphore capacity;
+
+        private Lane(int capacity) {
+            this.capacity = new Semaphore(capacity);
+        }
+    }
+}
@@ -0,0 +1,188 @@
+package io.hhplus.tdd.database;
+
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.VarHandle;
+import java.util.Arrays;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import io.hhplus.tdd.point.UserPoint;
+
+/**
+ * long 유저 id 를 키로 하는 원시 타입 잔액 저장소
+ * - HashMap&lt;Long, UserPoint&gt; 대신 개방 주소법(선형 탐사) 배열 3개(id, 잔액, 수정 시각)에 저장해
+ *   유저당 Long, UserPoint, Map.Entry 객체가 생기지 않습니다.
+ * - 충전/사용은 잔액 칸에 대한 CAS 로 반영되어 락이 없고, 검증 규칙은 UserPoint 와 같습니다.
+ * - 삭제가 없으므로 한 번 자리를 잡은 id 는 위치가 바뀌지 않습니다. 크기는 생성 시 정한 유저 수로 고정됩니다.
+ */
+public class UserBalanceStore {
+
+    private static final VarHandle LONGS = MethodHandles.arrayElementVarHandle(long[].class);
+    private static final long EMPTY = -1L;
+    private static final double LOAD_FACTOR = 0.75;
+
+    private final long[] ids;
+    private final long[] balances;
+    private final long[] updateMillis;
+    private final int maxUsers;
+    private final AtomicInteger size = new AtomicInteger();
+
+    public UserBalanceStore(int maxUsers) {
+        if (maxUsers < 1) {
+            throw new IllegalArgumentException("Check Capacity.");
+        }
+        int capacity = (int) Math.min(Integer.MAX_VALUE - 8, (long) Math.ceil(maxUsers / LOAD_FACTOR));
+        this.ids = new long[capacity];
+        this.balances = new long[capacity];
+        this.updateMillis = new long[capacity];
+        this.maxUsers = maxUsers;
+        Arrays.fill(this.ids, EMPTY);
+    }
+
+    // 잔액 조회 (없는 유저는 0)
+    public long balance(long id) {
+        int slot = this.slotOf(id);
+        return slot < 0 ? 0 : (long) LONGS.getVolatile(this.balances, slot);
+    }
+
+    // 마지막 수정 시각 (없는 유저는 0)
+    public long updateMillis(long id) {
+        int slot = this.slotOf(id);
+        return slot < 0 ? 0 : (long) LONGS.getVolatile(this.updateMillis, slot);
+    }
+
+    // 충전 후 잔액을 반환
+    public long charge(long id, long amount) {
+        int slot = this.findOrInsert(id);
+        while (true) {
+            long current = (long) LONGS.getVolatile(this.balances, slot);
+            long next = UserPoint.charged(current, amount);
+            if (LONGS.compareAndSet(this.balances, slot, current, next)) {
+                this.touch(slot);
+                return next;
+            }
+        }
+    }
+
+    // 사용 후 잔액을 반환
+    public long use(long id, long amount) {
+        int slot = this.findOrInsert(id);
+        while (true) {
+            long current = (long) LONGS.getVolatile(this.balances, slot);
+            long next = UserPoint.used(current, amount);
+            if (LONGS.compareAndSet(this.balances, slot, current, next)) {
+                this.touch(slot);
+                return next;
+            }
+        }
+    }
+
+    // 검증 없이 값을 그대로 덮어씀 (스냅샷/로그 복구용)
+    public void put(long id, long balance, long updateMillis) {
+        int slot = this.findOrInsert(id);
+        LONGS.setVolatile(this.balances, slot, balance);
+        LONGS.setVolatile(this.updateMillis, slot, updateMillis);
+    }
+
+    // 저장된 모든 유저를 배열 순서대로 전달 (동시 수정 중이면 일부는 수정 전 값일 수 있음)
+    public void forEach(BalanceConsumer consumer) {
+        for (int slot = 0; slot < this.ids.length; slot++) {
+            long id = (long) LONGS.getAcquire(this.ids, slot);
+            if (id != EMPTY) {
+                consumer.accept(id, (long) LONGS.getVolatile(this.balances, slot), (long) LONGS.getVolatile(this.updateMillis, slot));
+            }
+        }
+    }
+
+    // API 응답 등 객체가 필요한 곳에서만 사용 (잔액과 수정 시각은 각각 읽으므로 동시 수정 중이면 시각이 한 박자 늦을 수 있음)
+    public UserPoint find(long id) {
+        int slot = this.slotOf(id);
+        if (slot < 0) {
+            return UserPoint.empty(id);
+        }
+        return new UserPoint(id, (long) LONGS.getVolatile(this.balances, slot), (long) LONGS.getVolatile(this.updateMillis, slot));
+    }
+
+    // 저장된 유저인지
+    public boolean contains(long id) {
+        return this.slotOf(id) >= 0;
+    }
+
+    // 두 배 크기의 새 저장소에 옮겨 담음 (미리 유저 수를 알 수 없는 복구, 스냅샷용)
+    public UserBalanceStore grow() {
+        UserBalanceStore grown = new UserBalanceStore((int) Math.min(Integer.MAX_VALUE / 2, (long) this.maxUsers * 2));
+        this.forEach(grown::put);
+        return grown;
+    }
+
+    // 저장된 유저 수
+    public int size() {
+        return this.size.get();
+    }
+
+    public int maxUsers() {
+        return this.maxUsers;
+    }
+
+    // 수정 시각은 뒤로 가지 않도록 큰 값만 반영
+    private void touch(int slot) {
+        long now = System.currentTimeMillis();
+        long current;
+        do {
+            current = (long) LONGS.getVolatile(this.updateMillis, slot);
+        } while (current < now && !LONGS.compareAndSet(this.updateMillis, slot, current, now));
+    }
+
+    private int slotOf(long id) {
+        if (id < 0) {
+            throw new IllegalArgumentException("Check Id.");
+        }
+        for (int slot = this.indexOf(id), probes = 0; probes < this.ids.length; slot = this.nextSlot(slot), probes++) {
+            long key = (long) LONGS.getAcquire(this.ids, slot);
+            if (key == id) {
+                return slot;
+            }
+            if (key == EMPTY) {
+                return -1;
+            }
+        }
+        return -1;
+    }
+
+    // 빈 칸을 CAS 로 선점 (다른 스레드가 같은 id 로 먼저 선점했다면 그 칸을 사용)
+    private int findOrInsert(long id) {
+        if (id < 0) {
+            throw new IllegalArgumentException("Check Id.");
+        }
+        for (int slot = this.indexOf(id), probes = 0; probes < this.ids.length; slot = this.nextSlot(slot), probes++) {
+            long key = (long) LONGS.getAcquire(this.ids, slot);
+            if (key == id) {
+                return slot;
+            }
+            if (key != EMPTY) {
+                continue;
+            }
+            if (this.size.get() >= this.maxUsers) {
+                throw new IllegalStateException("Balance Store Full.");
+            }
+            if (LONGS.compareAndSet(this.ids, slot, EMPTY, id)) {
+                this.size.incrementAndGet();
+                return slot;
+            }
+            if ((long) LONGS.getAcquire(this.ids, slot) == id) {
+                return slot;
+            }
+        }
+        throw new IllegalStateException("Balance Store Full.");
+    }
+
+    // 연속된 id 가 한 구간에 몰리지 않도록 섞은 뒤 배열 길이로 축소 (나머지 연산 없이 곱셈으로)
+    private int indexOf(long id) {
+        long hash = id * 0x9E3779B97F4A7C15L;
+        hash ^= hash >>> 32;
+        return (int) (((hash & 0xFFFFFFFFL) * this.ids.length) >>> 32);
+    }
+
+    private int nextSlot(int slot) {
+        return slot + 1 == this.ids.length ? 0 : slot + 1;
+    }
+}
@@ -0,0 +1,81 @@
+package io.hhplus.tdd.infrastructure;
+
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+
+/**
+ * 유저 id 를 노드에 나누는 일관된 해시 링 (불변 객체, 노드가 바뀌면 새 링을 만듦)
+ * - 노드마다 virtualNodes 개의 지점을 링에 두고, 유저 id 의 해시에서 시계 방향으로 처음 만나는 지점의 노드가 담당합니다.
+ * - 노드를 추가하면 새 노드가 맡게 되는 약 1/N 의 유저만 담당이 바뀌고, 나머지 유저의 담당 노드는 그대로입니다.
+ * - 해시는 노드 이름과 유저 id 로만 정해지므로, 같은 노드 목록을 가진 인스턴스는 모두 같은 결과를 냅니다.
+ */
+public final class ConsistentHashRing {
+
+    private final List<String> nodes;
+    private final int virtualNodes;
+    private final TreeMap<Long, String> ring = new TreeMap<>();
+
+    public ConsistentHashRing(Collection<String> nodes, int virtualNodes) {
+        if (nodes.isEmpty() || virtualNodes < 1) {
+            throw new IllegalArgumentException("Check Nodes.");
+        }
+
+        this.nodes = List.copyOf(new LinkedHashSet<>(nodes));
+        this.virtualNodes = virtualNodes;
+        for (String node : this.nodes) {
+            for (int replica = 0; replica < virtualNodes; replica++) {
+                this.ring.put(hash(node + "#" + replica), node);
+            }
+        }
+    }
+
+    public String nodeOf(long userId) {
+        Map.Entry<Long, String> entry = this.ring.ceilingEntry(mix(userId));
+        return (entry != null ? entry : this.ring.firstEntry()).getValue();
+    }
+
+    public List<String> nodes() {
+        return this.nodes;
+    }
+
+    public ConsistentHashRing with(String node) {
+        List<String> added = new ArrayList<>(this.nodes);
+        added.add(node);
+        return new ConsistentHashRing(added, this.virtualNodes);
+    }
+
+    public ConsistentHashRing without(String node) {
+        List<String> removed = new ArrayList<>(this.nodes);
+        removed.remove(node);
+        return new ConsistentHashRing(removed, this.virtualNodes);
+    }
+
+    public boolean contains(String node) {
+        return this.nodes.contains(node);
+    }
+
+    // FNV-1a 로 문자열을 64비트로 만든 뒤 한 번 더 섞음
+    private static long hash(String value) {
+        long hash = 0xcbf29ce484222325L;
+        for (byte b : value.getBytes(StandardCharsets.UTF_8)) {
+            hash ^= b & 0xff;
+            hash *= 0x100000001b3L;
+        }
+        return mix(hash);
+    }
+
+    // MurmurHash3 의 fmix64 - 연속된 유저 id 도 링 전체에 고르게 흩어지도록 함
+    private static long mix(long value) {
+        value ^= value >>> 33;
+        value *= 0xff51afd7ed558ccdL;
+        value ^= value >>> 33;
+        value *= 0xc4ceb9fe1a85ec53L;
+        value ^= value >>> 33;
+        return value;
+    }
+}
@@ -1,16 +1,29 @@
 package io.hhplus.tdd.infrastructure;
 
-import java.util.concurrent.locks.ReentrantLock;
-
+import org.springframework.boot.web.servlet.FilterRegistrationBean;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
 
+import io.hhplus.tdd.point.PointDeadlineFilter;
+import io.hhplus.tdd.point.PointOverloadProperties;
+
 @Configuration
 public class LockConfig {
 	
 	@Bean
-	public ReentrantLock lock() {
-		return new ReentrantLock();
+	public UserLockManager userLockManager(PointMetrics metrics, PointOverloadProperties properties) {
+		UserLockManager lockManager = new UserLockManager(metrics, properties.lockTimeout(),
+				properties.maxUserWaiters(), properties.maxWaiters());
+		metrics.lockWaiters(lockManager);
+		return lockManager;
+	}
+	
+	@Bean
+	public FilterRegistrationBean<PointDeadlineFilter> pointDeadlineFilter() {
+		FilterRegistrationBean<PointDeadlineFilter> registration = new FilterRegistrationBean<>(new PointDeadlineFilter());
+		registration.addUrlPatterns("/point/*", "/async/point/*", "/reactive/point/*");
+		registration.setAsyncSupported(true);
+		return registration;
 	}
 
 }
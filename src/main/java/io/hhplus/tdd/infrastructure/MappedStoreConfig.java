@@ -0,0 +1,19 @@
+package io.hhplus.tdd.infrastructure;
+
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+import io.hhplus.tdd.database.MappedBalanceStore;
+import io.hhplus.tdd.database.MappedBalanceStoreProperties;
+
+@Configuration
+public class MappedStoreConfig {
+	
+	@Bean(destroyMethod = "close")
+	@ConditionalOnProperty(prefix = "point.mapped-store", name = "enabled", havingValue = "true")
+	public MappedBalanceStore mappedBalanceStore(MappedBalanceStoreProperties properties) {
+		return new MappedBalanceStore(properties.path(), properties.maxUsers());
+	}
+
+}
@@ -0,0 +1,21 @@
+package io.hhplus.tdd.infrastructure;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+import io.hhplus.tdd.point.PointPartitionProperties;
+
+@Configuration
+public class PartitionConfig {
+	
+	@Bean(destroyMethod = "shutdown")
+	@ConditionalOnProperty(prefix = "point.concurrency", name = "mode", havingValue = "PARTITIONED")
+	public UserPartitionExecutor userPartitionExecutor(PointPartitionProperties properties, PointMetrics metrics,
+			@Value(PointThreads.VIRTUAL_PROPERTY) boolean virtualThreads) {
+		return new UserPartitionExecutor(properties.partitions(), properties.queueCapacity(),
+				PointThreads.factory("point-partition-", virtualThreads), metrics);
+	}
+
+}
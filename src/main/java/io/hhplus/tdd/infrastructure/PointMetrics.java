@@ -0,0 +1,159 @@
+package io.hhplus.tdd.infrastructure;
+
+import java.util.Collection;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+
+import org.springframework.stereotype.Component;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+
+/**
+ * 포인트 연산 지표 (Micrometer, /actuator/prometheus 로 노출)
+ * - point.operation : 연산(get, charge, use, history, bulk, transfer)별 처리 시간 히스토그램
+ * - point.operation.inflight : 연산별 처리 중인 요청 수
+ * - point.lock.wait / point.lock.hold : 유저 락을 얻기까지 기다린 시간 / 잡고 있던 시간
+ * - point.lock.waiters : 유저 락을 기다리는 중인 스레드 수
+ * - point.table.call : UserPointTable, PointHistoryTable 호출 시간 (table, method 태그)
+ * - point.rejections : 거절된 요청 수 (reason 태그, 과부하 거절은 PointOverloadException 의 reason 으로 구분)
+ * - point.optimistic.conflicts / point.optimistic.fallbacks : OPTIMISTIC 에서 충돌로 다시 시도한 횟수 / 재시도를 다 써서 락으로 처리한 횟수
+ * - point.partition.queue : PARTITIONED 에서 파티션별 대기 중인 작업 수 (partition 태그)
+ * - 미터는 생성 시 모두 등록해 두므로, 기록할 때 태그 조회나 객체 생성 없이 배열 인덱스로 찾습니다.
+ */
+@Component
+public class PointMetrics {
+
+    public enum Operation {
+        GET, CHARGE, USE, HISTORY, BULK, TRANSFER
+    }
+
+    // 거절 사유 - 과부하는 PointOverloadException 의 reason 으로, 검증 실패는 UserPoint 등이 던지는 예외 메시지로 구분
+    public enum Rejection {
+        MAX_EXCEEDED, INSUFFICIENT_BALANCE, BAD_ID, BAD_AMOUNT, USER_BUSY, RATE_LIMITED, OVERLOADED, DEADLINE, OTHER;
+
+        // 검증 실패는 IllegalArgumentException 하나로 던지므로 메시지 외에 구분할 값이 없음
+        private static final Map<String, Rejection> BY_MESSAGE = Map.ofEntries(
+                Map.entry("최대 저장 가능한 포인트가 넘었습니다.", MAX_EXCEEDED),
+                Map.entry("잔여 포인트가 부족합니다.", INSUFFICIENT_BALANCE),
+                Map.entry("Check Id.", BAD_ID),
+                Map.entry("Check Transfer.", BAD_ID),
+                Map.entry("Amount Over 1", BAD_AMOUNT),
+                Map.entry("충전 시, amount는 음수일 수 없습니다. 사용 함수를 사용해주시기 바랍니다.", BAD_AMOUNT),
+                Map.entry("사용 시, amount는 음수일 수 없습니다. 충전 함수를 사용해주시기 바랍니다.", BAD_AMOUNT));
+
+        public static Rejection of(String message) {
+            return (message == null) ? OTHER : BY_MESSAGE.getOrDefault(message, OTHER);
+        }
+
+        public static Rejection of(PointOverloadException.Reason reason) {
+            return switch (reason) {
+                case USER_BUSY -> USER_BUSY;
+                case RATE_LIMITED -> RATE_LIMITED;
+                case OVERLOADED -> OVERLOADED;
+                case DEADLINE -> DEADLINE;
+            };
+        }
+    }
+
+    private final MeterRegistry registry;
+    private final Timer[] operations = new Timer[Operation.values().length];
+    private final LongAdder[] inflight = new LongAdder[Operation.values().length];
+    private final Counter[] rejections = new Counter[Rejection.values().length];
+    private final Map<String, Timer> tableCalls = new ConcurrentHashMap<>(); // "table.method" 별 타이머
+    private final Timer lockWait;
+    private final Timer lockHold;
+    private final Counter optimisticConflicts;
+    private final Counter optimisticFallbacks;
+
+    public PointMetrics(MeterRegistry registry) {
+        this.registry = registry;
+        for (Operation operation : Operation.values()) {
+            String tag = tagOf(operation);
+            this.operations[operation.ordinal()] = Timer.builder("point.operation")
+                    .tag("operation", tag)
+                    .publishPercentileHistogram()
+                    .register(registry);
+            LongAdder counter = new LongAdder();
+            this.inflight[operation.ordinal()] = counter;
+            Gauge.builder("point.operation.inflight", counter, LongAdder::sum)
+                    .tag("operation", tag)
+                    .register(registry);
+        }
+        for (Rejection rejection : Rejection.values()) {
+            this.rejections[rejection.ordinal()] = Counter.builder("point.rejections")
+                    .tag("reason", rejection.name().toLowerCase())
+                    .register(registry);
+        }
+        this.lockWait = Timer.builder("point.lock.wait").publishPercentileHistogram().register(registry);
+        this.lockHold = Timer.builder("point.lock.hold").publishPercentileHistogram().register(registry);
+        this.optimisticConflicts = Counter.builder("point.optimistic.conflicts").register(registry);
+        this.optimisticFallbacks = Counter.builder("point.optimistic.fallbacks").register(registry);
+    }
+
+    // 연산 시작 - 반환한 시각을 stop 에 넘김
+    public long start(Operation operation) {
+        this.inflight[operation.ordinal()].increment();
+        return System.nanoTime();
+    }
+
+    public void stop(Operation operation, long startNanos) {
+        this.operations[operation.ordinal()].record(System.nanoTime() - startNanos, TimeUnit.NANOSECONDS);
+        this.inflight[operation.ordinal()].decrement();
+    }
+
+    public void lockWait(long nanos) {
+        this.lockWait.record(nanos, TimeUnit.NANOSECONDS);
+    }
+
+    public void lockHold(long nanos) {
+        this.lockHold.record(nanos, TimeUnit.NANOSECONDS);
+    }
+
+    public void optimisticConflict() {
+        this.optimisticConflicts.increment();
+    }
+
+    public void optimisticFallback() {
+        this.optimisticFallbacks.increment();
+    }
+
+    // 유저 락을 기다리는 중인 스레드 수
+    public void lockWaiters(UserLockManager lockManager) {
+        Gauge.builder("point.lock.waiters", lockManager, UserLockManager::waiters).register(this.registry);
+    }
+
+    // 파티션별 대기열 길이
+    public void partitionQueue(int partition, Collection<?> queue) {
+        Gauge.builder("point.partition.queue", queue, Collection::size)
+                .tag("partition", String.valueOf(partition))
+                .register(this.registry);
+    }
+
+    // 검증 실패로 거절
+    public void reject(String message) {
+        this.rejections[Rejection.of(message).ordinal()].increment();
+    }
+
+    // 과부하로 거절
+    public void reject(PointOverloadException e) {
+        this.rejections[Rejection.of(e.reason()).ordinal()].increment();
+    }
+
+    // 테이블 호출 시간 - 테이블과 메서드는 몇 개뿐이므로 처음 호출할 때 등록해 두고 이후에는 그대로 사용
+    public Timer tableCall(String table, String method) {
+        return this.tableCalls.computeIfAbsent(table + "." + method, key -> Timer.builder("point.table.call")
+                .tag("table", table)
+                .tag("method", method)
+                .publishPercentileHistogram()
+                .register(this.registry));
+    }
+
+    private static String tagOf(Operation operation) {
+        return operation.name().toLowerCase();
+    }
+}
@@ -0,0 +1,63 @@
+package io.hhplus.tdd.infrastructure;
+
+/**
+ * 과부하로 요청을 처리하지 않고 바로 거절할 때 던지는 예외 (ApiControllerAdvice 에서 reason 의 상태 코드로 응답)
+ * - USER_BUSY : 한 유저에게 몰린 요청이 너무 많음 (429)
+ * - RATE_LIMITED : 유저의 충전/사용 요청 한도를 넘음 (429)
+ * - OVERLOADED : 서버 전체의 대기 중인 요청이나 대기열이 가득 참 (503)
+ * - DEADLINE : 기한 안에 락을 얻지 못했거나, 예상 대기 시간이 남은 기한을 넘음 (503)
+ * - 과부하 상황에서 많이 던져지므로 스택 트레이스를 만들지 않습니다.
+ */
+public class PointOverloadException extends IllegalStateException {
+
+    public static final String USER_BUSY_MESSAGE = "같은 유저의 요청이 너무 많습니다. 잠시 후 다시 시도해주세요.";
+    public static final String RATE_LIMITED_MESSAGE = "요청 한도를 넘었습니다. 잠시 후 다시 시도해주세요.";
+    public static final String OVERLOADED_MESSAGE = "요청이 많아 처리할 수 없습니다. 잠시 후 다시 시도해주세요.";
+    public static final String DEADLINE_MESSAGE = "처리 기한 안에 처리할 수 없습니다. 잠시 후 다시 시도해주세요.";
+
+    public enum Reason {
+        USER_BUSY(429), RATE_LIMITED(429), OVERLOADED(503), DEADLINE(503);
+
+        private final int status;
+
+        Reason(int status) {
+            this.status = status;
+        }
+
+        public int status() {
+            return this.status;
+        }
+    }
+
+    private final Reason reason;
+
+    public PointOverloadException(Reason reason, String message) {
+        super(message);
+        this.reason = reason;
+    }
+
+    public static PointOverloadException userBusy() {
+        return new PointOverloadException(Reason.USER_BUSY, USER_BUSY_MESSAGE);
+    }
+
+    public static PointOverloadException rateLimited() {
+        return new PointOverloadException(Reason.RATE_LIMITED, RATE_LIMITED_MESSAGE);
+    }
+
+    public static PointOverloadException overloaded() {
+        return new PointOverloadException(Reason.OVERLOADED, OVERLOADED_MESSAGE);
+    }
+
+    public static PointOverloadException deadline() {
+        return new PointOverloadException(Reason.DEADLINE, DEADLINE_MESSAGE);
+    }
+
+    public Reason reason() {
+        return this.reason;
+    }
+
+    @Override
+    public synchronized Throwable fillInStackTrace() {
+        return this;
+    }
+}
@@ -0,0 +1,81 @@
+package io.hhplus.tdd.infrastructure;
+
+import org.springframework.context.annotation.AnnotationConfigApplicationContext;
+import org.springframework.context.annotation.Bean;
+import org.springframework.http.server.reactive.HttpHandler;
+import org.springframework.http.server.reactive.ReactorHttpHandlerAdapter;
+import org.springframework.web.reactive.config.EnableWebFlux;
+import org.springframework.web.server.adapter.WebHttpHandlerBuilder;
+
+import io.hhplus.tdd.ApiControllerAdvice;
+import io.hhplus.tdd.point.PointRateLimiter;
+import io.hhplus.tdd.point.PointReactiveDeadlineFilter;
+import io.hhplus.tdd.point.PointReactiveController;
+import io.hhplus.tdd.point.PointReactiveProperties;
+import io.hhplus.tdd.point.PointReactiveService;
+import lombok.extern.slf4j.Slf4j;
+import reactor.netty.DisposableServer;
+import reactor.netty.http.server.HttpServer;
+import reactor.netty.resources.LoopResources;
+
+/**
+ * 서블릿 서버(Tomcat)와 별도 포트로 띄우는 WebFlux(Netty) 서버
+ * - WebFlux 설정은 서블릿 MVC 설정이 보이는 컨텍스트(부모 포함)에서는 만들 수 없으므로,
+ *   애플리케이션 컨텍스트와 분리된 컨텍스트에 WebFlux, PointReactiveController 와 애플리케이션의 PointReactiveService,
+ *   PointRateLimiter, ApiControllerAdvice 빈만 등록합니다. (요청 한도는 서블릿 API 와 같은 버킷을 씀)
+ * - 요청은 eventLoopThreads 개의 고정된 이벤트 루프 스레드에서 처리되고, 블로킹 작업은 PointReactiveService 의 스케줄러로 넘깁니다.
+ * - 서블릿 필터(PointDeadlineFilter)를 거치지 않으므로 처리 기한은 PointReactiveDeadlineFilter 로 정합니다.
+ */
+@Slf4j
+public class PointReactiveServer implements AutoCloseable {
+
+    private final AnnotationConfigApplicationContext context;
+    private final LoopResources loops;
+    private final DisposableServer server;
+
+    public PointReactiveServer(PointReactiveService pointReactiveService, PointRateLimiter pointRateLimiter,
+                               ApiControllerAdvice controllerAdvice, PointReactiveProperties properties) {
+        this.context = new AnnotationConfigApplicationContext();
+        this.context.registerBean(PointReactiveService.class, () -> pointReactiveService);
+        this.context.registerBean(PointRateLimiter.class, () -> pointRateLimiter);
+        this.context.registerBean(ApiControllerAdvice.class, () -> controllerAdvice);
+        this.context.register(WebFluxConfig.class);
+        this.context.refresh();
+
+        HttpHandler handler = WebHttpHandlerBuilder.applicationContext(this.context).build();
+        this.loops = LoopResources.create("point-reactive-loop-", 1, properties.eventLoopThreads(), true);
+        this.server = HttpServer.create()
+                .port(properties.port())
+                .runOn(this.loops)
+                .handle(new ReactorHttpHandlerAdapter(handler))
+                .bindNow();
+        log.info("리액티브 포인트 서버 시작. port={}, eventLoopThreads={}", this.server.port(), properties.eventLoopThreads());
+    }
+
+    public int port() {
+        return this.server.port();
+    }
+
+    @Override
+    public void close() {
+        this.server.disposeNow();
+        this.loops.disposeLater().block();
+        this.context.close();
+    }
+
+    // 컴포넌트 스캔 대상이 아니도록 @Configuration 없이 리액티브 컨텍스트에만 등록
+    @EnableWebFlux
+    static class WebFluxConfig {
+
+        @Bean
+        public PointReactiveController pointReactiveController(PointReactiveService pointReactiveService,
+                                                               PointRateLimiter pointRateLimiter) {
+            return new PointReactiveController(pointReactiveService, pointRateLimiter);
+        }
+
+        @Bean
+        public PointReactiveDeadlineFilter pointReactiveDeadlineFilter() {
+            return new PointReactiveDeadlineFilter();
+        }
+    }
+}
@@ -0,0 +1,39 @@
+package io.hhplus.tdd.infrastructure;
+
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.springframework.core.task.VirtualThreadTaskExecutor;
+
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * 내부 작업용 스레드 생성
+ * - spring.threads.virtual.enabled=true 이고 Java 21 이상에서 실행 중이면 가상 스레드를 사용합니다.
+ * - 그 외에는 이름이 붙은 플랫폼 스레드를 사용합니다.
+ */
+@Slf4j
+public final class PointThreads {
+
+    public static final String VIRTUAL_PROPERTY = "${spring.threads.virtual.enabled:false}";
+
+    private PointThreads() {
+    }
+
+    public static boolean isVirtualSupported() {
+        return Runtime.version().feature() >= 21;
+    }
+
+    public static ThreadFactory factory(String prefix, boolean virtual) {
+        if (virtual && isVirtualSupported()) {
+            return new VirtualThreadTaskExecutor(prefix).getVirtualThreadFactory();
+        }
+
+        if (virtual) {
+            log.warn("가상 스레드는 Java 21 이상에서만 사용할 수 있어 플랫폼 스레드를 사용합니다. prefix={}", prefix);
+        }
+
+        AtomicInteger sequence = new AtomicInteger();
+        return runnable -> new Thread(runnable, prefix + sequence.getAndIncrement());
+    }
+}
@@ -0,0 +1,27 @@
+package io.hhplus.tdd.infrastructure;
+
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+import io.hhplus.tdd.ApiControllerAdvice;
+import io.hhplus.tdd.point.PointRateLimiter;
+import io.hhplus.tdd.point.PointReactiveProperties;
+import io.hhplus.tdd.point.PointReactiveService;
+import io.hhplus.tdd.point.PointShardProperties;
+
+@Configuration
+public class ReactiveServerConfig {
+	
+	// Netty 서버는 서블릿 필터(PointShardFilter)를 거치지 않아 담당이 아닌 유저도 직접 처리하므로 샤딩과 함께 켤 수 없음
+	@Bean(destroyMethod = "close")
+	@ConditionalOnProperty(prefix = "point.reactive", name = "enabled", havingValue = "true")
+	public PointReactiveServer pointReactiveServer(PointReactiveService pointReactiveService, PointRateLimiter pointRateLimiter,
+			ApiControllerAdvice controllerAdvice, PointReactiveProperties properties, PointShardProperties shardProperties) {
+		if (shardProperties.enabled()) {
+			throw new IllegalStateException("Check Reactive Shard.");
+		}
+		return new PointReactiveServer(pointReactiveService, pointRateLimiter, controllerAdvice, properties);
+	}
+
+}
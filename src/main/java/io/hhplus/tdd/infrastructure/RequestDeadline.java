@@ -0,0 +1,57 @@
+package io.hhplus.tdd.infrastructure;
+
+import java.util.function.Supplier;
+
+/**
+ * 요청을 처리하는 스레드에 묶인 처리 기한 (System.nanoTime 기준)
+ * - PointDeadlineFilter 가 요청마다 정하고, UserLockManager 는 이 기한까지만 락을 기다립니다.
+ * - 다른 스레드에서 이어서 처리할 때는 wrap 으로 기한을 넘깁니다.
+ * - 스레드가 정해지지 않은 리액티브 요청은 Reactor Context 의 CONTEXT_KEY 로 기한을 넘기고, 블로킹 작업을 실행할 때 wrap 으로 옮깁니다.
+ */
+public final class RequestDeadline {
+
+    public static final String CONTEXT_KEY = RequestDeadline.class.getName();
+
+    private static final ThreadLocal<Long> DEADLINE = new ThreadLocal<>();
+
+    private RequestDeadline() {
+    }
+
+    // 기한이 없으면 null
+    public static Long current() {
+        return DEADLINE.get();
+    }
+
+    public static void set(long deadlineNanos) {
+        DEADLINE.set(deadlineNanos);
+    }
+
+    public static void clear() {
+        DEADLINE.remove();
+    }
+
+    // 지금 스레드의 기한을 가지고 다른 스레드에서 실행되는 작업
+    public static <T> Supplier<T> wrap(Supplier<T> task) {
+        return wrap(current(), task);
+    }
+
+    // 주어진 기한(없으면 null)을 가지고 실행되는 작업
+    public static <T> Supplier<T> wrap(Long deadline, Supplier<T> task) {
+        if (deadline == null) {
+            return task;
+        }
+        return () -> {
+            Long previous = current();
+            set(deadline);
+            try {
+                return task.get();
+            } finally {
+                if (previous == null) {
+                    clear();
+                } else {
+                    set(previous);
+                }
+            }
+        };
+    }
+}
@@ -0,0 +1,33 @@
+package io.hhplus.tdd.infrastructure;
+
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.web.servlet.FilterRegistrationBean;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+import io.hhplus.tdd.point.PointShardClient;
+import io.hhplus.tdd.point.PointShardFilter;
+import io.hhplus.tdd.point.PointShardProperties;
+import io.hhplus.tdd.point.PointShardRouter;
+import io.hhplus.tdd.point.PointShardSecretFilter;
+
+@Configuration
+@ConditionalOnProperty(prefix = "point.shard", name = "enabled", havingValue = "true")
+public class ShardConfig {
+	
+	@Bean
+	public FilterRegistrationBean<PointShardFilter> pointShardFilter(PointShardRouter router, PointShardClient client) {
+		FilterRegistrationBean<PointShardFilter> registration = new FilterRegistrationBean<>(new PointShardFilter(router, client));
+		registration.addUrlPatterns("/point/*", "/async/point/*", "/reactive/point/*");
+		registration.setAsyncSupported(true);
+		return registration;
+	}
+	
+	@Bean
+	public FilterRegistrationBean<PointShardSecretFilter> pointShardSecretFilter(PointShardProperties properties) {
+		FilterRegistrationBean<PointShardSecretFilter> registration = new FilterRegistrationBean<>(new PointShardSecretFilter(properties.secret()));
+		registration.addUrlPatterns("/shard/*");
+		return registration;
+	}
+
+}
@@ -0,0 +1,54 @@
+package io.hhplus.tdd.infrastructure;
+
+import java.util.concurrent.TimeUnit;
+
+import org.aopalliance.intercept.MethodInterceptor;
+import org.springframework.aop.framework.ProxyFactory;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.config.BeanPostProcessor;
+import org.springframework.stereotype.Component;
+
+import io.hhplus.tdd.database.PointHistoryTable;
+import io.hhplus.tdd.database.UserPointTable;
+import io.micrometer.core.instrument.Timer;
+
+/**
+ * UserPointTable, PointHistoryTable 빈을 감싸 호출 시간을 point.table.call 로 기록합니다.
+ * - 테이블 클래스는 변경하지 않아야 하므로 빈 경계에서 프록시로 측정합니다.
+ * - 지표 빈은 후처리기보다 늦게 만들어지므로 처음 호출할 때 가져옵니다.
+ */
+@Component
+public class TableMetricsPostProcessor implements BeanPostProcessor {
+
+    private final ObjectProvider<PointMetrics> metrics;
+
+    public TableMetricsPostProcessor(ObjectProvider<PointMetrics> metrics) {
+        this.metrics = metrics;
+    }
+
+    @Override
+    public Object postProcessAfterInitialization(Object bean, String beanName) {
+        if (bean instanceof UserPointTable) {
+            return this.timed(bean, "user_point");
+        }
+        if (bean instanceof PointHistoryTable) {
+            return this.timed(bean, "point_history");
+        }
+        return bean;
+    }
+
+    private Object timed(Object table, String tableTag) {
+        ProxyFactory factory = new ProxyFactory(table);
+        factory.setProxyTargetClass(true);
+        factory.addAdvice((MethodInterceptor) invocation -> {
+            Timer timer = this.metrics.getObject().tableCall(tableTag, invocation.getMethod().getName());
+            long start = System.nanoTime();
+            try {
+                return invocation.proceed();
+            } finally {
+                timer.record(System.nanoTime() - start, TimeUnit.NANOSECONDS);
+            }
+        });
+        return factory.getProxy();
+    }
+}
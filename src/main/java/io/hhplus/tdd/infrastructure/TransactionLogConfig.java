@@ -0,0 +1,28 @@
+package io.hhplus.tdd.infrastructure;
+
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+import io.hhplus.tdd.database.PointSnapshotProperties;
+import io.hhplus.tdd.database.PointSnapshotter;
+import io.hhplus.tdd.database.PointTransactionLog;
+import io.hhplus.tdd.database.PointTransactionLogProperties;
+
+@Configuration
+public class TransactionLogConfig {
+	
+	@Bean(destroyMethod = "close")
+	@ConditionalOnProperty(prefix = "point.transaction-log", name = "enabled", havingValue = "true")
+	public PointTransactionLog pointTransactionLog(PointTransactionLogProperties properties) {
+		return new PointTransactionLog(properties.path(), properties.durability(), properties.bufferRecords(),
+				properties.flushInterval());
+	}
+	
+	@Bean(destroyMethod = "close")
+	@ConditionalOnProperty(name = {"point.transaction-log.enabled", "point.snapshot.enabled"}, havingValue = "true")
+	public PointSnapshotter pointSnapshotter(PointTransactionLog pointTransactionLog, PointSnapshotProperties properties) {
+		return new PointSnapshotter(pointTransactionLog, properties.path(), properties.interval());
+	}
+
+}
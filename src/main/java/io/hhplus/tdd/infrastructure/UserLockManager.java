@@ -0,0 +1,162 @@
+package io.hhplus.tdd.infrastructure;
+
+import java.time.Duration;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * 유저 id 단위로 락을 관리합니다.
+ * - 같은 유저에 대한 요청만 직렬화하고, 서로 다른 유저의 요청은 병렬로 처리됩니다.
+ * - 락을 잡고 있거나 기다리는 스레드가 없는 유저의 락은 즉시 제거되므로,
+ *   메모리 사용량은 동시에 처리 중인 유저 수에 비례합니다.
+ * - 지표를 넘기면 락을 얻기까지 기다린 시간과 잡고 있던 시간을 기록합니다.
+ * - 락을 바로 얻지 못하면 기한(RequestDeadline, 없으면 lockTimeout)까지만 기다리고, 다음 경우에는 기다리지 않고 거절합니다.
+ *   같은 유저를 기다리는 스레드가 maxUserWaiters 이상, 전체 대기 스레드가 maxWaiters 이상,
+ *   앞에서 기다리는 스레드 수 x 평균 보유 시간이 남은 기한을 넘는 경우
+ */
+public class UserLockManager {
+
+    private static final long NO_TIMEOUT = Long.MAX_VALUE;
+
+    private final ConcurrentHashMap<Long, LockEntry> locks = new ConcurrentHashMap<>();
+    private final PointMetrics metrics;
+    private final long lockTimeoutNanos;
+    private final int maxUserWaiters;
+    private final int maxWaiters;
+    private final AtomicInteger waiters = new AtomicInteger(); // 락을 기다리는 중인 스레드 수
+    private volatile long averageHoldNanos; // 보유 시간 이동 평균 (대략적인 값이면 충분해 경쟁 상태를 허용)
+
+    // 제한 없이 기다림
+    public UserLockManager() {
+        this(null);
+    }
+
+    public UserLockManager(PointMetrics metrics) {
+        this(metrics, null, Integer.MAX_VALUE, Integer.MAX_VALUE);
+    }
+
+    public UserLockManager(PointMetrics metrics, Duration lockTimeout, int maxUserWaiters, int maxWaiters) {
+        this.metrics = metrics;
+        this.lockTimeoutNanos = (lockTimeout == null) ? NO_TIMEOUT : lockTimeout.toNanos();
+        this.maxUserWaiters = maxUserWaiters;
+        this.maxWaiters = maxWaiters;
+    }
+
+    // 기한 안에 얻지 못하거나 대기가 너무 많으면 PointOverloadException
+    public void lock(long userId) {
+        LockEntry entry = this.acquire(userId);
+        long start = System.nanoTime();
+        if (!entry.lock.tryLock()) {
+            this.await(userId, entry, start);
+        }
+
+        entry.lockedAt = System.nanoTime();
+        if (this.metrics != null) {
+            this.metrics.lockWait(entry.lockedAt - start);
+        }
+    }
+
+    // 다른 스레드가 잡고 있으면 기다리지 않고 false
+    public boolean tryLock(long userId) {
+        LockEntry entry = this.acquire(userId);
+        if (entry.lock.tryLock()) {
+            entry.lockedAt = System.nanoTime();
+            return true;
+        }
+        this.release(userId);
+        return false;
+    }
+
+    public void unlock(long userId) {
+        LockEntry entry = this.locks.get(userId);
+        if (entry == null || !entry.lock.isHeldByCurrentThread()) {
+            throw new IllegalMonitorStateException("락을 보유하지 않은 유저입니다. userId=" + userId);
+        }
+
+        if (entry.lock.getHoldCount() == 1) {
+            long held = System.nanoTime() - entry.lockedAt;
+            this.averageHoldNanos += (held - this.averageHoldNanos) >> 3;
+            if (this.metrics != null) {
+                this.metrics.lockHold(held);
+            }
+        }
+        entry.lock.unlock();
+        this.release(userId);
+    }
+
+    // 현재 관리 중인(사용 중인) 락의 개수
+    public int size() {
+        return this.locks.size();
+    }
+
+    // 락을 기다리는 중인 스레드 수
+    public int waiters() {
+        return this.waiters.get();
+    }
+
+    private void await(long userId, LockEntry entry, long start) {
+        long deadline = this.deadline(start);
+        long ahead = entry.holders - 1; // 락을 잡고 있거나 먼저 기다리는 스레드 수 (대략적인 값)
+        PointOverloadException rejected = null;
+        if (ahead > this.maxUserWaiters) {
+            rejected = PointOverloadException.userBusy();
+        } else if (this.waiters.get() >= this.maxWaiters) {
+            rejected = PointOverloadException.overloaded();
+        } else if (deadline != NO_TIMEOUT && ahead * this.averageHoldNanos > deadline - start) {
+            rejected = PointOverloadException.deadline(); // 기다려도 기한 안에 차례가 오지 않을 요청
+        }
+        if (rejected != null) {
+            this.release(userId);
+            throw rejected;
+        }
+
+        this.waiters.incrementAndGet();
+        try {
+            if (deadline == NO_TIMEOUT) {
+                entry.lock.lock();
+                return;
+            }
+            if (!entry.lock.tryLock(deadline - System.nanoTime(), TimeUnit.NANOSECONDS)) {
+                this.release(userId);
+                throw PointOverloadException.deadline();
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            this.release(userId);
+            throw new IllegalStateException("락 대기 중 인터럽트되었습니다.", e);
+        } finally {
+            this.waiters.decrementAndGet();
+        }
+    }
+
+    // 요청의 기한, 없으면 lockTimeout 뒤 (lockTimeout 보다 늦은 기한은 lockTimeout 으로 줄임)
+    private long deadline(long start) {
+        Long requested = RequestDeadline.current();
+        long limit = (this.lockTimeoutNanos == NO_TIMEOUT) ? NO_TIMEOUT : start + this.lockTimeoutNanos;
+        if (requested == null) {
+            return limit;
+        }
+        return (limit == NO_TIMEOUT || requested - limit < 0) ? requested : limit;
+    }
+
+    // compute 는 키 단위로 원자적으로 실행되므로 holders 는 별도 동기화 없이 관리합니다.
+    private LockEntry acquire(long userId) {
+        return this.locks.compute(userId, (key, entry) -> {
+            LockEntry target = (entry == null) ? new LockEntry() : entry;
+            target.holders++;
+            return target;
+        });
+    }
+
+    private void release(long userId) {
+        this.locks.computeIfPresent(userId, (key, entry) -> --entry.holders == 0 ? null : entry);
+    }
+
+    private static final class LockEntry {
+        private final ReentrantLock lock = new ReentrantLock();
+        private int holders;
+        private long lockedAt; // 락을 잡은 스레드만 쓰고 읽음
+    }
+}
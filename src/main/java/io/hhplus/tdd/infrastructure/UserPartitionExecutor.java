@@ -0,0 +1,177 @@
+package io.hhplus.tdd.infrastructure;
+
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.function.Supplier;
+
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * 유저 id 를 해시해 파티션으로 나누고, 파티션마다 스레드 하나가 자신의 대기열에 들어온 작업을 순서대로 실행합니다.
+ * - 같은 유저의 작업은 항상 같은 스레드에서 도착 순서대로 실행되므로, 작업 안에서는 락 없이 유저 상태를 바꿀 수 있습니다.
+ * - 대기열이 가득 차면 기다리지 않고 바로 거절합니다.
+ * - 파티션 스레드에서 자신의 파티션 작업을 요청하면 대기열을 거치지 않고 바로 실행합니다.
+ * - 지표를 넘기면 파티션별 대기열 길이를 기록합니다.
+ * - 종료 시 대기열에 남은 작업을 모두 실행한 뒤 종료합니다.
+ */
+@Slf4j
+public class UserPartitionExecutor {
+
+    private static final long POLL_NANOS = TimeUnit.MILLISECONDS.toNanos(100);
+
+    private final Partition[] partitions;
+    private volatile boolean running = true;
+
+    public UserPartitionExecutor(int partitions, int queueCapacity, ThreadFactory threadFactory, PointMetrics metrics) {
+        if (partitions < 1 || queueCapacity < 1) {
+            throw new IllegalArgumentException("Check Partitions.");
+        }
+
+        this.partitions = new Partition[partitions];
+        for (int i = 0; i < partitions; i++) {
+            Partition partition = new Partition(new ArrayBlockingQueue<>(queueCapacity));
+            partition.worker = threadFactory.newThread(() -> this.runWorker(partition));
+            this.partitions[i] = partition;
+            if (metrics != null) {
+                metrics.partitionQueue(i, partition.queue);
+            }
+        }
+        for (Partition partition : this.partitions) {
+            partition.worker.start();
+        }
+    }
+
+    public int partitionOf(long userId) {
+        int hash = Long.hashCode(userId);
+        return Math.floorMod(hash ^ (hash >>> 16), this.partitions.length);
+    }
+
+    public int size() {
+        return this.partitions.length;
+    }
+
+    // 유저의 파티션 스레드에서 실행하고 결과를 기다림, 작업에서 던진 예외는 그대로 전달
+    public <T> T execute(long userId, Supplier<T> task) {
+        return this.executeOn(this.partitionOf(userId), task);
+    }
+
+    // 두 유저의 파티션을 모두 점유한 상태로 실행 (이체 등)
+    // 번호가 작은 파티션 스레드가 큰 파티션의 작업이 끝나기를 기다리는 방향으로만 대기하므로 순환 대기가 생기지 않음
+    public <T> T execute(long userId, long otherUserId, Supplier<T> task) {
+        int partition = this.partitionOf(userId);
+        int other = this.partitionOf(otherUserId);
+        if (partition == other) {
+            return this.executeOn(partition, task);
+        }
+
+        int first = Math.min(partition, other);
+        int second = Math.max(partition, other);
+        return this.executeOn(first, () -> this.executeOn(second, task));
+    }
+
+    public void shutdown() {
+        this.running = false;
+        for (Partition partition : this.partitions) {
+            try {
+                partition.worker.join();
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+        }
+
+        // 종료 직전에 들어온 작업까지 실행
+        for (Partition partition : this.partitions) {
+            Task<?> task;
+            while ((task = partition.queue.poll()) != null) {
+                task.run();
+            }
+        }
+    }
+
+    private <T> T executeOn(int index, Supplier<T> supplier) {
+        Partition partition = this.partitions[index];
+        if (Thread.currentThread() == partition.worker) {
+            return supplier.get();
+        }
+        if (!this.running) {
+            throw new IllegalStateException("종료 중에는 포인트를 변경할 수 없습니다.");
+        }
+
+        Task<T> task = new Task<>(supplier);
+        if (!partition.queue.offer(task)) {
+            throw new PointOverloadException(PointOverloadException.Reason.OVERLOADED, "파티션 대기열이 가득 찼습니다. 잠시 후 다시 시도해주세요.");
+        }
+
+        try {
+            return task.result.get();
+        } catch (ExecutionException e) {
+            throw (e.getCause() instanceof RuntimeException cause) ? cause : new IllegalStateException(e.getCause());
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            if (task.claimed.compareAndSet(false, true)) { // 아직 실행 전이면 취소
+                throw new IllegalStateException("파티션 작업 대기 중 인터럽트되었습니다.", e);
+            }
+            try {
+                return task.result.join(); // 이미 파티션 스레드가 실행 중
+            } catch (CompletionException joined) {
+                throw (joined.getCause() instanceof RuntimeException cause) ? cause : joined;
+            }
+        }
+    }
+
+    private void runWorker(Partition partition) {
+        while (this.running || !partition.queue.isEmpty()) {
+            Task<?> task;
+            try {
+                task = partition.queue.poll(POLL_NANOS, TimeUnit.NANOSECONDS);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                this.running = false;
+                continue;
+            }
+            if (task != null) {
+                task.run();
+            }
+        }
+    }
+
+    private static final class Partition {
+        private final BlockingQueue<Task<?>> queue;
+        private Thread worker;
+
+        private Partition(BlockingQueue<Task<?>> queue) {
+            this.queue = queue;
+        }
+    }
+
+    private static final class Task<T> implements Runnable {
+        private final Supplier<T> supplier;
+        private final CompletableFuture<T> result = new CompletableFuture<>();
+        private final AtomicBoolean claimed = new AtomicBoolean(); // 실행과 취소 중 먼저 가져간 쪽만 진행
+
+        private Task(Supplier<T> supplier) {
+            this.supplier = supplier;
+        }
+
+        @Override
+        public void run() {
+            if (!this.claimed.compareAndSet(false, true)) {
+                return;
+            }
+            try {
+                this.result.complete(this.supplier.get());
+            } catch (Throwable e) {
+                this.result.completeExceptionally(e);
+                if (e instanceof Error error) {
+                    log.error("파티션 작업 중 오류가 발생했습니다.", error);
+                }
+            }
+        }
+    }
+}
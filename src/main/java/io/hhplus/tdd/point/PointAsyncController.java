@@ -0,0 +1,117 @@
+package io.hhplus.tdd.point;
+
+import java.util.List;
+import java.util.Optional;
+import java.util.concurrent.CompletableFuture;
+
+import org.springframework.web.bind.annotation.*;
+
+import io.hhplus.tdd.infrastructure.PointOverloadException;
+import lombok.RequiredArgsConstructor;
+
+/**
+ * PointController 와 같은 기능을 비동기 MVC(CompletableFuture 반환)로 제공합니다.
+ * - 서블릿 스레드는 요청을 PointAsyncService 에 넘기고 바로 반환되며, 응답은 작업이 끝난 뒤 실행기 스레드에서 씁니다.
+ * - 테이블 지연이 긴 요청이 몰려도 동시에 처리 중인 요청 수가 서블릿 스레드 수에 묶이지 않습니다.
+ * - 충전/사용은 PointController 와 같은 유저별 한도(PointRateLimiter)를 함께 쓰고, 이미 성공한 멱등 키의 재시도는 한도를 쓰지 않습니다.
+ */
+@RestController
+@RequestMapping("/async/point")
+@RequiredArgsConstructor
+public class PointAsyncController {
+
+    private static final String IDEMPOTENCY_KEY = "Idempotency-Key";
+    private final PointAsyncService pointAsyncService;
+    private final PointRateLimiter pointRateLimiter;
+
+    @GetMapping("{id}")
+    public CompletableFuture<UserPoint> point(@PathVariable("id") long id) {
+    	if (id < 0) {
+            throw new IllegalArgumentException("Check Id.");
+        }
+    	
+        return this.pointAsyncService.getPoint(id);
+    }
+
+    @GetMapping("{id}/histories")
+    public CompletableFuture<List<PointHistory>> history(
+            @PathVariable("id") long id,
+            @RequestParam(value = "after", required = false) Long after,
+            @RequestParam(value = "limit", required = false) Integer limit,
+            @RequestParam(value = "from", required = false) Long from,
+            @RequestParam(value = "to", required = false) Long to,
+            @RequestParam(value = "type", required = false) TransactionType type
+    ) {
+    	if (id < 0) {
+            throw new IllegalArgumentException("Check Id.");
+        }
+    	
+    	PointHistoryQuery query = new PointHistoryQuery(after, limit, from, to, type);
+    	if (query.isAll()) {
+    		return this.pointAsyncService.getPointHistory(id);
+    	}
+    	
+    	query.validate();
+        return this.pointAsyncService.getPointHistory(id, query);
+    }
+
+    @PatchMapping("{id}/charge")
+    public CompletableFuture<UserPoint> charge(@PathVariable("id") long id, @RequestBody long amount,
+            @RequestHeader(value = IDEMPOTENCY_KEY, required = false) String idempotencyKey) {
+    	if (id < 0) {
+            throw new IllegalArgumentException("Check Id.");
+        }
+    	
+    	if (amount < 0) {
+            throw new IllegalArgumentException("Amount Over 1");
+        }
+    	
+    	// 이미 성공한 재시도는 요청 한도를 쓰지 않고 처음 결과를 반환
+    	if (idempotencyKey != null) {
+    		Optional<UserPoint> completed = this.pointAsyncService.findCompleted(id, TransactionType.CHARGE, amount, idempotencyKey);
+    		if (completed.isPresent()) {
+    			return CompletableFuture.completedFuture(completed.get());
+    		}
+    	}
+    	
+    	if (!this.pointRateLimiter.tryAcquire(id, TransactionType.CHARGE)) {
+    		throw PointOverloadException.rateLimited();
+    	}
+    	
+    	if (idempotencyKey != null) {
+    		return this.pointAsyncService.rechargePoint(id, amount, idempotencyKey);
+    	}
+    	
+        return this.pointAsyncService.rechargePoint(id, amount);
+    }
+
+    @PatchMapping("{id}/use")
+    public CompletableFuture<UserPoint> use(@PathVariable("id") long id, @RequestBody long amount,
+            @RequestHeader(value = IDEMPOTENCY_KEY, required = false) String idempotencyKey) {
+    	if (id < 0) {
+            throw new IllegalArgumentException("Check Id.");
+        }
+    	
+    	if (amount < 0) {
+            throw new IllegalArgumentException("Amount Over 1");
+        }
+    	
+    	// 이미 성공한 재시도는 요청 한도를 쓰지 않고 처음 결과를 반환
+    	if (idempotencyKey != null) {
+    		Optional<UserPoint> completed = this.pointAsyncService.findCompleted(id, TransactionType.USE, amount, idempotencyKey);
+    		if (completed.isPresent()) {
+    			return CompletableFuture.completedFuture(completed.get());
+    		}
+    	}
+    	
+    	if (!this.pointRateLimiter.tryAcquire(id, TransactionType.USE)) {
+    		throw PointOverloadException.rateLimited();
+    	}
+    	
+    	if (idempotencyKey != null) {
+    		return this.pointAsyncService.usePoint(id, amount, idempotencyKey);
+    	}
+    	
+        return this.pointAsyncService.usePoint(id, amount);
+    }
+}
@@ -0,0 +1,16 @@
+package io.hhplus.tdd.point;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.boot.context.properties.bind.DefaultValue;
+
+/**
+ * 비동기 포인트 API 실행기 설정
+ * - threads : 테이블 호출을 실행할 스레드 수
+ * - queueCapacity : 스레드가 모두 바쁠 때 대기할 수 있는 최대 작업 수, 넘으면 요청을 거절
+ */
+@ConfigurationProperties(prefix = "point.async")
+public record PointAsyncProperties(
+        @DefaultValue("64") int threads,
+        @DefaultValue("10000") int queueCapacity
+) {
+}
@@ -0,0 +1,159 @@
+package io.hhplus.tdd.point;
+
+import java.util.List;
+import java.util.Optional;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Supplier;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+
+import io.hhplus.tdd.infrastructure.PointOverloadException;
+import io.hhplus.tdd.infrastructure.PointThreads;
+import io.hhplus.tdd.infrastructure.RequestDeadline;
+
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * PointService 를 전용 실행기에서 호출하고 CompletableFuture 로 결과를 돌려주는 비동기 API
+ * - 요청 스레드(Tomcat)는 작업을 넘기고 바로 반환되므로, 테이블 지연 동안 서블릿 스레드를 잡고 있지 않습니다.
+ * - 같은 유저의 충전/사용은 들어온 순서대로 하나씩 실행됩니다. (앞 요청이 끝나야 다음 요청을 실행기에 넘김)
+ *   덕분에 실행기 스레드가 유저 락을 기다리며 묶이지 않습니다.
+ * - 조회는 잔액을 바꾸지 않으므로 유저별 순서를 기다리지 않고 바로 실행기에 넘깁니다.
+ * - 유저별 순서를 기다리는 요청도 실행기 밖에서 쌓이므로, 받아 둔 요청 수 전체(실행 중 + 대기열 + 순서 대기)를
+ *   스레드 수 + 대기열 크기로 제한하고, 넘으면 PointOverloadException(OVERLOADED) 으로 바로 완료됩니다.
+ * - 요청의 처리 기한(RequestDeadline)은 실행기 스레드에서도 그대로 적용됩니다.
+ */
+@Slf4j
+@Service
+public class PointAsyncService {
+
+    private final PointService pointService;
+    private final ThreadPoolExecutor executor;
+    private final ConcurrentHashMap<Long, CompletableFuture<?>> tails = new ConcurrentHashMap<>(); // 유저별 마지막 요청
+    private final Semaphore admitted; // 받아 두고 아직 끝나지 않은 요청 수 제한
+
+    public PointAsyncService(PointService pointService, PointAsyncProperties properties) {
+        this(pointService, properties, false);
+    }
+
+    @Autowired
+    public PointAsyncService(PointService pointService, PointAsyncProperties properties,
+                             @Value(PointThreads.VIRTUAL_PROPERTY) boolean virtualThreads) {
+        this.pointService = pointService;
+        this.executor = new ThreadPoolExecutor(properties.threads(), properties.threads(), 0L, TimeUnit.MILLISECONDS,
+                new ArrayBlockingQueue<>(properties.queueCapacity()),
+                PointThreads.factory("point-async-", virtualThreads),
+                new ThreadPoolExecutor.AbortPolicy());
+        this.admitted = new Semaphore(properties.threads() + properties.queueCapacity());
+    }
+
+    public CompletableFuture<UserPoint> getPoint(long id) {
+        return this.read(() -> this.pointService.getPoint(id));
+    }
+
+    public CompletableFuture<UserPoint> rechargePoint(long id, long amount) {
+        return this.submit(id, () -> this.pointService.rechargePoint(id, amount));
+    }
+
+    public CompletableFuture<UserPoint> usePoint(long id, long amount) {
+        return this.submit(id, () -> this.pointService.usePoint(id, amount));
+    }
+
+    public CompletableFuture<UserPoint> rechargePoint(long id, long amount, String idempotencyKey) {
+        return this.submit(id, () -> this.pointService.rechargePoint(id, amount, idempotencyKey));
+    }
+
+    public CompletableFuture<UserPoint> usePoint(long id, long amount, String idempotencyKey) {
+        return this.submit(id, () -> this.pointService.usePoint(id, amount, idempotencyKey));
+    }
+
+    public CompletableFuture<List<PointHistory>> getPointHistory(long id) {
+        return this.read(() -> this.pointService.getPointHistory(id));
+    }
+
+    public CompletableFuture<List<PointHistory>> getPointHistory(long id, PointHistoryQuery query) {
+        return this.read(() -> this.pointService.getPointHistory(id, query));
+    }
+
+    // 같은 멱등 키로 이미 성공한 충전/사용의 결과 (메모리 조회라 실행기를 거치지 않음)
+    public Optional<UserPoint> findCompleted(long id, TransactionType type, long amount, String idempotencyKey) {
+        return this.pointService.findCompleted(id, type, amount, idempotencyKey);
+    }
+
+    // 실행기에서 대기 중이거나 실행 중인 작업 수
+    public int pending() {
+        return this.executor.getQueue().size() + this.executor.getActiveCount();
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        this.executor.shutdown();
+        try {
+            if (!this.executor.awaitTermination(30, TimeUnit.SECONDS)) {
+                log.warn("비동기 포인트 작업이 종료 시간 안에 끝나지 않았습니다. pending={}", this.pending());
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    // 조회는 유저별 순서를 기다리지 않고 바로 실행
+    private <T> CompletableFuture<T> read(Supplier<T> request) {
+        CompletableFuture<T> result = this.admit();
+        if (!result.isDone()) {
+            this.dispatch(RequestDeadline.wrap(request), result);
+        }
+        return result;
+    }
+
+    // 유저의 마지막 요청 뒤에 이어 붙임 - 앞 요청이 성공하든 실패하든 끝나면 실행
+    private <T> CompletableFuture<T> submit(long userId, Supplier<T> request) {
+        CompletableFuture<T> result = this.admit();
+        if (result.isDone()) {
+            return result;
+        }
+        Supplier<T> task = RequestDeadline.wrap(request);
+        CompletableFuture<?> previous = this.tails.put(userId, result);
+        if (previous == null) {
+            this.dispatch(task, result);
+        } else {
+            previous.whenComplete((value, error) -> this.dispatch(task, result));
+        }
+        result.whenComplete((value, error) -> this.tails.remove(userId, result));
+        return result;
+    }
+
+    // 요청을 받을 자리가 있으면 끝날 때 자리를 돌려주는 결과를, 없으면 거절로 완료된 결과를 반환
+    private <T> CompletableFuture<T> admit() {
+        if (!this.admitted.tryAcquire()) {
+            return CompletableFuture.failedFuture(PointOverloadException.overloaded());
+        }
+        CompletableFuture<T> result = new CompletableFuture<>();
+        result.whenComplete((value, error) -> this.admitted.release());
+        return result;
+    }
+
+    private <T> void dispatch(Supplier<T> task, CompletableFuture<T> result) {
+        try {
+            this.executor.execute(() -> {
+                try {
+                    result.complete(task.get());
+                } catch (Throwable e) {
+                    result.completeExceptionally(e);
+                }
+            });
+        } catch (RejectedExecutionException e) {
+            // 자리를 돌려준 실행기 스레드가 아직 끝나기 전이거나 종료 중일 때
+            result.completeExceptionally(PointOverloadException.overloaded());
+        }
+    }
+}
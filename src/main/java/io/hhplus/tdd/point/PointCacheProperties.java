@@ -0,0 +1,14 @@
+package io.hhplus.tdd.point;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.boot.context.properties.bind.DefaultValue;
+
+/**
+ * 포인트 캐시 설정
+ * - maxSize : 메모리에 유지할 최대 유저 수 (테이블에 반영되지 않은 유저는 초과하더라도 유지)
+ */
+@ConfigurationProperties(prefix = "point.cache")
+public record PointCacheProperties(
+        @DefaultValue("100000") int maxSize
+) {
+}
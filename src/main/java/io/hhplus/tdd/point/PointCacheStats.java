@@ -0,0 +1,12 @@
+package io.hhplus.tdd.point;
+
+/**
+ * 포인트 캐시 통계
+ */
+public record PointCacheStats(
+        long hits,
+        long misses,
+        long evictions,
+        int size
+) {
+}
@@ -0,0 +1,12 @@
+package io.hhplus.tdd.point;
+
+/**
+ * 같은 유저의 충전/사용을 직렬화하는 방식
+ * - LOCK : 요청마다 유저 락을 잡고 처리
+ * - COMBINING : 동시에 들어온 요청을 유저별 대기열에 모으고, 락을 잡은 요청 하나가 도착 순서대로 한 번에 처리 (요청이 몰리는 유저용)
+ * - OPTIMISTIC : 락 없이 읽은 스냅샷으로 계산한 뒤, 그 사이 다른 쓰기가 없었을 때만 커밋하고 충돌하면 잠시 쉬었다가 다시 시도 (경합이 적은 경우용)
+ * - PARTITIONED : 유저 id 로 정해진 파티션 스레드 하나가 대기열의 요청을 순서대로 처리, 락 없이 단일 작성자로 직렬화 (point.partition 설정)
+ */
+public enum PointConcurrencyMode {
+    LOCK, COMBINING, OPTIMISTIC, PARTITIONED
+}
@@ -0,0 +1,18 @@
+package io.hhplus.tdd.point;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.boot.context.properties.bind.DefaultValue;
+
+/**
+ * 충전/사용 동시성 제어 설정
+ * - mode : 같은 유저의 요청을 직렬화하는 방식 (LOCK, COMBINING, OPTIMISTIC, PARTITIONED)
+ * - combineLimit : COMBINING 에서 락 한 번에 처리할 최대 요청 수, 락을 잡은 요청이 남의 요청만 계속 처리하지 않도록 제한
+ * - optimisticRetries : OPTIMISTIC 에서 충돌 시 다시 시도할 최대 횟수, 넘으면 락을 기다려 처리
+ */
+@ConfigurationProperties(prefix = "point.concurrency")
+public record PointConcurrencyProperties(
+        @DefaultValue("LOCK") PointConcurrencyMode mode,
+        @DefaultValue("1024") int combineLimit,
+        @DefaultValue("16") int optimisticRetries
+) {
+}
@@ -2,11 +2,16 @@ package io.hhplus.tdd.point;
 
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 
+import io.hhplus.tdd.infrastructure.PointOverloadException;
 import lombok.RequiredArgsConstructor;
 
 import java.util.List;
+import java.util.Optional;
 
 @RestController
 @RequestMapping("/point")
@@ -14,7 +19,12 @@ import java.util.List;
 public class PointController {
 
     private static final Logger log = LoggerFactory.getLogger(PointController.class);
+    private static final int MAX_BULK_SIZE = 10000;
+    private static final String IDEMPOTENCY_KEY = "Idempotency-Key";
     private final PointService pointService;
+    private final PointHistoryExporter pointHistoryExporter;
+    private final PointShardRouter pointShardRouter;
+    private final PointRateLimiter pointRateLimiter;
 
     // IllegalArgumentException은 광범위 하게 발생하므로 AOP로 분리
     
@@ -32,21 +42,54 @@ public class PointController {
 
     /**
      * TODO - 특정 유저의 포인트 충전/이용 내역을 조회하는 기능을 작성해주세요.
+     * - 조건이 없으면 전체 내역, 있으면 id 순으로 조건에 맞는 내역을 조회합니다.
+     * - 다음 페이지는 응답의 마지막 id 를 after 로 넘겨 조회합니다.
      */
     @GetMapping("{id}/histories")
-    public List<PointHistory> history(@PathVariable("id") long id) {
+    public List<PointHistory> history(
+            @PathVariable("id") long id,
+            @RequestParam(value = "after", required = false) Long after,
+            @RequestParam(value = "limit", required = false) Integer limit,
+            @RequestParam(value = "from", required = false) Long from,
+            @RequestParam(value = "to", required = false) Long to,
+            @RequestParam(value = "type", required = false) TransactionType type
+    ) {
     	if (id < 0) {
             throw new IllegalArgumentException("Check Id.");
         }
     	
-        return this.pointService.getPointHistory(id);
+    	PointHistoryQuery query = new PointHistoryQuery(after, limit, from, to, type);
+    	if (query.isAll()) {
+    		return this.pointService.getPointHistory(id);
+    	}
+    	
+    	query.validate();
+        return this.pointService.getPointHistory(id, query);
+    }
+
+    /**
+     * 특정 유저의 포인트 충전/이용 내역 전체를 NDJSON 으로 스트리밍합니다. (대량 내역 정산용)
+     */
+    @GetMapping(value = "{id}/histories/stream", produces = PointHistoryExporter.NDJSON_VALUE)
+    public ResponseEntity<StreamingResponseBody> historyStream(@PathVariable("id") long id) {
+    	if (id < 0) {
+            throw new IllegalArgumentException("Check Id.");
+        }
+    	
+    	Iterable<PointHistory> histories = this.pointService.streamPointHistory(id);
+        return ResponseEntity.ok()
+                .contentType(MediaType.parseMediaType(PointHistoryExporter.NDJSON_VALUE))
+                .body(out -> this.pointHistoryExporter.writeNdjson(histories, out));
     }
 
     /**
      * TODO - 특정 유저의 포인트를 충전하는 기능을 작성해주세요.
+     * - Idempotency-Key 헤더가 있으면 같은 키의 재시도는 다시 충전하지 않고 처음 결과를 반환합니다.
+     * - 유저별 충전 한도(PointRateLimiter)를 넘으면 서비스를 호출하지 않고 429 로 거절합니다. (이미 성공한 재시도는 한도를 쓰지 않음)
      */
     @PatchMapping("{id}/charge")
-    public UserPoint charge(@PathVariable("id") long id, @RequestBody long amount) {
+    public UserPoint charge(@PathVariable("id") long id, @RequestBody long amount,
+            @RequestHeader(value = IDEMPOTENCY_KEY, required = false) String idempotencyKey) {
     	if (id < 0) {
             throw new IllegalArgumentException("Check Id.");
         }
@@ -55,14 +98,33 @@ public class PointController {
             throw new IllegalArgumentException("Amount Over 1");
         }
     	
+    	// 이미 성공한 재시도는 요청 한도를 쓰지 않고 처음 결과를 반환
+    	if (idempotencyKey != null) {
+    		Optional<UserPoint> completed = this.pointService.findCompleted(id, TransactionType.CHARGE, amount, idempotencyKey);
+    		if (completed.isPresent()) {
+    			return completed.get();
+    		}
+    	}
+    	
+    	if (!this.pointRateLimiter.tryAcquire(id, TransactionType.CHARGE)) {
+    		throw PointOverloadException.rateLimited();
+    	}
+    	
+    	if (idempotencyKey != null) {
+    		return this.pointService.rechargePoint(id, amount, idempotencyKey);
+    	}
+    	
         return this.pointService.rechargePoint(id, amount);
     }
 
     /**
      * TODO - 특정 유저의 포인트를 사용하는 기능을 작성해주세요.
+     * - Idempotency-Key 헤더가 있으면 같은 키의 재시도는 다시 사용하지 않고 처음 결과를 반환합니다.
+     * - 유저별 사용 한도(PointRateLimiter)를 넘으면 서비스를 호출하지 않고 429 로 거절합니다. (이미 성공한 재시도는 한도를 쓰지 않음)
      */
     @PatchMapping("{id}/use")
-    public UserPoint use(@PathVariable("id") long id, @RequestBody long amount) {
+    public UserPoint use(@PathVariable("id") long id, @RequestBody long amount,
+            @RequestHeader(value = IDEMPOTENCY_KEY, required = false) String idempotencyKey) {
     	if (id < 0) {
             throw new IllegalArgumentException("Check Id.");
         }
@@ -71,6 +133,63 @@ public class PointController {
             throw new IllegalArgumentException("Amount Over 1");
         }
     	
+    	// 이미 성공한 재시도는 요청 한도를 쓰지 않고 처음 결과를 반환
+    	if (idempotencyKey != null) {
+    		Optional<UserPoint> completed = this.pointService.findCompleted(id, TransactionType.USE, amount, idempotencyKey);
+    		if (completed.isPresent()) {
+    			return completed.get();
+    		}
+    	}
+    	
+    	if (!this.pointRateLimiter.tryAcquire(id, TransactionType.USE)) {
+    		throw PointOverloadException.rateLimited();
+    	}
+    	
+    	if (idempotencyKey != null) {
+    		return this.pointService.usePoint(id, amount, idempotencyKey);
+    	}
+    	
         return this.pointService.usePoint(id, amount);
     }
+
+    /**
+     * 특정 유저의 포인트를 다른 유저에게 이체합니다.
+     * - 보낸 유저의 사용, 받은 유저의 충전이 함께 반영되며, 한쪽이라도 실패하면 어느 쪽도 바뀌지 않습니다.
+     */
+    @PatchMapping("{id}/transfer/{toId}")
+    public PointTransfer transfer(@PathVariable("id") long id, @PathVariable("toId") long toId,
+            @RequestBody long amount) {
+    	if (id < 0 || toId < 0) {
+            throw new IllegalArgumentException("Check Id.");
+        }
+    	
+    	if (amount < 0) {
+            throw new IllegalArgumentException("Amount Over 1");
+        }
+    	
+    	if (id == toId) {
+            throw new IllegalArgumentException("Check Transfer.");
+        }
+    	
+        return this.pointService.transfer(id, toId, amount);
+    }
+
+    /**
+     * 여러 유저의 포인트를 한 번에 충전/사용합니다.
+     * - 같은 유저의 요청은 순서대로 처리되며, 건별 성공/실패 결과를 요청 순서대로 반환합니다.
+     * - 샤딩을 사용하면 담당 인스턴스별로 나눠 처리한 결과를 합쳐 반환합니다.
+     */
+    @PostMapping("bulk")
+    public List<PointOperationResult> bulk(@RequestBody List<PointOperation> operations,
+            @RequestHeader(value = PointShardClient.FORWARDED_HEADER, required = false) String forwardedFrom) {
+    	if (operations == null || operations.isEmpty() || operations.size() > MAX_BULK_SIZE) {
+            throw new IllegalArgumentException("Check Operations.");
+        }
+    	
+    	if (this.pointShardRouter.isEnabled()) {
+    		return this.pointShardRouter.applyAll(operations, forwardedFrom != null);
+    	}
+    	
+        return this.pointService.applyAll(operations);
+    }
 }
@@ -0,0 +1,63 @@
+package io.hhplus.tdd.point;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.util.concurrent.TimeUnit;
+
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.web.filter.OncePerRequestFilter;
+
+import io.hhplus.tdd.infrastructure.RequestDeadline;
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+
+/**
+ * 요청 헤더(TIMEOUT_HEADER, 밀리초)로 요청의 처리 기한을 정합니다.
+ * - 헤더가 있으면 요청이 들어온 시각 + 헤더 값을 RequestDeadline 으로 두고, 없으면 UserLockManager 의 lockTimeout 을 씁니다.
+ * - 요청 스레드에서 처리하는 동안만 유지되고, 비동기 API 는 PointAsyncService, 리액티브 API 는 PointReactiveService 가 작업 스레드로 넘깁니다.
+ * - 별도 포트의 Netty 서버는 서블릿 필터를 거치지 않으므로 PointReactiveDeadlineFilter 가 같은 일을 합니다.
+ */
+public class PointDeadlineFilter extends OncePerRequestFilter {
+
+    public static final String TIMEOUT_HEADER = "X-Request-Timeout";
+    static final String INVALID_TIMEOUT_MESSAGE = "Check Timeout.";
+
+    @Override
+    protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain chain)
+            throws ServletException, IOException {
+        String timeout = request.getHeader(TIMEOUT_HEADER);
+        if (timeout == null) {
+            chain.doFilter(request, response);
+            return;
+        }
+
+        long millis = timeoutMillis(timeout);
+        if (millis <= 0) {
+            byte[] body = INVALID_TIMEOUT_MESSAGE.getBytes(StandardCharsets.UTF_8);
+            response.setStatus(HttpStatus.BAD_REQUEST.value());
+            response.setContentType(MediaType.TEXT_PLAIN_VALUE + ";charset=UTF-8");
+            response.setContentLength(body.length);
+            response.getOutputStream().write(body);
+            return;
+        }
+
+        RequestDeadline.set(System.nanoTime() + TimeUnit.MILLISECONDS.toNanos(millis));
+        try {
+            chain.doFilter(request, response);
+        } finally {
+            RequestDeadline.clear();
+        }
+    }
+
+    // 헤더 값(밀리초), 숫자가 아니면 -1
+    static long timeoutMillis(String timeout) {
+        try {
+            return Long.parseLong(timeout.strip());
+        } catch (NumberFormatException e) {
+            return -1;
+        }
+    }
+}
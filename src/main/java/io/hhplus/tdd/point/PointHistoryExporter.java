@@ -0,0 +1,54 @@
+package io.hhplus.tdd.point;
+
+import java.io.IOException;
+import java.io.OutputStream;
+
+import org.springframework.stereotype.Component;
+
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.core.io.SerializedString;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectWriter;
+import com.fasterxml.jackson.databind.SerializationFeature;
+
+import lombok.RequiredArgsConstructor;
+
+/**
+ * 포인트 내역을 NDJSON(한 줄에 내역 하나)으로 내보냅니다.
+ * - 전체 목록을 직렬화해 두지 않고 한 건씩 바로 출력하므로 내역 수와 무관하게 메모리를 일정하게 사용합니다.
+ */
+@Component
+@RequiredArgsConstructor
+public class PointHistoryExporter {
+
+    public static final String NDJSON_VALUE = "application/x-ndjson";
+
+    private static final int FLUSH_EVERY = 1000;
+
+    private final ObjectMapper objectMapper;
+
+    // 출력한 건수를 반환, 출력 스트림은 닫지 않음
+    public long writeNdjson(Iterable<PointHistory> histories, OutputStream out) throws IOException {
+        ObjectWriter writer = this.objectMapper.writerFor(PointHistory.class)
+                .without(SerializationFeature.FLUSH_AFTER_WRITE_VALUE)
+                .without(SerializationFeature.CLOSE_CLOSEABLE);
+
+        long count = 0;
+        try (JsonGenerator generator = this.objectMapper.getFactory().createGenerator(out)) {
+            generator.disable(JsonGenerator.Feature.AUTO_CLOSE_TARGET);
+            generator.setRootValueSeparator(new SerializedString("\n"));
+
+            for (PointHistory history : histories) {
+                writer.writeValue(generator, history);
+                if (++count % FLUSH_EVERY == 0) {
+                    generator.flush();
+                }
+            }
+
+            if (count > 0) {
+                generator.writeRaw('\n');
+            }
+        }
+        return count;
+    }
+}
@@ -0,0 +1,46 @@
+package io.hhplus.tdd.point;
+
+/**
+ * 포인트 내역 조회 조건 (모든 값은 생략 가능)
+ * - after : 이 id 다음 내역부터 조회 (커서, 이전 페이지의 마지막 id)
+ * - limit : 최대 조회 건수 (다른 조건만 준 경우에도 MAX_LIMIT 건까지만 조회)
+ * - from, to : updateMillis 범위 (양 끝 포함)
+ * - type : 충전/사용 구분
+ */
+public record PointHistoryQuery(
+        Long after,
+        Integer limit,
+        Long from,
+        Long to,
+        TransactionType type
+) {
+
+    public static final int MAX_LIMIT = 1000;
+
+    public static PointHistoryQuery all() {
+        return new PointHistoryQuery(null, null, null, null, null);
+    }
+
+    public boolean isAll() {
+        return this.after == null && this.limit == null && this.from == null && this.to == null && this.type == null;
+    }
+
+    // 페이지 크기 - limit 을 생략해도 조건이 하나라도 있으면 MAX_LIMIT 건으로 제한
+    public int pageLimit() {
+        return this.limit == null ? MAX_LIMIT : this.limit;
+    }
+
+    public void validate() {
+        if (this.after != null && this.after < 0) {
+            throw new IllegalArgumentException("Check Cursor.");
+        }
+
+        if (this.limit != null && (this.limit < 1 || this.limit > MAX_LIMIT)) {
+            throw new IllegalArgumentException("Check Limit.");
+        }
+
+        if (this.from != null && this.to != null && this.from > this.to) {
+            throw new IllegalArgumentException("Check Range.");
+        }
+    }
+}
@@ -0,0 +1,18 @@
+package io.hhplus.tdd.point;
+
+import java.time.Duration;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.boot.context.properties.bind.DefaultValue;
+
+/**
+ * 멱등 키(Idempotency-Key) 설정
+ * - maxSize : 기억할 최대 키 수, 넘으면 오래된 키부터 잊음 (실행 중인 키는 잊지 않음)
+ * - ttl : 성공한 뒤 키를 기억하는 시간, 지나면 같은 키로 다시 요청해도 새 요청으로 처리
+ */
+@ConfigurationProperties(prefix = "point.idempotency")
+public record PointIdempotencyProperties(
+        @DefaultValue("100000") int maxSize,
+        @DefaultValue("1h") Duration ttl
+) {
+}
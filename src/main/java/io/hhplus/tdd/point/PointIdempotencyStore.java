@@ -0,0 +1,157 @@
+package io.hhplus.tdd.point;
+
+import java.util.Optional;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.function.LongSupplier;
+import java.util.function.Supplier;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Component;
+
+/**
+ * 충전/사용 요청의 멱등 키(Idempotency-Key)별 결과를 기억하는 캐시입니다.
+ * - 같은 유저가 같은 키로 다시 요청하면 충전/사용을 다시 실행하지 않고 처음 결과를 그대로 반환합니다.
+ * - 같은 키의 요청이 동시에 들어오면 먼저 자리를 잡은 요청만 실행하고, 나머지는 그 결과를 기다립니다.
+ * - 실패한 요청(잔액 부족 등)은 기다리던 요청에 같은 예외를 전달한 뒤 잊으므로, 이후 재시도는 새로 실행됩니다.
+ * - 같은 키를 다른 종류나 금액의 요청에 쓰면 거절합니다.
+ * - 이미 성공한 키는 findCompleted 로 먼저 확인할 수 있어, 컨트롤러가 재시도를 요청 한도 검사 전에 돌려줍니다.
+ * - 성공한 키는 ttl 이 지나거나 maxSize 를 넘으면 성공한 순서대로 잊습니다. (ttl 을 성공한 시점부터 세므로 성공한 순서가 곧 만료 순서)
+ * - 실행 중인 키는 정리 대상에 넣지 않으므로, 키가 많아도 실행 중에 잊혀 같은 키의 재시도가 한 번 더 실행되는 일이 없습니다.
+ *   (실행 중인 키 수는 동시 요청 수를 넘지 않음)
+ */
+@Component
+public class PointIdempotencyStore {
+
+    private static final int MAX_KEY_LENGTH = 255;
+
+    private final ConcurrentHashMap<String, Entry> entries = new ConcurrentHashMap<>();
+    private final ConcurrentLinkedQueue<Entry> order = new ConcurrentLinkedQueue<>();
+    private final ReentrantLock evictionLock = new ReentrantLock();
+
+    private final PointIdempotencyProperties properties;
+    private final LongSupplier nanoClock;
+
+    @Autowired
+    public PointIdempotencyStore(PointIdempotencyProperties properties) {
+        this(properties, System::nanoTime);
+    }
+
+    PointIdempotencyStore(PointIdempotencyProperties properties, LongSupplier nanoClock) {
+        this.properties = properties;
+        this.nanoClock = nanoClock;
+    }
+
+    // 처음 보는 키면 action 을 실행해 결과를 기억하고, 기억하는 키면 처음 결과를 반환
+    public UserPoint execute(String idempotencyKey, PointOperation operation, Supplier<UserPoint> action) {
+        if (idempotencyKey == null || idempotencyKey.isBlank() || idempotencyKey.length() > MAX_KEY_LENGTH) {
+            throw new IllegalArgumentException("Check Idempotency-Key.");
+        }
+
+        String key = operation.userId() + ":" + idempotencyKey;
+        Entry created = new Entry(key, operation);
+        while (true) {
+            Entry existing = this.entries.putIfAbsent(key, created);
+            if (existing == null) {
+                break;
+            }
+            if (existing.isExpired(this.nanoClock.getAsLong())) {
+                this.entries.remove(key, existing);
+                continue;
+            }
+            if (!existing.operation.equals(operation)) {
+                throw new IllegalArgumentException("Check Idempotency-Key.");
+            }
+            return existing.await();
+        }
+
+        try {
+            UserPoint result = action.get();
+            created.complete(result, this.nanoClock.getAsLong() + this.properties.ttl().toNanos());
+            this.order.add(created);
+            this.evict();
+            return result;
+        } catch (RuntimeException e) {
+            this.entries.remove(key, created);
+            created.result.completeExceptionally(e);
+            throw e;
+        }
+    }
+
+    // 같은 키로 이미 성공한 요청의 결과, 처음 보는 키이거나 실행 중, 실패, 만료, 다른 요청에 쓴 키면 빈 값
+    public Optional<UserPoint> findCompleted(String idempotencyKey, PointOperation operation) {
+        if (idempotencyKey == null) {
+            return Optional.empty();
+        }
+
+        Entry existing = this.entries.get(operation.userId() + ":" + idempotencyKey);
+        if (existing == null || existing.isExpired(this.nanoClock.getAsLong()) || !existing.operation.equals(operation)
+                || !existing.result.isDone() || existing.result.isCompletedExceptionally()) {
+            return Optional.empty();
+        }
+        return Optional.of(existing.result.join());
+    }
+
+    // 기억하고 있는 키 수
+    public int size() {
+        return this.entries.size();
+    }
+
+    // 한 번에 한 스레드만 정리하고, 나머지 스레드는 기다리지 않고 지나감
+    // 정리 순서(order)에는 성공한 키만 있으므로 실행 중인 키는 지우지 않음
+    private void evict() {
+        if (!this.evictionLock.tryLock()) {
+            return;
+        }
+
+        try {
+            long now = this.nanoClock.getAsLong();
+            Entry oldest;
+            while ((oldest = this.order.peek()) != null
+                    && (oldest.isExpired(now) || this.entries.size() > this.properties.maxSize())) {
+                this.order.poll();
+                this.entries.remove(oldest.key, oldest);
+            }
+        } finally {
+            this.evictionLock.unlock();
+        }
+    }
+
+    private static final class Entry {
+        private final String key;
+        private final PointOperation operation;
+        private final CompletableFuture<UserPoint> result = new CompletableFuture<>();
+        private volatile long expiresAtNanos;
+
+        private Entry(String key, PointOperation operation) {
+            this.key = key;
+            this.operation = operation;
+        }
+
+        // 만료 시각을 먼저 기록한 뒤 결과를 발행하므로, 완료를 본 스레드는 만료 시각도 봄
+        private void complete(UserPoint result, long expiresAtNanos) {
+            this.expiresAtNanos = expiresAtNanos;
+            this.result.complete(result);
+        }
+
+        // 실행 중인 키는 만료되지 않음
+        private boolean isExpired(long now) {
+            return this.result.isDone() && now - this.expiresAtNanos >= 0;
+        }
+
+        // 처음 요청의 결과를 기다림, 실패했다면 같은 예외를 던짐
+        private UserPoint await() {
+            try {
+                return this.result.join();
+            } catch (CompletionException e) {
+                if (e.getCause() instanceof RuntimeException cause) {
+                    throw cause;
+                }
+                throw e;
+            }
+        }
+    }
+}
@@ -0,0 +1,28 @@
+package io.hhplus.tdd.point;
+
+/**
+ * 일괄 처리 요청 1건
+ */
+public record PointOperation(
+        long userId,
+        TransactionType type,
+        long amount
+) {
+
+    // 잘못된 요청이면 사유를, 정상이면 null 을 반환
+    public String invalidReason() {
+        if (this.userId < 0) {
+            return "Check Id.";
+        }
+
+        if (this.type == null) {
+            return "Check Type.";
+        }
+
+        if (this.amount < 0) {
+            return "Amount Over 1";
+        }
+
+        return null;
+    }
+}
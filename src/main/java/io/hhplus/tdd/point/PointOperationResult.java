@@ -0,0 +1,23 @@
+package io.hhplus.tdd.point;
+
+/**
+ * 일괄 처리 결과 1건 (요청 순서와 같은 순서로 반환)
+ * - 성공 시 point 에 처리 후 잔액, 실패 시 error 에 사유가 담깁니다.
+ */
+public record PointOperationResult(
+        long userId,
+        TransactionType type,
+        long amount,
+        boolean success,
+        UserPoint point,
+        String error
+) {
+
+    public static PointOperationResult success(PointOperation operation, UserPoint point) {
+        return new PointOperationResult(operation.userId(), operation.type(), operation.amount(), true, point, null);
+    }
+
+    public static PointOperationResult failure(PointOperation operation, String error) {
+        return new PointOperationResult(operation.userId(), operation.type(), operation.amount(), false, null, error);
+    }
+}
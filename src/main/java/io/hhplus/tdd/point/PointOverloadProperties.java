@@ -0,0 +1,20 @@
+package io.hhplus.tdd.point;
+
+import java.time.Duration;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.boot.context.properties.bind.DefaultValue;
+
+/**
+ * 과부하 설정 - 유저 락을 무한정 기다리지 않고, 대기가 많으면 바로 거절
+ * - lockTimeout : 요청에 기한(X-Request-Timeout)이 없을 때 유저 락을 기다리는 최대 시간, 기한이 있어도 이 시간을 넘지 않음
+ * - maxUserWaiters : 한 유저의 락을 기다릴 수 있는 최대 스레드 수, 넘으면 429
+ * - maxWaiters : 전체 유저의 락을 기다릴 수 있는 최대 스레드 수, 넘으면 503
+ */
+@ConfigurationProperties(prefix = "point.overload")
+public record PointOverloadProperties(
+        @DefaultValue("1s") Duration lockTimeout,
+        @DefaultValue("64") int maxUserWaiters,
+        @DefaultValue("1000") int maxWaiters
+) {
+}
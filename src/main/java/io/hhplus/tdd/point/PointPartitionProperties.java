@@ -0,0 +1,16 @@
+package io.hhplus.tdd.point;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.boot.context.properties.bind.DefaultValue;
+
+/**
+ * 파티션 실행 설정 (point.concurrency.mode=PARTITIONED 일 때 사용)
+ * - partitions : 파티션 수, 파티션마다 충전/사용을 실행하는 스레드가 하나씩 생김
+ * - queueCapacity : 파티션마다 대기할 수 있는 최대 작업 수, 넘으면 요청을 거절
+ */
+@ConfigurationProperties(prefix = "point.partition")
+public record PointPartitionProperties(
+        @DefaultValue("4") int partitions,
+        @DefaultValue("10000") int queueCapacity
+) {
+}
@@ -0,0 +1,33 @@
+package io.hhplus.tdd.point;
+
+import java.time.Duration;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.boot.context.properties.bind.DefaultValue;
+
+/**
+ * 유저별 충전/사용 요청 한도 설정 (토큰 버킷)
+ * - enabled : 사용 여부, 기존 클라이언트가 갑자기 429 를 받지 않도록 기본은 꺼 둠
+ * - charge / use : 종류별 한도, capacity 개까지 한 번에 보낼 수 있고 초당 refillPerSecond 개씩 다시 채워짐
+ * - maxUsers : 버킷을 기억할 최대 유저 수, 넘으면 가득 찬(쉬고 있는) 버킷을 정리하고 그래도 넘으면 새 유저는 거절
+ * - sweepInterval : 가득 찬 버킷을 정리하는 주기
+ */
+@ConfigurationProperties(prefix = "point.rate-limit")
+public record PointRateLimitProperties(
+        @DefaultValue("false") boolean enabled,
+        @DefaultValue Limit charge,
+        @DefaultValue Limit use,
+        @DefaultValue("100000") int maxUsers,
+        @DefaultValue("10s") Duration sweepInterval
+) {
+
+    public Limit limitOf(TransactionType type) {
+        return (type == TransactionType.CHARGE) ? this.charge : this.use;
+    }
+
+    public record Limit(
+            @DefaultValue("20") int capacity,
+            @DefaultValue("10") int refillPerSecond
+    ) {
+    }
+}
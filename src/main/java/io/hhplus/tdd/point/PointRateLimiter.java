@@ -0,0 +1,240 @@
+package io.hhplus.tdd.point;
+
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.VarHandle;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.LongSupplier;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Component;
+
+/**
+ * 유저별, 종류(충전/사용)별 요청 한도 (토큰 버킷, 락 없음)
+ * - 버킷은 "다음 토큰이 비는 시각" 하나로 나타내고(GCRA), 요청마다 CAS 로 이 시각을 토큰 하나만큼 뒤로 미룹니다.
+ *   미룬 시각이 지금보다 capacity 개 만큼의 시간을 넘으면 토큰이 없는 것이므로 거절합니다.
+ * - 버킷은 UserBalanceStore 와 같은 개방 주소법 long 배열에 [id, 종류별 시각] 으로 붙여 저장해, 검사마다 객체를 만들거나 따라가지 않습니다.
+ *   크기는 maxUsers 로 고정되고, 가득 차면 쉬고 있는 버킷을 바로 정리해 다시 시도하고, 그래도 자리가 없으면 새 유저를 거절합니다.
+ *   (제한 없이 통과시키면 새 id 를 계속 바꿔 보내는 것만으로 한도를 피할 수 있음)
+ * - 다음 토큰이 비는 시각이 지난 버킷은 가득 찬 상태라 새 버킷과 같으므로 지워도 한도가 바뀌지 않습니다.
+ *   새 유저가 들어올 때 sweepInterval 마다 한 번, 이런 버킷을 뺀 새 배열을 만들어 바꿉니다.
+ *   (바꾸는 동안 이전 배열에 기록된 요청 몇 건은 새 배열에 반영되지 않을 수 있음)
+ */
+@Component
+public class PointRateLimiter {
+
+    private static final VarHandle LONGS = MethodHandles.arrayElementVarHandle(long[].class);
+    private static final int TYPES = TransactionType.values().length;
+    private static final int STRIDE = 1 + TYPES; // 칸마다 [id, 종류별 다음 토큰이 비는 시각]
+    private static final long EMPTY = -1L;
+    private static final double LOAD_FACTOR = 0.75;
+
+    private final PointRateLimitProperties properties;
+    private final LongSupplier nanoClock;
+    private final long origin; // 시각은 생성 시각 기준으로 저장 (0 이면 가득 찬 새 버킷)
+    private final long[] intervals = new long[TYPES]; // 토큰 하나가 다시 채워지는 시간
+    private final long[] bursts = new long[TYPES];    // capacity 개가 다시 채워지는 시간
+    private final int slots;
+    private final AtomicLong nextSweep;
+    private final AtomicLong nextFullSweep = new AtomicLong(); // 가득 찼을 때 정리하는 시각, 토큰 하나가 채워지는 시간보다 자주 하지 않음
+    private final long minInterval;
+    private volatile Table table;
+
+    @Autowired
+    public PointRateLimiter(PointRateLimitProperties properties) {
+        this(properties, System::nanoTime);
+    }
+
+    PointRateLimiter(PointRateLimitProperties properties, LongSupplier nanoClock) {
+        if (properties.maxUsers() < 1) {
+            throw new IllegalArgumentException("Check Rate Limit.");
+        }
+        for (TransactionType type : TransactionType.values()) {
+            PointRateLimitProperties.Limit limit = properties.limitOf(type);
+            if (limit.capacity() < 1 || limit.refillPerSecond() < 1) {
+                throw new IllegalArgumentException("Check Rate Limit.");
+            }
+            this.intervals[type.ordinal()] = TimeUnit.SECONDS.toNanos(1) / limit.refillPerSecond();
+            this.bursts[type.ordinal()] = this.intervals[type.ordinal()] * limit.capacity();
+        }
+        this.properties = properties;
+        this.nanoClock = nanoClock;
+        this.origin = nanoClock.getAsLong();
+        this.slots = (int) Math.min((Integer.MAX_VALUE - 8) / STRIDE, (long) Math.ceil(properties.maxUsers() / LOAD_FACTOR));
+        this.nextSweep = new AtomicLong(properties.sweepInterval().toNanos());
+        this.minInterval = Math.min(this.intervals[TransactionType.CHARGE.ordinal()], this.intervals[TransactionType.USE.ordinal()]);
+        this.table = new Table(this.slots);
+    }
+
+    // 토큰이 있으면 하나 쓰고 true, 없으면 false
+    public boolean tryAcquire(long userId, TransactionType type) {
+        if (!this.properties.enabled()) {
+            return true;
+        }
+        if (userId < 0) {
+            throw new IllegalArgumentException("Check Id.");
+        }
+
+        long now = this.now();
+        Table table = this.table;
+        int slot = table.find(userId);
+        if (slot < 0) {
+            this.sweepIfDue(now);
+            table = this.table;
+            slot = table.insert(userId, this.properties.maxUsers());
+            if (slot < 0) {
+                this.sweepWhenFull(now);
+                table = this.table;
+                slot = table.insert(userId, this.properties.maxUsers());
+            }
+            if (slot < 0) {
+                return false;
+            }
+        }
+
+        int index = slot + 1 + type.ordinal();
+        long interval = this.intervals[type.ordinal()];
+        long burst = this.bursts[type.ordinal()];
+        while (true) {
+            long emptyAt = (long) LONGS.getVolatile(table.values, index);
+            long next = Math.max(emptyAt, now) + interval;
+            if (next - now > burst) {
+                return false;
+            }
+            if (LONGS.compareAndSet(table.values, index, emptyAt, next)) {
+                return true;
+            }
+        }
+    }
+
+    // 기억하고 있는 유저 수
+    public int size() {
+        return this.table.size.get();
+    }
+
+    // 가득 찬 버킷을 뺀 새 배열로 바꾸고 지운 수를 반환
+    public synchronized int sweep() {
+        long now = this.now();
+        Table current = this.table;
+        int removed = 0;
+        for (int slot = 0; slot < current.values.length; slot += STRIDE) {
+            long id = (long) LONGS.getAcquire(current.values, slot);
+            if (id != EMPTY && current.isFull(slot, now)) {
+                removed++;
+            }
+        }
+        if (removed == 0) {
+            return 0;
+        }
+
+        Table next = new Table(this.slots);
+        for (int slot = 0; slot < current.values.length; slot += STRIDE) {
+            long id = (long) LONGS.getAcquire(current.values, slot);
+            if (id != EMPTY && !current.isFull(slot, now)) {
+                next.copy(id, current, slot);
+            }
+        }
+        this.table = next;
+        return removed;
+    }
+
+    // 정리할 때가 됐으면 한 스레드만 정리 (새 유저가 몰려도 요청마다 전체를 훑지 않음)
+    private void sweepIfDue(long now) {
+        long sweepAt = this.nextSweep.get();
+        if (now - sweepAt >= 0 && this.nextSweep.compareAndSet(sweepAt, now + this.properties.sweepInterval().toNanos())) {
+            this.sweep();
+        }
+    }
+
+    // 자리가 없을 때 정리 - 새 유저가 몰려도 토큰 하나가 채워지는 시간에 한 번만 전체를 훑음 (그 사이에는 가득 차는 버킷이 없음)
+    private void sweepWhenFull(long now) {
+        long sweepAt = this.nextFullSweep.get();
+        if (now - sweepAt >= 0 && this.nextFullSweep.compareAndSet(sweepAt, now + this.minInterval)) {
+            this.sweep();
+        }
+    }
+
+    private long now() {
+        return this.nanoClock.getAsLong() - this.origin;
+    }
+
+    private static final class Table {
+
+        private final long[] values;
+        private final int slots;
+        private final AtomicInteger size = new AtomicInteger();
+
+        private Table(int slots) {
+            this.slots = slots;
+            this.values = new long[slots * STRIDE];
+            for (int slot = 0; slot < this.values.length; slot += STRIDE) {
+                this.values[slot] = EMPTY;
+            }
+        }
+
+        private int find(long id) {
+            for (int slot = this.indexOf(id), probes = 0; probes < this.slots; slot = this.nextSlot(slot), probes++) {
+                long key = (long) LONGS.getAcquire(this.values, slot);
+                if (key == id) {
+                    return slot;
+                }
+                if (key == EMPTY) {
+                    return -1;
+                }
+            }
+            return -1;
+        }
+
+        // 빈 칸을 CAS 로 선점 (다른 스레드가 같은 id 로 먼저 선점했다면 그 칸을 사용), 가득 찼으면 -1
+        private int insert(long id, int maxUsers) {
+            for (int slot = this.indexOf(id), probes = 0; probes < this.slots; slot = this.nextSlot(slot), probes++) {
+                long key = (long) LONGS.getAcquire(this.values, slot);
+                if (key == id) {
+                    return slot;
+                }
+                if (key != EMPTY) {
+                    continue;
+                }
+                if (this.size.get() >= maxUsers) {
+                    return -1;
+                }
+                if (LONGS.compareAndSet(this.values, slot, EMPTY, id)) {
+                    this.size.incrementAndGet();
+                    return slot;
+                }
+                if ((long) LONGS.getAcquire(this.values, slot) == id) {
+                    return slot;
+                }
+            }
+            return -1;
+        }
+
+        private void copy(long id, Table from, int fromSlot) {
+            int slot = this.insert(id, Integer.MAX_VALUE);
+            for (int i = 1; i <= TYPES; i++) {
+                this.values[slot + i] = (long) LONGS.getVolatile(from.values, fromSlot + i);
+            }
+        }
+
+        private boolean isFull(int slot, long now) {
+            for (int i = 1; i <= TYPES; i++) {
+                if ((long) LONGS.getVolatile(this.values, slot + i) > now) {
+                    return false;
+                }
+            }
+            return true;
+        }
+
+        // UserBalanceStore 와 같은 방식으로 섞은 뒤 칸 수로 축소, 칸의 시작 위치를 반환
+        private int indexOf(long id) {
+            long hash = id * 0x9E3779B97F4A7C15L;
+            hash ^= hash >>> 32;
+            return (int) (((hash & 0xFFFFFFFFL) * this.slots) >>> 32) * STRIDE;
+        }
+
+        private int nextSlot(int slot) {
+            return slot + STRIDE == this.values.length ? 0 : slot + STRIDE;
+        }
+    }
+}
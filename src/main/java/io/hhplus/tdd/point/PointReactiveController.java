@@ -0,0 +1,119 @@
+package io.hhplus.tdd.point;
+
+import java.util.Optional;
+
+import org.springframework.http.MediaType;
+import org.springframework.web.bind.annotation.*;
+
+import io.hhplus.tdd.infrastructure.PointOverloadException;
+import lombok.RequiredArgsConstructor;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+/**
+ * PointController 의 조회/내역/충전/사용을 Mono, Flux 로 제공합니다.
+ * - point.reactive.enabled=true 이면 PointReactiveServer 가 이 컨트롤러를 별도 포트의 Netty(WebFlux) 이벤트 루프에서 실행합니다.
+ * - 서블릿 서버(Spring MVC)에서도 같은 경로로 등록되며, 이때는 Mono / Flux 가 비동기 요청으로 처리됩니다.
+ * - 내역은 Accept: application/x-ndjson 이면 한 줄에 한 건씩 스트리밍합니다.
+ * - 충전/사용은 PointController 와 같은 유저별 한도(PointRateLimiter)를 함께 쓰고, 이미 성공한 멱등 키의 재시도는 한도를 쓰지 않습니다.
+ */
+@RestController
+@RequestMapping("/reactive/point")
+@RequiredArgsConstructor
+public class PointReactiveController {
+
+    private static final String IDEMPOTENCY_KEY = "Idempotency-Key";
+    private final PointReactiveService pointReactiveService;
+    private final PointRateLimiter pointRateLimiter;
+
+    @GetMapping("{id}")
+    public Mono<UserPoint> point(@PathVariable("id") long id) {
+    	if (id < 0) {
+            throw new IllegalArgumentException("Check Id.");
+        }
+    	
+        return this.pointReactiveService.getPoint(id);
+    }
+
+    @GetMapping(value = "{id}/histories", produces = {MediaType.APPLICATION_JSON_VALUE, MediaType.APPLICATION_NDJSON_VALUE})
+    public Flux<PointHistory> history(
+            @PathVariable("id") long id,
+            @RequestParam(value = "after", required = false) Long after,
+            @RequestParam(value = "limit", required = false) Integer limit,
+            @RequestParam(value = "from", required = false) Long from,
+            @RequestParam(value = "to", required = false) Long to,
+            @RequestParam(value = "type", required = false) TransactionType type
+    ) {
+    	if (id < 0) {
+            throw new IllegalArgumentException("Check Id.");
+        }
+    	
+    	PointHistoryQuery query = new PointHistoryQuery(after, limit, from, to, type);
+    	if (query.isAll()) {
+    		return this.pointReactiveService.getPointHistory(id);
+    	}
+    	
+    	query.validate();
+        return this.pointReactiveService.getPointHistory(id, query);
+    }
+
+    @PatchMapping("{id}/charge")
+    public Mono<UserPoint> charge(@PathVariable("id") long id, @RequestBody long amount,
+            @RequestHeader(value = IDEMPOTENCY_KEY, required = false) String idempotencyKey) {
+    	if (id < 0) {
+            throw new IllegalArgumentException("Check Id.");
+        }
+    	
+    	if (amount < 0) {
+            throw new IllegalArgumentException("Amount Over 1");
+        }
+    	
+    	// 이미 성공한 재시도는 요청 한도를 쓰지 않고 처음 결과를 반환
+    	if (idempotencyKey != null) {
+    		Optional<UserPoint> completed = this.pointReactiveService.findCompleted(id, TransactionType.CHARGE, amount, idempotencyKey);
+    		if (completed.isPresent()) {
+    			return Mono.just(completed.get());
+    		}
+    	}
+    	
+    	if (!this.pointRateLimiter.tryAcquire(id, TransactionType.CHARGE)) {
+    		throw PointOverloadException.rateLimited();
+    	}
+    	
+    	if (idempotencyKey != null) {
+    		return this.pointReactiveService.rechargePoint(id, amount, idempotencyKey);
+    	}
+    	
+        return this.pointReactiveService.rechargePoint(id, amount);
+    }
+
+    @PatchMapping("{id}/use")
+    public Mono<UserPoint> use(@PathVariable("id") long id, @RequestBody long amount,
+            @RequestHeader(value = IDEMPOTENCY_KEY, required = false) String idempotencyKey) {
+    	if (id < 0) {
+            throw new IllegalArgumentException("Check Id.");
+        }
+    	
+    	if (amount < 0) {
+            throw new IllegalArgumentException("Amount Over 1");
+        }
+    	
+    	// 이미 성공한 재시도는 요청 한도를 쓰지 않고 처음 결과를 반환
+    	if (idempotencyKey != null) {
+    		Optional<UserPoint> completed = this.pointReactiveService.findCompleted(id, TransactionType.USE, amount, idempotencyKey);
+    		if (completed.isPresent()) {
+    			return Mono.just(completed.get());
+    		}
+    	}
+    	
+    	if (!this.pointRateLimiter.tryAcquire(id, TransactionType.USE)) {
+    		throw PointOverloadException.rateLimited();
+    	}
+    	
+    	if (idempotencyKey != null) {
+    		return this.pointReactiveService.usePoint(id, amount, idempotencyKey);
+    	}
+    	
+        return this.pointReactiveService.usePoint(id, amount);
+    }
+}
@@ -0,0 +1,42 @@
+package io.hhplus.tdd.point;
+
+import java.nio.charset.StandardCharsets;
+import java.util.concurrent.TimeUnit;
+
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.http.server.reactive.ServerHttpResponse;
+import org.springframework.web.server.ServerWebExchange;
+import org.springframework.web.server.WebFilter;
+import org.springframework.web.server.WebFilterChain;
+
+import io.hhplus.tdd.infrastructure.RequestDeadline;
+import reactor.core.publisher.Mono;
+
+/**
+ * Netty(WebFlux) 서버용 PointDeadlineFilter
+ * - 요청이 어느 이벤트 루프 스레드에서 이어질지 정해져 있지 않으므로, 기한은 스레드가 아닌 Reactor Context(RequestDeadline.CONTEXT_KEY)에 둡니다.
+ * - 헤더 값 검사와 응답은 PointDeadlineFilter 와 같습니다.
+ */
+public class PointReactiveDeadlineFilter implements WebFilter {
+
+    @Override
+    public Mono<Void> filter(ServerWebExchange exchange, WebFilterChain chain) {
+        String timeout = exchange.getRequest().getHeaders().getFirst(PointDeadlineFilter.TIMEOUT_HEADER);
+        if (timeout == null) {
+            return chain.filter(exchange);
+        }
+
+        long millis = PointDeadlineFilter.timeoutMillis(timeout);
+        if (millis <= 0) {
+            ServerHttpResponse response = exchange.getResponse();
+            response.setStatusCode(HttpStatus.BAD_REQUEST);
+            response.getHeaders().setContentType(MediaType.parseMediaType(MediaType.TEXT_PLAIN_VALUE + ";charset=UTF-8"));
+            byte[] body = PointDeadlineFilter.INVALID_TIMEOUT_MESSAGE.getBytes(StandardCharsets.UTF_8);
+            return response.writeWith(Mono.just(response.bufferFactory().wrap(body)));
+        }
+
+        long deadline = System.nanoTime() + TimeUnit.MILLISECONDS.toNanos(millis);
+        return chain.filter(exchange).contextWrite(context -> context.put(RequestDeadline.CONTEXT_KEY, deadline));
+    }
+}
@@ -0,0 +1,22 @@
+package io.hhplus.tdd.point;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.boot.context.properties.bind.DefaultValue;
+
+/**
+ * 리액티브(WebFlux) 포인트 API 설정
+ * - enabled : 사용 여부, 사용하면 서블릿 서버와 별도로 Netty 서버를 띄움
+ * - port : Netty 서버 포트 (0 이면 임의 포트)
+ * - eventLoopThreads : 요청을 받고 응답을 쓰는 이벤트 루프 스레드 수
+ * - blockingThreads : 테이블 호출처럼 블로킹되는 작업을 실행할 최대 스레드 수
+ * - blockingQueue : 블로킹 스레드가 모두 바쁠 때 대기할 수 있는 최대 작업 수, 넘으면 요청을 거절
+ */
+@ConfigurationProperties(prefix = "point.reactive")
+public record PointReactiveProperties(
+        @DefaultValue("false") boolean enabled,
+        @DefaultValue("8081") int port,
+        @DefaultValue("2") int eventLoopThreads,
+        @DefaultValue("64") int blockingThreads,
+        @DefaultValue("10000") int blockingQueue
+) {
+}
@@ -0,0 +1,88 @@
+package io.hhplus.tdd.point;
+
+import java.util.List;
+import java.util.Optional;
+import java.util.function.Supplier;
+
+import org.springframework.stereotype.Service;
+
+import io.hhplus.tdd.infrastructure.RequestDeadline;
+import jakarta.annotation.PreDestroy;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+import reactor.core.scheduler.Scheduler;
+import reactor.core.scheduler.Schedulers;
+
+/**
+ * PointService 를 Mono / Flux 로 감싼 리액티브 API
+ * - PointService 호출(테이블 지연, 유저 락 대기)은 블로킹이므로 이벤트 루프가 아닌 제한된 elastic 스케줄러에서 실행합니다.
+ * - 같은 유저의 충전/사용은 PointService 의 유저 락으로 그대로 직렬화됩니다.
+ * - 스케줄러의 스레드와 대기열이 모두 차면 RejectedExecutionException 으로 종료됩니다.
+ * - 요청의 처리 기한(X-Request-Timeout)은 서블릿에서는 요청 스레드(PointDeadlineFilter), Netty 에서는 Reactor Context(PointReactiveDeadlineFilter)에서
+ *   받아 스케줄러 스레드로 넘기므로, 유저 락은 서블릿 API 와 같은 기한까지만 기다립니다.
+ */
+@Service
+public class PointReactiveService {
+
+    private final PointService pointService;
+    private final Scheduler scheduler;
+
+    public PointReactiveService(PointService pointService, PointReactiveProperties properties) {
+        this.pointService = pointService;
+        this.scheduler = Schedulers.newBoundedElastic(properties.blockingThreads(), properties.blockingQueue(), "point-reactive");
+    }
+
+    public Mono<UserPoint> getPoint(long id) {
+        return this.blocking(() -> this.pointService.getPoint(id));
+    }
+
+    public Mono<UserPoint> rechargePoint(long id, long amount) {
+        return this.blocking(() -> this.pointService.rechargePoint(id, amount));
+    }
+
+    public Mono<UserPoint> usePoint(long id, long amount) {
+        return this.blocking(() -> this.pointService.usePoint(id, amount));
+    }
+
+    public Mono<UserPoint> rechargePoint(long id, long amount, String idempotencyKey) {
+        return this.blocking(() -> this.pointService.rechargePoint(id, amount, idempotencyKey));
+    }
+
+    public Mono<UserPoint> usePoint(long id, long amount, String idempotencyKey) {
+        return this.blocking(() -> this.pointService.usePoint(id, amount, idempotencyKey));
+    }
+
+    // 같은 멱등 키로 이미 성공한 충전/사용의 결과 (메모리 조회라 스케줄러를 거치지 않음)
+    public Optional<UserPoint> findCompleted(long id, TransactionType type, long amount, String idempotencyKey) {
+        return this.pointService.findCompleted(id, type, amount, idempotencyKey);
+    }
+
+    // 내역은 조회 시점의 스냅샷을 한 건씩 흘려보냄 - 응답은 전체를 모으지 않고 원소가 나오는 대로 기록됨
+    public Flux<PointHistory> getPointHistory(long id) {
+        return this.blockingMany(() -> this.pointService.getPointHistory(id));
+    }
+
+    public Flux<PointHistory> getPointHistory(long id, PointHistoryQuery query) {
+        return this.blockingMany(() -> this.pointService.getPointHistory(id, query));
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        this.scheduler.dispose();
+    }
+
+    private <T> Mono<T> blocking(Supplier<T> task) {
+        return this.withDeadline(task).subscribeOn(this.scheduler);
+    }
+
+    private <T> Flux<T> blockingMany(Supplier<List<T>> task) {
+        return this.withDeadline(task).flatMapIterable(list -> list).subscribeOn(this.scheduler);
+    }
+
+    // Reactor Context 의 기한, 없으면 호출한 요청 스레드의 기한을 가지고 실행
+    private <T> Mono<T> withDeadline(Supplier<T> task) {
+        Long requested = RequestDeadline.current();
+        return Mono.deferContextual(context -> Mono.fromSupplier(
+                RequestDeadline.wrap(context.getOrDefault(RequestDeadline.CONTEXT_KEY, requested), task)));
+    }
+}
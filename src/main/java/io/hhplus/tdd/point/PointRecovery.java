@@ -0,0 +1,83 @@
+package io.hhplus.tdd.point;
+
+import java.util.Optional;
+
+import org.springframework.stereotype.Component;
+
+import io.hhplus.tdd.database.BalanceConsumer;
+import io.hhplus.tdd.database.MappedBalanceStore;
+import io.hhplus.tdd.database.PointHistoryRepository;
+import io.hhplus.tdd.database.PointSnapshotter;
+import io.hhplus.tdd.database.PointTransactionLog;
+import io.hhplus.tdd.database.UserBalanceStore;
+import jakarta.annotation.PostConstruct;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * 시작 시 트랜잭션 로그로 잔액과 내역을 복구합니다. (point.transaction-log.enabled=true 일 때)
+ * - 스냅샷이 있으면 스냅샷의 잔액과 내역 파일의 내역을 먼저 읽고, 스냅샷 이후 세그먼트의 기록만 다시 적용합니다.
+ * - 내역은 원래 id 그대로 유저별 인덱스에 다시 채웁니다. (내역 파일 → 이후 세그먼트 내역 순)
+ * - 잔액은 기록마다 테이블에 쓰지 않고 메모리의 원시 타입 저장소에 유저별 마지막 값만 모읍니다.
+ *   맵 저장소를 사용하면 마지막 잔액을 맵 저장소에 저장하고(조회 시 테이블보다 먼저 읽으므로),
+ *   아니면 캐시에 보관해 두었다가 유저를 처음 읽을 때 꺼내 쓰고 그때 테이블에 한 번 반영합니다.
+ *   그래서 시작 시간이 느린 테이블 호출 수와 무관하고, 복구한 유저가 모두 캐시에 올라가 내보낼 수 없게 되는 일도 없습니다.
+ * - 요청을 받기 전(빈 초기화 단계)에 실행됩니다.
+ */
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class PointRecovery {
+
+    private static final int INITIAL_USERS = 1 << 16;
+
+    private final Optional<PointTransactionLog> transactionLog;
+    private final PointHistoryRepository pointHistoryRepository;
+    private final UserPointSnapshotStore snapshotStore;
+    private final Optional<MappedBalanceStore> mappedBalanceStore;
+    private final Optional<PointSnapshotter> snapshotter;
+
+    @PostConstruct
+    public void recover() {
+        this.transactionLog.ifPresent(this::replay);
+    }
+
+    // 스냅샷 이후 다시 적용한 기록 수를 반환
+    public long replay(PointTransactionLog pointLog) {
+        long start = System.nanoTime();
+        UserBalanceStore[] image = {new UserBalanceStore(INITIAL_USERS)};
+        BalanceConsumer put = (id, balance, updateMillis) -> {
+            if (image[0].size() == image[0].maxUsers()) {
+                image[0] = image[0].grow();
+            }
+            image[0].put(id, balance, updateMillis);
+        };
+        long[] replayed = {0};
+
+        long afterSegment = this.snapshotter
+                .flatMap(snapshotter -> snapshotter.load(put, this.pointHistoryRepository::restore))
+                .map(header -> {
+                    this.pointHistoryRepository.advanceCursor(header.coveredHistoryId());
+                    return header.coveredSegment();
+                })
+                .orElse(0L);
+
+        pointLog.replay(afterSegment, Long.MAX_VALUE, entry -> {
+            PointHistory history = entry.history();
+            this.pointHistoryRepository.restore(history);
+            put.accept(history.userId(), entry.balance(), history.updateMillis());
+            replayed[0]++;
+        });
+
+        if (this.mappedBalanceStore.isPresent()) {
+            MappedBalanceStore store = this.mappedBalanceStore.get();
+            image[0].forEach((id, balance, updateMillis) -> store.save(new UserPoint(id, balance, updateMillis)));
+        } else {
+            this.snapshotStore.restore(image[0]);
+        }
+
+        log.info("트랜잭션 로그 복구 완료. afterSegment={}, records={}, users={}, elapsedMillis={}",
+                afterSegment, replayed[0], image[0].size(), (System.nanoTime() - start) / 1_000_000);
+        return replayed[0];
+    }
+}
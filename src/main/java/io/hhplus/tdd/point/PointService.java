@@ -1,15 +1,39 @@
 package io.hhplus.tdd.point;
 
 import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.LinkedHashMap;
 import java.util.List;
+import java.util.Map;
 import java.util.Optional;
-import java.util.concurrent.locks.ReentrantLock;
+import java.util.Queue;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.locks.LockSupport;
+import java.util.function.Supplier;
 
 import org.springframework.stereotype.Service;
 import org.springframework.util.Assert;
 
-import io.hhplus.tdd.database.PointHistoryTable;
+import io.hhplus.tdd.database.MappedBalanceStore;
+import io.hhplus.tdd.database.PointHistoryRepository;
+import io.hhplus.tdd.database.PointLogEntry;
+import io.hhplus.tdd.database.PointTableLock;
+import io.hhplus.tdd.database.PointTransactionLog;
+import io.hhplus.tdd.database.PointWrite;
+import io.hhplus.tdd.database.PointWriteBehindQueue;
 import io.hhplus.tdd.database.UserPointTable;
+import io.hhplus.tdd.infrastructure.PointMetrics;
+import io.hhplus.tdd.infrastructure.PointMetrics.Operation;
+import io.hhplus.tdd.infrastructure.PointOverloadException;
+import io.hhplus.tdd.infrastructure.UserLockManager;
+import io.hhplus.tdd.infrastructure.UserPartitionExecutor;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 
@@ -19,64 +43,587 @@ import lombok.extern.slf4j.Slf4j;
 public class PointService {
 	
 	private final UserPointTable userPointTable;
-	private final PointHistoryTable pointHistoryTable;
-	private final ReentrantLock lock;
+	private final PointHistoryRepository pointHistoryRepository;
+	private final UserLockManager lockManager;
+	private final UserPointSnapshotStore snapshotStore;
+	private final PointWriteBehindQueue writeBehindQueue;
+	private final Optional<MappedBalanceStore> mappedBalanceStore; // 설정 시 테이블보다 먼저 읽는 영속 잔액
+	private final Optional<PointTransactionLog> transactionLog; // 설정 시 모든 충전/사용을 먼저 기록하는 로그
+	private final PointIdempotencyStore idempotencyStore;
+	private final PointConcurrencyProperties concurrency;
+	private final PointMetrics metrics;
+	private final Optional<UserPartitionExecutor> partitionExecutor; // PARTITIONED 에서 유저별 충전/사용을 실행하는 파티션 스레드
+	private final ConcurrentHashMap<Long, Queue<PendingOperation>> pendingOperations = new ConcurrentHashMap<>(); // COMBINING 에서 처리를 기다리는 요청
 	
-    // 포인트 조회
+	private static final long COMBINE_WAIT_NANOS = TimeUnit.MICROSECONDS.toNanos(200);
+	private static final long OPTIMISTIC_MAX_BACKOFF_NANOS = TimeUnit.MILLISECONDS.toNanos(1);
+	
+    // 포인트 조회 - 캐시된 스냅샷은 락 없이 읽고, 없을 때만 유저 락 안에서 테이블을 읽어 캐시에 채움
     public UserPoint getPoint(Long id) {
         Assert.notNull(id, "id값이 없을 수 없습니다.");
-        this.lock.lock(); // 락 획득
+        long start = this.metrics.start(Operation.GET);
         try {
-            return Optional.ofNullable(this.userPointTable.selectById(id))
-                    .orElse(UserPoint.empty(id));
+            return this.snapshotStore.find(id)
+                    .map(UserPointSnapshot::point)
+                    .orElseGet(() -> this.readThrough(id));
         } finally {
-            this.lock.unlock(); // 락 해제
+            this.metrics.stop(Operation.GET, start);
         }
     }
 
     // 포인트 충전
     public UserPoint rechargePoint(Long id, Long amount) {
+        long start = this.metrics.start(Operation.CHARGE);
+        try {
+            return this.charge(id, amount);
+        } finally {
+            this.metrics.stop(Operation.CHARGE, start);
+        }
+    }
+
+    // 포인트 사용
+    public UserPoint usePoint(Long id, Long amount) {
+        long start = this.metrics.start(Operation.USE);
+        try {
+            return this.use(id, amount);
+        } finally {
+            this.metrics.stop(Operation.USE, start);
+        }
+    }
+
+    // 포인트 충전 - 같은 멱등 키로 다시 요청하면 충전하지 않고 처음 결과를 반환
+    public UserPoint rechargePoint(Long id, Long amount, String idempotencyKey) {
+        Assert.notNull(id, "id값이 없을 수 없습니다.");
+        Assert.notNull(amount, "금액이 없을 수 없습니다.");
+        long start = this.metrics.start(Operation.CHARGE);
+        try {
+            return this.idempotencyStore.execute(idempotencyKey, new PointOperation(id, TransactionType.CHARGE, amount),
+                    () -> this.charge(id, amount));
+        } finally {
+            this.metrics.stop(Operation.CHARGE, start);
+        }
+    }
+
+    // 포인트 사용 - 같은 멱등 키로 다시 요청하면 사용하지 않고 처음 결과를 반환
+    public UserPoint usePoint(Long id, Long amount, String idempotencyKey) {
         Assert.notNull(id, "id값이 없을 수 없습니다.");
-        this.lock.lock(); // 락 획득
+        Assert.notNull(amount, "금액이 없을 수 없습니다.");
+        long start = this.metrics.start(Operation.USE);
         try {
-            UserPoint point = Optional.ofNullable(this.userPointTable.selectById(id))
-                    .orElse(UserPoint.empty(id));
+            return this.idempotencyStore.execute(idempotencyKey, new PointOperation(id, TransactionType.USE, amount),
+                    () -> this.use(id, amount));
+        } finally {
+            this.metrics.stop(Operation.USE, start);
+        }
+    }
 
-            UserPoint newPoint = point.rechargePoint(amount);
-            this.pointHistoryTable.insert(id, amount, TransactionType.CHARGE, System.currentTimeMillis());
+    // 같은 멱등 키로 이미 성공한 충전/사용의 결과 (재시도가 요청 한도를 쓰지 않도록 한도 검사 전에 확인)
+    public Optional<UserPoint> findCompleted(long id, TransactionType type, long amount, String idempotencyKey) {
+        return this.idempotencyStore.findCompleted(idempotencyKey, new PointOperation(id, type, amount));
+    }
 
-            return this.userPointTable.insertOrUpdate(id, newPoint.getPoint());
+    // 포인트 내역 조회 - 유저별 인덱스를 락 없이 읽음
+    public List<PointHistory> getPointHistory(Long id) {
+        Assert.notNull(id, "id값이 없을 수 없습니다.");
+        long start = this.metrics.start(Operation.HISTORY);
+        try {
+            return this.pointHistoryRepository.findAllByUserId(id);
         } finally {
-        	this.lock.unlock(); // 락 해제
+            this.metrics.stop(Operation.HISTORY, start);
         }
     }
 
-    // 포인트 사용
-    public UserPoint usePoint(Long id, Long amount) {
+    // 포인트 내역 스트리밍 - 목록을 만들지 않고 유저별 인덱스의 세그먼트를 그대로 순회
+    public Iterable<PointHistory> streamPointHistory(Long id) {
         Assert.notNull(id, "id값이 없을 수 없습니다.");
-        this.lock.lock(); // 락 획득
+        long start = this.metrics.start(Operation.HISTORY);
         try {
-            UserPoint point = Optional.ofNullable(this.userPointTable.selectById(id))
-                    .orElse(UserPoint.empty(id));
+            return this.pointHistoryRepository.streamAllByUserId(id);
+        } finally {
+            this.metrics.stop(Operation.HISTORY, start);
+        }
+    }
 
-            UserPoint newPoint = point.usePoint(amount);
-            this.pointHistoryTable.insert(id, amount, TransactionType.USE, System.currentTimeMillis());
+    // 포인트 내역 페이지 조회 - 커서(after), 기간(from, to), 종류(type) 조건
+    public List<PointHistory> getPointHistory(Long id, PointHistoryQuery query) {
+        Assert.notNull(id, "id값이 없을 수 없습니다.");
+        Assert.notNull(query, "조회 조건이 없을 수 없습니다.");
+        query.validate();
+        long start = this.metrics.start(Operation.HISTORY);
+        try {
+            return this.pointHistoryRepository.findByUserId(id, query);
+        } finally {
+            this.metrics.stop(Operation.HISTORY, start);
+        }
+    }
 
-            return this.userPointTable.insertOrUpdate(id, newPoint.getPoint());
+    // 포인트 일괄 충전/사용 - 유저별로 묶어 요청 순서대로 한 번의 락 안에서 처리
+    public List<PointOperationResult> applyAll(List<PointOperation> operations) {
+        Assert.notNull(operations, "요청 목록이 없을 수 없습니다.");
+        long start = this.metrics.start(Operation.BULK);
+        PointOperationResult[] results = new PointOperationResult[operations.size()];
+        try {
+            Map<Long, List<Integer>> indexesByUser = new LinkedHashMap<>();
+            for (int i = 0; i < operations.size(); i++) {
+                PointOperation operation = operations.get(i);
+                String invalidReason = operation.invalidReason();
+                if (invalidReason != null) {
+                    results[i] = PointOperationResult.failure(operation, invalidReason);
+                    continue;
+                }
+                indexesByUser.computeIfAbsent(operation.userId(), key -> new ArrayList<>()).add(i);
+            }
+
+            indexesByUser.forEach((id, indexes) -> this.serialized(id, () -> {
+                this.applyInOrder(id, operations, indexes, results);
+                return null;
+            }));
         } finally {
-        	this.lock.unlock(); // 락 해제
+            this.metrics.stop(Operation.BULK, start);
         }
+
+        // 건별 실패는 예외로 나가지 않으므로 여기서 거절 사유를 기록
+        for (PointOperationResult result : results) {
+            if (!result.success()) {
+                this.metrics.reject(result.error());
+            }
+        }
+        return Arrays.asList(results);
     }
 
-    // 포인트 내역 조회
-    public List<PointHistory> getPointHistory(Long id) {
+    // 포인트 이체 - 두 유저를 id 가 작은 쪽부터 잠가 반대 방향 이체끼리도 교착되지 않음
+    // - 출금, 입금을 모두 계산해 본 뒤 기록하므로 잔액 부족, 최대치 초과면 어느 쪽도 바뀌지 않음
+    // - 두 내역은 로그에 한 단위로 기록되어 복구 시 함께 반영되거나 함께 버려짐
+    public PointTransfer transfer(Long fromId, Long toId, Long amount) {
+        Assert.notNull(fromId, "id값이 없을 수 없습니다.");
+        Assert.notNull(toId, "id값이 없을 수 없습니다.");
+        Assert.notNull(amount, "금액이 없을 수 없습니다.");
+        if (fromId.equals(toId)) {
+            throw new IllegalArgumentException("Check Transfer.");
+        }
+
+        long start = this.metrics.start(Operation.TRANSFER);
+        long first = Math.min(fromId, toId);
+        long second = Math.max(fromId, toId);
+        try {
+            if (this.concurrency.mode() == PointConcurrencyMode.PARTITIONED) {
+                return this.partitions().execute(fromId, toId, () -> this.transferLocked(fromId, toId, amount));
+            }
+
+            this.lockManager.lock(first); // 작은 id 부터 유저 단위 락 획득
+            try {
+                this.lockManager.lock(second);
+                try {
+                    return this.transferLocked(fromId, toId, amount);
+                } finally {
+                    this.lockManager.unlock(second);
+                }
+            } finally {
+                this.lockManager.unlock(first); // 유저 단위 락 해제
+            }
+        } finally {
+            this.metrics.stop(Operation.TRANSFER, start);
+        }
+    }
+
+    // 샤드 재배치 - 이 노드가 상태를 가진 유저 id (잔액을 가진 유저와 내역을 가진 유저의 합집합)
+    // - 맵 저장소(설정 시)의 슬롯에는 id 가 없어 따로 나열할 수 없으므로, 이전 실행의 잔액은 로그나 스냅샷으로 복구한 유저만 포함
+    public Set<Long> localUserIds() {
+        Set<Long> userIds = this.snapshotStore.userIds();
+        userIds.addAll(this.pointHistoryRepository.userIds());
+        return userIds;
+    }
+
+    // 샤드 재배치 - 다른 노드로 옮길 유저의 잔액과 내역을 읽음
+    public PointShardUser export(Long id) {
         Assert.notNull(id, "id값이 없을 수 없습니다.");
-        this.lock.lock(); // 락 획득
+        return this.serialized(id, () -> {
+            UserPointSnapshot current = this.load(id);
+            return new PointShardUser(current.point(), current.histories());
+        });
+    }
+
+    // 샤드 재배치 - 다른 노드에서 옮겨 온 유저의 잔액과 내역을 받은 그대로 채움
+    // - 내역은 로그(설정 시)에 먼저 기록한 뒤 테이블(쓰기 지연)에 다시 기록하고, 이전에 이 노드에 남아 있던 상태는 덮어씀
+    // - 받은 값은 충전/사용과 같은 규칙(UserPoint.charged)으로 검증하고, 하나라도 어긋나면 아무것도 쓰지 않음
+    public void importUser(PointShardUser user) {
+        Assert.notNull(user, "유저가 없을 수 없습니다.");
+        UserPoint point = user.point();
+        validateImport(point, user.histories());
+        this.serialized(point.id(), () -> {
+            long balance = point.point();
+            for (PointHistory history : user.histories()) {
+                balance -= (history.type() == TransactionType.CHARGE) ? history.amount() : -history.amount();
+            }
+
+            List<PointLogEntry> entries = new ArrayList<>(user.histories().size());
+            for (PointHistory history : user.histories()) {
+                balance += (history.type() == TransactionType.CHARGE) ? history.amount() : -history.amount();
+                entries.add(new PointLogEntry(history, balance));
+            }
+            this.transactionLog.ifPresent(pointLog -> pointLog.appendAll(entries));
+            this.mappedBalanceStore.ifPresent(store -> store.save(point));
+            for (PointLogEntry entry : entries) {
+                this.writeBehindQueue.put(PointWrite.of(entry.history(), entry.balance()));
+            }
+            this.writeBehindQueue.put(PointWrite.balanceOnly(point.id(), point.point(), point.updateMillis()));
+
+            this.pointHistoryRepository.replace(point.id(), user.histories());
+            this.snapshotStore.publish(point.id(),
+                    UserPointSnapshot.loaded(point, this.pointHistoryRepository.findAllByUserId(point.id())));
+            return null;
+        });
+    }
+
+    // 옮겨 온 잔액과, 내역을 거꾸로 되돌려 얻은 중간 잔액이 모두 0 이상 최대치 미만이어야 함
+    private static void validateImport(UserPoint point, List<PointHistory> histories) {
+        if (point == null || histories == null) {
+            throw new IllegalArgumentException("Check Users.");
+        }
+        if (point.id() < 0) {
+            throw new IllegalArgumentException("Check Id.");
+        }
+        long balance = UserPoint.charged(0, point.point());
+        for (int i = histories.size() - 1; i >= 0; i--) {
+            PointHistory history = histories.get(i);
+            if (history == null || history.userId() != point.id() || history.type() == null) {
+                throw new IllegalArgumentException("Check Users.");
+            }
+            balance = (history.type() == TransactionType.CHARGE)
+                    ? UserPoint.used(balance, history.amount())
+                    : UserPoint.charged(balance, history.amount());
+        }
+    }
+
+    private UserPoint charge(Long id, Long amount) {
+        Assert.notNull(id, "id값이 없을 수 없습니다.");
+        return switch (this.concurrency.mode()) {
+            case COMBINING -> this.combine(new PointOperation(id, TransactionType.CHARGE, amount));
+            case OPTIMISTIC -> this.optimistic(id, amount, TransactionType.CHARGE);
+            case PARTITIONED -> this.partitions().execute(id, () -> this.applyOne(id, amount, TransactionType.CHARGE));
+            case LOCK -> this.locked(id, amount, TransactionType.CHARGE);
+        };
+    }
+
+    private UserPoint use(Long id, Long amount) {
+        Assert.notNull(id, "id값이 없을 수 없습니다.");
+        return switch (this.concurrency.mode()) {
+            case COMBINING -> this.combine(new PointOperation(id, TransactionType.USE, amount));
+            case OPTIMISTIC -> this.optimistic(id, amount, TransactionType.USE);
+            case PARTITIONED -> this.partitions().execute(id, () -> this.applyOne(id, amount, TransactionType.USE));
+            case LOCK -> this.locked(id, amount, TransactionType.USE);
+        };
+    }
+
+    private UserPoint locked(long id, long amount, TransactionType type) {
+        this.lockManager.lock(id); // 유저 단위 락 획득
         try {
-            return Optional.ofNullable(this.pointHistoryTable.selectAllByUserId(id))
-                    .orElse(new ArrayList<>());
+            return this.applyOne(id, amount, type);
         } finally {
-        	this.lock.unlock(); // 락 해제
+        	this.lockManager.unlock(id); // 유저 단위 락 해제
+        }
+    }
+
+    // 유저 락을 잡았거나 유저의 파티션 스레드에서만 호출
+    private UserPoint applyOne(long id, long amount, TransactionType type) {
+        UserPointSnapshot current = this.load(id);
+
+        UserPoint newPoint = apply(current.point(), amount, type);
+
+        return this.commit(current, newPoint, amount, type);
+    }
+
+    // 유저 단위로 직렬화해 실행 - PARTITIONED 면 유저의 파티션 스레드에서, 그 외에는 유저 락 안에서
+    private <T> T serialized(long id, Supplier<T> task) {
+        if (this.concurrency.mode() == PointConcurrencyMode.PARTITIONED) {
+            return this.partitions().execute(id, task);
+        }
+
+        this.lockManager.lock(id); // 유저 단위 락 획득
+        try {
+            return task.get();
+        } finally {
+            this.lockManager.unlock(id); // 유저 단위 락 해제
+        }
+    }
+
+    private UserPartitionExecutor partitions() {
+        return this.partitionExecutor.orElseThrow(() -> new IllegalStateException("파티션 실행기가 설정되지 않았습니다."));
+    }
+
+    // 락 없이 읽은 스냅샷으로 계산한 뒤, 락을 기다리지 않고 시도해서 읽은 스냅샷이 그대로일 때만 커밋
+    // - 다른 쓰기가 먼저 커밋했거나 락을 잡고 있으면 충돌로 보고 잠시 쉬었다가 처음부터 다시 시도
+    // - 커밋(내역, 로그, 잔액 저장, 발행)은 락 안에서 하므로 같은 유저의 기록 순서는 LOCK 과 같음
+    // - 재시도를 다 쓰면 락을 기다려 처리 (경합이 심해도 요청이 실패하지 않도록)
+    private UserPoint optimistic(long id, long amount, TransactionType type) {
+        for (int attempt = 0; attempt < this.concurrency.optimisticRetries(); attempt++) {
+            UserPointSnapshot current = this.snapshotStore.find(id).orElseGet(() -> this.loadLocked(id));
+
+            UserPoint newPoint;
+            try {
+                newPoint = apply(current.point(), amount, type);
+            } catch (IllegalArgumentException e) {
+                if (this.snapshotStore.isCurrent(id, current)) {
+                    throw e; // 최신 잔액으로 계산해도 한도 초과, 잔액 부족
+                }
+                this.conflict(attempt);
+                continue;
+            }
+
+            if (this.lockManager.tryLock(id)) {
+                try {
+                    if (this.snapshotStore.isCurrent(id, current)) {
+                        return this.commit(current, newPoint, amount, type);
+                    }
+                } finally {
+                    this.lockManager.unlock(id);
+                }
+            }
+            this.conflict(attempt);
+        }
+
+        this.metrics.optimisticFallback();
+        return this.locked(id, amount, type);
+    }
+
+    // 충돌 후 대기 - 1µs 부터 두 배씩, 최대 OPTIMISTIC_MAX_BACKOFF_NANOS 안에서 무작위로 쉼 (동시에 다시 부딪히지 않도록)
+    private void conflict(int attempt) {
+        this.metrics.optimisticConflict();
+        long bound = Math.min(OPTIMISTIC_MAX_BACKOFF_NANOS, 1_000L << Math.min(attempt, 20));
+        LockSupport.parkNanos(ThreadLocalRandom.current().nextLong(bound) + 1);
+    }
+
+    private static UserPoint apply(UserPoint point, long amount, TransactionType type) {
+        return (type == TransactionType.CHARGE) ? point.rechargePoint(amount) : point.usePoint(amount);
+    }
+
+    // 한 유저의 요청을 순서대로 적용한 뒤 스냅샷은 한 번만 발행 (유저 락을 잡았거나 유저의 파티션 스레드에서만 호출)
+    // - 과부하 거절은 건별 실패로 담지 않고 그대로 던져 503/429 와 Retry-After 로 응답되게 함 (이미 적용한 건은 발행한 뒤 던짐)
+    private void applyInOrder(long id, List<PointOperation> operations, List<Integer> indexes,
+                              PointOperationResult[] results) {
+        UserPointSnapshot current = this.load(id);
+        UserPoint point = current.point();
+        int applied = 0;
+
+        try {
+            for (int index : indexes) {
+                PointOperation operation = operations.get(index);
+                try {
+                    UserPoint newPoint = apply(point, operation.amount(), operation.type());
+                    this.record(newPoint, operation.amount(), operation.type());
+
+                    point = newPoint;
+                    applied++;
+                    results[index] = PointOperationResult.success(operation, newPoint);
+                } catch (PointOverloadException e) {
+                    throw e;
+                } catch (IllegalArgumentException | IllegalStateException e) {
+                    results[index] = PointOperationResult.failure(operation, e.getMessage());
+                }
+            }
+        } finally {
+            if (applied > 0) {
+                this.snapshotStore.publish(id, current.advance(point, this.pointHistoryRepository.findAllByUserId(id), applied));
+            }
+        }
+    }
+
+    // 유저별 대기열에 넣은 뒤, 락을 잡으면 쌓인 요청을 한 번에 처리하고 못 잡으면 처리한 스레드가 결과를 채워줄 때까지 대기
+    private UserPoint combine(PointOperation operation) {
+        long id = operation.userId();
+        PendingOperation pending = new PendingOperation(operation);
+        Queue<PendingOperation> queue = this.pendingOperations.computeIfAbsent(id, key -> new ConcurrentLinkedQueue<>());
+        queue.add(pending);
+
+        while (true) {
+            if (!pending.result.isDone() && this.lockManager.tryLock(id)) {
+                try {
+                    this.applyPending(id, queue);
+                } catch (RuntimeException e) {
+                    if (queue.remove(pending)) { // 자신의 요청이 처리되기 전에 실패 (로드 실패 등)
+                        throw e;
+                    }
+                } finally {
+                    this.lockManager.unlock(id);
+                }
+            }
+
+            try {
+                return pending.result.get(COMBINE_WAIT_NANOS, TimeUnit.NANOSECONDS);
+            } catch (TimeoutException e) {
+                // 마지막 처리 이후에 들어온 요청이면 다시 락을 시도
+            } catch (ExecutionException e) {
+                throw (e.getCause() instanceof RuntimeException cause) ? cause : new IllegalStateException(e.getCause());
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                if (queue.remove(pending)) {
+                    throw new IllegalStateException("포인트 처리 대기 중 인터럽트되었습니다.", e);
+                }
+                return pending.result.join(); // 이미 다른 스레드가 가져가 처리 중
+            }
+        }
+    }
+
+    // 대기열의 요청을 도착 순서대로 한 번 읽은 잔액에 적용하고 한 번에 저장 (유저 락을 잡은 상태에서만 호출)
+    // - 최대치 초과, 잔액 부족 등 개별 요청의 실패는 해당 요청에만 전달
+    // - 로그는 모아서 한 번에 기록(fsync 한 번), 맵 저장소에는 마지막 잔액만 저장, 스냅샷도 한 번만 발행
+    // - 대기열 자리는 요청마다 먼저 잡아 두고, 로그 기록이 끝난 뒤에 테이블 반영을 넘김
+    private void applyPending(long id, Queue<PendingOperation> queue) {
+        UserPointSnapshot current = this.load(id);
+        UserPoint point = current.point();
+        List<PendingOperation> applied = new ArrayList<>();
+        List<PointLogEntry> entries = new ArrayList<>();
+
+        PendingOperation pending;
+        for (int i = 0; i < this.concurrency.combineLimit() && (pending = queue.poll()) != null; i++) {
+            PointOperation operation = pending.operation;
+            try {
+                UserPoint newPoint = apply(point, operation.amount(), operation.type());
+                this.writeBehindQueue.reserve(id);
+                entries.add(new PointLogEntry(this.pointHistoryRepository.issue(id, operation.amount(), operation.type(),
+                        newPoint.updateMillis()), newPoint.getPoint()));
+
+                point = newPoint;
+                pending.applied = newPoint;
+                applied.add(pending);
+            } catch (RuntimeException e) {
+                pending.result.completeExceptionally(e);
+            }
+        }
+
+        if (!applied.isEmpty()) {
+            try {
+                this.transactionLog.ifPresent(pointLog -> pointLog.appendAll(entries));
+                UserPoint last = point;
+                this.mappedBalanceStore.ifPresent(store -> store.save(last));
+            } catch (RuntimeException e) {
+                applied.forEach(failed -> {
+                    this.writeBehindQueue.cancel(id);
+                    failed.result.completeExceptionally(e);
+                });
+                throw e;
+            }
+            for (PointLogEntry entry : entries) {
+                this.writeBehindQueue.enqueueReserved(PointWrite.of(entry.history(), entry.balance()));
+                this.pointHistoryRepository.append(entry.history());
+            }
+            this.snapshotStore.publish(id, current.advance(point, this.pointHistoryRepository.findAllByUserId(id), applied.size()));
+        }
+        for (PendingOperation done : applied) {
+            done.result.complete(done.applied); // 발행 뒤에 완료해 응답을 받은 요청은 조회에서도 반영된 값을 봄
+        }
+
+        if (queue.isEmpty()) {
+            this.pendingOperations.remove(id, queue);
+        }
+    }
+
+    // 두 유저의 락을 잡았거나 두 유저의 파티션 스레드를 점유한 상태에서만 호출
+    private PointTransfer transferLocked(long fromId, long toId, long amount) {
+        UserPointSnapshot fromCurrent = this.load(fromId);
+        UserPointSnapshot toCurrent = this.load(toId);
+        UserPoint from = fromCurrent.point().usePoint(amount);
+        UserPoint to = toCurrent.point().rechargePoint(amount);
+
+        // 두 유저의 대기열 자리를 먼저 잡고, 두 내역을 로그에 한 단위로 기록한 뒤에 테이블 반영을 넘김
+        // - 어느 쪽이든 자리가 없거나 로그 기록이 실패하면 양쪽 모두 아무것도 남지 않음
+        this.writeBehindQueue.reserve(fromId);
+        try {
+            this.writeBehindQueue.reserve(toId);
+        } catch (RuntimeException e) {
+            this.writeBehindQueue.cancel(fromId);
+            throw e;
+        }
+        PointHistory fromHistory = this.pointHistoryRepository.issue(fromId, amount, TransactionType.USE, from.updateMillis());
+        PointHistory toHistory = this.pointHistoryRepository.issue(toId, amount, TransactionType.CHARGE, to.updateMillis());
+        try {
+            this.transactionLog.ifPresent(pointLog -> pointLog.appendUnit(List.of(
+                    new PointLogEntry(fromHistory, from.getPoint()), new PointLogEntry(toHistory, to.getPoint()))));
+            this.mappedBalanceStore.ifPresent(store -> {
+                store.save(from);
+                store.save(to);
+            });
+        } catch (RuntimeException e) {
+            this.writeBehindQueue.cancel(fromId);
+            this.writeBehindQueue.cancel(toId);
+            throw e;
+        }
+        this.writeBehindQueue.enqueueReserved(PointWrite.of(fromHistory, from.getPoint()));
+        this.writeBehindQueue.enqueueReserved(PointWrite.of(toHistory, to.getPoint()));
+
+        this.pointHistoryRepository.append(fromHistory);
+        this.pointHistoryRepository.append(toHistory);
+
+        this.snapshotStore.publish(fromId, fromCurrent.next(from, this.pointHistoryRepository.findAllByUserId(fromId)));
+        this.snapshotStore.publish(toId, toCurrent.next(to, this.pointHistoryRepository.findAllByUserId(toId)));
+        return new PointTransfer(from, to);
+    }
+
+    private UserPoint readThrough(long id) {
+        return this.loadLocked(id).point();
+    }
+
+    private UserPointSnapshot loadLocked(long id) {
+        return this.serialized(id, () -> this.load(id));
+    }
+
+    // 캐시에 없으면 맵 저장소(설정 시), 시작 시 복구한 잔액, 테이블 순으로 읽어 캐시에 채움 (유저 락을 잡았거나 유저의 파티션 스레드에서만 호출)
+    // 테이블에 반영되지 않은 유저는 캐시에서 내보내지 않으므로 테이블 값이 곧 최신 값
+    // 테이블은 스레드 안전하지 않으므로 플러셔의 쓰기와 겹치지 않게 테이블의 읽기 락 안에서 읽음 (다른 유저의 조회와는 동시에)
+    private UserPointSnapshot load(long id) {
+        return this.snapshotStore.find(id).orElseGet(() -> {
+            UserPointSnapshot loaded = UserPointSnapshot.loaded(
+                    this.mappedBalanceStore.flatMap(store -> store.find(id))
+                            .or(() -> this.takeRecovered(id))
+                            .or(() -> Optional.ofNullable(PointTableLock.read(this.userPointTable, () -> this.userPointTable.selectById(id))))
+                            .orElse(UserPoint.empty(id)),
+                    this.pointHistoryRepository.findAllByUserId(id));
+            this.snapshotStore.publish(id, loaded);
+            return loaded;
+        });
+    }
+
+    // 시작 시 복구한 잔액은 처음 읽을 때 테이블에도 반영 (반영 전까지는 대기 중인 유저라 캐시에서 내보내지 않음)
+    private Optional<UserPoint> takeRecovered(long id) {
+        return this.snapshotStore.recovered(id).map(point -> {
+            this.writeBehindQueue.put(PointWrite.balanceOnly(id, point.point(), point.updateMillis()));
+            this.snapshotStore.consumeRecovered(id);
+            return point;
+        });
+    }
+
+    // 내역을 남기고 새 스냅샷 발행 (유저 락을 잡았거나 유저의 파티션 스레드에서만 호출)
+    private UserPoint commit(UserPointSnapshot current, UserPoint newPoint, long amount, TransactionType type) {
+        this.record(newPoint, amount, type);
+        this.snapshotStore.publish(newPoint.id(),
+                current.next(newPoint, this.pointHistoryRepository.findAllByUserId(newPoint.id())));
+
+        return newPoint;
+    }
+
+    // 대기열 자리를 먼저 잡고 로그 기록, 잔액 저장을 마친 뒤에 테이블 반영을 넘기고 내역 추가
+    // - 대기열이 가득 차 거절되거나 로그 기록이 실패하면 테이블, 내역 어디에도 남지 않음
+    private void record(UserPoint newPoint, long amount, TransactionType type) {
+        this.writeBehindQueue.reserve(newPoint.id());
+        PointHistory history = this.pointHistoryRepository.issue(newPoint.id(), amount, type, newPoint.updateMillis());
+        try {
+            this.transactionLog.ifPresent(pointLog -> pointLog.append(history, newPoint.getPoint()));
+            this.mappedBalanceStore.ifPresent(store -> store.save(newPoint));
+        } catch (RuntimeException e) {
+            this.writeBehindQueue.cancel(newPoint.id());
+            throw e;
+        }
+        this.writeBehindQueue.enqueueReserved(PointWrite.of(history, newPoint.getPoint()));
+        this.pointHistoryRepository.append(history);
+    }
+
+    private static final class PendingOperation {
+        private final PointOperation operation;
+        private final CompletableFuture<UserPoint> result = new CompletableFuture<>();
+        private UserPoint applied;
+
+        private PendingOperation(PointOperation operation) {
+            this.operation = operation;
         }
     }
 
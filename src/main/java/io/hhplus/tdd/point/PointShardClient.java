@@ -0,0 +1,108 @@
+package io.hhplus.tdd.point;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.UncheckedIOException;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
+import org.springframework.stereotype.Component;
+
+import com.fasterxml.jackson.core.type.TypeReference;
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+/**
+ * 다른 샤드 인스턴스로 요청을 전달하는 HTTP 클라이언트
+ * - 전달하는 요청에는 FORWARDED_HEADER 를 붙여, 받은 인스턴스가 다시 전달하지 않고 직접 처리하게 합니다.
+ * - 인스턴스끼리 주고받는 요청에는 공유 비밀 값(PointShardSecretFilter.SECRET_HEADER)을 붙입니다.
+ * - 연결은 인스턴스별로 재사용되고, 응답은 timeout 까지만 기다립니다.
+ */
+@Component
+public class PointShardClient {
+
+    public static final String FORWARDED_HEADER = "X-Point-Forwarded";
+
+    private static final TypeReference<List<PointOperationResult>> RESULTS = new TypeReference<>() {
+    };
+
+    private final PointShardProperties properties;
+    private final ObjectMapper objectMapper;
+    private final HttpClient httpClient;
+
+    public PointShardClient(PointShardProperties properties, ObjectMapper objectMapper) {
+        this.properties = properties;
+        this.objectMapper = objectMapper;
+        this.httpClient = HttpClient.newBuilder()
+                .connectTimeout(properties.timeout())
+                .build();
+    }
+
+    // 받은 요청을 그대로 담당 인스턴스에 전달 (응답을 기다리는 동안 호출한 스레드를 잡지 않음)
+    // 본문은 받는 대로 읽을 수 있는 스트림으로 돌려줘 스트리밍 응답(/histories/stream)도 모아 두지 않고 흘려보냄
+    public CompletableFuture<HttpResponse<InputStream>> forward(String node, String method, String pathAndQuery,
+                                                                Map<String, String> headers, byte[] body) {
+        HttpRequest.Builder request = HttpRequest.newBuilder(URI.create(node + pathAndQuery))
+                .timeout(this.properties.timeout())
+                .header(FORWARDED_HEADER, this.properties.self())
+                .method(method, body.length == 0
+                        ? HttpRequest.BodyPublishers.noBody()
+                        : HttpRequest.BodyPublishers.ofByteArray(body));
+        headers.forEach(request::header);
+        return this.httpClient.sendAsync(request.build(), HttpResponse.BodyHandlers.ofInputStream());
+    }
+
+    // 담당 인스턴스에 일괄 처리 요청 전달
+    public CompletableFuture<List<PointOperationResult>> bulk(String node, List<PointOperation> operations) {
+        return this.send(node, "POST", "/point/bulk", operations)
+                .thenApply(body -> this.read(body, RESULTS));
+    }
+
+    // 새 인스턴스 목록을 알리고, 받은 인스턴스가 옮길 유저를 모두 옮길 때까지 기다림
+    public void ring(String node, List<String> nodes) {
+        this.send(node, "PUT", "/shard/ring", nodes).join();
+    }
+
+    // 담당이 바뀐 유저의 상태를 새 담당 인스턴스로 보냄
+    public void importUsers(String node, List<PointShardUser> users) {
+        this.send(node, "PUT", "/shard/users", users).join();
+    }
+
+    private CompletableFuture<byte[]> send(String node, String method, String path, Object body) {
+        HttpRequest request;
+        try {
+            request = HttpRequest.newBuilder(URI.create(node + path))
+                    .timeout(this.properties.timeout())
+                    .header(FORWARDED_HEADER, this.properties.self())
+                    .header(HttpHeaders.CONTENT_TYPE, MediaType.APPLICATION_JSON_VALUE)
+                    .header(PointShardSecretFilter.SECRET_HEADER, this.properties.secret())
+                    .method(method, HttpRequest.BodyPublishers.ofByteArray(this.objectMapper.writeValueAsBytes(body)))
+                    .build();
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+
+        return this.httpClient.sendAsync(request, HttpResponse.BodyHandlers.ofByteArray())
+                .thenApply(response -> {
+                    if (response.statusCode() != 200) {
+                        throw new IllegalStateException("샤드 요청이 실패했습니다. node=" + node + ", path=" + path
+                                + ", status=" + response.statusCode());
+                    }
+                    return response.body();
+                });
+    }
+
+    private <T> T read(byte[] body, TypeReference<T> type) {
+        try {
+            return this.objectMapper.readValue(body, type);
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+}
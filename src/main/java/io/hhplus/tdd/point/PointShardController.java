@@ -0,0 +1,65 @@
+package io.hhplus.tdd.point;
+
+import java.util.List;
+
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PostMapping;
+import org.springframework.web.bind.annotation.PutMapping;
+import org.springframework.web.bind.annotation.RequestBody;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RestController;
+
+import lombok.RequiredArgsConstructor;
+
+/**
+ * 샤드 인스턴스 관리 (point.shard.enabled=true 일 때)
+ * - 인스턴스 추가는 아무 인스턴스에나 요청하면 모든 인스턴스에 새 목록을 알리고 유저를 옮긴 뒤 반환합니다.
+ * - /shard/ring, /shard/users 는 인스턴스끼리 주고받는 요청입니다.
+ * - 조회 외의 요청은 PointShardSecretFilter 가 공유 비밀 값을 확인한 뒤에만 들어옵니다.
+ */
+@RestController
+@RequestMapping("/shard")
+@RequiredArgsConstructor
+@ConditionalOnProperty(prefix = "point.shard", name = "enabled", havingValue = "true")
+public class PointShardController {
+
+    private final PointShardRouter pointShardRouter;
+    private final PointService pointService;
+
+    @GetMapping("nodes")
+    public List<String> nodes() {
+        return this.pointShardRouter.nodes();
+    }
+
+    /**
+     * 인스턴스를 추가합니다. (본문: 추가할 인스턴스 주소)
+     */
+    @PostMapping("nodes")
+    public List<String> join(@RequestBody String node) {
+    	if (node == null || node.isBlank()) {
+            throw new IllegalArgumentException("Check Node.");
+        }
+    	
+        return this.pointShardRouter.join(node.strip());
+    }
+
+    @PutMapping("ring")
+    public int ring(@RequestBody List<String> nodes) {
+    	if (nodes == null || nodes.isEmpty()) {
+            throw new IllegalArgumentException("Check Nodes.");
+        }
+    	
+        return this.pointShardRouter.rebalance(nodes);
+    }
+
+    @PutMapping("users")
+    public int users(@RequestBody List<PointShardUser> users) {
+    	if (users == null) {
+            throw new IllegalArgumentException("Check Users.");
+        }
+    	
+        users.forEach(this.pointService::importUser);
+        return users.size();
+    }
+}
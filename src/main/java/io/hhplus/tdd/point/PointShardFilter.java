@@ -0,0 +1,169 @@
+package io.hhplus.tdd.point;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.net.http.HttpResponse;
+import java.nio.charset.StandardCharsets;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.web.filter.OncePerRequestFilter;
+
+import jakarta.servlet.AsyncContext;
+import jakarta.servlet.AsyncEvent;
+import jakarta.servlet.AsyncListener;
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * 유저 한 명에 대한 요청(/point/{id}/..., /async/point/{id}/..., /reactive/point/{id}/...)을 담당 샤드 인스턴스로 전달합니다. (point.shard.enabled=true 일 때)
+ * - 이 인스턴스가 담당하면 그대로 처리하고, 아니면 요청을 그대로 담당 인스턴스에 보내 받은 응답을 돌려줍니다.
+ * - 전달은 서블릿 비동기로 처리하므로 담당 인스턴스의 응답을 기다리는 동안 요청 스레드를 잡지 않습니다.
+ * - 담당 인스턴스의 응답 본문은 받는 대로 흘려보내므로 스트리밍 응답(/histories/stream)도 메모리에 모으지 않습니다.
+ * - 다른 인스턴스가 전달한 요청인데 이 인스턴스가 담당하지 않으면(재배치로 담당이 바뀐 경우) 다시 전달하지 않고 503 으로 거절합니다.
+ * - 이체는 두 유저의 담당 인스턴스가 같을 때만 전달하고, 다르면 400 으로 거절합니다.
+ * - 재배치 중에는 모든 요청을 503 으로 거절합니다.
+ */
+@Slf4j
+@RequiredArgsConstructor
+public class PointShardFilter extends OncePerRequestFilter {
+
+    private static final Pattern USER_PATH = Pattern.compile("^/(?:async/|reactive/)?point/(-?\\d+)(?:/transfer/(-?\\d+)|/.*)?$");
+    private static final String[] FORWARDED_HEADERS = {
+            HttpHeaders.CONTENT_TYPE, HttpHeaders.ACCEPT, "Idempotency-Key", PointDeadlineFilter.TIMEOUT_HEADER
+    };
+
+    private final PointShardRouter router;
+    private final PointShardClient client;
+
+    @Override
+    protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain chain)
+            throws ServletException, IOException {
+        boolean forwarded = request.getHeader(PointShardClient.FORWARDED_HEADER) != null;
+        Matcher matcher = USER_PATH.matcher(request.getRequestURI());
+        if (matcher.matches() && Long.parseLong(matcher.group(1)) >= 0) {
+            String owner = this.router.ownerOf(Long.parseLong(matcher.group(1)));
+            if (matcher.group(2) != null && !owner.equals(this.router.ownerOf(Long.parseLong(matcher.group(2))))) {
+                write(response, HttpStatus.BAD_REQUEST, "Check Shard.");
+                return;
+            }
+            if (!owner.equals(this.router.self())) {
+                if (forwarded) {
+                    write(response, HttpStatus.SERVICE_UNAVAILABLE, PointShardRouter.REBALANCING_MESSAGE);
+                } else {
+                    this.forward(owner, request, response);
+                }
+                return;
+            }
+        }
+
+        this.handleLocally(request, response, chain);
+    }
+
+    // 비동기 요청(/async/point)은 응답이 끝날 때까지 처리 중으로 셈
+    private void handleLocally(HttpServletRequest request, HttpServletResponse response, FilterChain chain)
+            throws ServletException, IOException {
+        if (!this.router.enter()) {
+            write(response, HttpStatus.SERVICE_UNAVAILABLE, PointShardRouter.REBALANCING_MESSAGE);
+            return;
+        }
+
+        boolean async = false;
+        try {
+            chain.doFilter(request, response);
+            if (request.isAsyncStarted()) {
+                request.getAsyncContext().addListener(new ExitListener(this.router));
+                async = true;
+            }
+        } finally {
+            if (!async) {
+                this.router.exit();
+            }
+        }
+    }
+
+    private void forward(String owner, HttpServletRequest request, HttpServletResponse response) throws IOException {
+        byte[] body = request.getInputStream().readAllBytes();
+        Map<String, String> headers = new LinkedHashMap<>();
+        for (String name : FORWARDED_HEADERS) {
+            String value = request.getHeader(name);
+            if (value != null) {
+                headers.put(name, value);
+            }
+        }
+        String pathAndQuery = request.getRequestURI() + (request.getQueryString() == null ? "" : "?" + request.getQueryString());
+
+        AsyncContext context = request.startAsync();
+        context.setTimeout(0); // 클라이언트의 timeout 으로 끝남
+        this.client.forward(owner, request.getMethod(), pathAndQuery, headers, body)
+                .whenComplete((forwarded, error) -> {
+                    try {
+                        if (error != null) {
+                            log.warn("샤드 요청 전달에 실패했습니다. owner={}, path={}", owner, pathAndQuery, error);
+                            write(response, HttpStatus.BAD_GATEWAY, "샤드 인스턴스에 연결할 수 없습니다.");
+                        } else {
+                            copy(forwarded, response);
+                        }
+                    } catch (IOException e) {
+                        log.warn("샤드 응답을 쓰지 못했습니다. path={}", pathAndQuery, e);
+                    } finally {
+                        context.complete();
+                    }
+                });
+    }
+
+    // 길이를 아는 응답만 Content-Length 를 옮기고, 나머지는 읽은 만큼 바로 내보냄 (청크 전송)
+    private static void copy(HttpResponse<InputStream> forwarded, HttpServletResponse response) throws IOException {
+        response.setStatus(forwarded.statusCode());
+        forwarded.headers().firstValue(HttpHeaders.CONTENT_TYPE)
+                .ifPresent(contentType -> response.setHeader(HttpHeaders.CONTENT_TYPE, contentType));
+        forwarded.headers().firstValueAsLong(HttpHeaders.CONTENT_LENGTH)
+                .ifPresent(response::setContentLengthLong);
+
+        try (InputStream body = forwarded.body()) {
+            byte[] buffer = new byte[8192];
+            int read;
+            while ((read = body.read(buffer)) != -1) {
+                response.getOutputStream().write(buffer, 0, read);
+                response.flushBuffer();
+            }
+        }
+    }
+
+    private static void write(HttpServletResponse response, HttpStatus status, String message) throws IOException {
+        byte[] body = message.getBytes(StandardCharsets.UTF_8);
+        response.setStatus(status.value());
+        response.setContentType(MediaType.TEXT_PLAIN_VALUE + ";charset=UTF-8");
+        response.setContentLength(body.length);
+        response.getOutputStream().write(body);
+    }
+
+    private record ExitListener(PointShardRouter router) implements AsyncListener {
+
+        @Override
+        public void onComplete(AsyncEvent event) {
+            this.router.exit();
+        }
+
+        @Override
+        public void onTimeout(AsyncEvent event) {
+        }
+
+        @Override
+        public void onError(AsyncEvent event) {
+        }
+
+        @Override
+        public void onStartAsync(AsyncEvent event) {
+        }
+    }
+}
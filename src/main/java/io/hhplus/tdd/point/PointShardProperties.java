@@ -0,0 +1,37 @@
+package io.hhplus.tdd.point;
+
+import java.time.Duration;
+import java.util.List;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.boot.context.properties.bind.DefaultValue;
+
+/**
+ * 샤딩 설정 - 여러 인스턴스가 유저를 나눠 맡고, 어느 인스턴스로 들어온 요청이든 담당 인스턴스로 전달
+ * - enabled : 사용 여부, 사용하지 않으면 모든 유저를 이 인스턴스가 처리
+ * - self : 이 인스턴스의 주소 (다른 인스턴스가 요청을 전달할 때 쓰는 값, nodes 의 항목과 같은 형식)
+ * - nodes : 처음 링에 올릴 인스턴스 주소 목록, 비어 있으면 self 하나
+ *   self 가 없는 목록이면 기존 클러스터에 추가될 인스턴스로 보고, 추가(POST /shard/nodes)가 끝나기 전까지는 아무 유저도 맡지 않음
+ * - virtualNodes : 인스턴스마다 링에 두는 지점 수, 많을수록 유저가 고르게 나뉨
+ * - timeout : 다른 인스턴스로 전달한 요청의 응답을 기다리는 최대 시간
+ * - secret : 인스턴스끼리 주고받는 관리 요청(/shard/**)에 붙이는 공유 비밀 값, 비어 있으면 관리 요청을 모두 거절
+ */
+@ConfigurationProperties(prefix = "point.shard")
+public record PointShardProperties(
+        @DefaultValue("false") boolean enabled,
+        @DefaultValue("http://localhost:8080") String self,
+        @DefaultValue List<String> nodes,
+        @DefaultValue("128") int virtualNodes,
+        @DefaultValue("5s") Duration timeout,
+        @DefaultValue("") String secret
+) {
+
+    // 처음 링을 만들 인스턴스 목록 - 목록이 비어 있을 때만 self 하나
+    // 추가될 인스턴스가 자신을 먼저 링에 올리면, 기존 담당 인스턴스가 유저를 옮겨 주기 전에 빈 상태로 요청을 받게 됨
+    public List<String> initialNodes() {
+        if (this.nodes.isEmpty()) {
+            return List.of(this.self);
+        }
+        return this.nodes;
+    }
+}
@@ -0,0 +1,193 @@
+package io.hhplus.tdd.point;
+
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.locks.LockSupport;
+
+import org.springframework.stereotype.Component;
+
+import io.hhplus.tdd.infrastructure.ConsistentHashRing;
+import io.hhplus.tdd.infrastructure.PointOverloadException;
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * 유저를 담당하는 샤드 인스턴스를 정하고, 인스턴스가 추가되면 담당이 바뀐 유저를 옮깁니다. (point.shard.enabled=true 일 때)
+ * - 담당 인스턴스는 일관된 해시 링(ConsistentHashRing)으로 정합니다.
+ * - 재배치 중에는 새 요청을 받지 않고, 처리 중인 요청이 끝나기를 기다린 뒤 유저를 옮기고 새 링으로 바꿉니다.
+ * - 인스턴스 추가와 재배치는 각각 한 번에 하나만 진행하고, 진행 중에 들어온 요청은 기다리지 않고 503 으로 거절합니다.
+ *   다른 인스턴스 호출은 락 없이 하므로, 응답이 늦는 인스턴스가 있어도 조회(nodes)나 요청 처리는 막히지 않습니다.
+ * - 사용하지 않으면 모든 유저를 이 인스턴스가 담당합니다.
+ */
+@Slf4j
+@Component
+public class PointShardRouter {
+
+    public static final String REBALANCING_MESSAGE = "샤드 재배치 중입니다. 잠시 후 다시 시도해주세요.";
+
+    private static final long DRAIN_PARK_NANOS = TimeUnit.MICROSECONDS.toNanos(100);
+
+    private final PointShardProperties properties;
+    private final PointService pointService;
+    private final PointShardClient client;
+    private final AtomicInteger inflight = new AtomicInteger(); // 이 인스턴스에서 처리 중인 요청 수
+    private final AtomicBoolean joining = new AtomicBoolean(); // 이 인스턴스가 받은 인스턴스 추가를 진행 중
+    private final AtomicBoolean rebalancing = new AtomicBoolean(); // 새 링으로 바꾸기 위해 유저를 옮기는 중
+    private volatile ConsistentHashRing ring;
+
+    public PointShardRouter(PointShardProperties properties, PointService pointService, UserPointSnapshotStore snapshotStore,
+                            PointShardClient client) {
+        this.properties = properties;
+        this.pointService = pointService;
+        this.client = client;
+        if (properties.enabled()) {
+            snapshotStore.trackUserIds(); // 캐시에서 내보낸 유저도 재배치 때 옮길 수 있도록
+        }
+        this.ring = new ConsistentHashRing(properties.initialNodes(), properties.virtualNodes());
+    }
+
+    public boolean isEnabled() {
+        return this.properties.enabled();
+    }
+
+    public String self() {
+        return this.properties.self();
+    }
+
+    public List<String> nodes() {
+        return this.ring.nodes();
+    }
+
+    public String ownerOf(long userId) {
+        return this.isEnabled() ? this.ring.nodeOf(userId) : this.self();
+    }
+
+    public boolean isLocal(long userId) {
+        return this.ownerOf(userId).equals(this.self());
+    }
+
+    // 요청 처리 시작 - 재배치 중이면 false (이 경우 exit 를 호출하지 않음)
+    public boolean enter() {
+        if (this.rebalancing.get()) {
+            return false;
+        }
+        this.inflight.incrementAndGet();
+        if (this.rebalancing.get()) { // 재배치가 처리 중인 요청 수를 읽은 뒤에 들어온 요청
+            this.inflight.decrementAndGet();
+            return false;
+        }
+        return true;
+    }
+
+    public void exit() {
+        this.inflight.decrementAndGet();
+    }
+
+    // 일괄 처리 - 담당 인스턴스별로 나눠 이 인스턴스 몫은 직접, 나머지는 담당 인스턴스에 전달하고 결과를 요청 순서대로 합침
+    // 다른 인스턴스가 전달한 요청(forwarded)은 다시 전달하지 않고, 재배치로 담당이 바뀐 유저의 요청은 실패로 돌려줌
+    public List<PointOperationResult> applyAll(List<PointOperation> operations, boolean forwarded) {
+        Map<String, List<Integer>> indexesByNode = new LinkedHashMap<>();
+        for (int i = 0; i < operations.size(); i++) {
+            indexesByNode.computeIfAbsent(this.ownerOf(operations.get(i).userId()), key -> new ArrayList<>()).add(i);
+        }
+
+        PointOperationResult[] results = new PointOperationResult[operations.size()];
+        Map<List<Integer>, CompletableFuture<List<PointOperationResult>>> remote = new LinkedHashMap<>();
+        indexesByNode.forEach((node, indexes) -> {
+            List<PointOperation> part = indexes.stream().map(operations::get).toList();
+            if (node.equals(this.self())) {
+                fill(results, indexes, this.pointService.applyAll(part));
+            } else if (forwarded) {
+                indexes.forEach(i -> results[i] = PointOperationResult.failure(operations.get(i), REBALANCING_MESSAGE));
+            } else {
+                remote.put(indexes, this.client.bulk(node, part));
+            }
+        });
+
+        remote.forEach((indexes, future) -> {
+            try {
+                fill(results, indexes, future.join());
+            } catch (RuntimeException e) {
+                log.warn("샤드 일괄 처리 전달에 실패했습니다. operations={}", indexes.size(), e);
+                indexes.forEach(i -> results[i] = PointOperationResult.failure(operations.get(i), REBALANCING_MESSAGE));
+            }
+        });
+        return List.of(results);
+    }
+
+    // 인스턴스 추가 - 새 목록을 기존 인스턴스에 하나씩 알려 옮길 유저를 모두 옮기게 한 뒤, 마지막으로 새 인스턴스에 알림
+    // 새 인스턴스는 모든 유저를 옮겨 받은 뒤에야 새 링으로 바꾸므로, 옮겨 오는 중인 유저를 빈 상태로 처리하지 않음
+    // (그 사이 새 인스턴스로 온 요청은 이전 담당 인스턴스로 전달되고, 이미 옮긴 유저면 503 으로 거절됨)
+    public List<String> join(String node) {
+        if (!this.joining.compareAndSet(false, true)) {
+            throw new PointOverloadException(PointOverloadException.Reason.OVERLOADED, REBALANCING_MESSAGE);
+        }
+
+        try {
+            ConsistentHashRing current = this.ring;
+            if (current.contains(node)) {
+                return current.nodes();
+            }
+
+            List<String> nodes = current.with(node).nodes();
+            List<String> targets = new ArrayList<>(nodes);
+            targets.remove(node);
+            targets.add(node);
+            for (String target : targets) {
+                if (target.equals(this.self())) {
+                    this.rebalance(nodes);
+                } else {
+                    this.client.ring(target, nodes);
+                }
+            }
+            return nodes;
+        } finally {
+            this.joining.set(false);
+        }
+    }
+
+    // 새 링으로 바꾸기 전에, 이 인스턴스가 가진 유저 중 담당이 바뀌는 유저를 새 담당 인스턴스로 옮김
+    // 옮긴 유저의 상태는 이 인스턴스에 남지만, 새 링에서는 요청이 오지 않음 (다시 돌아오면 옮겨 온 상태로 덮어씀)
+    // 옮길 유저는 잔액을 가진 유저와 내역을 가진 유저 모두 (PointService.localUserIds)
+    public int rebalance(List<String> nodes) {
+        ConsistentHashRing next = new ConsistentHashRing(nodes, this.properties.virtualNodes());
+        if (!this.rebalancing.compareAndSet(false, true)) {
+            throw new PointOverloadException(PointOverloadException.Reason.OVERLOADED, REBALANCING_MESSAGE);
+        }
+
+        long start = System.nanoTime();
+        try {
+            while (this.inflight.get() > 0) {
+                LockSupport.parkNanos(DRAIN_PARK_NANOS);
+            }
+
+            Map<String, List<PointShardUser>> moving = new LinkedHashMap<>();
+            for (long userId : this.pointService.localUserIds()) {
+                String owner = next.nodeOf(userId);
+                if (this.isLocal(userId) && !owner.equals(this.self())) {
+                    moving.computeIfAbsent(owner, key -> new ArrayList<>()).add(this.pointService.export(userId));
+                }
+            }
+            moving.forEach(this.client::importUsers);
+
+            this.ring = next;
+            int moved = moving.values().stream().mapToInt(List::size).sum();
+            log.info("샤드 재배치 완료. nodes={}, movedUsers={}, elapsedMillis={}", nodes, moved,
+                    (System.nanoTime() - start) / 1_000_000);
+            return moved;
+        } finally {
+            this.rebalancing.set(false);
+        }
+    }
+
+    private static void fill(PointOperationResult[] results, List<Integer> indexes, List<PointOperationResult> part) {
+        for (int i = 0; i < indexes.size(); i++) {
+            results[indexes.get(i)] = part.get(i);
+        }
+    }
+}
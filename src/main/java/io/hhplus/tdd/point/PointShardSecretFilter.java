@@ -0,0 +1,55 @@
+package io.hhplus.tdd.point;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+
+import org.springframework.http.HttpMethod;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.web.filter.OncePerRequestFilter;
+
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+
+/**
+ * 샤드 관리 요청(/shard/**) 중 상태를 바꾸는 요청은 인스턴스끼리 공유하는 비밀 값(SECRET_HEADER)이 맞을 때만 처리합니다.
+ * - 인스턴스 추가, 링 교체, 유저 가져오기는 잔액을 덮어쓸 수 있으므로 외부에서 호출할 수 없어야 합니다.
+ * - 비밀 값(point.shard.secret)을 설정하지 않으면 모두 거절합니다.
+ * - 조회(GET)는 그대로 처리합니다.
+ */
+public class PointShardSecretFilter extends OncePerRequestFilter {
+
+    public static final String SECRET_HEADER = "X-Point-Cluster-Secret";
+
+    private final byte[] secret;
+
+    public PointShardSecretFilter(String secret) {
+        this.secret = (secret == null) ? new byte[0] : secret.getBytes(StandardCharsets.UTF_8);
+    }
+
+    @Override
+    protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain chain)
+            throws ServletException, IOException {
+        if (HttpMethod.GET.matches(request.getMethod()) || this.matches(request.getHeader(SECRET_HEADER))) {
+            chain.doFilter(request, response);
+            return;
+        }
+
+        byte[] body = "Check Cluster Secret.".getBytes(StandardCharsets.UTF_8);
+        response.setStatus(HttpStatus.FORBIDDEN.value());
+        response.setContentType(MediaType.TEXT_PLAIN_VALUE + ";charset=UTF-8");
+        response.setContentLength(body.length);
+        response.getOutputStream().write(body);
+    }
+
+    // 비교에 걸린 시간으로 값을 한 글자씩 알아낼 수 없도록 MessageDigest.isEqual 로 비교
+    private boolean matches(String value) {
+        if (this.secret.length == 0 || value == null) {
+            return false;
+        }
+        return MessageDigest.isEqual(this.secret, value.getBytes(StandardCharsets.UTF_8));
+    }
+}
@@ -0,0 +1,12 @@
+package io.hhplus.tdd.point;
+
+import java.util.List;
+
+/**
+ * 샤드 재배치 때 다른 노드로 옮기는 유저 1명의 상태 - 잔액과 전체 내역
+ */
+public record PointShardUser(
+        UserPoint point,
+        List<PointHistory> histories
+) {
+}
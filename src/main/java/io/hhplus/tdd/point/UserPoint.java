@@ -11,34 +11,44 @@ public record UserPoint(
     }
     
     public UserPoint rechargePoint(Long amount) {
+    	return new UserPoint(this.id, charged(this.point, amount), System.currentTimeMillis());
+    }
+    
+    public Long getPoint() {
+    	return this.point;
+    }
+    
+    public UserPoint usePoint(Long amount) {
+    	return new UserPoint(this.id, used(this.point, amount), System.currentTimeMillis());
+    }
+    
+    // 충전 후 잔액 - 객체를 만들지 않고 검증만 필요한 곳(UserBalanceStore)과 규칙을 공유
+    public static long charged(long point, long amount) {
     	if (amount < 0) {
     		throw new IllegalArgumentException("충전 시, amount는 음수일 수 없습니다. 사용 함수를 사용해주시기 바랍니다.");
     	}
     	
-    	Long charger = this.point + amount;
+    	long charger = point + amount;
     	
     	if (charger >= 1000000) {
     		throw new IllegalArgumentException("최대 저장 가능한 포인트가 넘었습니다.");
     	}
     	
-    	return new UserPoint(this.id, charger, System.currentTimeMillis());
+    	return charger;
     }
     
-    public Long getPoint() {
-    	return this.point;
-    }
-    
-    public UserPoint usePoint(Long amount) {
+    // 사용 후 잔액
+    public static long used(long point, long amount) {
     	if (amount < 0) {
     		throw new IllegalArgumentException("사용 시, amount는 음수일 수 없습니다. 충전 함수를 사용해주시기 바랍니다.");
     	}
     	
-    	Long remains = this.point - amount;
+    	long remains = point - amount;
     	
     	if (remains < 0) {
     		throw new IllegalArgumentException("잔여 포인트가 부족합니다.");
     	}
     	
-    	return new UserPoint(this.id, remains, System.currentTimeMillis());
+    	return remains;
     }
 }
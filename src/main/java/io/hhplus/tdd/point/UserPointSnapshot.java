@@ -0,0 +1,29 @@
+package io.hhplus.tdd.point;
+
+import java.util.List;
+
+/**
+ * 쓰기가 완료된 시점의 유저 포인트/내역 스냅샷
+ * - 불변 객체로만 구성되며, version 은 쓰기가 반영될 때마다 1씩 증가합니다.
+ * - histories 는 PointHistoryRepository 가 돌려준 해당 시점의 불변 뷰입니다.
+ */
+public record UserPointSnapshot(
+        UserPoint point,
+        List<PointHistory> histories,
+        long version
+) {
+
+    // 테이블에서 읽어온 최초 상태
+    public static UserPointSnapshot loaded(UserPoint point, List<PointHistory> histories) {
+        return new UserPointSnapshot(point, histories, 0);
+    }
+
+    public UserPointSnapshot next(UserPoint point, List<PointHistory> histories) {
+        return this.advance(point, histories, 1);
+    }
+
+    // 여러 건의 쓰기를 한 번에 반영
+    public UserPointSnapshot advance(UserPoint point, List<PointHistory> histories, int writes) {
+        return new UserPointSnapshot(point, histories, this.version + writes);
+    }
+}
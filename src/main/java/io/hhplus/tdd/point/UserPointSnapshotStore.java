@@ -0,0 +1,170 @@
+package io.hhplus.tdd.point;
+
+import java.util.HashSet;
+import java.util.Iterator;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.concurrent.locks.ReentrantLock;
+
+import org.springframework.stereotype.Component;
+
+import io.hhplus.tdd.database.PointWriteBehindQueue;
+import io.hhplus.tdd.database.UserBalanceStore;
+
+/**
+ * 유저별로 마지막으로 커밋된 스냅샷을 보관하는 캐시입니다.
+ * - 포인트의 기준 상태이며, 테이블에는 PointWriteBehindQueue 를 통해 나중에 반영됩니다.
+ * - 조회는 락 없이 최신 스냅샷을 읽으므로 쓰기 작업을 기다리지 않습니다.
+ * - 발행(publish)은 해당 유저의 락을 잡은 상태에서만 호출되어야 합니다.
+ * - maxSize 를 넘으면 CLOCK(second-chance) 방식으로 최근에 읽히지 않은 유저부터 내보냅니다.
+ *   테이블에 아직 반영되지 않은 유저는 내보내지 않으므로, 다시 읽어올 때 이전 잔액을 보는 일이 없습니다.
+ * - 시작 시 복구한 잔액은 캐시에 올리지 않고 원시 타입 저장소로 따로 보관했다가, 유저를 처음 읽을 때 한 번만 꺼내 씁니다.
+ * - 샤딩을 사용하면(trackUserIds) 잔액이 0 이 아닌 적이 있는 유저 id 를 캐시에서 내보낸 뒤에도 기억해 둡니다. (샤드 재배치 시 옮길 유저를 찾을 때 사용)
+ *   유저 수만큼 늘어나므로 샤딩을 사용하지 않으면 기억하지 않고, 캐시는 maxSize 안에서만 유지됩니다.
+ */
+@Component
+public class UserPointSnapshotStore {
+
+    private static final long CONSUMED = -1L;
+
+    private final ConcurrentHashMap<Long, Entry> snapshots = new ConcurrentHashMap<>();
+    private volatile Set<Long> balanceUserIds; // 샤딩 사용 시 잔액이 0 이 아닌 스냅샷을 발행한 적 있는 유저
+    private final ReentrantLock evictionLock = new ReentrantLock();
+
+    private final PointCacheProperties properties;
+    private final PointWriteBehindQueue writeBehindQueue;
+
+    private final LongAdder hits = new LongAdder();
+    private final LongAdder misses = new LongAdder();
+    private final LongAdder evictions = new LongAdder();
+
+    private volatile UserBalanceStore recovered; // 복구한 유저별 마지막 잔액, 꺼낸 유저는 잔액을 CONSUMED 로 표시
+
+    public UserPointSnapshotStore(PointCacheProperties properties, PointWriteBehindQueue writeBehindQueue) {
+        this.properties = properties;
+        this.writeBehindQueue = writeBehindQueue;
+    }
+
+    public Optional<UserPointSnapshot> find(long userId) {
+        Entry entry = this.snapshots.get(userId);
+        if (entry == null) {
+            this.misses.increment();
+            return Optional.empty();
+        }
+
+        this.hits.increment();
+        if (!entry.referenced) {
+            entry.referenced = true;
+        }
+        return Optional.of(entry.snapshot);
+    }
+
+    // 주어진 스냅샷이 아직 해당 유저의 최신 스냅샷인지 - 객체 비교라 내보냈다가 다시 읽어온 같은 version 과도 구분됨 (조회 통계에 넣지 않음)
+    public boolean isCurrent(long userId, UserPointSnapshot snapshot) {
+        Entry entry = this.snapshots.get(userId);
+        return entry != null && entry.snapshot == snapshot;
+    }
+
+    public void publish(long userId, UserPointSnapshot snapshot) {
+        this.snapshots.put(userId, new Entry(snapshot));
+        Set<Long> userIds = this.balanceUserIds;
+        if (userIds != null && snapshot.point().point() != 0) {
+            userIds.add(userId);
+        }
+        if (this.snapshots.size() > this.properties.maxSize()) {
+            this.evict();
+        }
+    }
+
+    // 시작 시 복구한 잔액 보관 (요청을 받기 전에만 호출)
+    public void restore(UserBalanceStore balances) {
+        this.recovered = balances;
+    }
+
+    // 복구한 뒤 아직 꺼내지 않은 잔액 (해당 유저의 락을 잡은 상태에서만 호출)
+    public Optional<UserPoint> recovered(long userId) {
+        UserBalanceStore balances = this.recovered;
+        if (balances == null || userId < 0 || !balances.contains(userId) || balances.balance(userId) == CONSUMED) {
+            return Optional.empty();
+        }
+        return Optional.of(balances.find(userId));
+    }
+
+    // 꺼낸 잔액은 이후 테이블이 기준이므로 다시 꺼내지 않도록 표시 (해당 유저의 락을 잡은 상태에서만 호출)
+    public void consumeRecovered(long userId) {
+        UserBalanceStore balances = this.recovered;
+        if (balances != null) {
+            balances.put(userId, CONSUMED, 0);
+        }
+    }
+
+    // 잔액을 가진 유저 id 를 기억하기 시작 (샤딩을 사용할 때 요청을 받기 전에만 호출)
+    public void trackUserIds() {
+        if (this.balanceUserIds == null) {
+            this.balanceUserIds = ConcurrentHashMap.newKeySet();
+        }
+    }
+
+    // 이 노드가 잔액을 가진 유저 id - 캐시에 있는 유저, 기억해 둔 유저(trackUserIds), 복구한 뒤 아직 꺼내지 않은 유저
+    public Set<Long> userIds() {
+        Set<Long> userIds = new HashSet<>(this.snapshots.keySet());
+        Set<Long> tracked = this.balanceUserIds;
+        if (tracked != null) {
+            userIds.addAll(tracked);
+        }
+        UserBalanceStore balances = this.recovered;
+        if (balances != null) {
+            balances.forEach((id, balance, updateMillis) -> {
+                if (balance != CONSUMED) {
+                    userIds.add(id);
+                }
+            });
+        }
+        return userIds;
+    }
+
+    public PointCacheStats stats() {
+        return new PointCacheStats(this.hits.sum(), this.misses.sum(), this.evictions.sum(), this.snapshots.size());
+    }
+
+    // 한 번에 한 스레드만 내보내고, 나머지 스레드는 기다리지 않고 지나감
+    private void evict() {
+        if (!this.evictionLock.tryLock()) {
+            return;
+        }
+
+        try {
+            // 최근에 읽힌 유저는 한 바퀴 유예, 두 바퀴를 돌아도 줄지 않으면 (모두 미반영 상태) 다음 기회로 넘김
+            for (int round = 0; round < 2 && this.snapshots.size() > this.properties.maxSize(); round++) {
+                Iterator<Map.Entry<Long, Entry>> iterator = this.snapshots.entrySet().iterator();
+                while (iterator.hasNext() && this.snapshots.size() > this.properties.maxSize()) {
+                    Map.Entry<Long, Entry> candidate = iterator.next();
+                    Entry entry = candidate.getValue();
+                    if (entry.referenced) {
+                        entry.referenced = false;
+                        continue;
+                    }
+
+                    if (!this.writeBehindQueue.isPending(candidate.getKey())
+                            && this.snapshots.remove(candidate.getKey(), entry)) {
+                        this.evictions.increment();
+                    }
+                }
+            }
+        } finally {
+            this.evictionLock.unlock();
+        }
+    }
+
+    private static final class Entry {
+        private final UserPointSnapshot snapshot;
+        private volatile boolean referenced;
+
+        private Entry(UserPointSnapshot snapshot) {
+            this.snapshot = snapshot;
+        }
+    }
+}
@@ -0,0 +1,66 @@
+package io.hhplus.tdd;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.TimeUnit;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.context.ConfigurableApplicationContext;
+
+import io.hhplus.tdd.infrastructure.PointReactiveServer;
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * Tomcat 스레드 10개인 서블릿 API(/point)와 이벤트 루프 2개인 WebFlux API(/reactive/point)에
+ * 테이블 지연(selectById)이 걸리는 요청을 동시에 보내 처리 시간을 비교합니다.
+ */
+@Slf4j
+class ReactiveLoadTest {
+
+    private static final int REQUESTS = 200;
+
+    @Test
+    void 이벤트_루프_2개로_서블릿_스레드_10개보다_많은_요청을_동시에_처리한다() throws Exception {
+        try (ConfigurableApplicationContext context = new SpringApplicationBuilder(TddApplication.class)
+                .run(
+                        "--server.port=0",
+                        "--server.tomcat.threads.max=10",
+                        "--point.reactive.enabled=true",
+                        "--point.reactive.port=0",
+                        "--point.reactive.event-loop-threads=2",
+                        "--point.reactive.blocking-threads=" + REQUESTS)) {
+            int servletPort = context.getEnvironment().getRequiredProperty("local.server.port", Integer.class);
+            int reactivePort = context.getBean(PointReactiveServer.class).port();
+
+            // 매번 새로운 유저라 캐시를 거치지 않고 selectById 지연을 겪음
+            long servletMillis = this.run("http://localhost:" + servletPort + "/point/", 1);
+            long reactiveMillis = this.run("http://localhost:" + reactivePort + "/reactive/point/", REQUESTS + 1);
+
+            log.info("동시 요청 {}건 처리 시간 - servlet: {}ms, reactive: {}ms", REQUESTS, servletMillis, reactiveMillis);
+            assertThat(reactiveMillis).isLessThan(servletMillis / 2);
+        }
+    }
+
+    private long run(String baseUrl, long firstUserId) throws Exception {
+        HttpClient client = HttpClient.newHttpClient();
+
+        long start = System.nanoTime();
+        List<CompletableFuture<HttpResponse<String>>> responses = new ArrayList<>();
+        for (int i = 0; i < REQUESTS; i++) {
+            HttpRequest request = HttpRequest.newBuilder(URI.create(baseUrl + (firstUserId + i))).GET().build();
+            responses.add(client.sendAsync(request, HttpResponse.BodyHandlers.ofString()));
+        }
+        for (CompletableFuture<HttpResponse<String>> response : responses) {
+            assertThat(response.get(30, TimeUnit.SECONDS).statusCode()).isEqualTo(200);
+        }
+        return TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - start);
+    }
+}
@@ -0,0 +1,189 @@
+package io.hhplus.tdd;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.io.IOException;
+import java.net.ServerSocket;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.context.ConfigurableApplicationContext;
+
+import io.hhplus.tdd.point.PointShardClient;
+import io.hhplus.tdd.point.PointShardSecretFilter;
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * 한 JVM 에서 샤드 인스턴스 여러 개를 localhost 포트로 띄워
+ * 어느 인스턴스로 보낸 요청이든 담당 인스턴스에서 처리되는지, 인스턴스 추가 후에도 잔액이 유지되는지,
+ * 인스턴스 수에 따라 처리량이 늘어나는지 확인합니다. (인스턴스마다 Tomcat 스레드 10개)
+ */
+@Slf4j
+class ShardLoadTest {
+
+    private static final int USERS = 60;
+    private static final int REQUESTS = 300;
+    private static final int JOIN_USERS = 20; // 인스턴스 추가 중에 충전하는 유저 (USERS 다음 id)
+    private static final String SECRET = "shard-load-test";
+
+    private final HttpClient client = HttpClient.newHttpClient();
+    private final List<ConfigurableApplicationContext> contexts = new ArrayList<>();
+
+    @AfterEach
+    void tearDown() {
+        this.contexts.forEach(ConfigurableApplicationContext::close);
+    }
+
+    @Test
+    void 어느_인스턴스로_보내도_담당_인스턴스가_처리하고_인스턴스를_추가해도_잔액이_유지된다() throws Exception {
+        List<String> nodes = nodes(3);
+        this.start(nodes.get(0), nodes.subList(0, 2));
+        this.start(nodes.get(1), nodes.subList(0, 2));
+
+        // 유저마다 두 인스턴스에 번갈아 충전
+        for (long userId = 1; userId <= USERS; userId++) {
+            for (int i = 0; i < 2; i++) {
+                assertThat(this.send(nodes.get(i), "PATCH", "/point/" + userId + "/charge", "100").statusCode())
+                        .isEqualTo(200);
+            }
+        }
+        // 리액티브 API 도 담당 인스턴스에서 처리
+        for (int i = 0; i < 2; i++) {
+            assertThat(this.send(nodes.get(i), "PATCH", "/reactive/point/3/charge", "100").statusCode()).isEqualTo(200);
+        }
+        String bulk = "[{\"userId\":1,\"type\":\"USE\",\"amount\":50},{\"userId\":2,\"type\":\"CHARGE\",\"amount\":50}]";
+        assertThat(this.send(nodes.get(0), "POST", "/point/bulk", bulk).body()).doesNotContain("\"success\":false");
+
+        // when - 세 번째 인스턴스를 기존 목록으로 띄우고 첫 번째 인스턴스에 추가 요청 (공유 비밀 값이 없으면 거절)
+        this.start(nodes.get(2), nodes.subList(0, 2));
+        assertThat(this.send(nodes.get(0), "POST", "/shard/nodes", nodes.get(2)).statusCode()).isEqualTo(403);
+        assertThat(this.send(nodes.get(0), "PUT", "/shard/users", "[]").statusCode()).isEqualTo(403);
+        HttpRequest join = HttpRequest.newBuilder(URI.create(nodes.get(0) + "/shard/nodes"))
+                .header(PointShardSecretFilter.SECRET_HEADER, SECRET)
+                .POST(HttpRequest.BodyPublishers.ofString(nodes.get(2)))
+                .build();
+        // 추가하는 동안에도 모든 인스턴스에 충전을 보내고, 성공(200)한 충전만 셈
+        long[] charged = new long[JOIN_USERS];
+        AtomicBoolean joining = new AtomicBoolean(true);
+        CompletableFuture<Void> writer = CompletableFuture.runAsync(() -> {
+            for (int i = 0; joining.get(); i++) {
+                int user = i % JOIN_USERS;
+                if (this.charge(nodes.get(i % nodes.size()), USERS + 1 + user) == 200) {
+                    charged[user]++;
+                }
+            }
+        });
+        HttpResponse<String> joined = this.client.send(join, HttpResponse.BodyHandlers.ofString());
+        joining.set(false);
+        writer.get(30, TimeUnit.SECONDS);
+        assertThat(joined.statusCode()).isEqualTo(200);
+
+        // then - 모든 인스턴스에서 같은 잔액을 돌려주고, 약 1/3 의 유저를 새 인스턴스가 담당
+        for (String node : nodes) {
+            for (long userId = 1; userId <= USERS; userId++) {
+                long expected = userId == 1 ? 150 : userId == 2 ? 250 : userId == 3 ? 400 : 200;
+                assertThat(this.send(node, "GET", "/point/" + userId, null).body())
+                        .contains("\"point\":" + expected + ",");
+            }
+        }
+        // 추가 중에 성공한 충전은 하나도 잃지 않음
+        for (String node : nodes) {
+            for (int user = 0; user < JOIN_USERS; user++) {
+                assertThat(this.send(node, "GET", "/point/" + (USERS + 1 + user), null).body())
+                        .contains("\"point\":" + charged[user] + ",");
+            }
+        }
+        int owned = 0;
+        for (long userId = 1; userId <= USERS; userId++) {
+            HttpRequest request = HttpRequest.newBuilder(URI.create(nodes.get(2) + "/point/" + userId))
+                    .header(PointShardClient.FORWARDED_HEADER, "test")
+                    .GET()
+                    .build();
+            if (this.client.send(request, HttpResponse.BodyHandlers.ofString()).statusCode() == 200) {
+                owned++;
+            }
+        }
+        log.info("인스턴스 추가 후 새 인스턴스가 담당하는 유저 {}/{}", owned, USERS);
+        assertThat(owned).isBetween(USERS / 6, USERS / 2);
+    }
+
+    @Test
+    void 인스턴스_수가_늘면_처리량이_늘어난다() throws Exception {
+        List<String> single = nodes(1);
+        this.start(single.get(0), single);
+        List<String> sharded = nodes(3);
+        for (String node : sharded) {
+            this.start(node, sharded);
+        }
+
+        // 매번 새로운 유저라 캐시를 거치지 않고 selectById 지연을 겪음, 요청은 인스턴스에 번갈아 보냄
+        long singleMillis = this.run(single, 1);
+        long shardedMillis = this.run(sharded, REQUESTS + 1);
+
+        log.info("동시 요청 {}건 처리 시간 - 1 instance: {}ms, 3 instances: {}ms", REQUESTS, singleMillis, shardedMillis);
+        assertThat(shardedMillis).isLessThan(singleMillis * 2 / 3);
+    }
+
+    private long run(List<String> nodes, long firstUserId) throws Exception {
+        long start = System.nanoTime();
+        List<CompletableFuture<HttpResponse<String>>> responses = new ArrayList<>();
+        for (int i = 0; i < REQUESTS; i++) {
+            HttpRequest request = HttpRequest.newBuilder(
+                    URI.create(nodes.get(i % nodes.size()) + "/point/" + (firstUserId + i))).GET().build();
+            responses.add(this.client.sendAsync(request, HttpResponse.BodyHandlers.ofString()));
+        }
+        for (CompletableFuture<HttpResponse<String>> response : responses) {
+            assertThat(response.get(30, TimeUnit.SECONDS).statusCode()).isEqualTo(200);
+        }
+        return TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - start);
+    }
+
+    private void start(String self, List<String> nodes) {
+        this.contexts.add(new SpringApplicationBuilder(TddApplication.class)
+                .run(
+                        "--server.port=" + URI.create(self).getPort(),
+                        "--server.tomcat.threads.max=10",
+                        "--point.shard.enabled=true",
+                        "--point.shard.self=" + self,
+                        "--point.shard.secret=" + SECRET,
+                        "--point.shard.nodes=" + String.join(",", nodes)));
+    }
+
+    private int charge(String node, long userId) {
+        try {
+            return this.send(node, "PATCH", "/point/" + userId + "/charge", "1").statusCode();
+        } catch (Exception e) {
+            throw new IllegalStateException(e);
+        }
+    }
+
+    private HttpResponse<String> send(String node, String method, String path, String body) throws Exception {
+        HttpRequest request = HttpRequest.newBuilder(URI.create(node + path))
+                .header("Content-Type", "application/json")
+                .method(method, body == null
+                        ? HttpRequest.BodyPublishers.noBody()
+                        : HttpRequest.BodyPublishers.ofString(body))
+                .build();
+        return this.client.send(request, HttpResponse.BodyHandlers.ofString());
+    }
+
+    private static List<String> nodes(int count) throws IOException {
+        List<String> nodes = new ArrayList<>();
+        for (int i = 0; i < count; i++) {
+            try (ServerSocket socket = new ServerSocket(0)) {
+                nodes.add("http://localhost:" + socket.getLocalPort());
+            }
+        }
+        return nodes;
+    }
+}
@@ -0,0 +1,64 @@
+package io.hhplus.tdd;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.TimeUnit;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.condition.EnabledForJreRange;
+import org.junit.jupiter.api.condition.JRE;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.context.ConfigurableApplicationContext;
+
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * Tomcat 스레드를 10개로 제한한 상태에서 테이블 지연(selectById)이 걸리는 요청을 동시에 보내
+ * 플랫폼 스레드와 가상 스레드의 동시 처리량을 비교합니다. (가상 스레드는 Java 21 이상 필요)
+ */
+@Slf4j
+@EnabledForJreRange(min = JRE.JAVA_21)
+class VirtualThreadLoadTest {
+
+    private static final int REQUESTS = 200;
+
+    @Test
+    void 가상_스레드_모드는_서블릿_스레드_수보다_많은_요청을_동시에_처리한다() throws Exception {
+        long platformMillis = this.run(false);
+        long virtualMillis = this.run(true);
+
+        log.info("동시 요청 {}건 처리 시간 - platform: {}ms, virtual: {}ms", REQUESTS, platformMillis, virtualMillis);
+        assertThat(virtualMillis).isLessThan(platformMillis / 2);
+    }
+
+    private long run(boolean virtual) throws Exception {
+        try (ConfigurableApplicationContext context = new SpringApplicationBuilder(TddApplication.class)
+                .properties(
+                        "server.port=0",
+                        "server.tomcat.threads.max=10",
+                        "spring.threads.virtual.enabled=" + virtual)
+                .run()) {
+            int port = context.getEnvironment().getRequiredProperty("local.server.port", Integer.class);
+            HttpClient client = HttpClient.newHttpClient();
+
+            long start = System.nanoTime();
+            List<CompletableFuture<HttpResponse<String>>> responses = new ArrayList<>();
+            for (int i = 0; i < REQUESTS; i++) {
+                // 매번 새로운 유저라 캐시를 거치지 않고 selectById 지연을 겪음
+                HttpRequest request = HttpRequest.newBuilder(URI.create("http://localhost:" + port + "/point/" + (i + 1))).GET().build();
+                responses.add(client.sendAsync(request, HttpResponse.BodyHandlers.ofString()));
+            }
+            for (CompletableFuture<HttpResponse<String>> response : responses) {
+                assertThat(response.get(30, TimeUnit.SECONDS).statusCode()).isEqualTo(200);
+            }
+            return TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - start);
+        }
+    }
+}
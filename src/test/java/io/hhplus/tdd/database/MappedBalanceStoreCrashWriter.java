@@ -0,0 +1,29 @@
+package io.hhplus.tdd.database;
+
+import java.nio.file.Path;
+
+import io.hhplus.tdd.point.UserPoint;
+
+/**
+ * MappedBalanceStoreUnitTests 의 강제 종료 테스트에서 별도 프로세스로 실행하는 작성자
+ * - 모든 유저의 잔액을 round 값으로 순서대로 덮어쓰기를 반복합니다.
+ * - 첫 바퀴를 마치면 "ready" 를 출력합니다.
+ */
+public class MappedBalanceStoreCrashWriter {
+
+    public static void main(String[] args) {
+        Path path = Path.of(args[0]);
+        int users = Integer.parseInt(args[1]);
+
+        MappedBalanceStore store = new MappedBalanceStore(path, users);
+        for (long round = 1; ; round++) {
+            for (long id = 0; id < users; id++) {
+                store.save(new UserPoint(id, round, round));
+            }
+            if (round == 1) {
+                System.out.println("ready");
+                System.out.flush();
+            }
+        }
+    }
+}
@@ -0,0 +1,184 @@
+package io.hhplus.tdd.database;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.io.BufferedReader;
+import java.io.File;
+import java.io.InputStreamReader;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.Optional;
+import java.util.concurrent.TimeUnit;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import io.hhplus.tdd.infrastructure.PointOverloadException;
+import io.hhplus.tdd.point.UserPoint;
+
+public class MappedBalanceStoreUnitTests {
+
+    @TempDir
+    private Path dir;
+
+    @Test
+    public void 저장한_잔액은_다시_열어도_그대로_읽힌다() {
+        // given
+        Path file = this.dir.resolve("balances.dat");
+        try (MappedBalanceStore store = new MappedBalanceStore(file, 1000)) {
+            store.save(new UserPoint(0L, 10L, 1L));
+            store.save(new UserPoint(999L, 20L, 2L));
+            store.save(new UserPoint(999L, 30L, 3L));
+        }
+
+        // when
+        try (MappedBalanceStore store = new MappedBalanceStore(file, 1000)) {
+            // then
+            assertEquals(Optional.of(new UserPoint(0L, 10L, 1L)), store.find(0L));
+            assertEquals(Optional.of(new UserPoint(999L, 30L, 3L)), store.find(999L));
+            assertEquals(Optional.empty(), store.find(500L));
+        }
+    }
+
+    @Test
+    public void 용량보다_큰_id_도_빈_슬롯을_찾아_저장한다() {
+        // given
+        Path file = this.dir.resolve("balances.dat");
+        try (MappedBalanceStore store = new MappedBalanceStore(file, 10)) {
+            store.save(new UserPoint(3L, 10L, 1L));
+            store.save(new UserPoint(13L, 20L, 2L)); // 기본 슬롯이 3번과 같음
+            store.save(new UserPoint(1_000_003L, 30L, 3L));
+        }
+
+        // when
+        try (MappedBalanceStore store = new MappedBalanceStore(file, 10)) {
+            // then
+            assertEquals(Optional.of(new UserPoint(3L, 10L, 1L)), store.find(3L));
+            assertEquals(Optional.of(new UserPoint(13L, 20L, 2L)), store.find(13L));
+            assertEquals(Optional.of(new UserPoint(1_000_003L, 30L, 3L)), store.find(1_000_003L));
+            assertEquals(Optional.empty(), store.find(23L));
+        }
+    }
+
+    @Test
+    public void 슬롯이_가득_차면_용량_초과로_거절한다() {
+        // given
+        Path file = this.dir.resolve("balances.dat");
+        try (MappedBalanceStore store = new MappedBalanceStore(file, 3)) {
+            for (long id = 0; id < 3; id++) {
+                store.save(new UserPoint(id, id, 1L));
+            }
+
+            // when & then
+            PointOverloadException e = assertThrows(PointOverloadException.class,
+                    () -> store.save(new UserPoint(3L, 1L, 1L)));
+            assertEquals(PointOverloadException.Reason.OVERLOADED, e.reason());
+            assertEquals(Optional.empty(), store.find(3L));
+            store.save(new UserPoint(2L, 5L, 2L)); // 이미 슬롯이 있는 유저는 계속 저장 가능
+            assertEquals(Optional.of(new UserPoint(2L, 5L, 2L)), store.find(2L));
+        }
+    }
+
+    @Test
+    public void 음수_id_나_크기가_다른_파일은_거절한다() {
+        // given
+        Path file = this.dir.resolve("balances.dat");
+        try (MappedBalanceStore store = new MappedBalanceStore(file, 10)) {
+            // when & then
+            assertThrows(IllegalArgumentException.class, () -> store.find(-1L));
+            assertThrows(IllegalArgumentException.class, () -> store.save(new UserPoint(-1L, 1L, 1L)));
+        }
+        assertThrows(IllegalStateException.class, () -> new MappedBalanceStore(file, 20));
+    }
+
+    @Test
+    public void 쓰다_만_슬롯은_직전_값으로_읽힌다() throws Exception {
+        // given - 두 번 저장해 첫 번째 벌(10)과 두 번째 벌(20)을 채운 뒤, 세 번째 저장이 첫 번째 벌을 덮어쓰다 멈춘 상황
+        Path file = this.dir.resolve("balances.dat");
+        try (MappedBalanceStore store = new MappedBalanceStore(file, 10)) {
+            store.save(new UserPoint(3L, 10L, 1L));
+            store.save(new UserPoint(3L, 20L, 2L));
+        }
+        long firstCopy = (3L + 1) * MappedBalanceStore.SLOT_BYTES;
+        try (FileChannel channel = FileChannel.open(file, StandardOpenOption.WRITE)) {
+            ByteBuffer torn = ByteBuffer.allocate(16).putLong(30L).putLong(3L).flip(); // 잔액, 시각까지만 기록됨
+            channel.write(torn, firstCopy);
+        }
+
+        // when
+        try (MappedBalanceStore store = new MappedBalanceStore(file, 10)) {
+            // then
+            assertEquals(Optional.of(new UserPoint(3L, 20L, 2L)), store.find(3L));
+            store.save(new UserPoint(3L, 40L, 4L));
+            assertEquals(Optional.of(new UserPoint(3L, 40L, 4L)), store.find(3L));
+        }
+    }
+
+    @Test
+    public void 수GB_파일도_1초_안에_다시_연다() {
+        // given - 5,000만 유저 (약 3.2GB, 희소 파일)
+        Path file = this.dir.resolve("balances.dat");
+        long users = 50_000_000L;
+        try (MappedBalanceStore store = new MappedBalanceStore(file, users)) {
+            store.save(new UserPoint(users - 1, 7L, 1L));
+        }
+
+        // when
+        long start = System.nanoTime();
+        Optional<UserPoint> found;
+        try (MappedBalanceStore store = new MappedBalanceStore(file, users)) {
+            found = store.find(users - 1);
+        }
+        long elapsed = TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - start);
+
+        // then
+        assertEquals(3_200_000_064L, file.toFile().length());
+        assertEquals(7L, found.orElseThrow().point());
+        assertThat(elapsed).isLessThan(1000);
+    }
+
+    @Test
+    public void 쓰는_도중_프로세스가_강제_종료되어도_모든_슬롯이_온전하다() throws Exception {
+        // given - 별도 프로세스가 유저 10만 명의 잔액을 round 값으로 계속 덮어씀
+        Path file = this.dir.resolve("balances.dat");
+        int users = 100_000;
+        String java = Path.of(System.getProperty("java.home"), "bin", "java").toString();
+        Process writer = new ProcessBuilder(java, "-cp", System.getProperty("java.class.path"),
+                MappedBalanceStoreCrashWriter.class.getName(), file.toString(), String.valueOf(users))
+                .redirectErrorStream(true)
+                .redirectInput(ProcessBuilder.Redirect.from(new File(System.getProperty("os.name").startsWith("Windows") ? "NUL" : "/dev/null")))
+                .start();
+
+        // when - 첫 바퀴 이후 임의 시점에 SIGKILL
+        try (BufferedReader output = new BufferedReader(new InputStreamReader(writer.getInputStream(), StandardCharsets.UTF_8))) {
+            assertEquals("ready", output.readLine());
+            TimeUnit.MILLISECONDS.sleep(300);
+            writer.destroyForcibly();
+            assertTrue(writer.waitFor(10, TimeUnit.SECONDS));
+        }
+
+        // then - 앞쪽 유저는 round, 뒤쪽 유저는 round - 1 이고 그 사이 경계는 한 곳뿐
+        try (MappedBalanceStore store = new MappedBalanceStore(file, users)) {
+            long first = store.find(0L).orElseThrow().point();
+            long boundaries = 0;
+            long previous = first;
+            for (long id = 0; id < users; id++) {
+                UserPoint point = store.find(id).orElseThrow();
+                assertEquals(point.point(), point.updateMillis());
+                assertThat(point.point()).isBetween(first - 1, first);
+                if (point.point() != previous) {
+                    boundaries++;
+                    previous = point.point();
+                }
+            }
+            assertThat(first).isPositive();
+            assertThat(boundaries).isLessThanOrEqualTo(1);
+        }
+    }
+}
@@ -0,0 +1,238 @@
+package io.hhplus.tdd.database;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import io.hhplus.tdd.point.PointHistory;
+import io.hhplus.tdd.point.PointHistoryQuery;
+import io.hhplus.tdd.point.TransactionType;
+
+@ExtendWith(MockitoExtension.class)
+public class PointHistoryRepositoryUnitTests {
+
+    @Mock
+    private PointHistoryTable pointHistoryTable;
+
+    @Test
+    public void 테이블은_유저당_최초_한_번만_조회한다() {
+        // given
+        when(this.pointHistoryTable.selectAllByUserId(1L)).thenReturn(List.of(
+                new PointHistory(10L, 1L, 100L, TransactionType.CHARGE, 1L)));
+        PointHistoryRepository repository = new PointHistoryRepository(this.pointHistoryTable);
+
+        // when
+        repository.findAllByUserId(1L);
+        PointHistory appended = repository.append(1L, 50L, TransactionType.USE, 2L);
+        List<PointHistory> histories = repository.findAllByUserId(1L);
+
+        // then - 새 내역의 id 는 테이블에서 읽은 id 이후부터 발급
+        verify(this.pointHistoryTable, times(1)).selectAllByUserId(1L);
+        assertEquals(11L, appended.id());
+        assertThat(histories).extracting(PointHistory::id).containsExactly(10L, 11L);
+    }
+
+    @Test
+    public void 조회_결과는_조회_시점의_불변_뷰다() {
+        // given
+        PointHistoryRepository repository = new PointHistoryRepository(this.pointHistoryTable);
+        repository.append(1L, 100L, TransactionType.CHARGE, 1L);
+
+        // when
+        List<PointHistory> before = repository.findAllByUserId(1L);
+        for (int i = 0; i < 100; i++) {
+            repository.append(1L, 1L, TransactionType.CHARGE, 2L);
+        }
+
+        // then
+        assertEquals(1, before.size());
+        assertEquals(101, repository.findAllByUserId(1L).size());
+    }
+
+    @Test
+    public void 커서와_건수로_페이지를_나눠_조회한다() {
+        // given
+        PointHistoryRepository repository = this.sample();
+
+        // when
+        List<PointHistory> first = repository.findByUserId(1L, new PointHistoryQuery(null, 4, null, null, null));
+        long cursor = first.get(first.size() - 1).id();
+        List<PointHistory> second = repository.findByUserId(1L, new PointHistoryQuery(cursor, 4, null, null, null));
+        List<PointHistory> last = repository.findByUserId(1L, new PointHistoryQuery(second.get(3).id(), 4, null, null, null));
+
+        // then
+        assertThat(first).extracting(PointHistory::updateMillis).containsExactly(100L, 200L, 300L, 400L);
+        assertThat(second).extracting(PointHistory::updateMillis).containsExactly(500L, 600L, 700L, 800L);
+        assertThat(last).extracting(PointHistory::updateMillis).containsExactly(900L, 1000L);
+    }
+
+    @Test
+    public void 기간과_종류로_걸러서_조회한다() {
+        // given
+        PointHistoryRepository repository = this.sample();
+
+        // when
+        List<PointHistory> ranged = repository.findByUserId(1L, new PointHistoryQuery(null, null, 300L, 700L, null));
+        List<PointHistory> used = repository.findByUserId(1L, new PointHistoryQuery(null, null, 300L, 700L, TransactionType.USE));
+        List<PointHistory> none = repository.findByUserId(1L, new PointHistoryQuery(null, null, 1001L, null, null));
+
+        // then
+        assertThat(ranged).extracting(PointHistory::updateMillis).containsExactly(300L, 400L, 500L, 600L, 700L);
+        assertThat(used).extracting(PointHistory::updateMillis).containsExactly(400L, 600L);
+        assertThat(none).isEmpty();
+    }
+
+    @Test
+    public void 커서와_기간과_종류를_함께_써서_나눠_조회한다() {
+        // given
+        PointHistoryRepository repository = this.sample();
+
+        // when
+        List<PointHistory> first = repository.findByUserId(1L, new PointHistoryQuery(null, 1, 300L, 700L, TransactionType.USE));
+        List<PointHistory> second = repository.findByUserId(1L, new PointHistoryQuery(first.get(0).id(), 1, 300L, 700L, TransactionType.USE));
+        List<PointHistory> last = repository.findByUserId(1L, new PointHistoryQuery(second.get(0).id(), 1, 300L, 700L, TransactionType.USE));
+
+        // then
+        assertThat(first).extracting(PointHistory::updateMillis).containsExactly(400L);
+        assertThat(second).extracting(PointHistory::updateMillis).containsExactly(600L);
+        assertThat(last).isEmpty();
+    }
+
+    @Test
+    public void 건수를_생략해도_조건이_있으면_최대_건수까지만_조회한다() {
+        // given
+        when(this.pointHistoryTable.selectAllByUserId(anyLong())).thenReturn(List.of());
+        PointHistoryRepository repository = new PointHistoryRepository(this.pointHistoryTable);
+        for (int i = 0; i < PointHistoryQuery.MAX_LIMIT + 500; i++) {
+            repository.append(1L, 1L, TransactionType.USE, i);
+        }
+
+        // when
+        List<PointHistory> used = repository.findByUserId(1L, new PointHistoryQuery(null, null, null, null, TransactionType.USE));
+        List<PointHistory> ranged = repository.findByUserId(1L, new PointHistoryQuery(null, null, 100L, null, null));
+
+        // then
+        assertEquals(PointHistoryQuery.MAX_LIMIT, used.size());
+        assertEquals(0L, used.get(0).updateMillis());
+        assertEquals(PointHistoryQuery.MAX_LIMIT, ranged.size());
+        assertEquals(100L, ranged.get(0).updateMillis());
+    }
+
+    @Test
+    public void 시계가_뒤로_가도_기간_조회에서_내역을_빠뜨리지_않는다() {
+        // given - 세 번째 내역부터 시계가 뒤로 감
+        when(this.pointHistoryTable.selectAllByUserId(anyLong())).thenReturn(List.of());
+        PointHistoryRepository repository = new PointHistoryRepository(this.pointHistoryTable);
+        for (long millis : new long[] {500L, 600L, 100L, 200L, 700L}) {
+            repository.append(1L, 10L, TransactionType.CHARGE, millis);
+        }
+
+        // when
+        List<PointHistory> ranged = repository.findByUserId(1L, new PointHistoryQuery(null, null, 150L, 650L, null));
+
+        // then
+        assertThat(ranged).extracting(PointHistory::updateMillis).containsExactly(500L, 600L, 200L);
+    }
+
+    @Test
+    public void 쓰는_도중에_읽어도_항상_온전한_내역을_본다() throws Exception {
+        // given
+        PointHistoryRepository repository = new PointHistoryRepository(this.pointHistoryTable);
+        int writes = 100_000;
+        AtomicBoolean done = new AtomicBoolean(false);
+        ExecutorService executor = Executors.newFixedThreadPool(2);
+
+        // when
+        Future<?> writer = executor.submit(() -> {
+            for (int i = 0; i < writes; i++) {
+                repository.append(1L, i, TransactionType.CHARGE, i);
+            }
+            done.set(true);
+        });
+        Future<Integer> reader = executor.submit(() -> {
+            int broken = 0;
+            while (!done.get()) {
+                List<PointHistory> histories = repository.findAllByUserId(1L);
+                for (int i = 0; i < histories.size(); i++) {
+                    PointHistory history = histories.get(i);
+                    if (history == null || history.amount() != i) {
+                        broken++;
+                    }
+                }
+            }
+            return broken;
+        });
+
+        writer.get(10, TimeUnit.SECONDS);
+        int broken = reader.get(10, TimeUnit.SECONDS);
+        executor.shutdown();
+
+        // then
+        assertEquals(0, broken);
+        assertEquals(writes, repository.findAllByUserId(1L).size());
+    }
+
+    @Test
+    public void 조회_비용은_전체_내역_수와_무관하다() {
+        // given
+        when(this.pointHistoryTable.selectAllByUserId(anyLong())).thenReturn(List.of());
+        PointHistoryRepository small = this.filled(10_000);
+        PointHistoryRepository large = this.filled(1_000_000);
+
+        // when
+        long smallNanos = this.measureLookups(small);
+        long largeNanos = this.measureLookups(large);
+
+        // then - 전체 스캔이라면 내역 수만큼(100배) 느려져야 하지만, 인덱스 조회는 같은 수준을 유지
+        assertEquals(1000, large.findAllByUserId(7L).size());
+        assertThat(largeNanos).isLessThan(Math.max(smallNanos, TimeUnit.MILLISECONDS.toNanos(5)) * 10);
+    }
+
+    // 유저 1 : 100ms 간격으로 충전/사용이 번갈아 10건, 유저 2 : 5건
+    private PointHistoryRepository sample() {
+        when(this.pointHistoryTable.selectAllByUserId(anyLong())).thenReturn(List.of());
+        PointHistoryRepository repository = new PointHistoryRepository(this.pointHistoryTable);
+        for (int i = 1; i <= 10; i++) {
+            repository.append(1L, i, (i % 2 == 1) ? TransactionType.CHARGE : TransactionType.USE, i * 100L);
+            if (i % 2 == 0) {
+                repository.append(2L, i, TransactionType.CHARGE, i * 100L);
+            }
+        }
+        return repository;
+    }
+
+    // 1,000명의 유저에게 내역을 골고루 채움
+    private PointHistoryRepository filled(int total) {
+        PointHistoryRepository repository = new PointHistoryRepository(this.pointHistoryTable);
+        for (int i = 0; i < total; i++) {
+            repository.append(i % 1000, 1L, TransactionType.CHARGE, i);
+        }
+        return repository;
+    }
+
+    private long measureLookups(PointHistoryRepository repository) {
+        long sink = 0;
+        long start = System.nanoTime();
+        for (int i = 0; i < 10_000; i++) {
+            sink += repository.findAllByUserId(i % 1000).size();
+        }
+        long elapsed = System.nanoTime() - start;
+        assertThat(sink).isPositive();
+        return elapsed;
+    }
+}
@@ -0,0 +1,198 @@
+package io.hhplus.tdd.database;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import io.hhplus.tdd.point.PointHistory;
+import io.hhplus.tdd.point.TransactionType;
+
+public class PointSnapshotterUnitTests {
+
+    @TempDir
+    private Path dir;
+
+    private PointTransactionLog open(Path file) {
+        return new PointTransactionLog(file, PointLogDurability.SYNC, 1024, Duration.ofMillis(5));
+    }
+
+    // 유저 0~9 에게 번갈아 충전, 잔액은 id 까지의 누적
+    private void append(PointTransactionLog pointLog, long fromId, long toId, Map<Long, Long> balances) {
+        for (long id = fromId; id <= toId; id++) {
+            long userId = id % 10;
+            long balance = balances.merge(userId, 10L, Long::sum);
+            pointLog.append(new PointHistory(id, userId, 10L, TransactionType.CHARGE, id), balance);
+        }
+    }
+
+    @Test
+    public void 스냅샷과_이후_로그로_복구한_잔액은_전체_로그로_복구한_잔액과_같다() {
+        // given
+        Path file = this.dir.resolve("points.log");
+        Path snapshotFile = this.dir.resolve("points.snapshot");
+        Map<Long, Long> expected = new HashMap<>();
+        PointSnapshotHeader header;
+        try (PointTransactionLog pointLog = this.open(file);
+             PointSnapshotter snapshotter = new PointSnapshotter(pointLog, snapshotFile, Duration.ZERO)) {
+            this.append(pointLog, 1, 100, expected);
+            snapshotter.snapshot();
+            this.append(pointLog, 101, 250, expected);
+            header = snapshotter.snapshot();
+            this.append(pointLog, 251, 300, expected);
+        }
+
+        // when
+        Map<Long, Long> recovered = new HashMap<>();
+        long replayed;
+        try (PointTransactionLog pointLog = this.open(file);
+             PointSnapshotter snapshotter = new PointSnapshotter(pointLog, snapshotFile, Duration.ZERO)) {
+            Optional<PointSnapshotHeader> loaded = snapshotter.load((id, balance, updateMillis) -> recovered.put(id, balance));
+            assertEquals(Optional.of(header), loaded);
+            replayed = pointLog.records(header.coveredSegment(), Long.MAX_VALUE);
+            pointLog.replay(header.coveredSegment(), Long.MAX_VALUE,
+                    entry -> recovered.put(entry.history().userId(), entry.balance()));
+        }
+
+        // then
+        assertEquals(expected, recovered);
+        assertEquals(50L, replayed);
+        assertEquals(new PointSnapshotHeader(2L, 250L, 10L, 250L), header);
+    }
+
+    @Test
+    public void 세그먼트가_삭제되어도_스냅샷_이전_내역은_내역_파일에_남고_스냅샷에는_잔액만_담는다() throws Exception {
+        // given - 두 번의 스냅샷으로 1~250 의 세그먼트가 모두 삭제됨
+        Path file = this.dir.resolve("points.log");
+        Path snapshotFile = this.dir.resolve("points.snapshot");
+        try (PointTransactionLog pointLog = this.open(file);
+             PointSnapshotter snapshotter = new PointSnapshotter(pointLog, snapshotFile, Duration.ZERO)) {
+            Map<Long, Long> balances = new HashMap<>();
+            this.append(pointLog, 1, 100, balances);
+            snapshotter.snapshot();
+            this.append(pointLog, 101, 250, balances);
+            snapshotter.snapshot();
+        }
+
+        // when
+        List<PointHistory> histories = new ArrayList<>();
+        try (PointTransactionLog pointLog = this.open(file);
+             PointSnapshotter snapshotter = new PointSnapshotter(pointLog, snapshotFile, Duration.ZERO)) {
+            snapshotter.load((id, balance, updateMillis) -> { }, histories::add);
+        }
+
+        // then - 스냅샷은 헤더 + 유저 10명의 잔액 + CRC, 내역은 스냅샷마다 닫힌 세그먼트의 것만 순서대로 이어 씀
+        assertThat(PointTransactionLog.segmentPath(file, 1)).doesNotExist();
+        assertEquals(40L + 10 * 24 + 8, Files.size(snapshotFile));
+        assertEquals(250L * PointHistoryArchive.RECORD_BYTES, Files.size(PointSnapshotter.historyPath(snapshotFile)));
+        assertEquals(250, histories.size());
+        for (int i = 0; i < histories.size(); i++) {
+            long id = i + 1;
+            assertEquals(new PointHistory(id, id % 10, 10L, TransactionType.CHARGE, id), histories.get(i));
+        }
+    }
+
+    @Test
+    public void 스냅샷_교체_전에_죽어_내역_파일에_남은_내역은_읽지_않고_다음_스냅샷에서_다시_쓴다() {
+        // given - 1~100 을 스냅샷한 뒤, 101~150 을 내역 파일에 이어 쓰고 스냅샷을 교체하기 전에 멈춤
+        Path file = this.dir.resolve("points.log");
+        Path snapshotFile = this.dir.resolve("points.snapshot");
+        Map<Long, Long> balances = new HashMap<>();
+        try (PointTransactionLog pointLog = this.open(file);
+             PointSnapshotter snapshotter = new PointSnapshotter(pointLog, snapshotFile, Duration.ZERO)) {
+            this.append(pointLog, 1, 100, balances);
+            snapshotter.snapshot();
+        }
+        new PointHistoryArchive(PointSnapshotter.historyPath(snapshotFile)).append(100L, sink -> {
+            for (long id = 101; id <= 150; id++) {
+                sink.accept(new PointHistory(id, id % 10, 10L, TransactionType.CHARGE, id));
+            }
+        });
+
+        // when
+        List<PointHistory> afterCrash = new ArrayList<>();
+        List<PointHistory> afterNext = new ArrayList<>();
+        PointSnapshotHeader header;
+        try (PointTransactionLog pointLog = this.open(file);
+             PointSnapshotter snapshotter = new PointSnapshotter(pointLog, snapshotFile, Duration.ZERO)) {
+            snapshotter.load((id, balance, updateMillis) -> { }, afterCrash::add);
+            this.append(pointLog, 101, 250, balances);
+            header = snapshotter.snapshot();
+            snapshotter.load((id, balance, updateMillis) -> { }, afterNext::add);
+        }
+
+        // then - 확정되지 않은 내역은 건너뛰고, 다음 스냅샷은 그 자리부터 다시 써서 겹치지 않음
+        assertEquals(100, afterCrash.size());
+        assertEquals(250L, header.histories());
+        assertThat(afterNext).extracting(PointHistory::id).doesNotHaveDuplicates().hasSize(250);
+        assertEquals(250L, afterNext.get(249).id());
+    }
+
+    @Test
+    public void 스냅샷에_반영된_세그먼트는_삭제된다() {
+        // given
+        Path file = this.dir.resolve("points.log");
+        try (PointTransactionLog pointLog = this.open(file);
+             PointSnapshotter snapshotter = new PointSnapshotter(pointLog, this.dir.resolve("points.snapshot"), Duration.ZERO)) {
+            this.append(pointLog, 1, 10, new HashMap<>());
+
+            // when
+            snapshotter.snapshot();
+
+            // then
+            assertThat(PointTransactionLog.segmentPath(file, 1)).doesNotExist();
+            assertThat(PointTransactionLog.segmentPath(file, 2)).exists();
+            assertEquals(2L, pointLog.currentSegment());
+        }
+    }
+
+    @Test
+    public void 쓰다_만_임시_파일이_있어도_이전_스냅샷을_읽는다() throws Exception {
+        // given - 이전 스냅샷과, 교체 전에 멈춘 임시 파일
+        Path snapshotFile = this.dir.resolve("points.snapshot");
+        UserBalanceStore image = new UserBalanceStore(16);
+        image.put(1L, 100L, 1L);
+        image.put(2L, 200L, 2L);
+        PointSnapshotter.write(snapshotFile, new PointSnapshotHeader(3L, 7L, 2L, 0L), image);
+        Files.write(this.dir.resolve("points.snapshot.tmp"), new byte[]{1, 2, 3});
+
+        // when
+        Map<Long, Long> balances = new HashMap<>();
+        Optional<PointSnapshotHeader> header = PointSnapshotter.read(snapshotFile, (id, balance, updateMillis) -> balances.put(id, balance));
+
+        // then
+        assertEquals(Optional.of(new PointSnapshotHeader(3L, 7L, 2L, 0L)), header);
+        assertEquals(Map.of(1L, 100L, 2L, 200L), balances);
+    }
+
+    @Test
+    public void 내용이_손상된_스냅샷은_읽지_않는다() throws Exception {
+        // given
+        Path snapshotFile = this.dir.resolve("points.snapshot");
+        UserBalanceStore image = new UserBalanceStore(16);
+        image.put(1L, 100L, 1L);
+        PointSnapshotter.write(snapshotFile, new PointSnapshotHeader(1L, 1L, 1L, 0L), image);
+        try (FileChannel channel = FileChannel.open(snapshotFile, StandardOpenOption.WRITE)) {
+            channel.write(ByteBuffer.allocate(8).putLong(999L).flip(), 48); // 첫 유저의 잔액
+        }
+
+        // when, then
+        assertThatThrownBy(() -> PointSnapshotter.read(snapshotFile, (id, balance, updateMillis) -> { }))
+                .isInstanceOf(IllegalStateException.class)
+                .hasMessage("Check Snapshot.");
+    }
+}
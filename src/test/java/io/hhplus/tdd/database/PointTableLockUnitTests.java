@@ -0,0 +1,79 @@
+package io.hhplus.tdd.database;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+
+import org.junit.jupiter.api.Test;
+
+public class PointTableLockUnitTests {
+
+    @Test
+    public void 같은_테이블의_조회는_동시에_실행된다() throws Exception {
+        // given
+        UserPointTable table = new UserPointTable();
+        CountDownLatch reading = new CountDownLatch(2);
+
+        // when - 두 조회가 서로를 기다려야 끝남
+        CompletableFuture<Boolean> first = CompletableFuture.supplyAsync(() -> PointTableLock.read(table, () -> this.await(reading)));
+        CompletableFuture<Boolean> second = CompletableFuture.supplyAsync(() -> PointTableLock.read(table, () -> this.await(reading)));
+
+        // then
+        assertTrue(first.get(5, TimeUnit.SECONDS));
+        assertTrue(second.get(5, TimeUnit.SECONDS));
+    }
+
+    @Test
+    public void 쓰기_중에는_같은_테이블만_기다리고_다른_테이블_인스턴스는_기다리지_않는다() throws Exception {
+        // given - 한 테이블에 쓰기 락을 잡아 둠
+        UserPointTable table = new UserPointTable();
+        UserPointTable otherTable = new UserPointTable(); // 다른 애플리케이션 컨텍스트의 테이블
+        CountDownLatch writing = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+        CompletableFuture<Void> writer = CompletableFuture.runAsync(() -> PointTableLock.write(table, () -> {
+            writing.countDown();
+            return this.waitFor(release);
+        }));
+        assertTrue(writing.await(5, TimeUnit.SECONDS));
+
+        // when
+        CompletableFuture<Integer> blocked = CompletableFuture.supplyAsync(() -> PointTableLock.read(table, () -> 1));
+        int other = PointTableLock.read(otherTable, () -> 2);
+
+        // then
+        assertEquals(2, other);
+        assertFalse(this.completesWithin(blocked, 100));
+        release.countDown();
+        assertEquals(1, blocked.get(5, TimeUnit.SECONDS));
+        writer.get(5, TimeUnit.SECONDS);
+    }
+
+    // 다른 스레드도 도착할 때까지 기다림
+    private boolean await(CountDownLatch latch) {
+        latch.countDown();
+        return this.waitFor(latch);
+    }
+
+    private boolean waitFor(CountDownLatch latch) {
+        try {
+            return latch.await(5, TimeUnit.SECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            return false;
+        }
+    }
+
+    private boolean completesWithin(CompletableFuture<?> future, long millis) throws Exception {
+        try {
+            future.get(millis, TimeUnit.MILLISECONDS);
+            return true;
+        } catch (TimeoutException e) {
+            return false;
+        }
+    }
+}
@@ -0,0 +1,196 @@
+package io.hhplus.tdd.database;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.EnumSource;
+
+import io.hhplus.tdd.point.PointHistory;
+import io.hhplus.tdd.point.TransactionType;
+
+public class PointTransactionLogUnitTests {
+
+    @TempDir
+    private Path dir;
+
+    private PointTransactionLog open(Path file, PointLogDurability durability) {
+        return new PointTransactionLog(file, durability, 1024, Duration.ofMillis(5));
+    }
+
+    private List<PointLogEntry> replay(Path file) {
+        List<PointLogEntry> entries = new ArrayList<>();
+        try (PointTransactionLog pointLog = this.open(file, PointLogDurability.SYNC)) {
+            pointLog.replay(entries::add);
+        }
+        return entries;
+    }
+
+    @ParameterizedTest
+    @EnumSource(PointLogDurability.class)
+    public void 기록한_내역은_다시_열었을_때_순서대로_읽힌다(PointLogDurability durability) {
+        // given
+        Path file = this.dir.resolve("points.log");
+        try (PointTransactionLog pointLog = this.open(file, durability)) {
+            for (long i = 1; i <= 100; i++) {
+                pointLog.append(new PointHistory(i, i % 3, i, (i % 2 == 0) ? TransactionType.USE : TransactionType.CHARGE, i * 10), i * 100);
+            }
+        }
+
+        // when
+        List<PointLogEntry> entries = this.replay(file);
+
+        // then
+        assertEquals(100, entries.size());
+        assertEquals(new PointLogEntry(new PointHistory(1L, 1L, 1L, TransactionType.CHARGE, 10L), 100L), entries.get(0));
+        assertEquals(new PointLogEntry(new PointHistory(100L, 1L, 100L, TransactionType.USE, 1000L), 10000L), entries.get(99));
+    }
+
+    @Test
+    public void 쓰다_만_마지막_기록은_잘라내고_이어서_기록한다() throws Exception {
+        // given - 온전한 기록 3건 뒤에 반쯤 쓰인 기록
+        Path file = this.dir.resolve("points.log");
+        try (PointTransactionLog pointLog = this.open(file, PointLogDurability.SYNC)) {
+            for (long i = 1; i <= 3; i++) {
+                pointLog.append(new PointHistory(i, 1L, 10L, TransactionType.CHARGE, i), i * 10);
+            }
+        }
+        try (FileChannel channel = FileChannel.open(PointTransactionLog.segmentPath(file, 1), StandardOpenOption.WRITE, StandardOpenOption.APPEND)) {
+            channel.write(ByteBuffer.allocate(20).putLong(4L).putLong(1L).flip());
+        }
+
+        // when
+        try (PointTransactionLog pointLog = this.open(file, PointLogDurability.GROUP)) {
+            pointLog.append(new PointHistory(4L, 1L, 10L, TransactionType.CHARGE, 4L), 40L);
+        }
+
+        // then
+        List<PointLogEntry> entries = this.replay(file);
+        assertThat(entries).extracting(entry -> entry.history().id()).containsExactly(1L, 2L, 3L, 4L);
+        assertEquals(4L * PointTransactionLog.RECORD_BYTES, Files.size(PointTransactionLog.segmentPath(file, 1)));
+    }
+
+    @ParameterizedTest
+    @EnumSource(PointLogDurability.class)
+    public void 단위로_기록한_내역은_다른_기록과_함께_순서대로_읽힌다(PointLogDurability durability) {
+        // given
+        Path file = this.dir.resolve("points.log");
+        PointLogEntry before = new PointLogEntry(new PointHistory(1L, 1L, 100L, TransactionType.CHARGE, 1L), 100L);
+        List<PointLogEntry> unit = List.of(
+                new PointLogEntry(new PointHistory(2L, 1L, 30L, TransactionType.USE, 2L), 70L),
+                new PointLogEntry(new PointHistory(3L, 2L, 30L, TransactionType.CHARGE, 2L), 30L));
+        PointLogEntry after = new PointLogEntry(new PointHistory(4L, 2L, 10L, TransactionType.USE, 3L), 20L);
+
+        // when
+        try (PointTransactionLog pointLog = this.open(file, durability)) {
+            pointLog.append(before.history(), before.balance());
+            pointLog.appendUnit(unit);
+            pointLog.append(after.history(), after.balance());
+        }
+
+        // then
+        assertEquals(List.of(before, unit.get(0), unit.get(1), after), this.replay(file));
+    }
+
+    @Test
+    public void 마지막_건이_없는_단위는_통째로_잘라내고_이어서_기록한다() throws Exception {
+        // given - 온전한 기록 1건 뒤에 2건짜리 단위를 쓰다가 첫 건만 남음
+        Path file = this.dir.resolve("points.log");
+        try (PointTransactionLog pointLog = this.open(file, PointLogDurability.SYNC)) {
+            pointLog.append(new PointHistory(1L, 1L, 100L, TransactionType.CHARGE, 1L), 100L);
+            pointLog.appendUnit(List.of(
+                    new PointLogEntry(new PointHistory(2L, 1L, 30L, TransactionType.USE, 2L), 70L),
+                    new PointLogEntry(new PointHistory(3L, 2L, 30L, TransactionType.CHARGE, 2L), 30L)));
+        }
+        try (FileChannel channel = FileChannel.open(PointTransactionLog.segmentPath(file, 1), StandardOpenOption.WRITE)) {
+            channel.truncate(2L * PointTransactionLog.RECORD_BYTES);
+        }
+
+        // when
+        try (PointTransactionLog pointLog = this.open(file, PointLogDurability.GROUP)) {
+            pointLog.append(new PointHistory(4L, 1L, 10L, TransactionType.CHARGE, 3L), 110L);
+        }
+
+        // then - 출금만 반영되지 않고 단위 전체가 버려짐
+        List<PointLogEntry> entries = this.replay(file);
+        assertThat(entries).extracting(entry -> entry.history().id()).containsExactly(1L, 4L);
+        assertEquals(2L * PointTransactionLog.RECORD_BYTES, Files.size(PointTransactionLog.segmentPath(file, 1)));
+    }
+
+    @Test
+    public void 그룹_커밋은_동시_기록을_모아_fsync_횟수를_줄인다() throws Exception {
+        // given
+        Path file = this.dir.resolve("points.log");
+        int threads = 16;
+        int repeat = 200;
+        CountDownLatch latch = new CountDownLatch(1);
+        ExecutorService executor = Executors.newFixedThreadPool(threads);
+        long syncs;
+
+        // when
+        try (PointTransactionLog pointLog = this.open(file, PointLogDurability.GROUP)) {
+            for (int t = 0; t < threads; t++) {
+                long userId = t;
+                executor.submit(() -> {
+                    latch.await();
+                    for (int i = 0; i < repeat; i++) {
+                        pointLog.append(new PointHistory(userId * repeat + i, userId, 1L, TransactionType.CHARGE, i), i + 1);
+                    }
+                    return null;
+                });
+            }
+            latch.countDown();
+            executor.shutdown();
+            executor.awaitTermination(30, TimeUnit.SECONDS);
+            syncs = pointLog.syncs();
+        }
+
+        // then - 유실 없이 모두 기록되고, 유저별 순서도 유지
+        List<PointLogEntry> entries = this.replay(file);
+        assertEquals(threads * repeat, entries.size());
+        assertThat(syncs).isLessThan(threads * repeat);
+        long[] last = new long[threads];
+        for (PointLogEntry entry : entries) {
+            int userId = (int) entry.history().userId();
+            assertEquals(last[userId] + 1, entry.balance());
+            last[userId] = entry.balance();
+        }
+    }
+
+    @ParameterizedTest
+    @EnumSource(value = PointLogDurability.class, names = {"SYNC", "GROUP"})
+    public void 여러_기록을_한_번에_기록하면_fsync_는_한_번이다(PointLogDurability durability) {
+        // given - 버퍼(1024건)보다 적은 기록
+        Path file = this.dir.resolve("points.log");
+        List<PointLogEntry> batch = new ArrayList<>();
+        for (long i = 1; i <= 500; i++) {
+            batch.add(new PointLogEntry(new PointHistory(i, 1L, 1L, TransactionType.CHARGE, i), i));
+        }
+
+        // when
+        long syncs;
+        try (PointTransactionLog pointLog = this.open(file, durability)) {
+            pointLog.appendAll(batch);
+            syncs = pointLog.syncs();
+        }
+
+        // then
+        assertEquals(1L, syncs);
+        assertEquals(batch, this.replay(file));
+    }
+}
@@ -0,0 +1,214 @@
+package io.hhplus.tdd.database;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.atLeastOnce;
+import static org.mockito.Mockito.inOrder;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.function.BooleanSupplier;
+import java.util.stream.LongStream;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.InOrder;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import io.hhplus.tdd.point.PointCacheProperties;
+import io.hhplus.tdd.point.PointHistory;
+import io.hhplus.tdd.point.TransactionType;
+import io.hhplus.tdd.point.UserPoint;
+import io.hhplus.tdd.point.UserPointSnapshot;
+import io.hhplus.tdd.point.UserPointSnapshotStore;
+
+@ExtendWith(MockitoExtension.class)
+public class PointWriteBehindQueueUnitTests {
+
+    @Mock
+    private UserPointTable userPointTable;
+
+    @Mock
+    private PointHistoryTable pointHistoryTable;
+
+    private PointWriteBehindQueue create(int batchSize, long flushMillis, int capacity, int flushers, long offerMillis) {
+        return new PointWriteBehindQueue(this.userPointTable, this.pointHistoryTable, new PointWriteBehindProperties(
+                batchSize, Duration.ofMillis(flushMillis), capacity, flushers, Duration.ofMillis(offerMillis)));
+    }
+
+    @Test
+    public void 같은_유저의_쓰기는_들어온_순서대로_반영된다() {
+        // given
+        PointWriteBehindQueue queue = this.create(7, 5, 100, 4, 1000);
+
+        // when
+        for (long i = 1; i <= 50; i++) {
+            queue.enqueue(new PointWrite(1L, i, i, TransactionType.CHARGE, i));
+        }
+        queue.shutdown();
+
+        // then
+        InOrder inOrder = inOrder(this.pointHistoryTable);
+        for (long i = 1; i <= 50; i++) {
+            inOrder.verify(this.pointHistoryTable).insert(1L, i, TransactionType.CHARGE, i);
+        }
+
+        ArgumentCaptor<Long> balances = ArgumentCaptor.forClass(Long.class);
+        verify(this.userPointTable, atLeastOnce()).insertOrUpdate(eq(1L), balances.capture());
+        List<Long> values = balances.getAllValues();
+        assertEquals(50L, values.get(values.size() - 1));
+    }
+
+    @Test
+    public void 한_배치_안의_잔액은_유저별로_마지막_값만_반영된다() {
+        // given
+        PointWriteBehindQueue queue = this.create(100, 500, 100, 1, 1000);
+
+        // when
+        for (long i = 1; i <= 10; i++) {
+            queue.enqueue(new PointWrite(1L, i * 10, 10, TransactionType.CHARGE, i));
+            queue.enqueue(new PointWrite(2L, i, 1, TransactionType.CHARGE, i));
+        }
+        queue.shutdown();
+
+        // then
+        verify(this.pointHistoryTable, times(20)).insert(anyLong(), anyLong(), eq(TransactionType.CHARGE), anyLong());
+        verify(this.userPointTable, times(1)).insertOrUpdate(1L, 100L);
+        verify(this.userPointTable, times(1)).insertOrUpdate(2L, 10L);
+    }
+
+    @Test
+    public void 여러_플러셔가_실제_테이블에_반영해도_내역이_유실되거나_id가_겹치지_않는다() {
+        // given - 스레드 안전하지 않은 실제 테이블
+        UserPointTable userPointTable = new UserPointTable();
+        PointHistoryTable pointHistoryTable = new PointHistoryTable();
+        PointWriteBehindQueue queue = new PointWriteBehindQueue(userPointTable, pointHistoryTable,
+                new PointWriteBehindProperties(2, Duration.ofMillis(1), 100, 4, Duration.ofSeconds(1)));
+
+        // when
+        for (long userId = 1; userId <= 8; userId++) {
+            queue.enqueue(new PointWrite(userId, 10, 10, TransactionType.CHARGE, 1));
+            queue.enqueue(new PointWrite(userId, 30, 20, TransactionType.CHARGE, 2));
+        }
+        queue.shutdown();
+
+        // then
+        List<PointHistory> histories = LongStream.rangeClosed(1, 8)
+                .mapToObj(pointHistoryTable::selectAllByUserId)
+                .flatMap(List::stream)
+                .toList();
+        assertEquals(16, histories.size());
+        assertEquals(16, histories.stream().map(PointHistory::id).distinct().count());
+        for (long userId = 1; userId <= 8; userId++) {
+            assertEquals(30L, userPointTable.selectById(userId).point());
+        }
+    }
+
+    @Test
+    public void 대기열이_가득_차면_쓰기를_거절한다() throws InterruptedException {
+        // given - 첫 번째 쓰기가 테이블 반영에서 멈춰 있는 상황
+        CountDownLatch flushing = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+        when(this.pointHistoryTable.insert(eq(1L), anyLong(), eq(TransactionType.CHARGE), anyLong())).thenAnswer(invocation -> {
+            flushing.countDown();
+            release.await();
+            return null;
+        });
+        PointWriteBehindQueue queue = this.create(1, 1, 1, 1, 50);
+
+        queue.enqueue(new PointWrite(1L, 1, 1, TransactionType.CHARGE, 1));
+        flushing.await();
+        queue.enqueue(new PointWrite(1L, 2, 1, TransactionType.CHARGE, 2));
+
+        // when & then
+        assertThrows(IllegalStateException.class,
+                () -> queue.enqueue(new PointWrite(1L, 3, 1, TransactionType.CHARGE, 3)));
+
+        release.countDown();
+        queue.shutdown();
+        verify(this.userPointTable).insertOrUpdate(1L, 2L);
+    }
+
+    @Test
+    public void 다시_시도해도_반영하지_못한_내역은_실패_보관함에_남는다() {
+        // given - 첫 번째 내역은 계속 실패, 두 번째 내역은 한 번 실패한 뒤 성공
+        when(this.pointHistoryTable.insert(1L, 1L, TransactionType.CHARGE, 1L))
+                .thenThrow(new IllegalStateException("insert failed"));
+        when(this.pointHistoryTable.insert(1L, 2L, TransactionType.CHARGE, 2L))
+                .thenThrow(new IllegalStateException("insert failed"))
+                .thenReturn(null);
+        PointWriteBehindQueue queue = this.create(10, 5, 10, 1, 10);
+
+        // when
+        queue.enqueue(new PointWrite(1L, 1, 1, TransactionType.CHARGE, 1));
+        queue.enqueue(new PointWrite(1L, 3, 2, TransactionType.CHARGE, 2));
+        queue.shutdown();
+
+        // then
+        verify(this.pointHistoryTable, times(3)).insert(1L, 1L, TransactionType.CHARGE, 1L);
+        verify(this.pointHistoryTable, times(2)).insert(1L, 2L, TransactionType.CHARGE, 2L);
+        assertEquals(1, queue.failures());
+        assertEquals(List.of(new PointWrite(1L, 1, 1, TransactionType.CHARGE, 1)), queue.deadLetters());
+        verify(this.userPointTable).insertOrUpdate(1L, 3L);
+    }
+
+    @Test
+    public void 실패_보관함에_있는_유저는_다시_반영될_때까지_캐시에서_내보내지_않는다() throws Exception {
+        // given - 잔액 반영이 다시 시도해도 실패해 보관함에 남음
+        IllegalStateException failure = new IllegalStateException("update failed");
+        when(this.userPointTable.insertOrUpdate(1L, 500L))
+                .thenThrow(failure).thenThrow(failure).thenThrow(failure)
+                .thenReturn(new UserPoint(1L, 500L, 1L));
+        PointWriteBehindQueue queue = this.create(10, 5, 10, 1, 10);
+        UserPointSnapshotStore snapshotStore = new UserPointSnapshotStore(new PointCacheProperties(1), queue);
+        snapshotStore.publish(1L, UserPointSnapshot.loaded(new UserPoint(1L, 500L, 1L), List.of()));
+        queue.enqueue(PointWrite.balanceOnly(1L, 500L, 1L));
+        this.await(() -> !queue.deadLetters().isEmpty());
+
+        // when - 다른 유저가 캐시를 채워 내보내기가 일어남
+        for (long userId = 2; userId < 20; userId++) {
+            snapshotStore.publish(userId, UserPointSnapshot.loaded(UserPoint.empty(userId), List.of()));
+        }
+
+        // then - 테이블에는 이전 잔액뿐이므로 캐시에 남아 있어야 함
+        assertTrue(queue.isPending(1L));
+        assertEquals(500L, snapshotStore.find(1L).orElseThrow().point().point());
+
+        // 다시 반영하면 대기 중에서 빠짐
+        assertEquals(1, queue.redrive());
+        this.await(() -> !queue.isPending(1L));
+        assertTrue(queue.deadLetters().isEmpty());
+        queue.shutdown();
+        verify(this.userPointTable, times(4)).insertOrUpdate(1L, 500L);
+    }
+
+    private void await(BooleanSupplier condition) throws InterruptedException {
+        long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(5);
+        while (!condition.getAsBoolean()) {
+            assertFalse(System.nanoTime() > deadline, "시간 안에 조건을 만족하지 못했습니다.");
+            TimeUnit.MILLISECONDS.sleep(5);
+        }
+    }
+
+    @Test
+    public void 종료된_뒤에는_쓰기를_받지_않는다() {
+        // given
+        PointWriteBehindQueue queue = this.create(10, 5, 10, 1, 10);
+        queue.shutdown();
+
+        // when & then
+        assertThrows(IllegalStateException.class,
+                () -> queue.enqueue(new PointWrite(1L, 1, 1, TransactionType.CHARGE, 1)));
+    }
+}
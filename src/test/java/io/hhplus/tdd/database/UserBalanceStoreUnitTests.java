@@ -0,0 +1,137 @@
+package io.hhplus.tdd.database;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+
+import org.junit.jupiter.api.Test;
+
+import io.hhplus.tdd.point.UserPoint;
+
+public class UserBalanceStoreUnitTests {
+
+    @Test
+    public void 충전과_사용은_UserPoint_와_같은_규칙으로_검증한다() {
+        // given
+        UserBalanceStore store = new UserBalanceStore(10);
+
+        // when
+        long charged = store.charge(1L, 1000L);
+        long used = store.use(1L, 300L);
+
+        // then
+        assertEquals(1000L, charged);
+        assertEquals(700L, used);
+        assertEquals(700L, store.balance(1L));
+        assertThat(store.updateMillis(1L)).isPositive();
+
+        IllegalArgumentException over = assertThrows(IllegalArgumentException.class, () -> store.charge(1L, 999_300L));
+        IllegalArgumentException lack = assertThrows(IllegalArgumentException.class, () -> store.use(1L, 701L));
+        assertEquals(assertThrows(IllegalArgumentException.class, () -> new UserPoint(1L, 700L, 0).rechargePoint(999_300L)).getMessage(), over.getMessage());
+        assertEquals(assertThrows(IllegalArgumentException.class, () -> new UserPoint(1L, 700L, 0).usePoint(701L)).getMessage(), lack.getMessage());
+        assertThrows(IllegalArgumentException.class, () -> store.charge(1L, -1L));
+        assertThrows(IllegalArgumentException.class, () -> store.use(-1L, 1L));
+        assertEquals(700L, store.balance(1L));
+    }
+
+    @Test
+    public void 없는_유저는_잔액_0_으로_조회된다() {
+        // given
+        UserBalanceStore store = new UserBalanceStore(10);
+
+        // when
+        UserPoint point = store.find(5L);
+
+        // then
+        assertEquals(0L, store.balance(5L));
+        assertEquals(0L, point.point());
+        assertEquals(0, store.size());
+    }
+
+    @Test
+    public void 같은_유저의_동시_충전은_잃어버리는_값_없이_반영된다() throws InterruptedException {
+        // given
+        UserBalanceStore store = new UserBalanceStore(1000);
+        int threads = 16;
+        int repeat = 1000;
+        CountDownLatch latch = new CountDownLatch(1);
+        ExecutorService executor = Executors.newFixedThreadPool(threads);
+
+        // when - 1번은 모든 스레드가 경쟁, 나머지는 스레드마다 처음 보는 유저를 동시에 추가
+        for (int i = 0; i < threads; i++) {
+            long own = 100L + i;
+            executor.submit(() -> {
+                latch.await();
+                for (int j = 0; j < repeat; j++) {
+                    store.charge(1L, 1L);
+                    store.charge(own, 1L);
+                }
+                return null;
+            });
+        }
+        latch.countDown();
+        executor.shutdown();
+        executor.awaitTermination(10, TimeUnit.SECONDS);
+
+        // then
+        assertEquals(threads * repeat, store.balance(1L));
+        assertEquals(threads + 1, store.size());
+        for (int i = 0; i < threads; i++) {
+            assertEquals(repeat, store.balance(100L + i));
+        }
+    }
+
+    @Test
+    public void 정한_유저_수를_넘으면_새_유저를_받지_않는다() {
+        // given
+        UserBalanceStore store = new UserBalanceStore(2);
+        store.charge(1L, 1L);
+        store.charge(2L, 1L);
+
+        // when & then
+        assertThrows(IllegalStateException.class, () -> store.charge(3L, 1L));
+        assertEquals(2L, store.charge(1L, 1L));
+    }
+
+    @Test
+    public void 유저_100만명을_HashMap_보다_적은_메모리로_보관한다() {
+        // given
+        int users = 1_000_000;
+
+        // when
+        long base = this.usedHeap();
+        UserBalanceStore store = new UserBalanceStore(users);
+        for (int i = 0; i < users; i++) {
+            store.charge(i, 1L);
+        }
+        long primitive = this.usedHeap() - base;
+        assertEquals(users, store.size());
+        store = null;
+
+        base = this.usedHeap();
+        Map<Long, UserPoint> table = new HashMap<>();
+        for (long i = 0; i < users; i++) {
+            table.put(i, new UserPoint(i, 1L, System.currentTimeMillis()));
+        }
+        long boxed = this.usedHeap() - base;
+        assertEquals(users, table.size());
+
+        // then - 1,000만명 기준 약 300MB / 980MB (README 참고)
+        assertThat(primitive).isLessThan(boxed / 2);
+    }
+
+    private long usedHeap() {
+        Runtime runtime = Runtime.getRuntime();
+        for (int i = 0; i < 3; i++) {
+            System.gc();
+        }
+        return runtime.totalMemory() - runtime.freeMemory();
+    }
+}
@@ -0,0 +1,73 @@
+package io.hhplus.tdd.infrastructure;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+import org.junit.jupiter.api.Test;
+
+public class ConsistentHashRingUnitTests {
+
+    private static final int USERS = 30_000;
+
+    private final ConsistentHashRing ring = new ConsistentHashRing(
+            List.of("http://localhost:8080", "http://localhost:8082", "http://localhost:8084"), 128);
+
+    @Test
+    public void 같은_노드_목록이면_순서와_상관없이_같은_노드가_담당한다() {
+        // given
+        ConsistentHashRing reordered = new ConsistentHashRing(
+                List.of("http://localhost:8084", "http://localhost:8080", "http://localhost:8082"), 128);
+
+        // when then
+        for (long userId = 0; userId < USERS; userId++) {
+            assertEquals(this.ring.nodeOf(userId), reordered.nodeOf(userId));
+        }
+    }
+
+    @Test
+    public void 연속된_유저_id_도_노드에_고르게_나뉜다() {
+        // when
+        Map<String, Integer> counts = new HashMap<>();
+        for (long userId = 0; userId < USERS; userId++) {
+            counts.merge(this.ring.nodeOf(userId), 1, Integer::sum);
+        }
+
+        // then - 노드당 1/3 에서 크게 벗어나지 않음
+        assertThat(counts).hasSize(3);
+        assertThat(counts.values()).allSatisfy(count -> assertThat(count).isBetween(USERS / 4, USERS / 2));
+    }
+
+    @Test
+    public void 노드를_추가하면_약_1_N_의_유저만_새_노드로_옮겨진다() {
+        // given
+        ConsistentHashRing added = this.ring.with("http://localhost:8086");
+
+        // when
+        int moved = 0;
+        for (long userId = 0; userId < USERS; userId++) {
+            String before = this.ring.nodeOf(userId);
+            String after = added.nodeOf(userId);
+            if (!before.equals(after)) {
+                assertEquals("http://localhost:8086", after); // 기존 노드끼리는 옮겨지지 않음
+                moved++;
+            }
+        }
+
+        // then - 1/4 근처
+        assertThat(moved).isBetween(USERS / 6, USERS / 3);
+        assertThat(added.without("http://localhost:8086").nodes()).isEqualTo(this.ring.nodes());
+    }
+
+    @Test
+    public void 노드가_없으면_만들_수_없다() {
+        // when then
+        IllegalArgumentException e = assertThrows(IllegalArgumentException.class,
+                () -> new ConsistentHashRing(List.of(), 128));
+        assertEquals("Check Nodes.", e.getMessage());
+    }
+}
@@ -0,0 +1,106 @@
+package io.hhplus.tdd.infrastructure;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+import java.util.concurrent.TimeUnit;
+
+import org.junit.jupiter.api.Test;
+
+import io.hhplus.tdd.infrastructure.PointMetrics.Operation;
+import io.hhplus.tdd.infrastructure.PointMetrics.Rejection;
+import io.micrometer.core.instrument.Timer;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+
+public class PointMetricsUnitTests {
+
+    private final SimpleMeterRegistry registry = new SimpleMeterRegistry();
+    private final PointMetrics metrics = new PointMetrics(this.registry);
+
+    @Test
+    public void 연산별_처리_시간과_처리_중인_요청_수를_기록한다() {
+        // given
+        long start = this.metrics.start(Operation.CHARGE);
+
+        // when
+        double inflight = this.registry.get("point.operation.inflight").tag("operation", "charge").gauge().value();
+        this.metrics.stop(Operation.CHARGE, start);
+
+        // then
+        assertEquals(1, inflight);
+        assertEquals(0, this.registry.get("point.operation.inflight").tag("operation", "charge").gauge().value());
+        assertEquals(1, this.registry.get("point.operation").tag("operation", "charge").timer().count());
+        assertEquals(0, this.registry.get("point.operation").tag("operation", "use").timer().count());
+    }
+
+    @Test
+    public void 검증_실패_사유는_예외_메시지로_구분한다() {
+        // when then
+        assertEquals(Rejection.MAX_EXCEEDED, Rejection.of("최대 저장 가능한 포인트가 넘었습니다."));
+        assertEquals(Rejection.INSUFFICIENT_BALANCE, Rejection.of("잔여 포인트가 부족합니다."));
+        assertEquals(Rejection.BAD_ID, Rejection.of("Check Id."));
+        assertEquals(Rejection.BAD_AMOUNT, Rejection.of("Amount Over 1"));
+        assertEquals(Rejection.BAD_AMOUNT, Rejection.of("충전 시, amount는 음수일 수 없습니다. 사용 함수를 사용해주시기 바랍니다."));
+        assertEquals(Rejection.OTHER, Rejection.of("Check Idempotency-Key."));
+        assertEquals(Rejection.OTHER, Rejection.of((String) null));
+    }
+
+    @Test
+    public void 과부하_거절은_메시지와_관계없이_reason_으로_구분한다() {
+        // when - 같은 OVERLOADED 라도 던지는 곳마다 메시지가 다름
+        this.metrics.reject(PointOverloadException.overloaded());
+        this.metrics.reject(new PointOverloadException(PointOverloadException.Reason.OVERLOADED, "쓰기 대기열이 가득 찼습니다. 잠시 후 다시 시도해주세요."));
+        this.metrics.reject(PointOverloadException.userBusy());
+        this.metrics.reject(PointOverloadException.deadline());
+
+        // then
+        assertEquals(2, this.registry.get("point.rejections").tag("reason", "overloaded").counter().count());
+        assertEquals(1, this.registry.get("point.rejections").tag("reason", "user_busy").counter().count());
+        assertEquals(1, this.registry.get("point.rejections").tag("reason", "deadline").counter().count());
+        assertEquals(0, this.registry.get("point.rejections").tag("reason", "other").counter().count());
+    }
+
+    @Test
+    public void 테이블_호출_타이머는_한_번만_만든다() {
+        // when
+        Timer first = this.metrics.tableCall("user_point", "selectById");
+        Timer second = this.metrics.tableCall("user_point", "selectById");
+        Timer other = this.metrics.tableCall("user_point", "insertOrUpdate");
+
+        // then
+        assertThat(second).isSameAs(first);
+        assertThat(other).isNotSameAs(first);
+        assertEquals(2, this.registry.find("point.table.call").timers().size());
+    }
+
+    @Test
+    public void 거절되면_사유별_카운터가_증가한다() {
+        // when
+        this.metrics.reject("잔여 포인트가 부족합니다.");
+        this.metrics.reject("잔여 포인트가 부족합니다.");
+        this.metrics.reject("Check Id.");
+
+        // then
+        assertEquals(2, this.registry.get("point.rejections").tag("reason", "insufficient_balance").counter().count());
+        assertEquals(1, this.registry.get("point.rejections").tag("reason", "bad_id").counter().count());
+        assertEquals(0, this.registry.get("point.rejections").tag("reason", "max_exceeded").counter().count());
+    }
+
+    @Test
+    public void 유저_락을_기다린_시간과_잡고_있던_시간을_기록한다() throws InterruptedException {
+        // given
+        UserLockManager lockManager = new UserLockManager(this.metrics);
+
+        // when
+        lockManager.lock(1L);
+        lockManager.lock(1L); // 재진입은 바깥 락이 풀릴 때 한 번만 기록
+        Thread.sleep(5);
+        lockManager.unlock(1L);
+        lockManager.unlock(1L);
+
+        // then
+        assertEquals(2, this.registry.get("point.lock.wait").timer().count());
+        assertEquals(1, this.registry.get("point.lock.hold").timer().count());
+        assertThat(this.registry.get("point.lock.hold").timer().totalTime(TimeUnit.MILLISECONDS)).isGreaterThanOrEqualTo(5);
+    }
+}
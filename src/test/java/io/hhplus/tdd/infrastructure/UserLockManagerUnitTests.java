@@ -0,0 +1,241 @@
+package io.hhplus.tdd.infrastructure;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+import java.time.Duration;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+import org.junit.jupiter.api.Test;
+
+import lombok.extern.slf4j.Slf4j;
+
+@Slf4j
+public class UserLockManagerUnitTests {
+
+    private final UserLockManager lockManager = new UserLockManager();
+
+    private long counter = 0; // 의도적으로 동기화하지 않은 값
+
+    @Test
+    public void 동일한_유저의_동시_요청은_정확히_직렬화된다() throws InterruptedException {
+        // given
+        int threads = 16;
+        int repeat = 1000;
+        CountDownLatch latch = new CountDownLatch(1);
+        ExecutorService executor = Executors.newFixedThreadPool(threads);
+
+        // when
+        for (int i = 0; i < threads; i++) {
+            executor.submit(() -> {
+                latch.await();
+                for (int j = 0; j < repeat; j++) {
+                    this.lockManager.lock(1L);
+                    try {
+                        this.counter++;
+                    } finally {
+                        this.lockManager.unlock(1L);
+                    }
+                }
+                return null;
+            });
+        }
+        latch.countDown();
+        executor.shutdown();
+        executor.awaitTermination(10, TimeUnit.SECONDS);
+
+        // then
+        assertEquals(threads * repeat, this.counter);
+        assertEquals(0, this.lockManager.size());
+    }
+
+    @Test
+    public void 다른_스레드가_잡고_있으면_tryLock_은_기다리지_않고_실패한다() throws Exception {
+        // given
+        this.lockManager.lock(1L);
+
+        // when
+        ExecutorService executor = Executors.newSingleThreadExecutor();
+        boolean acquired = executor.submit(() -> this.lockManager.tryLock(1L)).get();
+        executor.shutdown();
+        this.lockManager.unlock(1L);
+
+        // then - 실패한 시도는 락 항목을 남기지 않음
+        assertThat(acquired).isFalse();
+        assertEquals(0, this.lockManager.size());
+    }
+
+    @Test
+    public void 서로_다른_유저는_병렬로_처리된다() throws InterruptedException {
+        // given
+        int users = 8;
+        long holdMillis = 100;
+
+        // when
+        long distinctElapsed = this.runConcurrently(users, holdMillis, true);
+        long sameElapsed = this.runConcurrently(users, holdMillis, false);
+
+        // then - 같은 유저는 users * holdMillis 이상, 서로 다른 유저는 락 하나를 잡는 시간 수준
+        assertThat(sameElapsed).isGreaterThanOrEqualTo(users * holdMillis);
+        assertThat(distinctElapsed).isLessThan(users * holdMillis / 2);
+        assertEquals(0, this.lockManager.size());
+    }
+
+    @Test
+    public void 기한_안에_락을_얻지_못하면_기다리지_않고_거절한다() throws Exception {
+        // given - 다른 스레드가 락을 잡고 있음, 요청 기한 50ms
+        UserLockManager bounded = new UserLockManager(null, Duration.ofSeconds(10), 64, 1000);
+        bounded.lock(1L);
+        ExecutorService executor = Executors.newSingleThreadExecutor();
+
+        // when
+        long start = System.nanoTime();
+        Future<Throwable> failure = executor.submit(() -> {
+            RequestDeadline.set(System.nanoTime() + TimeUnit.MILLISECONDS.toNanos(50));
+            try {
+                bounded.lock(1L);
+                return null;
+            } catch (PointOverloadException e) {
+                return e;
+            } finally {
+                RequestDeadline.clear();
+            }
+        });
+        Throwable e = failure.get();
+        long elapsedMillis = TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - start);
+        executor.shutdown();
+        bounded.unlock(1L);
+
+        // then - lockTimeout(10초)이 아니라 요청 기한에 거절되고 락 항목을 남기지 않음
+        assertThat(e).isInstanceOf(PointOverloadException.class);
+        assertEquals(PointOverloadException.Reason.DEADLINE, ((PointOverloadException) e).reason());
+        assertThat(elapsedMillis).isLessThan(5_000);
+        assertEquals(0, bounded.size());
+        assertEquals(0, bounded.waiters());
+    }
+
+    @Test
+    public void 같은_유저를_기다리는_스레드가_너무_많으면_바로_거절한다() throws Exception {
+        // given - 한 유저당 대기 1개까지, 락을 잡은 스레드 1개 + 기다리는 스레드 1개
+        UserLockManager bounded = new UserLockManager(null, Duration.ofSeconds(10), 1, 1000);
+        bounded.lock(1L);
+        ExecutorService executor = Executors.newSingleThreadExecutor();
+        Future<?> waiting = executor.submit(() -> {
+            bounded.lock(1L);
+            bounded.unlock(1L);
+        });
+        while (bounded.waiters() < 1) {
+            Thread.onSpinWait();
+        }
+
+        // when
+        ExecutorService rejected = Executors.newSingleThreadExecutor();
+        Future<Throwable> failure = rejected.submit(() -> {
+            try {
+                bounded.lock(1L);
+                return null;
+            } catch (PointOverloadException e) {
+                return e;
+            }
+        });
+        Throwable e = failure.get(1, TimeUnit.SECONDS);
+        bounded.unlock(1L);
+        waiting.get();
+        executor.shutdown();
+        rejected.shutdown();
+
+        // then - 기다리던 요청은 처리되고, 넘친 요청만 거절
+        assertThat(e).isInstanceOf(PointOverloadException.class);
+        assertEquals(PointOverloadException.Reason.USER_BUSY, ((PointOverloadException) e).reason());
+        assertEquals(0, bounded.size());
+    }
+
+    @Test
+    public void 기한이_있으면_받아들인_요청의_대기_시간이_기한_안으로_유지된다() throws Exception {
+        // given - 한 유저에 50개 요청이 몰리고, 각 요청이 락을 10ms 잡음
+        int threads = 50;
+        long holdMillis = 10;
+
+        // when
+        long[] unbounded = this.runHotUser(new UserLockManager(), threads, holdMillis);
+        long[] bounded = this.runHotUser(new UserLockManager(null, Duration.ofMillis(100), 64, 1000), threads, holdMillis);
+
+        // then - 제한이 없으면 마지막 요청은 약 50 x 10ms 를 기다리고, 기한 100ms 이면 넘는 요청은 거절됨
+        log.info("최대 대기 시간 - unbounded: {}ms, bounded: {}ms (거절 {}건)", unbounded[0], bounded[0], bounded[1]);
+        assertEquals(0, unbounded[1]);
+        assertThat(unbounded[0]).isGreaterThanOrEqualTo(threads * holdMillis / 2);
+        assertThat(bounded[1]).isPositive();
+        assertThat(bounded[0]).isLessThan(unbounded[0] / 2);
+    }
+
+    @Test
+    public void 락을_잡지_않은_유저는_해제할_수_없다() {
+        assertThrows(IllegalMonitorStateException.class, () -> this.lockManager.unlock(1L));
+    }
+
+    // {받아들인 요청의 최대 대기 시간(ms), 거절된 요청 수}
+    private long[] runHotUser(UserLockManager manager, int threads, long holdMillis) throws InterruptedException {
+        CountDownLatch latch = new CountDownLatch(1);
+        ExecutorService executor = Executors.newFixedThreadPool(threads);
+        AtomicLong maxWaitNanos = new AtomicLong();
+        AtomicInteger rejected = new AtomicInteger();
+
+        for (int i = 0; i < threads; i++) {
+            executor.submit(() -> {
+                latch.await();
+                long start = System.nanoTime();
+                try {
+                    manager.lock(1L);
+                } catch (PointOverloadException e) {
+                    rejected.incrementAndGet();
+                    return null;
+                }
+                try {
+                    maxWaitNanos.accumulateAndGet(System.nanoTime() - start, Math::max);
+                    TimeUnit.MILLISECONDS.sleep(holdMillis);
+                } finally {
+                    manager.unlock(1L);
+                }
+                return null;
+            });
+        }
+        latch.countDown();
+        executor.shutdown();
+        executor.awaitTermination(30, TimeUnit.SECONDS);
+
+        return new long[] {TimeUnit.NANOSECONDS.toMillis(maxWaitNanos.get()), rejected.get()};
+    }
+
+    private long runConcurrently(int users, long holdMillis, boolean distinct) throws InterruptedException {
+        CountDownLatch latch = new CountDownLatch(1);
+        ExecutorService executor = Executors.newFixedThreadPool(users);
+
+        for (int i = 0; i < users; i++) {
+            long userId = distinct ? i : 1L;
+            executor.submit(() -> {
+                latch.await();
+                this.lockManager.lock(userId);
+                try {
+                    TimeUnit.MILLISECONDS.sleep(holdMillis);
+                } finally {
+                    this.lockManager.unlock(userId);
+                }
+                return null;
+            });
+        }
+
+        long start = System.nanoTime();
+        latch.countDown();
+        executor.shutdown();
+        executor.awaitTermination(10, TimeUnit.SECONDS);
+
+        return TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - start);
+    }
+}
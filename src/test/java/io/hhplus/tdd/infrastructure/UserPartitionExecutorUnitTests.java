@@ -0,0 +1,158 @@
+package io.hhplus.tdd.infrastructure;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTimeoutPreemptively;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+
+public class UserPartitionExecutorUnitTests {
+
+    private final SimpleMeterRegistry registry = new SimpleMeterRegistry();
+    private final UserPartitionExecutor executor = new UserPartitionExecutor(4, 1000,
+            PointThreads.factory("test-partition-", false), new PointMetrics(this.registry));
+
+    private final long[] counters = new long[8]; // 의도적으로 동기화하지 않은 값
+
+    @AfterEach
+    public void tearDown() {
+        this.executor.shutdown();
+    }
+
+    @Test
+    public void 같은_유저의_작업은_락_없이도_정확히_직렬화된다() throws Exception {
+        // given
+        int threads = 16;
+        int repeat = 1000;
+        CountDownLatch latch = new CountDownLatch(1);
+        ExecutorService callers = Executors.newFixedThreadPool(threads);
+
+        // when
+        List<Future<?>> futures = new ArrayList<>();
+        for (int i = 0; i < threads; i++) {
+            int seed = i;
+            futures.add(callers.submit(() -> {
+                latch.await();
+                for (int j = 0; j < repeat; j++) {
+                    int userId = (seed + j) % this.counters.length;
+                    this.executor.execute(userId, () -> this.counters[userId]++);
+                }
+                return null;
+            }));
+        }
+        latch.countDown();
+        for (Future<?> future : futures) {
+            future.get();
+        }
+        callers.shutdown();
+
+        // then
+        long total = 0;
+        for (int i = 0; i < this.counters.length; i++) {
+            int userId = i;
+            total += this.executor.execute(userId, () -> this.counters[userId]);
+        }
+        assertEquals((long) threads * repeat, total);
+    }
+
+    @Test
+    public void 작업에서_던진_예외는_호출한_스레드에_그대로_전달된다() {
+        // when then
+        IllegalArgumentException e = assertThrows(IllegalArgumentException.class,
+                () -> this.executor.execute(1L, () -> {
+                    throw new IllegalArgumentException("잔여 포인트가 부족합니다.");
+                }));
+        assertEquals("잔여 포인트가 부족합니다.", e.getMessage());
+    }
+
+    @Test
+    public void 대기열이_가득_차면_기다리지_않고_거절하고_지표에_대기열_길이가_보인다() throws Exception {
+        // given - 파티션 1개, 대기열 1칸, 실행 중인 작업 1개 + 대기 중인 작업 1개로 가득 채움
+        SimpleMeterRegistry smallRegistry = new SimpleMeterRegistry();
+        UserPartitionExecutor small = new UserPartitionExecutor(1, 1, PointThreads.factory("test-small-", false),
+                new PointMetrics(smallRegistry));
+        CountDownLatch started = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+        ExecutorService callers = Executors.newFixedThreadPool(2);
+        try {
+            callers.submit(() -> small.execute(1L, () -> {
+                started.countDown();
+                try {
+                    release.await();
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                }
+                return null;
+            }));
+            started.await();
+            callers.submit(() -> small.execute(2L, () -> null));
+            while (smallRegistry.get("point.partition.queue").tag("partition", "0").gauge().value() < 1) {
+                Thread.onSpinWait();
+            }
+
+            // when then
+            IllegalStateException e = assertThrows(IllegalStateException.class, () -> small.execute(3L, () -> null));
+            assertEquals("파티션 대기열이 가득 찼습니다. 잠시 후 다시 시도해주세요.", e.getMessage());
+        } finally {
+            release.countDown();
+            callers.shutdown();
+            small.shutdown();
+        }
+    }
+
+    @Test
+    public void 두_유저를_점유하는_작업은_반대_방향으로_몰려도_교착되지_않는다() throws Exception {
+        // given - 서로 다른 파티션의 두 유저
+        long first = 0;
+        long second = 1;
+        while (this.executor.partitionOf(second) == this.executor.partitionOf(first)) {
+            second++;
+        }
+        long other = second;
+        int threads = 8;
+        int repeat = 1000;
+        CountDownLatch latch = new CountDownLatch(1);
+        ExecutorService callers = Executors.newFixedThreadPool(threads);
+        long[] balances = {10_000, 10_000};
+
+        // when - 절반은 first → other, 나머지는 other → first
+        List<Future<?>> futures = new ArrayList<>();
+        for (int i = 0; i < threads; i++) {
+            boolean forward = i % 2 == 0;
+            futures.add(callers.submit(() -> {
+                latch.await();
+                for (int j = 0; j < repeat; j++) {
+                    this.executor.execute(forward ? first : other, forward ? other : first, () -> {
+                        balances[forward ? 0 : 1]--;
+                        balances[forward ? 1 : 0]++;
+                        return null;
+                    });
+                }
+                return null;
+            }));
+        }
+        latch.countDown();
+        assertTimeoutPreemptively(Duration.ofSeconds(30), () -> {
+            for (Future<?> future : futures) {
+                future.get();
+            }
+        });
+        callers.shutdown();
+
+        // then
+        assertThat(this.executor.partitionOf(first)).isNotEqualTo(this.executor.partitionOf(other));
+        assertEquals(20_000L, (long) this.executor.execute(first, other, () -> balances[0] + balances[1]));
+    }
+}
@@ -0,0 +1,108 @@
+package io.hhplus.tdd.point;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.when;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.asyncDispatch;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.patch;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.content;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.request;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.Spy;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.http.MediaType;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.MvcResult;
+import org.springframework.test.web.servlet.setup.MockMvcBuilders;
+
+import io.hhplus.tdd.ApiControllerAdvice;
+
+@ExtendWith(MockitoExtension.class)
+public class PointAsyncControllerTest {
+	
+	private MockMvc mockMvc;
+	
+    @Mock
+    private PointAsyncService pointAsyncService;
+    
+    @Spy
+    private PointRateLimiter pointRateLimiter = new PointRateLimiter(new PointRateLimitProperties(true,
+    		new PointRateLimitProperties.Limit(20, 10), new PointRateLimitProperties.Limit(20, 10), 1000, Duration.ofSeconds(10)));
+
+    @InjectMocks
+    private PointAsyncController pointAsyncController;
+
+    @BeforeEach
+    public void setup() {
+        this.mockMvc = MockMvcBuilders
+        		.standaloneSetup(this.pointAsyncController)
+                .setControllerAdvice(new ApiControllerAdvice())
+        		.build();
+    }
+
+    @Test
+    public void 포인트_조회는_비동기로_응답한다() throws Exception {
+    	when(this.pointAsyncService.getPoint(1L)).thenReturn(CompletableFuture.completedFuture(new UserPoint(1L, 100L, 1000L)));
+    	
+    	MvcResult result = this.mockMvc.perform(get("/async/point/{id}", 1L))
+    			.andExpect(request().asyncStarted())
+    			.andReturn();
+    	
+    	this.mockMvc.perform(asyncDispatch(result))
+    		.andExpect(status().isOk())
+    		.andExpect(jsonPath("$.id").value(1))
+    		.andExpect(jsonPath("$.point").value(100));
+    }
+    
+    @Test
+    public void 포인트_내역_조회는_비동기로_응답한다() throws Exception {
+    	when(this.pointAsyncService.getPointHistory(1L)).thenReturn(CompletableFuture.completedFuture(
+    			List.of(new PointHistory(1L, 1L, 100L, TransactionType.CHARGE, 1000L))));
+    	
+    	MvcResult result = this.mockMvc.perform(get("/async/point/{id}/histories", 1L))
+    			.andExpect(request().asyncStarted())
+    			.andReturn();
+    	
+    	this.mockMvc.perform(asyncDispatch(result))
+    		.andExpect(status().isOk())
+    		.andExpect(jsonPath("$[0].amount").value(100));
+    }
+    
+    @Test
+    public void 사용_실패는_비동기_응답에서_400_으로_반환한다() throws Exception {
+    	when(this.pointAsyncService.usePoint(1L, 100L)).thenReturn(
+    			CompletableFuture.failedFuture(new IllegalArgumentException("잔여 포인트가 부족합니다.")));
+    	
+    	MvcResult result = this.mockMvc.perform(patch("/async/point/{id}/use", 1L)
+    			.contentType(MediaType.APPLICATION_JSON)
+    			.content("100"))
+    			.andExpect(request().asyncStarted())
+    			.andReturn();
+    	
+    	this.mockMvc.perform(asyncDispatch(result))
+    		.andExpect(status().isBadRequest())
+    		.andExpect(response -> assertThat(response.getResolvedException())
+    				.isInstanceOf(IllegalArgumentException.class)
+    				.hasMessage("잔여 포인트가 부족합니다."));
+    }
+    
+    @Test
+    public void 잘못된_금액은_작업을_넘기기_전에_400_을_반환한다() throws Exception {
+    	this.mockMvc.perform(patch("/async/point/{id}/charge", 1L)
+    			.contentType(MediaType.APPLICATION_JSON)
+    			.content("-1"))
+    		.andExpect(status().isBadRequest())
+    		.andExpect(content().string("Amount Over 1"));
+    }
+}
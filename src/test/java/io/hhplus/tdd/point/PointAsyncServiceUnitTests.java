@@ -0,0 +1,176 @@
+package io.hhplus.tdd.point;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.when;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import io.hhplus.tdd.infrastructure.PointOverloadException;
+
+@ExtendWith(MockitoExtension.class)
+public class PointAsyncServiceUnitTests {
+
+    @Mock
+    private PointService pointService;
+
+    private PointAsyncService asyncService;
+
+    @AfterEach
+    void tearDown() {
+        if (this.asyncService != null) {
+            this.asyncService.shutdown();
+        }
+    }
+
+    @Test
+    public void 같은_유저의_요청은_들어온_순서대로_실행된다() throws Exception {
+        // given
+        this.asyncService = new PointAsyncService(this.pointService, new PointAsyncProperties(8, 1000));
+        List<Long> applied = new ArrayList<>(); // 같은 유저 요청은 한 번에 하나씩만 실행되므로 동기화하지 않음
+        when(this.pointService.rechargePoint(eq(1L), anyLong())).thenAnswer(invocation -> {
+            long amount = invocation.getArgument(1);
+            applied.add(amount);
+            return new UserPoint(1L, amount, 0L);
+        });
+
+        // when
+        List<CompletableFuture<UserPoint>> results = new ArrayList<>();
+        for (long amount = 1; amount <= 200; amount++) {
+            results.add(this.asyncService.rechargePoint(1L, amount));
+        }
+        CompletableFuture.allOf(results.toArray(CompletableFuture[]::new)).get(10, TimeUnit.SECONDS);
+
+        // then
+        assertThat(applied).hasSize(200);
+        for (int i = 0; i < applied.size(); i++) {
+            assertThat(applied.get(i)).isEqualTo(i + 1L);
+        }
+    }
+
+    @Test
+    public void 다른_유저의_요청은_병렬로_실행된다() throws Exception {
+        // given
+        this.asyncService = new PointAsyncService(this.pointService, new PointAsyncProperties(4, 1000));
+        when(this.pointService.getPoint(anyLong())).thenAnswer(invocation -> {
+            Thread.sleep(300);
+            return UserPoint.empty(invocation.getArgument(0));
+        });
+
+        // when
+        long start = System.nanoTime();
+        List<CompletableFuture<UserPoint>> results = new ArrayList<>();
+        for (long id = 1; id <= 4; id++) {
+            results.add(this.asyncService.getPoint(id));
+        }
+        CompletableFuture.allOf(results.toArray(CompletableFuture[]::new)).get(10, TimeUnit.SECONDS);
+
+        // then
+        assertThat(TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - start)).isLessThan(900);
+    }
+
+    @Test
+    public void 앞_요청이_실패해도_다음_요청은_실행되고_실패는_그대로_전달된다() throws Exception {
+        // given
+        this.asyncService = new PointAsyncService(this.pointService, new PointAsyncProperties(2, 1000));
+        when(this.pointService.usePoint(1L, 100L)).thenThrow(new IllegalArgumentException("잔여 포인트가 부족합니다."));
+        when(this.pointService.rechargePoint(1L, 100L)).thenReturn(new UserPoint(1L, 100L, 0L));
+
+        // when
+        CompletableFuture<UserPoint> failed = this.asyncService.usePoint(1L, 100L);
+        CompletableFuture<UserPoint> next = this.asyncService.rechargePoint(1L, 100L);
+
+        // then
+        assertThatThrownBy(() -> failed.get(5, TimeUnit.SECONDS))
+                .isInstanceOf(ExecutionException.class)
+                .hasCauseInstanceOf(IllegalArgumentException.class);
+        assertThat(next.get(5, TimeUnit.SECONDS).point()).isEqualTo(100L);
+    }
+
+    @Test
+    public void 실행기가_가득_차면_요청을_거절한다() throws Exception {
+        // given
+        this.asyncService = new PointAsyncService(this.pointService, new PointAsyncProperties(1, 1));
+        CountDownLatch release = new CountDownLatch(1);
+        when(this.pointService.getPoint(anyLong())).thenAnswer(invocation -> {
+            release.await();
+            return UserPoint.empty(invocation.getArgument(0));
+        });
+
+        // when
+        CompletableFuture<UserPoint> running = this.asyncService.getPoint(1L);
+        CompletableFuture<UserPoint> queued = this.asyncService.getPoint(2L);
+        CompletableFuture<UserPoint> rejected = this.asyncService.getPoint(3L);
+        release.countDown();
+
+        // then
+        assertThatThrownBy(() -> rejected.get(5, TimeUnit.SECONDS))
+                .hasCauseInstanceOf(PointOverloadException.class);
+        assertThat(running.get(5, TimeUnit.SECONDS).id()).isEqualTo(1L);
+        assertThat(queued.get(5, TimeUnit.SECONDS).id()).isEqualTo(2L);
+    }
+
+    @Test
+    public void 유저별_순서를_기다리는_요청도_한도에_포함된다() throws Exception {
+        // given - 스레드 1, 대기열 1 이므로 받아 둘 수 있는 요청은 2건
+        this.asyncService = new PointAsyncService(this.pointService, new PointAsyncProperties(1, 1));
+        CountDownLatch release = new CountDownLatch(1);
+        when(this.pointService.rechargePoint(eq(1L), anyLong())).thenAnswer(invocation -> {
+            release.await();
+            return new UserPoint(1L, invocation.getArgument(1), 0L);
+        });
+
+        // when - 같은 유저의 요청은 실행기 대기열이 아니라 앞 요청 뒤에서 기다림
+        CompletableFuture<UserPoint> running = this.asyncService.rechargePoint(1L, 1L);
+        CompletableFuture<UserPoint> chained = this.asyncService.rechargePoint(1L, 2L);
+        CompletableFuture<UserPoint> rejected = this.asyncService.rechargePoint(1L, 3L);
+
+        // then
+        assertThatThrownBy(() -> rejected.get(5, TimeUnit.SECONDS))
+                .hasCauseInstanceOf(PointOverloadException.class)
+                .cause()
+                .extracting(error -> ((PointOverloadException) error).reason())
+                .isEqualTo(PointOverloadException.Reason.OVERLOADED);
+        release.countDown();
+        assertThat(running.get(5, TimeUnit.SECONDS).point()).isEqualTo(1L);
+        assertThat(chained.get(5, TimeUnit.SECONDS).point()).isEqualTo(2L);
+
+        // 끝난 요청의 자리는 돌려받음
+        assertThat(this.asyncService.rechargePoint(1L, 4L).get(5, TimeUnit.SECONDS).point()).isEqualTo(4L);
+    }
+
+    @Test
+    public void 조회는_같은_유저의_충전을_기다리지_않는다() throws Exception {
+        // given
+        this.asyncService = new PointAsyncService(this.pointService, new PointAsyncProperties(2, 10));
+        CountDownLatch release = new CountDownLatch(1);
+        when(this.pointService.rechargePoint(1L, 100L)).thenAnswer(invocation -> {
+            release.await();
+            return new UserPoint(1L, 100L, 0L);
+        });
+        when(this.pointService.getPoint(1L)).thenReturn(UserPoint.empty(1L));
+
+        // when
+        CompletableFuture<UserPoint> charging = this.asyncService.rechargePoint(1L, 100L);
+        CompletableFuture<UserPoint> read = this.asyncService.getPoint(1L);
+
+        // then
+        assertThat(read.get(5, TimeUnit.SECONDS).point()).isZero();
+        assertThat(charging).isNotDone();
+        release.countDown();
+        assertThat(charging.get(5, TimeUnit.SECONDS).point()).isEqualTo(100L);
+    }
+}
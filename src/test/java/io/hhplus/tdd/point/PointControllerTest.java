@@ -1,27 +1,56 @@
 package io.hhplus.tdd.point;
 
+import static org.assertj.core.api.Assertions.assertThat;
 import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.asyncDispatch;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.patch;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.content;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.header;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.request;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
 
+import java.io.OutputStream;
+import java.time.Duration;
 import java.util.Arrays;
+import java.util.Iterator;
 import java.util.List;
+import java.util.Optional;
+import java.util.concurrent.atomic.AtomicInteger;
 
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
+import org.mockito.Spy;
 import org.mockito.junit.jupiter.MockitoExtension;
 import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
 import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.MvcResult;
 import org.springframework.test.web.servlet.setup.MockMvcBuilders;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
 
 import io.hhplus.tdd.ApiControllerAdvice;
+import io.hhplus.tdd.database.PointHistoryRepository;
+import io.hhplus.tdd.database.PointHistoryTable;
+import io.hhplus.tdd.database.PointWriteBehindProperties;
+import io.hhplus.tdd.database.PointWriteBehindQueue;
+import io.hhplus.tdd.database.UserPointTable;
+import io.hhplus.tdd.infrastructure.PointMetrics;
+import io.hhplus.tdd.infrastructure.PointOverloadException;
+import io.hhplus.tdd.infrastructure.UserLockManager;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
 
 @ExtendWith(MockitoExtension.class)
 public class PointControllerTest {
@@ -30,6 +59,16 @@ public class PointControllerTest {
 	
     @Mock
     private PointService pointService;
+    
+    @Spy
+    private PointHistoryExporter pointHistoryExporter = new PointHistoryExporter(new ObjectMapper());
+    
+    @Mock
+    private PointShardRouter pointShardRouter;
+    
+    @Spy
+    private PointRateLimiter pointRateLimiter = new PointRateLimiter(new PointRateLimitProperties(true,
+    		new PointRateLimitProperties.Limit(20, 10), new PointRateLimitProperties.Limit(20, 10), 1000, Duration.ofSeconds(10)));
 
     @InjectMocks
     private PointController pointController;
@@ -65,6 +104,78 @@ public class PointControllerTest {
                 .andExpect(content().string("Check Id."));
     }
     
+    @Test
+    public void 한_유저에_요청이_몰려_거절되면_429_로_응답한다() throws Exception {
+        when(this.pointService.rechargePoint(anyLong(), anyLong())).thenThrow(PointOverloadException.userBusy());
+
+        this.mockMvc.perform(patch("/point/{id}/charge", 1L)
+        		.contentType(MediaType.APPLICATION_JSON)
+        		.content("100"))
+                .andExpect(status().isTooManyRequests())
+                .andExpect(header().string("Retry-After", "1"))
+                .andExpect(jsonPath("$.message").value(PointOverloadException.USER_BUSY_MESSAGE));
+    }
+    
+    @Test
+    public void 사용_요청_한도를_넘으면_서비스를_호출하지_않고_429_로_응답한다() throws Exception {
+        when(this.pointService.usePoint(anyLong(), anyLong())).thenReturn(UserPoint.empty(1L));
+        for (int i = 0; i < 20; i++) {
+            this.mockMvc.perform(patch("/point/{id}/use", 1L).contentType(MediaType.APPLICATION_JSON).content("1"))
+                    .andExpect(status().isOk());
+        }
+
+        this.mockMvc.perform(patch("/point/{id}/use", 1L).contentType(MediaType.APPLICATION_JSON).content("1"))
+                .andExpect(status().isTooManyRequests())
+                .andExpect(jsonPath("$.message").value(PointOverloadException.RATE_LIMITED_MESSAGE));
+        verify(this.pointService, times(20)).usePoint(1L, 1L);
+
+        // 다른 유저와 충전은 따로 셈
+        this.mockMvc.perform(patch("/point/{id}/use", 2L).contentType(MediaType.APPLICATION_JSON).content("1"))
+                .andExpect(status().isOk());
+    }
+    
+    @Test
+    public void 이미_성공한_멱등_키의_재시도는_요청_한도를_넘어도_처음_결과를_반환한다() throws Exception {
+        // given - 한도를 모두 씀
+        UserPoint first = new UserPoint(1L, 900L, 1L);
+        when(this.pointService.usePoint(anyLong(), anyLong())).thenReturn(UserPoint.empty(1L));
+        for (int i = 0; i < 20; i++) {
+            this.mockMvc.perform(patch("/point/{id}/use", 1L).contentType(MediaType.APPLICATION_JSON).content("1"))
+                    .andExpect(status().isOk());
+        }
+        when(this.pointService.findCompleted(1L, TransactionType.USE, 100L, "retry-key")).thenReturn(Optional.of(first));
+
+        // when then
+        this.mockMvc.perform(patch("/point/{id}/use", 1L)
+        		 .header("Idempotency-Key", "retry-key")
+        		 .contentType(MediaType.APPLICATION_JSON)
+                 .content("100"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.point").value(900));
+        verify(this.pointService, times(0)).usePoint(1L, 100L, "retry-key");
+    }
+    
+    @Test
+    public void 기한_안에_락을_얻지_못하면_503_으로_응답한다() throws Exception {
+        when(this.pointService.getPoint(anyLong())).thenThrow(PointOverloadException.deadline());
+
+        this.mockMvc.perform(get("/point/{id}", 1L))
+                .andExpect(status().isServiceUnavailable())
+                .andExpect(jsonPath("$.code").value("503"))
+                .andExpect(jsonPath("$.message").value(PointOverloadException.DEADLINE_MESSAGE));
+    }
+    
+    @Test
+    public void 처리_기한_헤더가_잘못되면_400_으로_응답한다() throws Exception {
+    	MockMvc filtered = MockMvcBuilders.standaloneSetup(this.pointController)
+    			.addFilters(new PointDeadlineFilter())
+    			.build();
+
+        filtered.perform(get("/point/{id}", 1L).header(PointDeadlineFilter.TIMEOUT_HEADER, "0"))
+                .andExpect(status().isBadRequest())
+                .andExpect(content().string("Check Timeout."));
+    }
+    
     @Test
     public void 포인트_충전_정상케이스_테스트() throws Exception {
     	UserPoint userPoint = new UserPoint(1L, 100, System.currentTimeMillis());
@@ -81,6 +192,32 @@ public class PointControllerTest {
                 .andExpect(jsonPath("$.updateMillis").exists());
     }
     
+    @Test
+    public void 포인트_충전_멱등_키_테스트() throws Exception {
+    	UserPoint userPoint = new UserPoint(1L, 100, System.currentTimeMillis());
+    	
+        when(this.pointService.rechargePoint(1L, 100L, "retry-key")).thenReturn(userPoint);
+        
+        this.mockMvc.perform(patch("/point/{id}/charge", 1L)
+        		 .header("Idempotency-Key", "retry-key")
+        		 .contentType(MediaType.APPLICATION_JSON)
+                 .content("100"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.point").value(100));
+    }
+    
+    @Test
+    public void 포인트_사용_멱등_키_재사용_테스트() throws Exception {
+        when(this.pointService.usePoint(1L, 100L, "retry-key")).thenThrow(new IllegalArgumentException("Check Idempotency-Key."));
+        
+        this.mockMvc.perform(patch("/point/{id}/use", 1L)
+        		 .header("Idempotency-Key", "retry-key")
+        		 .contentType(MediaType.APPLICATION_JSON)
+                 .content("100"))
+                .andExpect(status().isBadRequest())
+                .andExpect(content().string("Check Idempotency-Key."));
+    }
+    
     @Test
     public void 포인트_충전_비정상_id_테스트() throws Exception {
         long invalidId = -1L;
@@ -164,5 +301,211 @@ public class PointControllerTest {
         	.andExpect(jsonPath("$[1].updateMillis").exists());
     }
     
+    @Test
+    public void 포인트_내역_페이지_조회_테스트() throws Exception {
+    	PointHistoryQuery query = new PointHistoryQuery(10L, 2, 1000L, 2000L, TransactionType.USE);
+    	List<PointHistory> page = List.of(
+    			new PointHistory(11L, 1L, 30L, TransactionType.USE, 1500L),
+    			new PointHistory(15L, 1L, 20L, TransactionType.USE, 1800L)
+    	);
+    	
+    	when(this.pointService.getPointHistory(eq(1L), eq(query))).thenReturn(page);
+    	
+    	this.mockMvc.perform(get("/point/{id}/histories", 1L)
+    			.param("after", "10")
+    			.param("limit", "2")
+    			.param("from", "1000")
+    			.param("to", "2000")
+    			.param("type", "USE"))
+    		.andExpect(status().isOk())
+    		.andExpect(jsonPath("$.length()").value(2))
+    		.andExpect(jsonPath("$[0].id").value(11L))
+    		.andExpect(jsonPath("$[1].id").value(15L));
+    }
+    
+    @Test
+    public void 포인트_내역_페이지_비정상_건수_테스트() throws Exception {
+    	this.mockMvc.perform(get("/point/{id}/histories", 1L).param("limit", "0"))
+    		.andExpect(status().isBadRequest())
+    		.andExpect(content().string("Check Limit."));
+    }
+    
+    @Test
+    public void 포인트_내역_스트리밍_테스트() throws Exception {
+    	List<PointHistory> historyList = List.of(
+    			new PointHistory(1L, 1L, 100L, TransactionType.CHARGE, 1000L),
+    			new PointHistory(2L, 1L, 50L, TransactionType.USE, 2000L)
+    	);
+    	
+    	when(this.pointService.streamPointHistory(1L)).thenReturn(historyList);
+    	
+    	MvcResult result = this.mockMvc.perform(get("/point/{id}/histories/stream", 1L))
+    			.andExpect(request().asyncStarted())
+    			.andReturn();
+    	
+    	this.mockMvc.perform(asyncDispatch(result))
+    		.andExpect(status().isOk())
+    		.andExpect(content().contentType(PointHistoryExporter.NDJSON_VALUE))
+    		.andExpect(content().string(
+    				"{\"id\":1,\"userId\":1,\"amount\":100,\"type\":\"CHARGE\",\"updateMillis\":1000}\n"
+    				+ "{\"id\":2,\"userId\":1,\"amount\":50,\"type\":\"USE\",\"updateMillis\":2000}\n"));
+    }
+    
+    @Test
+    public void 포인트_내역_스트리밍은_내역을_복사하지_않고_읽으면서_내보낸다() throws Exception {
+    	// given - 순회할 때마다 만들어지는 내역 10만 건 (목록으로 복사하면 응답을 쓰기 전에 모두 읽게 됨)
+    	int rows = 100_000;
+    	CountingOutputStream out = new CountingOutputStream();
+    	long[] writtenAtHalf = {-1};
+    	AtomicInteger iterations = new AtomicInteger();
+    	Iterable<PointHistory> histories = () -> {
+    		iterations.incrementAndGet();
+    		return new Iterator<>() {
+    			private int index;
+    			
+    			@Override
+    			public boolean hasNext() {
+    				return this.index < rows;
+    			}
+    			
+    			@Override
+    			public PointHistory next() {
+    				if (this.index == rows / 2) {
+    					writtenAtHalf[0] = out.bytes;
+    				}
+    				int id = this.index++;
+    				return new PointHistory(id, 1L, id, TransactionType.CHARGE, id);
+    			}
+    		};
+    	};
+    	when(this.pointService.streamPointHistory(1L)).thenReturn(histories);
+    	
+    	// when
+    	ResponseEntity<StreamingResponseBody> response = this.pointController.historyStream(1L);
+    	int iteratedBeforeBody = iterations.get();
+    	response.getBody().writeTo(out);
+    	
+    	// then - 응답 본문을 쓸 때 한 번만 순회하고, 절반을 읽은 시점에 이미 절반 가까이 출력되어 있다
+    	assertThat(iteratedBeforeBody).isZero();
+    	assertThat(iterations.get()).isEqualTo(1);
+    	assertThat(writtenAtHalf[0]).isGreaterThan(out.bytes / 2 - 128 * 1024);
+    	verify(this.pointService, times(0)).getPointHistory(anyLong());
+    }
+    
+    @Test
+    public void 포인트_이체_정상케이스_테스트() throws Exception {
+    	when(this.pointService.transfer(1L, 2L, 30L))
+    			.thenReturn(new PointTransfer(new UserPoint(1L, 70L, 1000L), new UserPoint(2L, 30L, 1000L)));
+    	
+    	this.mockMvc.perform(patch("/point/{id}/transfer/{toId}", 1L, 2L)
+    			.contentType(MediaType.APPLICATION_JSON)
+    			.content("30"))
+    		.andExpect(status().isOk())
+    		.andExpect(jsonPath("$.from.point").value(70L))
+    		.andExpect(jsonPath("$.to.point").value(30L));
+    }
+    
+    @Test
+    public void 포인트_이체_같은_유저_테스트() throws Exception {
+    	this.mockMvc.perform(patch("/point/{id}/transfer/{toId}", 1L, 1L)
+    			.contentType(MediaType.APPLICATION_JSON)
+    			.content("30"))
+    		.andExpect(status().isBadRequest())
+    		.andExpect(content().string("Check Transfer."));
+    }
+    
+    @Test
+    public void 포인트_일괄_처리_테스트() throws Exception {
+    	List<PointOperationResult> results = List.of(
+    			new PointOperationResult(1L, TransactionType.CHARGE, 100L, true, new UserPoint(1L, 100L, 1000L), null),
+    			new PointOperationResult(2L, TransactionType.USE, 50L, false, null, "잔여 포인트가 부족합니다.")
+    	);
+    	
+    	when(this.pointService.applyAll(List.of(
+    			new PointOperation(1L, TransactionType.CHARGE, 100L),
+    			new PointOperation(2L, TransactionType.USE, 50L)))).thenReturn(results);
+    	
+    	this.mockMvc.perform(post("/point/bulk")
+    			.contentType(MediaType.APPLICATION_JSON)
+    			.content("[{\"userId\":1,\"type\":\"CHARGE\",\"amount\":100},{\"userId\":2,\"type\":\"USE\",\"amount\":50}]"))
+    		.andExpect(status().isOk())
+    		.andExpect(jsonPath("$[0].success").value(true))
+    		.andExpect(jsonPath("$[0].point.point").value(100L))
+    		.andExpect(jsonPath("$[1].success").value(false))
+    		.andExpect(jsonPath("$[1].error").value("잔여 포인트가 부족합니다."));
+    }
+    
+    @Test
+    public void 포인트_일괄_처리_빈_요청_테스트() throws Exception {
+    	this.mockMvc.perform(post("/point/bulk")
+    			.contentType(MediaType.APPLICATION_JSON)
+    			.content("[]"))
+    		.andExpect(status().isBadRequest())
+    		.andExpect(content().string("Check Operations."));
+    }
+    
+    @Test
+    public void 포인트_일괄_처리는_단건_호출보다_빠르다() throws Exception {
+    	// given - 실제 서비스(테이블만 mock)로 1,000건을 단건 호출과 일괄 호출로 각각 처리
+    	UserPointTable userPointTable = mock(UserPointTable.class);
+    	PointHistoryTable pointHistoryTable = mock(PointHistoryTable.class);
+    	PointWriteBehindQueue writeBehindQueue = new PointWriteBehindQueue(userPointTable, pointHistoryTable,
+    			new PointWriteBehindProperties(1000, Duration.ofMillis(10), 10000, 2, Duration.ofSeconds(1)));
+    	PointService service = new PointService(userPointTable, new PointHistoryRepository(pointHistoryTable),
+    			new UserLockManager(), new UserPointSnapshotStore(new PointCacheProperties(1000), writeBehindQueue), writeBehindQueue, Optional.empty(), Optional.empty(),
+    			new PointIdempotencyStore(new PointIdempotencyProperties(1000, Duration.ofMinutes(1))),
+    			new PointConcurrencyProperties(PointConcurrencyMode.LOCK, 1024, 16), new PointMetrics(new SimpleMeterRegistry()), Optional.empty());
+    	PointRateLimiter unlimited = new PointRateLimiter(new PointRateLimitProperties(false,
+    			new PointRateLimitProperties.Limit(20, 10), new PointRateLimitProperties.Limit(20, 10), 1000, Duration.ofSeconds(10))); // 같은 유저에 1000건을 보내므로 한도 없이
+    	MockMvc realMockMvc = MockMvcBuilders
+    			.standaloneSetup(new PointController(service, this.pointHistoryExporter, mock(PointShardRouter.class), unlimited))
+    			.setControllerAdvice(new ApiControllerAdvice())
+    			.build();
+    	
+    	int count = 1000;
+    	StringBuilder body = new StringBuilder("[");
+    	for (int i = 0; i < count; i++) {
+    		body.append(i == 0 ? "" : ",").append("{\"userId\":").append(1000 + i % 10)
+    				.append(",\"type\":\"CHARGE\",\"amount\":1}");
+    	}
+    	body.append("]");
+    	
+    	// when
+    	long singleStart = System.nanoTime();
+    	for (int i = 0; i < count; i++) {
+    		realMockMvc.perform(patch("/point/{id}/charge", 2000 + i % 10)
+    				.contentType(MediaType.APPLICATION_JSON)
+    				.content("1"))
+    			.andExpect(status().isOk());
+    	}
+    	long singleNanos = System.nanoTime() - singleStart;
+    	
+    	long bulkStart = System.nanoTime();
+    	realMockMvc.perform(post("/point/bulk")
+    			.contentType(MediaType.APPLICATION_JSON)
+    			.content(body.toString()))
+    		.andExpect(status().isOk())
+    		.andExpect(jsonPath("$.length()").value(count));
+    	long bulkNanos = System.nanoTime() - bulkStart;
+    	writeBehindQueue.shutdown();
+    	
+    	// then
+    	assertThat(service.getPoint(1000L).getPoint()).isEqualTo(count / 10);
+    	assertThat(service.getPoint(2000L).getPoint()).isEqualTo(count / 10);
+    	assertThat(bulkNanos).isLessThan(singleNanos);
+    }
+    
+    private static final class CountingOutputStream extends OutputStream {
+    	private long bytes;
+    	
+    	@Override
+    	public void write(int b) {
+    		this.bytes++;
+    	}
+    	
+    	@Override
+    	public void write(byte[] b, int off, int len) {
+    		this.bytes += len;
+    	}
+    }
 }
-
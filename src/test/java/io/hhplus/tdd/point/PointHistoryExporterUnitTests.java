@@ -0,0 +1,99 @@
+package io.hhplus.tdd.point;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.AbstractList;
+import java.util.List;
+
+import org.junit.jupiter.api.Test;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+public class PointHistoryExporterUnitTests {
+
+    private final ObjectMapper objectMapper = new ObjectMapper();
+
+    private final PointHistoryExporter exporter = new PointHistoryExporter(this.objectMapper);
+
+    @Test
+    public void 한_줄에_내역_하나씩_출력한다() throws IOException {
+        // given
+        List<PointHistory> histories = List.of(
+                new PointHistory(1L, 1L, 100L, TransactionType.CHARGE, 1000L),
+                new PointHistory(2L, 1L, 50L, TransactionType.USE, 2000L));
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+
+        // when
+        long count = this.exporter.writeNdjson(histories, out);
+
+        // then
+        String[] lines = out.toString(StandardCharsets.UTF_8).split("\n");
+        assertEquals(2, count);
+        assertEquals(2, lines.length);
+        assertEquals(histories.get(0), this.objectMapper.readValue(lines[0], PointHistory.class));
+        assertEquals(histories.get(1), this.objectMapper.readValue(lines[1], PointHistory.class));
+    }
+
+    @Test
+    public void 내역이_없으면_아무것도_출력하지_않는다() throws IOException {
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+
+        assertEquals(0, this.exporter.writeNdjson(List.of(), out));
+        assertEquals(0, out.size());
+    }
+
+    @Test
+    public void 내역을_모아두지_않고_한_건씩_읽으면서_바로_내보낸다() throws IOException {
+        // given - 요청할 때마다 만들어지는 가상의 내역 10만 건
+        int rows = 100_000;
+        CountingOutputStream out = new CountingOutputStream();
+        long[] writtenAtHalf = new long[1];
+        List<PointHistory> histories = new AbstractList<>() {
+            @Override
+            public PointHistory get(int index) {
+                if (index == rows / 2) {
+                    writtenAtHalf[0] = out.bytes;
+                }
+                return new PointHistory(index, 1L, index, TransactionType.CHARGE, index);
+            }
+
+            @Override
+            public int size() {
+                return rows;
+            }
+        };
+
+        // when
+        long count = this.exporter.writeNdjson(histories, out);
+
+        // then - 절반을 읽은 시점에 이미 절반 가까이 출력되어 있고, 주기적으로 flush 된다
+        assertEquals(rows, count);
+        assertThat(writtenAtHalf[0]).isGreaterThan(out.bytes / 2 - 128 * 1024);
+        assertThat(out.flushes).isGreaterThanOrEqualTo(rows / 1000);
+    }
+
+    private static final class CountingOutputStream extends OutputStream {
+        private long bytes;
+        private int flushes;
+
+        @Override
+        public void write(int b) {
+            this.bytes++;
+        }
+
+        @Override
+        public void write(byte[] b, int off, int len) {
+            this.bytes += len;
+        }
+
+        @Override
+        public void flush() {
+            this.flushes++;
+        }
+    }
+}
@@ -0,0 +1,220 @@
+package io.hhplus.tdd.point;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Optional;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+import org.junit.jupiter.api.Test;
+
+public class PointIdempotencyStoreUnitTests {
+
+    private final AtomicLong clock = new AtomicLong();
+    private final PointIdempotencyStore store = new PointIdempotencyStore(
+            new PointIdempotencyProperties(3, Duration.ofSeconds(10)), this.clock::get);
+
+    private final PointOperation charge = new PointOperation(1L, TransactionType.CHARGE, 100L);
+
+    @Test
+    public void 같은_키로_다시_요청하면_실행하지_않고_처음_결과를_반환한다() {
+        // given
+        AtomicInteger runs = new AtomicInteger();
+        UserPoint first = this.store.execute("key-1", this.charge, () -> new UserPoint(1L, 100L * runs.incrementAndGet(), 1L));
+
+        // when
+        UserPoint retried = this.store.execute("key-1", this.charge, () -> new UserPoint(1L, 100L * runs.incrementAndGet(), 2L));
+
+        // then
+        assertEquals(first, retried);
+        assertEquals(1, runs.get());
+    }
+
+    @Test
+    public void 이미_성공한_키만_실행하지_않고_결과를_조회할_수_있다() {
+        // given
+        UserPoint first = this.store.execute("key-1", this.charge, () -> new UserPoint(1L, 100L, 1L));
+        assertThatThrownBy(() -> this.store.execute("key-2", this.charge, () -> {
+            throw new IllegalArgumentException("최대 저장 가능한 포인트가 넘었습니다.");
+        })).isInstanceOf(IllegalArgumentException.class);
+
+        // when then
+        assertEquals(Optional.of(first), this.store.findCompleted("key-1", this.charge));
+        assertEquals(Optional.empty(), this.store.findCompleted("key-1", new PointOperation(1L, TransactionType.USE, 100L)));
+        assertEquals(Optional.empty(), this.store.findCompleted("key-2", this.charge)); // 실패한 키는 잊음
+        assertEquals(Optional.empty(), this.store.findCompleted("key-3", this.charge));
+        assertEquals(Optional.empty(), this.store.findCompleted(null, this.charge));
+
+        // 만료되면 빈 값
+        this.clock.addAndGet(Duration.ofSeconds(10).toNanos());
+        assertEquals(Optional.empty(), this.store.findCompleted("key-1", this.charge));
+    }
+
+    @Test
+    public void 같은_키로_동시에_요청해도_한_번만_실행하고_모두_같은_결과를_받는다() throws Exception {
+        // given
+        int threads = 32;
+        AtomicInteger runs = new AtomicInteger();
+        CountDownLatch start = new CountDownLatch(1);
+        ExecutorService executor = Executors.newFixedThreadPool(threads);
+
+        // when
+        List<Future<UserPoint>> results = new ArrayList<>();
+        for (int i = 0; i < threads; i++) {
+            results.add(executor.submit(() -> {
+                start.await();
+                return this.store.execute("key-1", this.charge, () -> {
+                    runs.incrementAndGet();
+                    sleep(50); // 실행 중에 중복 요청이 도착하도록
+                    return new UserPoint(1L, 100L, 1L);
+                });
+            }));
+        }
+        start.countDown();
+        executor.shutdown();
+        executor.awaitTermination(10, TimeUnit.SECONDS);
+
+        // then
+        assertEquals(1, runs.get());
+        for (Future<UserPoint> result : results) {
+            assertEquals(new UserPoint(1L, 100L, 1L), result.get());
+        }
+    }
+
+    @Test
+    public void 실패한_요청은_기다리던_요청에_같은_예외를_주고_이후_재시도는_새로_실행한다() throws Exception {
+        // given - 처음 요청이 실행 중일 때 같은 키의 요청이 기다림
+        CountDownLatch running = new CountDownLatch(1);
+        CountDownLatch fail = new CountDownLatch(1);
+        ExecutorService executor = Executors.newFixedThreadPool(2);
+        PointOperation use = new PointOperation(1L, TransactionType.USE, 100L);
+        Future<UserPoint> first = executor.submit(() -> this.store.execute("key-1", use, () -> {
+            running.countDown();
+            await(fail);
+            throw new IllegalStateException("잔액이 부족합니다.");
+        }));
+        running.await();
+        Future<UserPoint> duplicate = executor.submit(() -> this.store.execute("key-1", use, () -> new UserPoint(1L, 0L, 1L)));
+
+        // when
+        sleep(50);
+        fail.countDown();
+        executor.shutdown();
+
+        // then
+        for (Future<UserPoint> result : List.of(first, duplicate)) {
+            assertThatThrownBy(result::get).hasCauseInstanceOf(IllegalStateException.class);
+        }
+        assertEquals(new UserPoint(1L, 0L, 2L), this.store.execute("key-1", use, () -> new UserPoint(1L, 0L, 2L)));
+    }
+
+    @Test
+    public void 같은_키를_다른_요청에_쓰면_거절한다() {
+        // given
+        this.store.execute("key-1", this.charge, () -> new UserPoint(1L, 100L, 1L));
+
+        // when, then
+        assertThatThrownBy(() -> this.store.execute("key-1", new PointOperation(1L, TransactionType.CHARGE, 200L),
+                () -> new UserPoint(1L, 300L, 2L)))
+                .isInstanceOf(IllegalArgumentException.class)
+                .hasMessage("Check Idempotency-Key.");
+    }
+
+    @Test
+    public void 키는_유저별로_구분한다() {
+        // given
+        this.store.execute("key-1", this.charge, () -> new UserPoint(1L, 100L, 1L));
+
+        // when
+        UserPoint other = this.store.execute("key-1", new PointOperation(2L, TransactionType.CHARGE, 100L),
+                () -> new UserPoint(2L, 100L, 2L));
+
+        // then
+        assertEquals(new UserPoint(2L, 100L, 2L), other);
+    }
+
+    @Test
+    public void ttl_이_지나거나_최대_개수를_넘으면_오래된_키부터_잊는다() {
+        // given
+        for (int i = 1; i <= 5; i++) {
+            this.store.execute("key-" + i, this.charge, () -> new UserPoint(1L, 100L, 1L));
+        }
+        assertEquals(3, this.store.size());
+
+        // when - ttl 경과
+        this.clock.addAndGet(Duration.ofSeconds(10).toNanos());
+        UserPoint retried = this.store.execute("key-5", this.charge, () -> new UserPoint(1L, 200L, 2L));
+
+        // then
+        assertEquals(new UserPoint(1L, 200L, 2L), retried);
+        assertThat(this.store.size()).isEqualTo(1);
+    }
+
+    @Test
+    public void 실행_중인_키는_최대_개수나_ttl_을_넘어도_잊지_않아_재시도가_다시_실행되지_않는다() throws Exception {
+        // given - key-1 이 실행 중인 동안 다른 키들이 최대 개수를 넘기고 ttl 도 지남
+        AtomicInteger runs = new AtomicInteger();
+        CountDownLatch running = new CountDownLatch(1);
+        CountDownLatch finish = new CountDownLatch(1);
+        ExecutorService executor = Executors.newFixedThreadPool(2);
+        Future<UserPoint> first = executor.submit(() -> this.store.execute("key-1", this.charge, () -> {
+            runs.incrementAndGet();
+            running.countDown();
+            await(finish);
+            return new UserPoint(1L, 100L, 1L);
+        }));
+        running.await();
+        for (int i = 2; i <= 6; i++) {
+            this.store.execute("key-" + i, this.charge, () -> new UserPoint(1L, 100L, 1L));
+        }
+        this.clock.addAndGet(Duration.ofSeconds(10).toNanos());
+
+        // when - 같은 키로 재시도
+        Future<UserPoint> retried = executor.submit(() -> this.store.execute("key-1", this.charge, () -> {
+            runs.incrementAndGet();
+            return new UserPoint(1L, 200L, 2L);
+        }));
+        sleep(50);
+        finish.countDown();
+        executor.shutdown();
+
+        // then - 재시도는 처음 요청의 결과를 기다려 받고, 충전은 한 번만 실행
+        assertEquals(new UserPoint(1L, 100L, 1L), first.get(5, TimeUnit.SECONDS));
+        assertEquals(new UserPoint(1L, 100L, 1L), retried.get(5, TimeUnit.SECONDS));
+        assertEquals(1, runs.get());
+    }
+
+    @Test
+    public void 비어_있거나_너무_긴_키는_거절한다() {
+        assertThatThrownBy(() -> this.store.execute(" ", this.charge, () -> UserPoint.empty(1L)))
+                .isInstanceOf(IllegalArgumentException.class);
+        assertThatThrownBy(() -> this.store.execute("k".repeat(256), this.charge, () -> UserPoint.empty(1L)))
+                .isInstanceOf(IllegalArgumentException.class);
+    }
+
+    private static void sleep(long millis) {
+        try {
+            Thread.sleep(millis);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    private static void await(CountDownLatch latch) {
+        try {
+            latch.await();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+}
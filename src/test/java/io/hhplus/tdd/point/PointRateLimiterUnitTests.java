@@ -0,0 +1,134 @@
+package io.hhplus.tdd.point;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+import org.junit.jupiter.api.Test;
+
+public class PointRateLimiterUnitTests {
+
+    private final AtomicLong clock = new AtomicLong(TimeUnit.SECONDS.toNanos(-100)); // 음수 시각에서도 동작해야 함
+    private final PointRateLimiter limiter = new PointRateLimiter(this.properties(5, 10, 1000), this.clock::get);
+
+    @Test
+    public void 한도만큼_한_번에_보낼_수_있고_채워지는_만큼_다시_보낼_수_있다() {
+        // when then - 5개까지 허용
+        for (int i = 0; i < 5; i++) {
+            assertTrue(this.limiter.tryAcquire(1L, TransactionType.USE));
+        }
+        assertFalse(this.limiter.tryAcquire(1L, TransactionType.USE));
+
+        // 100ms(토큰 1개) 뒤 1개만 허용
+        this.clock.addAndGet(TimeUnit.MILLISECONDS.toNanos(100));
+        assertTrue(this.limiter.tryAcquire(1L, TransactionType.USE));
+        assertFalse(this.limiter.tryAcquire(1L, TransactionType.USE));
+
+        // 오래 쉬어도 한도 이상 쌓이지 않음
+        this.clock.addAndGet(TimeUnit.SECONDS.toNanos(10));
+        for (int i = 0; i < 5; i++) {
+            assertTrue(this.limiter.tryAcquire(1L, TransactionType.USE));
+        }
+        assertFalse(this.limiter.tryAcquire(1L, TransactionType.USE));
+    }
+
+    @Test
+    public void 유저와_종류마다_따로_센다() {
+        // given
+        for (int i = 0; i < 5; i++) {
+            this.limiter.tryAcquire(1L, TransactionType.USE);
+        }
+
+        // when then
+        assertFalse(this.limiter.tryAcquire(1L, TransactionType.USE));
+        assertTrue(this.limiter.tryAcquire(1L, TransactionType.CHARGE));
+        assertTrue(this.limiter.tryAcquire(2L, TransactionType.USE));
+    }
+
+    @Test
+    public void 동시에_요청해도_한도를_넘겨_허용하지_않는다() throws Exception {
+        // given - 시각을 멈춰 두고 한도 1000 을 16 스레드가 나눠 씀
+        PointRateLimiter limiter = new PointRateLimiter(this.properties(1000, 1, 1000), this.clock::get);
+        int threads = 16;
+        CountDownLatch latch = new CountDownLatch(1);
+        ExecutorService executor = Executors.newFixedThreadPool(threads);
+
+        // when
+        List<Future<Integer>> futures = new ArrayList<>();
+        for (int i = 0; i < threads; i++) {
+            futures.add(executor.submit(() -> {
+                latch.await();
+                int acquired = 0;
+                for (int j = 0; j < 1000; j++) {
+                    if (limiter.tryAcquire(1L, TransactionType.USE)) {
+                        acquired++;
+                    }
+                }
+                return acquired;
+            }));
+        }
+        latch.countDown();
+        int total = 0;
+        for (Future<Integer> future : futures) {
+            total += future.get();
+        }
+        executor.shutdown();
+
+        // then
+        assertEquals(1000, total);
+    }
+
+    @Test
+    public void 가득_찬_버킷은_정리되고_기억하는_유저_수는_maxUsers_를_넘지_않는다() {
+        // given - 최대 3명
+        PointRateLimiter limiter = new PointRateLimiter(this.properties(5, 10, 3), this.clock::get);
+        for (long userId = 1; userId <= 3; userId++) {
+            limiter.tryAcquire(userId, TransactionType.USE);
+        }
+
+        // when - 쉬고 있는 버킷이 없으므로 4번째 유저는 기억할 자리가 없어 거절
+        assertFalse(limiter.tryAcquire(4L, TransactionType.USE));
+        assertEquals(3, limiter.size());
+
+        // then - 버킷이 다시 가득 차면(100ms) 정리 주기에 지워지고 새 유저를 받음
+        this.clock.addAndGet(TimeUnit.SECONDS.toNanos(11));
+        assertTrue(limiter.tryAcquire(4L, TransactionType.USE));
+        assertThat(limiter.size()).isEqualTo(1);
+        assertEquals(0, limiter.sweep());
+    }
+
+    @Test
+    public void 자리가_없으면_쉬고_있는_버킷을_바로_정리해_새_유저를_받는다() {
+        // given - 최대 3명, 유저 1 은 계속 요청하고 2, 3 은 한 번만 요청
+        PointRateLimiter limiter = new PointRateLimiter(this.properties(5, 10, 3), this.clock::get);
+        for (long userId = 1; userId <= 3; userId++) {
+            limiter.tryAcquire(userId, TransactionType.USE);
+        }
+
+        // when - 정리 주기(10초) 전이지만 2, 3 의 버킷은 100ms 뒤 다시 가득 참
+        this.clock.addAndGet(TimeUnit.MILLISECONDS.toNanos(200));
+        limiter.tryAcquire(1L, TransactionType.USE);
+
+        // then - 새 유저마다 제한 없이 통과시키지 않고 비워진 자리만큼만 받음
+        assertTrue(limiter.tryAcquire(4L, TransactionType.USE));
+        assertTrue(limiter.tryAcquire(5L, TransactionType.USE));
+        assertFalse(limiter.tryAcquire(6L, TransactionType.USE));
+        assertEquals(3, limiter.size());
+    }
+
+    private PointRateLimitProperties properties(int capacity, int refillPerSecond, int maxUsers) {
+        PointRateLimitProperties.Limit limit = new PointRateLimitProperties.Limit(capacity, refillPerSecond);
+        return new PointRateLimitProperties(true, limit, limit, maxUsers, Duration.ofSeconds(10));
+    }
+}
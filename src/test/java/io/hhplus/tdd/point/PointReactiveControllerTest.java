@@ -0,0 +1,166 @@
+package io.hhplus.tdd.point;
+
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import java.time.Duration;
+import java.util.Optional;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.Spy;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.http.MediaType;
+import org.springframework.test.web.reactive.server.WebTestClient;
+
+import io.hhplus.tdd.ApiControllerAdvice;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+@ExtendWith(MockitoExtension.class)
+public class PointReactiveControllerTest {
+	
+	private WebTestClient webTestClient;
+	
+    @Mock
+    private PointReactiveService pointReactiveService;
+
+    @Spy
+    private PointRateLimiter pointRateLimiter = new PointRateLimiter(new PointRateLimitProperties(true,
+    		new PointRateLimitProperties.Limit(20, 10), new PointRateLimitProperties.Limit(20, 10), 1000, Duration.ofSeconds(10)));
+
+    @InjectMocks
+    private PointReactiveController pointReactiveController;
+
+    @BeforeEach
+    public void setup() {
+        this.webTestClient = WebTestClient
+        		.bindToController(this.pointReactiveController)
+        		.controllerAdvice(new ApiControllerAdvice())
+        		.build();
+    }
+
+    @Test
+    public void 포인트_조회_테스트() {
+    	when(this.pointReactiveService.getPoint(1L)).thenReturn(Mono.just(new UserPoint(1L, 100L, 1000L)));
+    	
+    	this.webTestClient.get().uri("/reactive/point/{id}", 1L)
+    		.exchange()
+    		.expectStatus().isOk()
+    		.expectBody()
+    		.jsonPath("$.id").isEqualTo(1)
+    		.jsonPath("$.point").isEqualTo(100);
+    }
+    
+    @Test
+    public void 포인트_내역은_ndjson_으로_한_건씩_스트리밍한다() {
+    	when(this.pointReactiveService.getPointHistory(1L)).thenReturn(Flux.just(
+    			new PointHistory(1L, 1L, 100L, TransactionType.CHARGE, 1000L),
+    			new PointHistory(2L, 1L, 50L, TransactionType.USE, 2000L)));
+    	
+    	this.webTestClient.get().uri("/reactive/point/{id}/histories", 1L)
+    		.accept(MediaType.APPLICATION_NDJSON)
+    		.exchange()
+    		.expectStatus().isOk()
+    		.expectHeader().contentTypeCompatibleWith(MediaType.APPLICATION_NDJSON)
+    		.expectBodyList(PointHistory.class)
+    		.hasSize(2);
+    }
+    
+    @Test
+    public void 포인트_충전_테스트() {
+    	when(this.pointReactiveService.rechargePoint(1L, 100L)).thenReturn(Mono.just(new UserPoint(1L, 100L, 1000L)));
+    	
+    	this.webTestClient.patch().uri("/reactive/point/{id}/charge", 1L)
+    		.contentType(MediaType.APPLICATION_JSON)
+    		.bodyValue(100L)
+    		.exchange()
+    		.expectStatus().isOk()
+    		.expectBody()
+    		.jsonPath("$.point").isEqualTo(100);
+    }
+    
+    @Test
+    public void 포인트_사용_실패는_400_을_반환한다() {
+    	when(this.pointReactiveService.usePoint(1L, 100L)).thenReturn(Mono.error(new IllegalArgumentException("잔여 포인트가 부족합니다.")));
+    	
+    	this.webTestClient.patch().uri("/reactive/point/{id}/use", 1L)
+    		.contentType(MediaType.APPLICATION_JSON)
+    		.bodyValue(100L)
+    		.exchange()
+    		.expectStatus().isBadRequest()
+    		.expectBody(String.class).isEqualTo("잔여 포인트가 부족합니다.");
+    }
+    
+    @Test
+    public void 잘못된_id_는_400_을_반환한다() {
+    	this.webTestClient.get().uri("/reactive/point/{id}", -1L)
+    		.exchange()
+    		.expectStatus().isBadRequest()
+    		.expectBody(String.class).isEqualTo("Check Id.");
+    }
+    
+    @Test
+    public void 사용_요청_한도를_넘으면_서비스를_호출하지_않고_429_로_응답한다() {
+    	when(this.pointReactiveService.usePoint(anyLong(), anyLong())).thenReturn(Mono.just(UserPoint.empty(1L)));
+    	for (int i = 0; i < 20; i++) {
+    		this.webTestClient.patch().uri("/reactive/point/{id}/use", 1L)
+    			.contentType(MediaType.APPLICATION_JSON)
+    			.bodyValue(1L)
+    			.exchange()
+    			.expectStatus().isOk();
+    	}
+    	
+    	this.webTestClient.patch().uri("/reactive/point/{id}/use", 1L)
+    		.contentType(MediaType.APPLICATION_JSON)
+    		.bodyValue(1L)
+    		.exchange()
+    		.expectStatus().isEqualTo(429);
+    	verify(this.pointReactiveService, times(20)).usePoint(1L, 1L);
+    }
+    
+    @Test
+    public void 이미_성공한_멱등_키의_재시도는_요청_한도를_넘어도_처음_결과를_반환한다() {
+    	// given - 한도를 모두 씀
+    	when(this.pointReactiveService.usePoint(anyLong(), anyLong())).thenReturn(Mono.just(UserPoint.empty(1L)));
+    	for (int i = 0; i < 20; i++) {
+    		this.webTestClient.patch().uri("/reactive/point/{id}/use", 1L)
+    			.contentType(MediaType.APPLICATION_JSON)
+    			.bodyValue(1L)
+    			.exchange()
+    			.expectStatus().isOk();
+    	}
+    	when(this.pointReactiveService.findCompleted(1L, TransactionType.USE, 100L, "retry-key"))
+    		.thenReturn(Optional.of(new UserPoint(1L, 900L, 1L)));
+    	
+    	// when then
+    	this.webTestClient.patch().uri("/reactive/point/{id}/use", 1L)
+    		.header("Idempotency-Key", "retry-key")
+    		.contentType(MediaType.APPLICATION_JSON)
+    		.bodyValue(100L)
+    		.exchange()
+    		.expectStatus().isOk()
+    		.expectBody()
+    		.jsonPath("$.point").isEqualTo(900);
+    	verify(this.pointReactiveService, times(0)).usePoint(1L, 100L, "retry-key");
+    }
+    
+    @Test
+    public void 처리_기한_헤더가_잘못되면_400_으로_응답한다() {
+    	WebTestClient filtered = WebTestClient
+    			.bindToController(this.pointReactiveController)
+    			.webFilter(new PointReactiveDeadlineFilter())
+    			.build();
+    	
+    	filtered.get().uri("/reactive/point/{id}", 1L)
+    		.header(PointDeadlineFilter.TIMEOUT_HEADER, "0")
+    		.exchange()
+    		.expectStatus().isBadRequest()
+    		.expectBody(String.class).isEqualTo("Check Timeout.");
+    }
+}
@@ -0,0 +1,73 @@
+package io.hhplus.tdd.point;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.mockito.Mockito.when;
+
+import java.util.concurrent.atomic.AtomicReference;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import io.hhplus.tdd.infrastructure.RequestDeadline;
+import reactor.core.publisher.Mono;
+
+@ExtendWith(MockitoExtension.class)
+public class PointReactiveServiceUnitTests {
+
+    @Mock
+    private PointService pointService;
+
+    private PointReactiveService pointReactiveService;
+
+    @AfterEach
+    public void tearDown() {
+        RequestDeadline.clear();
+        if (this.pointReactiveService != null) {
+            this.pointReactiveService.shutdown();
+        }
+    }
+
+    @Test
+    public void Netty_요청의_기한은_Reactor_Context_에서_받아_스케줄러_스레드로_넘긴다() {
+        // given
+        this.pointReactiveService = new PointReactiveService(this.pointService, new PointReactiveProperties(false, 0, 1, 2, 10));
+        AtomicReference<Long> seen = new AtomicReference<>();
+        when(this.pointService.getPoint(1L)).thenAnswer(invocation -> {
+            seen.set(RequestDeadline.current());
+            return UserPoint.empty(1L);
+        });
+
+        // when
+        this.pointReactiveService.getPoint(1L)
+                .contextWrite(context -> context.put(RequestDeadline.CONTEXT_KEY, 123L))
+                .block();
+
+        // then
+        assertEquals(123L, seen.get());
+    }
+
+    @Test
+    public void 서블릿_요청의_기한은_요청_스레드에서_받아_스케줄러_스레드로_넘긴다() {
+        // given - PointDeadlineFilter 가 요청 스레드에 기한을 둔 상태에서 컨트롤러가 Mono 를 만듦
+        this.pointReactiveService = new PointReactiveService(this.pointService, new PointReactiveProperties(false, 0, 1, 2, 10));
+        AtomicReference<Long> seen = new AtomicReference<>(-1L);
+        when(this.pointService.getPoint(1L)).thenAnswer(invocation -> {
+            seen.set(RequestDeadline.current());
+            return UserPoint.empty(1L);
+        });
+        RequestDeadline.set(456L);
+        Mono<UserPoint> point = this.pointReactiveService.getPoint(1L);
+        RequestDeadline.clear();
+
+        // when
+        point.block();
+
+        // then
+        assertEquals(456L, seen.get());
+        assertNull(RequestDeadline.current());
+    }
+}
@@ -0,0 +1,153 @@
+package io.hhplus.tdd.point;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.List;
+import java.util.Optional;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.junit.jupiter.api.io.TempDir;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import io.hhplus.tdd.database.PointHistoryRepository;
+import io.hhplus.tdd.database.PointHistoryTable;
+import io.hhplus.tdd.database.PointLogDurability;
+import io.hhplus.tdd.database.PointSnapshotter;
+import io.hhplus.tdd.database.PointTransactionLog;
+import io.hhplus.tdd.database.PointWriteBehindProperties;
+import io.hhplus.tdd.database.PointWriteBehindQueue;
+import io.hhplus.tdd.database.UserPointTable;
+import io.hhplus.tdd.infrastructure.PointMetrics;
+import io.hhplus.tdd.infrastructure.UserLockManager;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+
+@ExtendWith(MockitoExtension.class)
+public class PointRecoveryUnitTests {
+
+    @Mock
+    private UserPointTable userPointTable;
+
+    @Mock
+    private PointHistoryTable pointHistoryTable;
+
+    @TempDir
+    private Path dir;
+
+    @Test
+    public void 재시작하면_로그로_잔액과_내역을_복구한다() {
+        // given - 이전 실행에서 충전/사용 후 종료
+        when(this.pointHistoryTable.selectAllByUserId(anyLong())).thenReturn(List.of());
+        Path file = this.dir.resolve("points.log");
+        List<PointHistory> before;
+        try (PointTransactionLog pointLog = this.open(file)) {
+            Node node = new Node(pointLog);
+            node.service.rechargePoint(1L, 1000L);
+            node.service.usePoint(1L, 300L);
+            node.service.rechargePoint(2L, 50L);
+            before = node.service.getPointHistory(1L);
+            node.queue.shutdown();
+        }
+
+        // when - 테이블은 비어 있는 새 인스턴스
+        long replayed;
+        Node node;
+        try (PointTransactionLog pointLog = this.open(file)) {
+            node = new Node(pointLog);
+            replayed = node.recovery.replay(pointLog);
+
+            // then - 복구만으로는 테이블 쓰기도, 캐시에 올라간 유저도 없음
+            assertEquals(3L, replayed);
+            assertEquals(0, node.queue.pending());
+            assertEquals(0, node.snapshotStore.stats().size());
+            assertEquals(700L, node.service.getPoint(1L).getPoint());
+            assertEquals(50L, node.service.getPoint(2L).getPoint());
+            assertEquals(before, node.service.getPointHistory(1L));
+
+            // 새 내역은 복구한 id 뒤부터 발급
+            node.service.rechargePoint(1L, 1L);
+            assertThat(node.service.getPointHistory(1L).get(2).id()).isGreaterThan(before.get(1).id());
+            node.queue.shutdown();
+        }
+        verify(this.userPointTable, times(2)).insertOrUpdate(2L, 50L); // 이전 실행에서 한 번, 복구 뒤 처음 읽을 때 한 번
+        verify(this.pointHistoryTable, times(1)).insert(eq(2L), eq(50L), any(), anyLong()); // 복구한 내역은 테이블에 다시 쓰지 않음
+    }
+
+    @Test
+    public void 스냅샷이_있으면_스냅샷_이후_기록만_다시_적용한다() {
+        // given - 충전 2건 후 스냅샷, 이후 사용 1건
+        when(this.pointHistoryTable.selectAllByUserId(anyLong())).thenReturn(List.of());
+        Path file = this.dir.resolve("points.log");
+        Path snapshotFile = this.dir.resolve("points.snapshot");
+        List<PointHistory> before;
+        try (PointTransactionLog pointLog = this.open(file);
+             PointSnapshotter snapshotter = new PointSnapshotter(pointLog, snapshotFile, Duration.ZERO)) {
+            Node node = new Node(pointLog, Optional.of(snapshotter));
+            node.service.rechargePoint(1L, 1000L);
+            node.service.rechargePoint(2L, 50L);
+            snapshotter.snapshot();
+            node.service.usePoint(1L, 300L);
+            before = node.service.getPointHistory(1L);
+            node.queue.shutdown();
+        }
+
+        // when
+        try (PointTransactionLog pointLog = this.open(file);
+             PointSnapshotter snapshotter = new PointSnapshotter(pointLog, snapshotFile, Duration.ZERO)) {
+            Node node = new Node(pointLog, Optional.of(snapshotter));
+            long replayed = node.recovery.replay(pointLog);
+
+            // then - 로그는 스냅샷 이후 것만 읽고, 잔액과 내역은 스냅샷 이전 것까지 모두 복구
+            assertEquals(1L, replayed);
+            assertEquals(700L, node.service.getPoint(1L).getPoint());
+            assertEquals(50L, node.service.getPoint(2L).getPoint());
+            assertEquals(before, node.service.getPointHistory(1L));
+
+            // 새 내역은 스냅샷 이전 id 와 겹치지 않음
+            node.service.rechargePoint(3L, 1L);
+            assertThat(node.service.getPointHistory(3L).get(0).id()).isEqualTo(4L);
+            node.queue.shutdown();
+        }
+        verify(this.userPointTable, times(2)).insertOrUpdate(2L, 50L); // 이전 실행에서 한 번, 스냅샷 복구 뒤 처음 읽을 때 한 번
+        verify(this.pointHistoryTable, times(1)).insert(eq(2L), eq(50L), any(), anyLong()); // 내역 파일의 내역도 테이블에 다시 쓰지 않음
+    }
+
+    private PointTransactionLog open(Path file) {
+        return new PointTransactionLog(file, PointLogDurability.GROUP, 1024, Duration.ofMillis(5));
+    }
+
+    // 한 번의 실행에 해당하는 서비스 구성
+    private class Node {
+        private final PointWriteBehindQueue queue;
+        private final UserPointSnapshotStore snapshotStore;
+        private final PointService service;
+        private final PointRecovery recovery;
+
+        private Node(PointTransactionLog pointLog) {
+            this(pointLog, Optional.empty());
+        }
+
+        private Node(PointTransactionLog pointLog, Optional<PointSnapshotter> snapshotter) {
+            PointRecoveryUnitTests tests = PointRecoveryUnitTests.this;
+            this.queue = new PointWriteBehindQueue(tests.userPointTable, tests.pointHistoryTable,
+                    new PointWriteBehindProperties(100, Duration.ofMillis(5), 1000, 2, Duration.ofSeconds(1)));
+            PointHistoryRepository repository = new PointHistoryRepository(tests.pointHistoryTable);
+            this.snapshotStore = new UserPointSnapshotStore(new PointCacheProperties(1000), this.queue);
+            this.service = new PointService(tests.userPointTable, repository, new UserLockManager(), this.snapshotStore, this.queue,
+                    Optional.empty(), Optional.of(pointLog),
+                    new PointIdempotencyStore(new PointIdempotencyProperties(1000, Duration.ofMinutes(1))),
+                    new PointConcurrencyProperties(PointConcurrencyMode.LOCK, 1024, 16), new PointMetrics(new SimpleMeterRegistry()), Optional.empty());
+            this.recovery = new PointRecovery(Optional.of(pointLog), repository, this.snapshotStore, Optional.empty(), snapshotter);
+        }
+    }
+}
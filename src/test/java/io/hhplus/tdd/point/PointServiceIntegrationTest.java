@@ -3,16 +3,26 @@ package io.hhplus.tdd.point;
 import static org.assertj.core.api.Assertions.assertThat;
 import static org.junit.jupiter.api.Assertions.assertThrows;
 
+import java.time.Duration;
 import java.util.List;
-import java.util.concurrent.locks.ReentrantLock;
+import java.util.Optional;
 
+import org.junit.jupiter.api.AfterEach;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.test.context.SpringBootTest;
 
+import io.hhplus.tdd.database.PointHistoryRepository;
 import io.hhplus.tdd.database.PointHistoryTable;
+import io.hhplus.tdd.database.PointWriteBehindProperties;
+import io.hhplus.tdd.database.PointWriteBehindQueue;
 import io.hhplus.tdd.database.UserPointTable;
+import io.hhplus.tdd.infrastructure.PointMetrics;
+import io.hhplus.tdd.infrastructure.UserLockManager;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
 import lombok.extern.slf4j.Slf4j;
 
 @Slf4j
@@ -25,11 +35,26 @@ class PointServiceIntegrationTest {
     @Autowired
     private PointHistoryTable pointHistoryTable;
 
+    @Autowired
+    private MeterRegistry meterRegistry;
+
+    private PointWriteBehindQueue writeBehindQueue;
+
     private PointService pointService;
 
     @BeforeEach
     void setUp() {
-    	this.pointService = new PointService(this.userPointTable, this.pointHistoryTable, new ReentrantLock());
+    	this.writeBehindQueue = new PointWriteBehindQueue(this.userPointTable, this.pointHistoryTable,
+    			new PointWriteBehindProperties(100, Duration.ofMillis(10), 1000, 2, Duration.ofSeconds(1)));
+    	this.pointService = new PointService(this.userPointTable, new PointHistoryRepository(this.pointHistoryTable), new UserLockManager(),
+    			new UserPointSnapshotStore(new PointCacheProperties(1000), this.writeBehindQueue), this.writeBehindQueue, Optional.empty(), Optional.empty(),
+    			new PointIdempotencyStore(new PointIdempotencyProperties(1000, Duration.ofMinutes(1))),
+    			new PointConcurrencyProperties(PointConcurrencyMode.LOCK, 1024, 16), new PointMetrics(new SimpleMeterRegistry()), Optional.empty());
+    }
+
+    @AfterEach
+    void tearDown() {
+    	this.writeBehindQueue.shutdown();
     }
 
     @Test
@@ -79,4 +104,34 @@ class PointServiceIntegrationTest {
         
         assertThat(history).hasSize(2);
     }
+
+    @Test
+    void 포인트_충전_사용_종료시_테이블에_반영() {
+        Long userId = 5L;
+        this.pointService.rechargePoint(userId, 300L);
+        this.pointService.usePoint(userId, 100L);
+        this.pointService.rechargePoint(userId, 10L);
+
+        this.writeBehindQueue.shutdown();
+
+        assertThat(this.userPointTable.selectById(userId).getPoint()).isEqualTo(210L);
+        assertThat(this.pointHistoryTable.selectAllByUserId(userId))
+                .extracting(PointHistory::type)
+                .containsExactly(TransactionType.CHARGE, TransactionType.USE, TransactionType.CHARGE);
+    }
+
+    @Test
+    void 테이블_호출_시간이_지표로_기록된다() {
+        Long userId = 6L;
+        double before = this.tableCalls("selectById");
+
+        this.pointService.getPoint(userId); // 캐시에 없으므로 테이블을 읽음
+
+        assertThat(this.tableCalls("selectById")).isEqualTo(before + 1);
+    }
+
+    private double tableCalls(String method) {
+        Timer timer = this.meterRegistry.find("point.table.call").tag("table", "user_point").tag("method", method).timer();
+        return (timer == null) ? 0 : timer.count();
+    }
 }
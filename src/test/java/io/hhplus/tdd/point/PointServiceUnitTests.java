@@ -1,34 +1,69 @@
 package io.hhplus.tdd.point;
 
+import static org.assertj.core.api.Assertions.assertThat;
 import static org.junit.jupiter.api.Assertions.assertEquals;
 import static org.junit.jupiter.api.Assertions.assertNotEquals;
 import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTimeoutPreemptively;
+import static org.mockito.ArgumentMatchers.any;
 import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.atLeastOnce;
+import static org.mockito.Mockito.clearInvocations;
+import static org.mockito.Mockito.doNothing;
+import static org.mockito.Mockito.doThrow;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
 
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.file.Path;
+import java.time.Duration;
 import java.util.ArrayList;
 import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.ConcurrentHashMap;
 import java.util.concurrent.CountDownLatch;
 import java.util.concurrent.ExecutorService;
+import java.util.concurrent.ExecutionException;
 import java.util.concurrent.Executors;
-import java.util.concurrent.locks.ReentrantLock;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
 
+import org.junit.jupiter.api.AfterEach;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
+import org.junit.jupiter.api.io.TempDir;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
 
+import io.hhplus.tdd.database.MappedBalanceStore;
+import io.hhplus.tdd.database.PointHistoryRepository;
 import io.hhplus.tdd.database.PointHistoryTable;
+import io.hhplus.tdd.database.PointTransactionLog;
+import io.hhplus.tdd.database.PointWriteBehindProperties;
+import io.hhplus.tdd.database.PointWriteBehindQueue;
 import io.hhplus.tdd.database.UserPointTable;
+import io.hhplus.tdd.infrastructure.PointMetrics;
+import io.hhplus.tdd.infrastructure.PointOverloadException;
+import io.hhplus.tdd.infrastructure.PointThreads;
+import io.hhplus.tdd.infrastructure.UserLockManager;
+import io.hhplus.tdd.infrastructure.UserPartitionExecutor;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
 import lombok.extern.slf4j.Slf4j;
 
 @Slf4j
 @ExtendWith(MockitoExtension.class)
 public class PointServiceUnitTests {
 	
-	private final ReentrantLock lock = new ReentrantLock(); // ✅ 실제 객체 사용
+	private final UserLockManager lockManager = new UserLockManager(); // ✅ 실제 객체 사용
 ;
 	
 	@Mock
@@ -37,13 +72,27 @@ public class PointServiceUnitTests {
 	@Mock
 	private UserPointTable userPointTable;
 	
+	private UserPointSnapshotStore snapshotStore;
+	
+	private PointWriteBehindQueue writeBehindQueue;
+	
 	private PointService pointService;
 	
 	@BeforeEach
     public void setup() {
-        this.pointService = new PointService(userPointTable, pointHistoryTable, lock);  // ✅ 직접 주입
+		this.writeBehindQueue = new PointWriteBehindQueue(userPointTable, pointHistoryTable,
+				new PointWriteBehindProperties(100, Duration.ofMillis(10), 1000, 2, Duration.ofSeconds(1)));
+		this.snapshotStore = new UserPointSnapshotStore(new PointCacheProperties(1000), writeBehindQueue);
+        this.pointService = new PointService(userPointTable, new PointHistoryRepository(pointHistoryTable), lockManager, snapshotStore, writeBehindQueue, Optional.empty(), Optional.empty(),
+        		new PointIdempotencyStore(new PointIdempotencyProperties(1000, Duration.ofMinutes(1))),
+        		new PointConcurrencyProperties(PointConcurrencyMode.LOCK, 1024, 16), new PointMetrics(new SimpleMeterRegistry()), Optional.empty());  // ✅ 직접 주입
     }
 	
+	@AfterEach
+	public void tearDown() {
+		this.writeBehindQueue.shutdown();
+	}
+	
 	// 포인트 조회
 	
 	@Test
@@ -91,14 +140,14 @@ public class PointServiceUnitTests {
 	    UserPoint initialUserPoint = new UserPoint(userId, 0L, System.currentTimeMillis());
 	    when(this.userPointTable.selectById(userId)).thenReturn(initialUserPoint);
 	    
-	    UserPoint updatedUserPoint = new UserPoint(userId, 10L, System.currentTimeMillis());
-	    when(this.userPointTable.insertOrUpdate(userId, 10)).thenReturn(updatedUserPoint);
-	    
 	    // when
 	    UserPoint compareUserPoint = this.pointService.rechargePoint(userId, 10L);
+	    this.writeBehindQueue.shutdown(); // 대기 중인 쓰기 반영
 
 	    // then
 	    assertEquals(compareUserPoint.point(), 10L);
+	    verify(this.userPointTable).insertOrUpdate(userId, 10L);
+	    verify(this.pointHistoryTable).insert(eq(userId.longValue()), eq(10L), eq(TransactionType.CHARGE), anyLong());
 	}
 	
 	@Test
@@ -130,14 +179,14 @@ public class PointServiceUnitTests {
 	    UserPoint initialUserPoint = new UserPoint(userId, 10L, System.currentTimeMillis());
 	    when(this.userPointTable.selectById(userId)).thenReturn(initialUserPoint);
 	    
-	    UserPoint updatedUserPoint = new UserPoint(userId, 0L, System.currentTimeMillis());
-	    when(this.userPointTable.insertOrUpdate(userId, 0)).thenReturn(updatedUserPoint);
-	    
 	    // when
 	    UserPoint compareUserPoint = this.pointService.usePoint(userId, 10L);
+	    this.writeBehindQueue.shutdown(); // 대기 중인 쓰기 반영
 
 	    // then
 	    assertEquals(compareUserPoint.point(), 0L);
+	    verify(this.userPointTable).insertOrUpdate(userId, 0L);
+	    verify(this.pointHistoryTable).insert(eq(userId.longValue()), eq(10L), eq(TransactionType.USE), anyLong());
 	}
 	
 	@Test
@@ -230,4 +279,698 @@ public class PointServiceUnitTests {
         
         assertEquals(100L + (3 * 50L), finalPoint.getPoint());
     }
+    
+    // 멱등 키
+    
+    @Test
+    public void 같은_멱등_키로_동시에_재시도해도_한_번만_충전된다() throws Exception {
+        // given
+        Long userId = 1L;
+        when(this.userPointTable.selectById(userId)).thenReturn(UserPoint.empty(userId));
+        int threads = 20;
+        CountDownLatch start = new CountDownLatch(1);
+        ExecutorService executor = Executors.newFixedThreadPool(threads);
+        
+        // when - 같은 키 10건, 다른 키 10건
+        List<Future<UserPoint>> results = new ArrayList<>();
+        for (int i = 0; i < threads; i++) {
+            String key = (i % 2 == 0) ? "retry-key" : "key-" + i;
+            results.add(executor.submit(() -> {
+                start.await();
+                return this.pointService.rechargePoint(userId, 100L, key);
+            }));
+        }
+        start.countDown();
+        executor.shutdown();
+        executor.awaitTermination(10, TimeUnit.SECONDS);
+        this.writeBehindQueue.shutdown(); // 대기 중인 쓰기 반영
+        
+        // then - 다른 키 10건 + 같은 키 1건
+        assertEquals(1100L, this.pointService.getPoint(userId).point());
+        assertEquals(11, this.pointService.getPointHistory(userId).size());
+        UserPoint retried = results.get(0).get();
+        for (int i = 0; i < threads; i += 2) {
+            assertEquals(retried, results.get(i).get()); // 같은 키는 모두 처음 결과
+        }
+        verify(this.userPointTable, times(1)).selectById(userId);
+        verify(this.pointHistoryTable, times(11)).insert(eq(userId.longValue()), eq(100L), eq(TransactionType.CHARGE), anyLong());
+    }
+    
+    // 요청 결합
+    
+    @Test
+    public void 결합_모드에서_한_유저에게_몰린_요청은_모두_한_번씩_반영된다() throws Exception {
+        // given
+        Long userId = 1L;
+        when(this.userPointTable.selectById(userId)).thenReturn(UserPoint.empty(userId));
+        PointService combining = this.combining();
+        int threads = 64;
+        CountDownLatch start = new CountDownLatch(1);
+        ExecutorService executor = Executors.newFixedThreadPool(threads);
+        
+        // when
+        List<Future<UserPoint>> results = new ArrayList<>();
+        for (int i = 0; i < threads; i++) {
+            results.add(executor.submit(() -> {
+                start.await();
+                return combining.rechargePoint(userId, 10L);
+            }));
+        }
+        start.countDown();
+        executor.shutdown();
+        executor.awaitTermination(10, TimeUnit.SECONDS);
+        
+        // then - 각 요청은 도착 순서에 따른 서로 다른 잔액을 받고, 테이블은 한 번만 읽음
+        List<Long> points = new ArrayList<>();
+        for (Future<UserPoint> result : results) {
+            points.add(result.get().point());
+        }
+        assertThat(points).doesNotHaveDuplicates().allMatch(point -> point % 10 == 0 && point <= 640L);
+        assertEquals(640L, combining.getPoint(userId).point());
+        assertEquals(64, combining.getPointHistory(userId).size());
+        verify(this.userPointTable, times(1)).selectById(userId);
+    }
+    
+    @Test
+    public void 결합_모드에서_규칙을_어긴_요청만_실패하고_나머지는_반영된다() throws Exception {
+        // given - 잔액 0 에서 충전과 사용이 섞여 들어옴
+        Long userId = 1L;
+        when(this.userPointTable.selectById(userId)).thenReturn(UserPoint.empty(userId));
+        PointService combining = this.combining();
+        int threads = 64;
+        CountDownLatch start = new CountDownLatch(1);
+        ExecutorService executor = Executors.newFixedThreadPool(threads);
+        
+        // when
+        List<Future<UserPoint>> results = new ArrayList<>();
+        for (int i = 0; i < threads; i++) {
+            boolean charge = (i % 2 == 0);
+            results.add(executor.submit(() -> {
+                start.await();
+                return charge ? combining.rechargePoint(userId, 300_000L) : combining.usePoint(userId, 100_000L);
+            }));
+        }
+        start.countDown();
+        executor.shutdown();
+        executor.awaitTermination(10, TimeUnit.SECONDS);
+        
+        // then - 성공한 요청만 잔액과 내역에 반영 (최대치 초과, 잔액 부족은 해당 요청만 실패)
+        long expected = 0;
+        int succeeded = 0;
+        for (int i = 0; i < threads; i++) {
+            try {
+                results.get(i).get();
+                expected += (i % 2 == 0) ? 300_000L : -100_000L;
+                succeeded++;
+            } catch (ExecutionException e) {
+                assertThat(e.getCause()).isInstanceOf(IllegalArgumentException.class);
+            }
+        }
+        assertThat(succeeded).isLessThan(threads);
+        assertEquals(expected, combining.getPoint(userId).point());
+        assertEquals(succeeded, combining.getPointHistory(userId).size());
+    }
+    
+    // 낙관적 동시성
+    
+    @Test
+    public void 낙관적_모드에서_한_유저에게_몰린_요청은_충돌해도_모두_한_번씩_반영된다() throws Exception {
+        // given - 잔액 0 에서 충전과 사용이 섞여 들어옴
+        Long userId = 1L;
+        when(this.userPointTable.selectById(userId)).thenReturn(UserPoint.empty(userId));
+        SimpleMeterRegistry registry = new SimpleMeterRegistry();
+        PointService optimistic = this.optimistic(new UserLockManager(), 16, registry);
+        int threads = 64;
+        CountDownLatch start = new CountDownLatch(1);
+        ExecutorService executor = Executors.newFixedThreadPool(threads);
+        
+        // when
+        List<Future<UserPoint>> results = new ArrayList<>();
+        for (int i = 0; i < threads; i++) {
+            boolean charge = (i % 2 == 0);
+            results.add(executor.submit(() -> {
+                start.await();
+                return charge ? optimistic.rechargePoint(userId, 300_000L) : optimistic.usePoint(userId, 100_000L);
+            }));
+        }
+        start.countDown();
+        executor.shutdown();
+        executor.awaitTermination(10, TimeUnit.SECONDS);
+        
+        // then - 성공한 요청만 잔액과 내역에 반영되고, 내역을 커밋 순서대로 다시 적용해도 잔액이 음수가 되지 않음
+        long expected = 0;
+        int succeeded = 0;
+        for (int i = 0; i < threads; i++) {
+            try {
+                results.get(i).get();
+                expected += (i % 2 == 0) ? 300_000L : -100_000L;
+                succeeded++;
+            } catch (ExecutionException e) {
+                assertThat(e.getCause()).isInstanceOf(IllegalArgumentException.class);
+            }
+        }
+        assertEquals(expected, optimistic.getPoint(userId).point());
+        List<PointHistory> histories = optimistic.getPointHistory(userId);
+        assertEquals(succeeded, histories.size());
+        long replayed = 0;
+        for (PointHistory history : histories) {
+            replayed += (history.type() == TransactionType.CHARGE) ? history.amount() : -history.amount();
+            assertThat(replayed).isNotNegative();
+        }
+        assertEquals(expected, replayed);
+        log.info("낙관적 모드 충돌 {}회, 락으로 처리 {}회", registry.get("point.optimistic.conflicts").counter().count(),
+                registry.get("point.optimistic.fallbacks").counter().count());
+    }
+    
+    @Test
+    public void 낙관적_모드에서_재시도를_다_쓰면_락을_기다려_처리한다() throws Exception {
+        // given - 다른 스레드가 유저 락을 잡고 있어 커밋 시도가 모두 충돌
+        Long userId = 1L;
+        when(this.userPointTable.selectById(userId)).thenReturn(UserPoint.empty(userId));
+        UserLockManager lockManager = new UserLockManager();
+        SimpleMeterRegistry registry = new SimpleMeterRegistry();
+        PointService optimistic = this.optimistic(lockManager, 3, registry);
+        optimistic.getPoint(userId);
+        
+        CountDownLatch locked = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+        ExecutorService executor = Executors.newFixedThreadPool(2);
+        executor.submit(() -> {
+            lockManager.lock(userId);
+            try {
+                locked.countDown();
+                release.await();
+            } finally {
+                lockManager.unlock(userId);
+            }
+            return null;
+        });
+        locked.await();
+        
+        // when
+        Future<UserPoint> charged = executor.submit(() -> optimistic.rechargePoint(userId, 100L));
+        while (registry.get("point.optimistic.fallbacks").counter().count() == 0) {
+            Thread.sleep(1);
+        }
+        release.countDown();
+        
+        // then
+        assertEquals(100L, charged.get(5, TimeUnit.SECONDS).point());
+        assertEquals(3, registry.get("point.optimistic.conflicts").counter().count());
+        assertEquals(1, registry.get("point.optimistic.fallbacks").counter().count());
+        executor.shutdown();
+    }
+    
+    // 파티션 실행
+    
+    @Test
+    public void 파티션_모드에서_여러_유저에게_몰린_요청은_락_없이_모두_한_번씩_반영된다() throws Exception {
+        // given
+        UserLockManager lockManager = new UserLockManager();
+        UserPartitionExecutor partitions = new UserPartitionExecutor(4, 10_000, PointThreads.factory("test-partition-", false), null);
+        PointService partitioned = this.partitioned(lockManager, partitions);
+        int users = 8;
+        int threads = 16;
+        int chargesPerThread = 200;
+        CountDownLatch start = new CountDownLatch(1);
+        ExecutorService executor = Executors.newFixedThreadPool(threads);
+        
+        // when
+        List<Future<?>> futures = new ArrayList<>();
+        for (int t = 0; t < threads; t++) {
+            int seed = t;
+            futures.add(executor.submit(() -> {
+                start.await();
+                for (int i = 0; i < chargesPerThread; i++) {
+                    partitioned.rechargePoint((long) (seed + i) % users, 1L);
+                }
+                return null;
+            }));
+        }
+        start.countDown();
+        for (Future<?> future : futures) {
+            future.get(30, TimeUnit.SECONDS);
+        }
+        executor.shutdown();
+        
+        // then
+        long total = 0;
+        int histories = 0;
+        for (long userId = 0; userId < users; userId++) {
+            total += partitioned.getPoint(userId).getPoint();
+            histories += partitioned.getPointHistory(userId).size();
+        }
+        partitions.shutdown();
+        assertEquals((long) threads * chargesPerThread, total);
+        assertEquals(threads * chargesPerThread, histories);
+        assertEquals(0, lockManager.size());
+    }
+    
+    @Test
+    public void 파티션_모드에서_이체와_일괄_처리도_파티션_스레드에서_처리된다() {
+        // given - 서로 다른 파티션의 두 유저
+        UserPartitionExecutor partitions = new UserPartitionExecutor(4, 10_000, PointThreads.factory("test-partition-", false), null);
+        PointService partitioned = this.partitioned(new UserLockManager(), partitions);
+        long from = 1L;
+        long to = 2L;
+        while (partitions.partitionOf(to) == partitions.partitionOf(from)) {
+            to++;
+        }
+        
+        // when
+        List<PointOperationResult> results = partitioned.applyAll(List.of(
+                new PointOperation(from, TransactionType.CHARGE, 100L),
+                new PointOperation(to, TransactionType.USE, 10L))); // 잔액 부족
+        PointTransfer transfer = partitioned.transfer(from, to, 40L);
+        partitions.shutdown();
+        
+        // then
+        assertThat(results).extracting(PointOperationResult::success).containsExactly(true, false);
+        assertEquals(60L, transfer.from().getPoint());
+        assertEquals(40L, transfer.to().getPoint());
+        assertEquals(60L, partitioned.getPoint(from).getPoint());
+        assertEquals(40L, partitioned.getPoint(to).getPoint());
+    }
+    
+    // 락 없는 조회
+    
+    @Test
+    public void 쓰기_락을_잡고_있어도_조회는_대기하지_않고_커밋된_값을_본다() throws Exception {
+        // given
+        Long userId = 1L;
+        when(this.userPointTable.selectById(userId)).thenReturn(new UserPoint(userId, 100L, System.currentTimeMillis()));
+        this.pointService.rechargePoint(userId, 50L);
+
+        CountDownLatch locked = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+        ExecutorService executor = Executors.newSingleThreadExecutor();
+        Future<?> writer = executor.submit(() -> {
+            this.lockManager.lock(userId);
+            try {
+                locked.countDown();
+                release.await();
+            } finally {
+                this.lockManager.unlock(userId);
+            }
+            return null;
+        });
+        locked.await();
+
+        // when & then - 같은 유저의 락이 잡혀 있어도 조회는 즉시 마지막 커밋 값을 돌려준다
+        UserPoint during = assertTimeoutPreemptively(Duration.ofMillis(500), () -> this.pointService.getPoint(userId));
+        List<PointHistory> histories = assertTimeoutPreemptively(Duration.ofMillis(500), () -> this.pointService.getPointHistory(userId));
+        assertEquals(150L, during.getPoint());
+        assertEquals(1, histories.size());
+
+        release.countDown();
+        writer.get(1, TimeUnit.SECONDS);
+        executor.shutdown();
+    }
+
+    @Test
+    public void 조회되는_스냅샷은_잔액과_내역이_항상_일치한다() throws Exception {
+        // given
+        Long userId = 1L;
+        int writes = 300;
+        AtomicBoolean done = new AtomicBoolean(false);
+        ExecutorService executor = Executors.newFixedThreadPool(2);
+
+        // when - 쓰기 스레드가 충전하는 동안 조회 스레드가 스냅샷을 계속 읽는다
+        Future<?> writer = executor.submit(() -> {
+            for (int i = 0; i < writes; i++) {
+                this.pointService.rechargePoint(userId, 1L);
+            }
+            done.set(true);
+        });
+        Future<Integer> reader = executor.submit(() -> {
+            int torn = 0;
+            while (!done.get()) {
+                UserPointSnapshot snapshot = this.snapshotStore.find(userId).orElse(null);
+                if (snapshot == null) {
+                    continue;
+                }
+                long sum = snapshot.histories().stream().mapToLong(PointHistory::amount).sum();
+                if (sum != snapshot.point().getPoint() || snapshot.version() != snapshot.histories().size()) {
+                    torn++;
+                }
+            }
+            return torn;
+        });
+
+        writer.get(10, TimeUnit.SECONDS);
+        int torn = reader.get(10, TimeUnit.SECONDS);
+        executor.shutdown();
+
+        // then
+        assertEquals(0, torn);
+        assertEquals(writes, this.pointService.getPoint(userId).getPoint());
+        assertEquals(writes, this.pointService.getPointHistory(userId).size());
+    }
+    
+    // 일괄 처리
+    
+    @Test
+    public void 일괄_처리는_유저별로_요청_순서대로_적용하고_건별_결과를_반환한다() {
+        // given
+        List<PointOperation> operations = List.of(
+                new PointOperation(1L, TransactionType.CHARGE, 100L),
+                new PointOperation(2L, TransactionType.CHARGE, 50L),
+                new PointOperation(1L, TransactionType.USE, 150L),   // 잔액 부족
+                new PointOperation(1L, TransactionType.USE, 30L),
+                new PointOperation(-1L, TransactionType.CHARGE, 10L), // 잘못된 id
+                new PointOperation(2L, TransactionType.CHARGE, 999_999L) // 최대치 초과
+        );
+
+        // when
+        List<PointOperationResult> results = this.pointService.applyAll(operations);
+        this.writeBehindQueue.shutdown();
+
+        // then
+        assertThat(results).extracting(PointOperationResult::success)
+                .containsExactly(true, true, false, true, false, false);
+        assertEquals(70L, results.get(3).point().getPoint());
+        assertEquals("잔여 포인트가 부족합니다.", results.get(2).error());
+        assertEquals("Check Id.", results.get(4).error());
+        assertEquals(70L, this.pointService.getPoint(1L).getPoint());
+        assertEquals(50L, this.pointService.getPoint(2L).getPoint());
+        assertEquals(2, this.pointService.getPointHistory(1L).size());
+        assertEquals(2L, this.snapshotStore.find(1L).orElseThrow().version());
+        verify(this.userPointTable).insertOrUpdate(1L, 70L);
+    }
+    
+    @Test
+    public void 일괄_처리_중_과부하로_거절되면_건별_실패로_담지_않고_그대로_던진다() {
+        // given - 두 번째 기록부터 과부하
+        PointTransactionLog transactionLog = mock(PointTransactionLog.class);
+        doNothing().doThrow(PointOverloadException.overloaded()).when(transactionLog).append(any(), anyLong());
+        PointService service = this.logged(transactionLog);
+        List<PointOperation> operations = List.of(
+                new PointOperation(1L, TransactionType.CHARGE, 100L),
+                new PointOperation(1L, TransactionType.CHARGE, 50L));
+
+        // when
+        PointOverloadException thrown = assertThrows(PointOverloadException.class, () -> service.applyAll(operations));
+        this.writeBehindQueue.shutdown();
+
+        // then - 먼저 적용한 건은 캐시와 테이블에 반영됨
+        assertEquals(PointOverloadException.Reason.OVERLOADED, thrown.reason());
+        assertEquals(100L, service.getPoint(1L).getPoint());
+        assertEquals(1, service.getPointHistory(1L).size());
+        verify(this.userPointTable).insertOrUpdate(1L, 100L);
+    }
+    
+    // 샤드 재배치
+    
+    @Test
+    public void 옮겨_온_유저는_잔액과_내역을_그대로_채운다() {
+        // given
+        List<PointHistory> histories = List.of(
+                new PointHistory(10L, 1L, 500L, TransactionType.CHARGE, 1L),
+                new PointHistory(11L, 1L, 200L, TransactionType.USE, 2L));
+
+        // when
+        this.pointService.importUser(new PointShardUser(new UserPoint(1L, 300L, 2L), histories));
+        this.writeBehindQueue.shutdown();
+
+        // then
+        assertEquals(300L, this.pointService.getPoint(1L).getPoint());
+        assertEquals(histories, this.pointService.getPointHistory(1L));
+        verify(this.userPointTable, atLeastOnce()).insertOrUpdate(1L, 300L);
+    }
+    
+    @Test
+    public void 옮겨_온_잔액이나_내역이_규칙에_어긋나면_아무것도_쓰지_않는다() {
+        // when then - 음수 잔액, 최대치 이상 잔액, 내역을 되돌리면 음수가 되는 잔액, 다른 유저의 내역
+        assertThrows(IllegalArgumentException.class, () -> this.pointService.importUser(
+                new PointShardUser(new UserPoint(1L, -1L, 1L), List.of())));
+        assertThrows(IllegalArgumentException.class, () -> this.pointService.importUser(
+                new PointShardUser(new UserPoint(1L, 1_000_000L, 1L), List.of())));
+        assertThrows(IllegalArgumentException.class, () -> this.pointService.importUser(
+                new PointShardUser(new UserPoint(1L, 100L, 1L), List.of(new PointHistory(1L, 1L, 500L, TransactionType.CHARGE, 1L)))));
+        assertThrows(IllegalArgumentException.class, () -> this.pointService.importUser(
+                new PointShardUser(new UserPoint(1L, 100L, 1L), List.of(new PointHistory(1L, 2L, 100L, TransactionType.CHARGE, 1L)))));
+        this.writeBehindQueue.shutdown();
+
+        verify(this.userPointTable, never()).insertOrUpdate(anyLong(), anyLong());
+        verify(this.pointHistoryTable, never()).insert(anyLong(), anyLong(), any(), anyLong());
+        assertThat(this.pointService.getPointHistory(1L)).isEmpty();
+    }
+    
+    // 이체
+    
+    @Test
+    public void 이체는_두_유저의_잔액과_내역을_함께_반영한다() {
+        // given
+        this.pointService.rechargePoint(1L, 100L);
+        
+        // when
+        PointTransfer transfer = this.pointService.transfer(1L, 2L, 30L);
+        this.writeBehindQueue.shutdown();
+        
+        // then
+        assertEquals(70L, transfer.from().getPoint());
+        assertEquals(30L, transfer.to().getPoint());
+        assertEquals(70L, this.pointService.getPoint(1L).getPoint());
+        assertEquals(30L, this.pointService.getPoint(2L).getPoint());
+        assertThat(this.pointService.getPointHistory(1L)).extracting(PointHistory::type)
+                .containsExactly(TransactionType.CHARGE, TransactionType.USE);
+        assertThat(this.pointService.getPointHistory(2L)).extracting(PointHistory::type)
+                .containsExactly(TransactionType.CHARGE);
+        verify(this.userPointTable).insertOrUpdate(1L, 70L);
+        verify(this.userPointTable).insertOrUpdate(2L, 30L);
+    }
+    
+    @Test
+    public void 이체_잔액_부족이나_최대치_초과면_어느_쪽도_바뀌지_않는다() {
+        // given
+        this.pointService.rechargePoint(1L, 100L);
+        this.pointService.rechargePoint(2L, 999_990L);
+        
+        // when then
+        assertThrows(IllegalArgumentException.class, () -> this.pointService.transfer(1L, 2L, 200L)); // 잔액 부족
+        assertThrows(IllegalArgumentException.class, () -> this.pointService.transfer(1L, 2L, 50L));  // 받는 쪽 최대치 초과
+        assertEquals(100L, this.pointService.getPoint(1L).getPoint());
+        assertEquals(999_990L, this.pointService.getPoint(2L).getPoint());
+        assertEquals(1, this.pointService.getPointHistory(1L).size());
+        assertEquals(1, this.pointService.getPointHistory(2L).size());
+    }
+    
+    @Test
+    public void 같은_유저에게_이체할_수_없다() {
+        assertThrows(IllegalArgumentException.class, () -> this.pointService.transfer(1L, 1L, 10L), "Check Transfer.");
+    }
+    
+    @Test
+    public void 반대_방향_이체가_동시에_몰려도_교착되지_않고_총액이_유지된다() throws Exception {
+        // given
+        this.pointService.rechargePoint(1L, 10_000L);
+        this.pointService.rechargePoint(2L, 10_000L);
+        int threads = 8;
+        int transfersPerThread = 1000;
+        ExecutorService executor = Executors.newFixedThreadPool(threads);
+        CountDownLatch latch = new CountDownLatch(1);
+        
+        // when - 절반은 1 → 2, 나머지는 2 → 1
+        List<Future<?>> futures = new ArrayList<>();
+        for (int t = 0; t < threads; t++) {
+            long from = (t % 2 == 0) ? 1L : 2L;
+            long to = 3L - from;
+            futures.add(executor.submit(() -> {
+                latch.await();
+                for (int i = 0; i < transfersPerThread; i++) {
+                    this.pointService.transfer(from, to, 1L);
+                }
+                return null;
+            }));
+        }
+        latch.countDown();
+        assertTimeoutPreemptively(Duration.ofSeconds(30), () -> {
+            for (Future<?> future : futures) {
+                future.get();
+            }
+        });
+        executor.shutdown();
+        
+        // then
+        assertEquals(20_000L, this.pointService.getPoint(1L).getPoint() + this.pointService.getPoint(2L).getPoint());
+        assertEquals(1 + (threads / 2) * transfersPerThread * 2, this.pointService.getPointHistory(1L).size());
+    }
+    
+    // 캐시
+    
+    @Test
+    public void 캐시에서_내보낸_뒤에도_이전_잔액을_보지_않는다() throws Exception {
+        // given - 테이블 동작을 흉내내는 스텁, 캐시는 유저 2명만 유지
+        Map<Long, UserPoint> table = new ConcurrentHashMap<>();
+        when(this.userPointTable.selectById(anyLong())).thenAnswer(invocation -> table.get(invocation.<Long>getArgument(0)));
+        when(this.userPointTable.insertOrUpdate(anyLong(), anyLong())).thenAnswer(invocation -> {
+            UserPoint point = new UserPoint(invocation.getArgument(0), invocation.getArgument(1), System.currentTimeMillis());
+            table.put(point.id(), point);
+            return point;
+        });
+        this.snapshotStore = new UserPointSnapshotStore(new PointCacheProperties(2), this.writeBehindQueue);
+        this.pointService = new PointService(this.userPointTable, new PointHistoryRepository(this.pointHistoryTable),
+                this.lockManager, this.snapshotStore, this.writeBehindQueue, Optional.empty(), Optional.empty(),
+                new PointIdempotencyStore(new PointIdempotencyProperties(1000, Duration.ofMinutes(1))),
+                new PointConcurrencyProperties(PointConcurrencyMode.LOCK, 1024, 16), new PointMetrics(new SimpleMeterRegistry()), Optional.empty());
+
+        int users = 20;
+        int threads = 8;
+        int chargesPerThread = 500;
+        AtomicBoolean stale = new AtomicBoolean(false);
+        ExecutorService executor = Executors.newFixedThreadPool(threads);
+
+        // when - 충전만 하므로 한 번 본 잔액보다 작은 값이 보이면 이전 잔액을 본 것
+        List<Future<?>> futures = new ArrayList<>();
+        for (int t = 0; t < threads; t++) {
+            int seed = t;
+            futures.add(executor.submit(() -> {
+                long[] seen = new long[users];
+                for (int i = 0; i < chargesPerThread; i++) {
+                    long userId = (seed * 31L + i * 7L) % users;
+                    UserPoint charged = this.pointService.rechargePoint(userId, 1L);
+                    long read = this.pointService.getPoint((userId + 1) % users).getPoint();
+                    int next = (int) ((userId + 1) % users);
+                    if (charged.getPoint() < seen[(int) userId] || read < seen[next]) {
+                        stale.set(true);
+                    }
+                    seen[(int) userId] = charged.getPoint();
+                    seen[next] = Math.max(seen[next], read);
+                }
+            }));
+        }
+        for (Future<?> future : futures) {
+            future.get(30, TimeUnit.SECONDS);
+        }
+        executor.shutdown();
+
+        // then
+        long total = 0;
+        for (long userId = 0; userId < users; userId++) {
+            total += this.pointService.getPoint(userId).getPoint();
+        }
+        assertEquals(false, stale.get());
+        assertEquals((long) threads * chargesPerThread, total);
+        assertThat(this.snapshotStore.stats().evictions()).isPositive();
+    }
+    
+    // 트랜잭션 로그
+
+    @Test
+    public void 로그_기록이_실패하면_테이블과_내역에_남지_않는다() {
+        // given
+        PointTransactionLog transactionLog = mock(PointTransactionLog.class);
+        doThrow(new UncheckedIOException(new IOException("disk full"))).when(transactionLog).append(any(), anyLong());
+        PointService service = this.logged(transactionLog);
+
+        // when
+        assertThrows(UncheckedIOException.class, () -> service.rechargePoint(1L, 100L));
+        this.writeBehindQueue.shutdown();
+
+        // then
+        verify(this.pointHistoryTable, never()).insert(anyLong(), anyLong(), any(), anyLong());
+        verify(this.userPointTable, never()).insertOrUpdate(anyLong(), anyLong());
+        assertThat(service.getPointHistory(1L)).isEmpty();
+        assertEquals(0L, service.getPoint(1L).getPoint());
+    }
+
+    @Test
+    public void 묶어서_처리할_때도_로그_기록이_실패하면_테이블에_남지_않는다() {
+        // given
+        PointTransactionLog transactionLog = mock(PointTransactionLog.class);
+        doThrow(new UncheckedIOException(new IOException("disk full"))).when(transactionLog).appendAll(any());
+        PointService service = this.logged(transactionLog, PointConcurrencyMode.COMBINING);
+
+        // when
+        assertThrows(UncheckedIOException.class, () -> service.rechargePoint(1L, 100L));
+        this.writeBehindQueue.shutdown();
+
+        // then
+        verify(this.pointHistoryTable, never()).insert(anyLong(), anyLong(), any(), anyLong());
+        verify(this.userPointTable, never()).insertOrUpdate(anyLong(), anyLong());
+        assertThat(service.getPointHistory(1L)).isEmpty();
+    }
+
+    @Test
+    public void 이체_로그_기록이_실패하면_양쪽_모두_테이블에_남지_않는다() {
+        // given
+        PointTransactionLog transactionLog = mock(PointTransactionLog.class);
+        doThrow(new UncheckedIOException(new IOException("disk full"))).when(transactionLog).appendUnit(any());
+        when(this.userPointTable.selectById(1L)).thenReturn(new UserPoint(1L, 100L, 1L));
+        PointService service = this.logged(transactionLog);
+
+        // when
+        assertThrows(UncheckedIOException.class, () -> service.transfer(1L, 2L, 30L));
+        this.writeBehindQueue.shutdown();
+
+        // then
+        verify(this.pointHistoryTable, never()).insert(anyLong(), anyLong(), any(), anyLong());
+        verify(this.userPointTable, never()).insertOrUpdate(anyLong(), anyLong());
+        assertEquals(100L, service.getPoint(1L).getPoint());
+        assertEquals(0L, service.getPoint(2L).getPoint());
+    }
+
+    // 영속 잔액
+    
+    @Test
+    public void 맵_저장소가_있으면_재시작_뒤에도_테이블을_읽지_않고_잔액을_복원한다(@TempDir Path dir) {
+        // given
+        Path file = dir.resolve("balances.dat");
+        try (MappedBalanceStore store = new MappedBalanceStore(file, 100)) {
+            PointService before = this.restart(Optional.of(store));
+            before.rechargePoint(1L, 300L);
+            before.usePoint(1L, 100L);
+        }
+        clearInvocations(this.userPointTable);
+
+        // when - 캐시가 비어 있는 새 인스턴스에서 같은 파일을 다시 열어 조회
+        UserPoint restored;
+        try (MappedBalanceStore store = new MappedBalanceStore(file, 100)) {
+            restored = this.restart(Optional.of(store)).getPoint(1L);
+        }
+
+        // then
+        assertEquals(200L, restored.getPoint());
+        verify(this.userPointTable, never()).selectById(1L);
+    }
+
+    private PointService combining() {
+        return new PointService(this.userPointTable, new PointHistoryRepository(this.pointHistoryTable), new UserLockManager(),
+                this.snapshotStore, this.writeBehindQueue, Optional.empty(), Optional.empty(),
+                new PointIdempotencyStore(new PointIdempotencyProperties(1000, Duration.ofMinutes(1))),
+                new PointConcurrencyProperties(PointConcurrencyMode.COMBINING, 1024, 16), new PointMetrics(new SimpleMeterRegistry()), Optional.empty());
+    }
+
+    private PointService optimistic(UserLockManager lockManager, int retries, SimpleMeterRegistry registry) {
+        return new PointService(this.userPointTable, new PointHistoryRepository(this.pointHistoryTable), lockManager,
+                this.snapshotStore, this.writeBehindQueue, Optional.empty(), Optional.empty(),
+                new PointIdempotencyStore(new PointIdempotencyProperties(1000, Duration.ofMinutes(1))),
+                new PointConcurrencyProperties(PointConcurrencyMode.OPTIMISTIC, 1024, retries), new PointMetrics(registry), Optional.empty());
+    }
+
+    private PointService partitioned(UserLockManager lockManager, UserPartitionExecutor partitions) {
+        return new PointService(this.userPointTable, new PointHistoryRepository(this.pointHistoryTable), lockManager,
+                this.snapshotStore, this.writeBehindQueue, Optional.empty(), Optional.empty(),
+                new PointIdempotencyStore(new PointIdempotencyProperties(1000, Duration.ofMinutes(1))),
+                new PointConcurrencyProperties(PointConcurrencyMode.PARTITIONED, 1024, 16), new PointMetrics(new SimpleMeterRegistry()),
+                Optional.of(partitions));
+    }
+
+    private PointService logged(PointTransactionLog transactionLog) {
+        return this.logged(transactionLog, PointConcurrencyMode.LOCK);
+    }
+
+    private PointService logged(PointTransactionLog transactionLog, PointConcurrencyMode mode) {
+        return new PointService(this.userPointTable, new PointHistoryRepository(this.pointHistoryTable), new UserLockManager(),
+                this.snapshotStore, this.writeBehindQueue, Optional.empty(), Optional.of(transactionLog),
+                new PointIdempotencyStore(new PointIdempotencyProperties(1000, Duration.ofMinutes(1))),
+                new PointConcurrencyProperties(mode, 1024, 16), new PointMetrics(new SimpleMeterRegistry()), Optional.empty());
+    }
+
+    private PointService restart(Optional<MappedBalanceStore> mappedBalanceStore) {
+        return new PointService(this.userPointTable, new PointHistoryRepository(this.pointHistoryTable), new UserLockManager(),
+                new UserPointSnapshotStore(new PointCacheProperties(1000), this.writeBehindQueue), this.writeBehindQueue,
+                mappedBalanceStore, Optional.empty(), new PointIdempotencyStore(new PointIdempotencyProperties(1000, Duration.ofMinutes(1))),
+                new PointConcurrencyProperties(PointConcurrencyMode.LOCK, 1024, 16), new PointMetrics(new SimpleMeterRegistry()), Optional.empty());
+    }
 }
@@ -0,0 +1,117 @@
+package io.hhplus.tdd.point;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.Mockito.when;
+
+import java.util.List;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import io.hhplus.tdd.database.PointWriteBehindQueue;
+import io.hhplus.tdd.database.UserBalanceStore;
+
+@ExtendWith(MockitoExtension.class)
+public class UserPointSnapshotStoreUnitTests {
+
+    @Mock
+    private PointWriteBehindQueue writeBehindQueue;
+
+    private static UserPointSnapshot snapshot(long userId, long point) {
+        return UserPointSnapshot.loaded(new UserPoint(userId, point, 0L), List.of());
+    }
+
+    @Test
+    public void 최대_크기를_넘으면_내보내고_통계를_남긴다() {
+        // given
+        UserPointSnapshotStore store = new UserPointSnapshotStore(new PointCacheProperties(10), this.writeBehindQueue);
+
+        // when
+        for (long userId = 0; userId < 100; userId++) {
+            store.publish(userId, snapshot(userId, userId));
+        }
+        int found = 0;
+        for (long userId = 0; userId < 100; userId++) {
+            found += store.find(userId).isPresent() ? 1 : 0;
+        }
+
+        // then
+        PointCacheStats stats = store.stats();
+        assertEquals(10, stats.size());
+        assertEquals(90, stats.evictions());
+        assertEquals(10, found);
+        assertEquals(10, stats.hits());
+        assertEquals(90, stats.misses());
+    }
+
+    @Test
+    public void 테이블에_반영되지_않은_유저는_내보내지_않는다() {
+        // given
+        when(this.writeBehindQueue.isPending(1L)).thenReturn(true);
+        UserPointSnapshotStore store = new UserPointSnapshotStore(new PointCacheProperties(1), this.writeBehindQueue);
+
+        // when
+        store.publish(1L, snapshot(1L, 100L));
+        for (long userId = 2; userId < 50; userId++) {
+            store.publish(userId, snapshot(userId, userId));
+        }
+
+        // then
+        assertEquals(100L, store.find(1L).orElseThrow().point().getPoint());
+    }
+
+    @Test
+    public void 최근에_읽힌_유저는_한_번_유예된다() {
+        // given
+        UserPointSnapshotStore store = new UserPointSnapshotStore(new PointCacheProperties(2), this.writeBehindQueue);
+        store.publish(1L, snapshot(1L, 1L));
+        store.publish(2L, snapshot(2L, 2L));
+
+        // when
+        store.find(1L);
+        store.publish(3L, snapshot(3L, 3L));
+
+        // then
+        assertTrue(store.find(1L).isPresent());
+        assertTrue(store.find(2L).isEmpty());
+        assertTrue(store.find(3L).isPresent());
+    }
+
+    @Test
+    public void 샤딩을_사용하면_잔액을_가진_유저는_캐시에서_내보낸_뒤에도_나열된다() {
+        // given - 잔액 0 인 조회만 한 유저, 잔액이 있는 유저, 복구만 되고 아직 읽지 않은 유저
+        UserPointSnapshotStore store = new UserPointSnapshotStore(new PointCacheProperties(1), this.writeBehindQueue);
+        store.trackUserIds();
+        UserBalanceStore recovered = new UserBalanceStore(10);
+        recovered.put(7L, 70L, 0L);
+        recovered.put(8L, 80L, 0L);
+        store.restore(recovered);
+        store.consumeRecovered(8L);
+
+        // when
+        store.publish(1L, snapshot(1L, 0L));
+        store.publish(2L, snapshot(2L, 200L));
+        store.publish(3L, snapshot(3L, 300L)); // 최대 크기 1 이라 앞의 유저는 내보냄
+
+        // then - 꺼낸 복구 잔액(8)은 읽을 때 캐시에 발행되므로 복구 쪽에서는 나열하지 않음
+        assertThat(store.userIds()).containsExactlyInAnyOrder(2L, 3L, 7L);
+    }
+
+    @Test
+    public void 샤딩을_사용하지_않으면_내보낸_유저를_기억하지_않는다() {
+        // given
+        UserPointSnapshotStore store = new UserPointSnapshotStore(new PointCacheProperties(1), this.writeBehindQueue);
+
+        // when
+        for (long userId = 1; userId <= 100; userId++) {
+            store.publish(userId, snapshot(userId, userId));
+        }
+
+        // then - 캐시에 남은 유저만 나열
+        assertEquals(1, store.userIds().size());
+    }
+}